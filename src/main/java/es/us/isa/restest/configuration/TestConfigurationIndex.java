@@ -0,0 +1,131 @@
+package es.us.isa.restest.configuration;
+
+import es.us.isa.restest.configuration.pojos.Operation;
+import es.us.isa.restest.configuration.pojos.TestConfiguration;
+import es.us.isa.restest.configuration.pojos.TestParameter;
+import es.us.isa.restest.specification.OpenAPIParameter;
+import es.us.isa.restest.specification.OpenAPISpecificationVisitor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Index of the operations of a test configuration, by path, method and operation ID, used by the
+ * {@link TestConfigurationVisitor} to look up operations without traversing the whole configuration.
+ * Names are case insensitive, as in the rest of the visitor. The index is built the first time it is used
+ * (see {@link TestConfiguration#getIndex()}), so the configuration must not be modified afterwards
+ * (except through its setters, which discard the index). Indexes are immutable, so they can be used
+ * by different threads.
+ */
+public class TestConfigurationIndex {
+
+	private final Map<String, List<Operation>> operationsByPath = new HashMap<>();
+	private final Map<String, Map<String, Operation>> operationsByPathAndMethod = new HashMap<>();
+	private final Map<String, Operation> operationsById = new HashMap<>();
+
+	public TestConfigurationIndex(TestConfiguration testConfiguration) {
+		Map<String, List<Operation>> operationsOfPaths = new HashMap<>();
+		if (testConfiguration.getOperations() != null) {
+			for (Operation operation: testConfiguration.getOperations()) {
+				List<Operation> operationsOfPath = getIgnoreCase(operationsOfPaths, operation.getTestPath());
+				if (operationsOfPath == null) {
+					operationsOfPath = new ArrayList<>();
+					putIgnoreCase(operationsOfPaths, operation.getTestPath(), operationsOfPath);
+				}
+				operationsOfPath.add(operation);
+				putIgnoreCase(operationsById, operation.getOperationId(), operation);
+			}
+		}
+
+		for (Map.Entry<String, List<Operation>> entry: operationsOfPaths.entrySet()) {
+			Map<String, Operation> operationsByMethod = new HashMap<>();
+			for (Operation operation: entry.getValue())
+				putIgnoreCase(operationsByMethod, operation.getMethod(), operation);
+			operationsByPath.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+			operationsByPathAndMethod.put(entry.getKey(), operationsByMethod);
+		}
+	}
+
+	/**
+	 * Returns the operations of a path, or null if there are none
+	 */
+	public List<Operation> getOperationsOfPath(String path) {
+		return getIgnoreCase(operationsByPath, path);
+	}
+
+	/**
+	 * Returns the operation of a path with the given HTTP method, or null if it does not exist
+	 */
+	public Operation getOperation(String path, String method) {
+		Map<String, Operation> operationsByMethod = getIgnoreCase(operationsByPathAndMethod, path);
+		return operationsByMethod == null ? null : getIgnoreCase(operationsByMethod, method);
+	}
+
+	/**
+	 * Returns the operation with the given ID, or null if it does not exist
+	 */
+	public Operation getOperationById(String operationId) {
+		return getIgnoreCase(operationsById, operationId);
+	}
+
+	/**
+	 * Index of the parameters of an operation of a test configuration, by name (and location). It contains the
+	 * test configuration of each parameter and its features in the OpenAPI specification, which are built only
+	 * once (see {@link Operation#getIndex()}). Features returned are shared, so they must not be modified.
+	 */
+	public static class OperationIndex {
+
+		private final Map<String, TestParameter> testParameters = new HashMap<>();
+		private final Map<String, Map<String, OpenAPIParameter>> parameterFeatures = new HashMap<>();	// By location (query, path...) and name
+
+		public OperationIndex(Operation operation) {
+			if (operation.getTestParameters() != null) {
+				for (TestParameter testParameter: operation.getTestParameters()) {
+					putIgnoreCase(testParameters, testParameter.getName(), testParameter);
+
+					if (operation.getOpenApiOperation() != null) {
+						OpenAPIParameter features = OpenAPISpecificationVisitor.findParameterFeatures(operation.getOpenApiOperation(), testParameter.getName(), testParameter.getIn());
+						if (features != null)
+							putIgnoreCase(parameterFeatures.computeIfAbsent(testParameter.getIn(), in -> new HashMap<>()), testParameter.getName(), features);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Returns the test configuration of a parameter, or null if it does not exist
+		 */
+		public TestParameter getTestParameter(String paramName) {
+			return getIgnoreCase(testParameters, paramName);
+		}
+
+		/**
+		 * Returns the features of a parameter of the test configuration in the OpenAPI specification,
+		 * or null if it does not exist
+		 */
+		public OpenAPIParameter getParameterFeatures(String paramName, String in) {
+			Map<String, OpenAPIParameter> parameterFeaturesOfLocation = parameterFeatures.get(in);
+			return parameterFeaturesOfLocation == null ? null : getIgnoreCase(parameterFeaturesOfLocation, paramName);
+		}
+	}
+
+	// Values are indexed with the key as it is and lowercased, so that lookups do not allocate a new key, except
+	// if the case does not match. If several keys are equal ignoring case, the first one is used for lowercase lookups
+	private static <V> void putIgnoreCase(Map<String, V> map, String key, V value) {
+		if (key != null) {
+			map.putIfAbsent(key, value);
+			map.putIfAbsent(key.toLowerCase(Locale.ROOT), value);
+		}
+	}
+
+	private static <V> V getIgnoreCase(Map<String, V> map, String key) {
+		if (key == null)
+			return null;
+		V value = map.get(key);
+		return value != null ? value : map.get(key.toLowerCase(Locale.ROOT));
+	}
+}
@@ -2,12 +2,13 @@ package es.us.isa.restest.configuration;
 
 import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import es.us.isa.restest.configuration.pojos.GenParameter;
 import es.us.isa.restest.configuration.pojos.Operation;
 import es.us.isa.restest.configuration.pojos.TestConfigurationObject;
 import es.us.isa.restest.configuration.pojos.TestParameter;
+import es.us.isa.restest.specification.OpenAPIParameter;
+import es.us.isa.restest.specification.OpenAPISpecificationVisitor;
 
 
 /**
@@ -25,9 +26,11 @@ public class TestConfigurationVisitor {
 	 * @return Operation
 	 */
 	public static Operation getOperation(TestConfigurationObject conf, String path, String method) {
-		List<Operation> operationsOfPath = getOperationsOfTestPath(conf, path);
-		
-		return getTestOperation(operationsOfPath, method);
+		if (conf.getTestConfiguration().getIndex().getOperationsOfPath(path) == null) {
+			throw new IllegalArgumentException("Path <" + path + "> does not exist in test configuration file");
+		}
+
+		return conf.getTestConfiguration().getIndex().getOperation(path, method);
 	}
 	
 	/**
@@ -57,14 +60,12 @@ public class TestConfigurationVisitor {
 	 * Returns the test configuration object for a path
 	 * @param conf General test configuration object
 	 * @param path path
-	 * @return Path test configuration object
+	 * @return Path test configuration object (unmodifiable list)
 	 */
 	public static List<Operation> getOperationsOfTestPath(TestConfigurationObject conf, String path) {
-		List<Operation> ops = conf.getTestConfiguration().getOperations().stream()
-				.filter(x -> x.getTestPath().equalsIgnoreCase(path))
-				.collect(Collectors.toList());
+		List<Operation> ops = conf.getTestConfiguration().getIndex().getOperationsOfPath(path);
 
-		if(ops.isEmpty()) {
+		if(ops == null) {
 			throw new IllegalArgumentException("Path <" + path + "> does not exist in test configuration file");
 		}
 
@@ -85,7 +86,7 @@ public class TestConfigurationVisitor {
 		if (operation==null)
 			return null;
 		
-		return searchTestParameter(paramName,operation.getTestParameters());
+		return searchTestParameter(paramName,operation);
 	}
 	
 	/**
@@ -95,19 +96,7 @@ public class TestConfigurationVisitor {
 	 * @return Operation
 	 */
 	public static Operation getTestOperation(TestConfigurationObject conf, String operationId) {
-		Operation operation=null;
-		boolean found =false;
-		
-		Iterator<Operation> itOp = conf.getTestConfiguration().getOperations().iterator();
-		while (itOp.hasNext() && !found) {
-			Operation op = itOp.next();
-			if (op.getOperationId().equalsIgnoreCase(operationId)) {
-				operation=op;
-				found=true;
-			}
-		}
-
-		return operation;
+		return conf.getTestConfiguration().getIndex().getOperationById(operationId);
 	}
 	
 	/** Search a generator's configuration parameter in a list of parameters (or null if it does not exist)
@@ -155,6 +144,32 @@ public class TestConfigurationVisitor {
 		return parameter;
 	}
 
+	/** Search a test parameter of an operation (or null if it does not exist)
+	 * @param paramName Parameter's name
+	 * @param operation Operation test configuration object
+	 * @return Test configuration parameter
+	 */
+	public static TestParameter searchTestParameter(String paramName, Operation operation) {
+		return operation.getIndex().getTestParameter(paramName);
+	}
+
+	/**
+	 * Returns the features of a parameter of an operation in the OpenAPI specification. Same as
+	 * {@link OpenAPISpecificationVisitor#findParameterFeatures}, but the features of the parameters of the
+	 * test configuration are only computed once. The features returned are shared, so they must not be modified.
+	 * @param operation Operation test configuration object
+	 * @param paramName Parameter's name
+	 * @param in Parameter's type (header, path, query, body or formData)
+	 * @return the operation's parameter
+	 */
+	public static OpenAPIParameter findParameterFeatures(Operation operation, String paramName, String in) {
+		OpenAPIParameter param = operation.getIndex().getParameterFeatures(paramName, in);
+		if (param == null) // Not a parameter of the test configuration
+			param = OpenAPISpecificationVisitor.findParameterFeatures(operation.getOpenApiOperation(), paramName, in);
+
+		return param;
+	}
+
 	/**
 	 * Analyzes the whole testConf to look for either ParameterGenerator or BodyGenerator.
 	 * If there's any of those, returns true, otherwise returns false.
@@ -2,6 +2,7 @@
 package es.us.isa.restest.configuration.pojos;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import es.us.isa.restest.configuration.TestConfigurationIndex.OperationIndex;
 
 import java.util.List;
 
@@ -16,6 +17,9 @@ public class Operation {
     @JsonIgnore
     private io.swagger.v3.oas.models.Operation openApiOperation;
 
+    @JsonIgnore
+    private volatile OperationIndex index;
+
     public String getTestPath() {
         return testPath;
     }
@@ -46,6 +50,7 @@ public class Operation {
 
     public void setTestParameters(List<TestParameter> testParameters) {
         this.testParameters = testParameters;
+        this.index = null;
     }
 
     public String getExpectedResponse() {
@@ -62,6 +67,21 @@ public class Operation {
 
     public void setOpenApiOperation(io.swagger.v3.oas.models.Operation openApiOperation) {
         this.openApiOperation = openApiOperation;
+        this.index = null;
+    }
+
+    /**
+     * Index of the test parameters, built the first time it is requested. The list of test parameters
+     * must not be modified afterwards, except through {@link #setTestParameters(List)}.
+     */
+    @JsonIgnore
+    public OperationIndex getIndex() {
+        OperationIndex currentIndex = index;
+        if (currentIndex == null) {
+            currentIndex = new OperationIndex(this);
+            index = currentIndex;
+        }
+        return currentIndex;
     }
 
 }
@@ -1,18 +1,39 @@
 
 package es.us.isa.restest.configuration.pojos;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import es.us.isa.restest.configuration.TestConfigurationIndex;
+
 import java.util.List;
 
 public class TestConfiguration {
 
     private List<Operation> operations = null;
 
+    @JsonIgnore
+    private volatile TestConfigurationIndex index;
+
     public List<Operation> getOperations() {
         return operations;
     }
 
     public void setOperations(List<Operation> operations) {
         this.operations = operations;
+        this.index = null;
+    }
+
+    /**
+     * Index of the operations, built the first time it is requested. The list of operations
+     * must not be modified afterwards, except through {@link #setOperations(List)}.
+     */
+    @JsonIgnore
+    public TestConfigurationIndex getIndex() {
+        TestConfigurationIndex currentIndex = index;
+        if (currentIndex == null) {
+            currentIndex = new TestConfigurationIndex(this);
+            index = currentIndex;
+        }
+        return currentIndex;
     }
 
 }
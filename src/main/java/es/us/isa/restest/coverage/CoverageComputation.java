@@ -1,6 +1,7 @@
 package es.us.isa.restest.coverage;
 
 import es.us.isa.restest.specification.OpenAPISpecification;
+import es.us.isa.restest.specification.OpenAPISpecificationRegistry;
 import es.us.isa.restest.testcases.TestCase;
 import es.us.isa.restest.testcases.TestResult;
 import es.us.isa.restest.util.PropertyManager;
@@ -14,6 +15,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static es.us.isa.restest.util.FileManager.deleteFile;
@@ -23,7 +29,12 @@ import static es.us.isa.restest.util.FileManager.deleteFile;
  * results. It takes as input: 1) path to OpenAPI Specification; and 2) paths to
  * a set of "test-cases*.csv" files. It is *REQUIRED* that the files containing the
  * test cases are named this way. It is also *REQUIRED* that there exists one
- * "test-results*.csv" file per "test-cases*.csv" file, named in the same way
+ * "test-results*.csv" file per "test-cases*.csv" file, named in the same way.
+ * Optionally, it takes: 3) the batch size used to compute the a posteriori coverage;
+ * and 4) a number of threads. If the number of threads is provided, the coverage of
+ * each pair of files is computed separately (in parallel) and merged, without keeping
+ * the test cases and test results in memory, so that at most one pair of files per
+ * thread is loaded at a time. The batch size is irrelevant in that case.
  *
  */
 public class CoverageComputation {
@@ -36,22 +47,25 @@ public class CoverageComputation {
         String testDirPath = "src/test/resources/restest-test-resources/coverage-data";
         File testDir;
         int batchSize = Integer.MAX_VALUE;
+        int threads = 0; // 0: compute the coverage of all files at once
         CoverageMeter coverageMeter;
         List<Pair<String, String>> testCasesResultsFiles = new ArrayList<>(); // left = testCasesFile; right = testResultsFile
 
         // Validation of arguments
-        if (args.length != 0 && args.length != 2 && args.length != 3) {
-            throw new IllegalArgumentException("You must provide two or three arguments: 1) path to OAS,2) path to " +
-                    "folder containing test cases and test results in CSV format, and 3) batch size for computing " +
-                    "coverage (optional, but improve performance for very large test suites, e.g., >100K test cases.");
+        if (args.length != 0 && args.length != 2 && args.length != 3 && args.length != 4) {
+            throw new IllegalArgumentException("You must provide two, three or four arguments: 1) path to OAS,2) path to " +
+                    "folder containing test cases and test results in CSV format, 3) batch size for computing " +
+                    "coverage (optional, but improve performance for very large test suites, e.g., >100K test cases), " +
+                    "and 4) number of threads for computing the coverage of each pair of CSV files in parallel " +
+                    "(optional, bounds memory usage for very large numbers of files).");
         }
 
-        if (args.length == 2 || args.length == 3) {
+        if (args.length >= 2) {
             specPath = args[0];
             testDirPath = args[1];
         }
 
-        if (args.length == 3) {
+        if (args.length >= 3) {
             try {
                 batchSize = Integer.parseInt(args[2]);
                 if (batchSize <= 0)
@@ -61,8 +75,18 @@ public class CoverageComputation {
             }
         }
 
+        if (args.length == 4) {
+            try {
+                threads = Integer.parseInt(args[3]);
+                if (threads <= 0)
+                    throw new Exception();
+            } catch (Exception e) {
+                throw new IllegalArgumentException("The number of threads must be an integer greater than 0.");
+            }
+        }
+
         try {
-            spec = new OpenAPISpecification(specPath);
+            spec = OpenAPISpecificationRegistry.getSpecification(specPath);
         } catch (Exception e) {
             throw new IllegalArgumentException("The specified OAS file is not valid or does not exist.", e);
         }
@@ -94,16 +118,25 @@ public class CoverageComputation {
                 testCasesResultsFiles.add(Pair.with(testDir.getPath() + "/" + testCasesFile, testDir.getPath() + "/" + testResultsFile));
         }
 
-        // Add test cases and test results to coverageMeter progressively
-        int i = 1;
-        int total = testCasesResultsFiles.size();
-        logger.info("Computing coverage");
-        for (Pair<String, String> testCasesResultsFile: testCasesResultsFiles) {
-            Collection<TestCase> testSuite = TestManager.getTestCases(testCasesResultsFile.getValue0());
-            Collection<TestResult> testResults = TestManager.getTestResults(testCasesResultsFile.getValue1());
-            coverageMeter.addTestSuite(testSuite);
-            coverageMeter.addTestResults(testResults, testSuite);
-            logger.info("Progress: {}/{}", i++, total);
+        CoverageMeter aPosterioriCoverageMeter;
+        if (threads > 0) {
+            // Compute the coverage of each pair of files separately, in parallel
+            Pair<CoverageMeter, CoverageMeter> coverageMeters = computeCoverage(spec, testCasesResultsFiles, threads);
+            coverageMeter = coverageMeters.getValue0();
+            aPosterioriCoverageMeter = coverageMeters.getValue1();
+        } else {
+            // Add test cases and test results to coverageMeter progressively
+            int i = 1;
+            int total = testCasesResultsFiles.size();
+            logger.info("Computing coverage");
+            for (Pair<String, String> testCasesResultsFile: testCasesResultsFiles) {
+                Collection<TestCase> testSuite = TestManager.getTestCases(testCasesResultsFile.getValue0());
+                Collection<TestResult> testResults = TestManager.getTestResults(testCasesResultsFile.getValue1());
+                coverageMeter.addTestSuite(testSuite);
+                coverageMeter.addTestResults(testResults, testSuite);
+                logger.info("Progress: {}/{}", i++, total);
+            }
+            aPosterioriCoverageMeter = coverageMeter.getAPosteriorCoverageMeter(batchSize);
         }
 
         // Export coverage to CSV (both a priori and a posteriori)
@@ -116,10 +149,71 @@ public class CoverageComputation {
         logger.info("Generating coverage a priori");
         exportCoverageReport(coverageMeter, aPrioriCoveragePath);
         logger.info("Generating coverage a posteriori");
-        exportCoverageReport(coverageMeter.getAPosteriorCoverageMeter(batchSize), aPosterioriCoveragePath);
+        exportCoverageReport(aPosterioriCoverageMeter, aPosterioriCoveragePath);
         logger.info("Coverage files generated in path {}", testDirPath);
     }
 
+    /**
+     * Computes the a priori and a posteriori coverage of several pairs of test cases and test results
+     * files. Each thread computes the coverage of one pair of files at a time, and accumulates it in its
+     * own CoverageMeters. The records of the files are streamed, so the test cases and test results are
+     * never loaded in memory. The partial coverage of all
+     * threads is merged at the end. Test results are matched with the test cases of their own pair of files.
+     * @param spec OpenAPI specification
+     * @param testCasesResultsFiles Pairs of files (left = test cases file; right = test results file)
+     * @param threads Number of threads
+     * @return CoverageMeters with the a priori coverage (left) and the a posteriori coverage (right).
+     * They do not contain the test cases or the test results
+     */
+    public static Pair<CoverageMeter, CoverageMeter> computeCoverage(OpenAPISpecification spec, List<Pair<String, String>> testCasesResultsFiles, int threads) {
+        int total = testCasesResultsFiles.size();
+        int workers = Math.max(1, Math.min(threads, total));
+        AtomicInteger nextFile = new AtomicInteger();
+        AtomicInteger processedFiles = new AtomicInteger();
+
+        // Partial CoverageMeters of every worker (a priori, a posteriori), created beforehand from the shared specification
+        List<Pair<CoverageMeter, CoverageMeter>> partialCoverageMeters = new ArrayList<>();
+        for (int i = 0; i < workers; i++)
+            partialCoverageMeters.add(Pair.with(new CoverageMeter(new CoverageGatherer(spec)), new CoverageMeter(new CoverageGatherer(spec))));
+
+        logger.info("Computing coverage of {} pairs of files with {} threads", total, workers);
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Pair<CoverageMeter, CoverageMeter> coverageMeters: partialCoverageMeters) {
+                futures.add(executor.submit(() -> {
+                    for (int i = nextFile.getAndIncrement(); i < total; i = nextFile.getAndIncrement()) {
+                        Pair<String, String> testCasesResultsFile = testCasesResultsFiles.get(i);
+                        coverageMeters.getValue0().updateCoverage(
+                                () -> TestManager.streamTestCases(testCasesResultsFile.getValue0()),
+                                () -> TestManager.streamTestResults(testCasesResultsFile.getValue1()),
+                                coverageMeters.getValue1());
+                        logger.info("Progress: {}/{}", processedFiles.incrementAndGet(), total);
+                    }
+                }));
+            }
+
+            for (Future<?> future: futures)
+                future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The computation of the coverage was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("There was a problem computing the coverage: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Merge the coverage of all workers into the CoverageMeters of the first one
+        Pair<CoverageMeter, CoverageMeter> coverageMeters = partialCoverageMeters.get(0);
+        for (Pair<CoverageMeter, CoverageMeter> partialCoverageMeter: partialCoverageMeters.subList(1, workers)) {
+            coverageMeters.getValue0().addCoverage(partialCoverageMeter.getValue0());
+            coverageMeters.getValue1().addCoverage(partialCoverageMeter.getValue1());
+        }
+
+        return coverageMeters;
+    }
+
     private static void exportCoverageReport(CoverageMeter coverageMeter, String path) {
         CoverageResults results = new CoverageResults(coverageMeter);
         results.setCoverageOfCoverageCriteriaFromCoverageMeter(coverageMeter);
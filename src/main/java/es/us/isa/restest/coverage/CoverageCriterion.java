@@ -1,7 +1,6 @@
 package es.us.isa.restest.coverage;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 import java.util.Map.Entry;
 
 /**
@@ -12,8 +11,10 @@ import java.util.Map.Entry;
  */
 public class CoverageCriterion {
 
-    private CriterionType type;             // Type of coverage criterion: paths, operations, content-type, etc.
-    private Map<String, Boolean> elements;  // Keys are the elements to cover and values represent whether they have already been covered or not
+    private CriterionType type;                     // Type of coverage criterion: paths, operations, content-type, etc.
+    private Map<String, Integer> elementOrdinals;   // Keys are the elements to cover and values are their ordinals in coveredElements
+    private BitSet coveredElements;                 // Bit i is set if the element with ordinal i has already been covered
+    private int coveredElementsCount;               // Number of bits set in coveredElements
 
     /**
      * The following property's purpose is to locate the criterion inside the API resources hierarchy. There could be several parameter values
@@ -26,7 +27,9 @@ public class CoverageCriterion {
 
     public CoverageCriterion(CriterionType type) {
         this.type = type;
-        this.elements = new HashMap<>();
+        this.elementOrdinals = new HashMap<>();
+        this.coveredElements = new BitSet();
+        this.coveredElementsCount = 0;
         this.rootPath = "";
     }
 
@@ -38,12 +41,31 @@ public class CoverageCriterion {
         this.type = type;
     }
 
+    /**
+     * @return Read-only view of the elements of this criterion. Keys are the elements to
+     * cover and values represent whether they have already been covered or not
+     */
     public Map<String, Boolean> getElements() {
-        return elements;
+        return new ElementsView(false);
     }
 
+    /**
+     * Set the elements of this criterion
+     * @param elements Keys are the elements to cover and values represent whether they
+     *                 have already been covered or not
+     */
     public void setElements(Map<String, Boolean> elements) {
-        this.elements = elements;
+        this.elementOrdinals = new HashMap<>(elements.size() * 4 / 3 + 1);
+        this.coveredElements = new BitSet(elements.size());
+        this.coveredElementsCount = 0;
+        for (Entry<String, Boolean> element: elements.entrySet()) {
+            int ordinal = elementOrdinals.size();
+            elementOrdinals.put(element.getKey().intern(), ordinal); // Elements (e.g., parameter values) are often repeated among criteria
+            if (Boolean.TRUE.equals(element.getValue())) {
+                coveredElements.set(ordinal);
+                coveredElementsCount++;
+            }
+        }
     }
 
     public String getRootPath() {
@@ -57,32 +79,24 @@ public class CoverageCriterion {
     /**
      * Helper function to return elements already covered.
      * 
-     * @return Map of covered elements, i.e. all those whose value is true
+     * @return Read-only view of covered elements, i.e. all those whose value is true
      */
     public Map<String, Boolean> getCoveredElements() {
-        Map<String, Boolean> coveredElements = new HashMap<>();
-        for (Entry<String, Boolean> element: elements.entrySet()) {
-            if (element.getValue()) {
-                coveredElements.put(element.getKey(), element.getValue());
-            }
-        }
-        return coveredElements;
+        return new ElementsView(true);
     }
 
     /**
      * @return Number of elements in this criterion
      */
     public long getElementsCount() {
-        return elements.size();
+        return elementOrdinals.size();
     }
 
     /**
      * @return Number of elements already covered in this criterion
      */
     public long getCoveredElementsCount() {
-        return elements.entrySet().stream()
-                .filter(e -> e.getValue())
-                .count();
+        return coveredElementsCount;
     }
 
     /**
@@ -90,21 +104,82 @@ public class CoverageCriterion {
      * @param newlyCoveredElement the element to cover
      */
     public void coverElement(String newlyCoveredElement) {
-        if (elements.get(newlyCoveredElement) != null) { // check that the element exists
-            elements.put(newlyCoveredElement, true);
+        Integer ordinal = elementOrdinals.get(newlyCoveredElement);
+        if (ordinal != null && !coveredElements.get(ordinal)) { // check that the element exists and is not covered yet
+            coveredElements.set(ordinal);
+            coveredElementsCount++;
         }
     }
 
+    /**
+     * Set as covered all the elements already covered in another criterion (e.g., the same
+     * criterion of another CoverageGatherer). Elements not present in this criterion are ignored
+     * @param criterion the criterion whose covered elements to cover
+     */
+    public void coverElements(CoverageCriterion criterion) {
+        for (String element: criterion.getCoveredElements().keySet())
+            coverElement(element);
+    }
+
     /**
      * Get coverage of this criterion as a percentage by dividing the
      * number of covered elements by the number of total elements.
      * @return coverage percentage
      */
     public float getCoverage() {
-        if (elements.size() == 0) {
+        if (elementOrdinals.size() == 0) {
             return 100;
         }
 
         return 100 * (float)getCoveredElementsCount() / (float)getElementsCount();
     }
-}
\ No newline at end of file
+
+    /**
+     * Map view of the elements of the criterion (or only of the covered ones), backed
+     * by the ordinals and the bit set of covered elements.
+     */
+    private class ElementsView extends AbstractMap<String, Boolean> {
+
+        private final boolean onlyCovered;
+
+        private ElementsView(boolean onlyCovered) {
+            this.onlyCovered = onlyCovered;
+        }
+
+        @Override
+        public Boolean get(Object element) {
+            Integer ordinal = elementOrdinals.get(element);
+            if (ordinal == null || (onlyCovered && !coveredElements.get(ordinal)))
+                return null;
+            return coveredElements.get(ordinal);
+        }
+
+        @Override
+        public boolean containsKey(Object element) {
+            return get(element) != null;
+        }
+
+        @Override
+        public int size() {
+            return onlyCovered ? coveredElementsCount : elementOrdinals.size();
+        }
+
+        @Override
+        public Set<Entry<String, Boolean>> entrySet() {
+            return new AbstractSet<Entry<String, Boolean>>() {
+                @Override
+                public Iterator<Entry<String, Boolean>> iterator() {
+                    return elementOrdinals.entrySet().stream()
+                            .filter(e -> !onlyCovered || coveredElements.get(e.getValue()))
+                            .map(e -> (Entry<String, Boolean>) new SimpleImmutableEntry<>(e.getKey(), coveredElements.get(e.getValue())))
+                            .iterator();
+                }
+
+                @Override
+                public int size() {
+                    return ElementsView.this.size();
+                }
+            };
+        }
+    }
+}
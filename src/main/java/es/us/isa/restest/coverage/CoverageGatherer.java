@@ -17,6 +17,8 @@ import static es.us.isa.restest.specification.OpenAPISpecificationVisitor.*;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +39,7 @@ public class CoverageGatherer {
     private OpenAPISpecification spec;                  // OpenAPI specification to deduce coverage levels from
     private List<CriterionType> coverageCriterionTypes; // Types of criteria to be covered
     private List<CoverageCriterion> coverageCriteria;   // Coverage criteria to keep track of
+    private Map<CriterionType, Map<String, CoverageCriterion>> coverageCriteriaIndex; // Coverage criteria indexed by type and rootPath
 //    private int bodyPropertyDepthLevel = 0;
 
     public CoverageGatherer(OpenAPISpecification spec) {
@@ -45,6 +48,7 @@ public class CoverageGatherer {
         this.coverageCriteria = new ArrayList<>();
         setDefaultCoverageCriterionTypes();
         createCoverageCriteria();
+        indexCoverageCriteria();
     }
 
     public CoverageGatherer(OpenAPISpecification spec, List<CriterionType> coverageCriterionTypes) {
@@ -52,6 +56,7 @@ public class CoverageGatherer {
         this.coverageCriterionTypes = coverageCriterionTypes;
         this.coverageCriteria = new ArrayList<>();
         createCoverageCriteria();
+        indexCoverageCriteria();
     }
 
     public OpenAPISpecification getSpec() {
@@ -76,6 +81,45 @@ public class CoverageGatherer {
 
     public void setCoverageCriteria(List<CoverageCriterion> coverageCriteria) {
         this.coverageCriteria = coverageCriteria;
+        indexCoverageCriteria();
+    }
+
+    /**
+     * Find a coverage criterion by its type and rootPath, which together uniquely identify it.
+     *
+     * @param type Type of coverage criterion (PATH, STATUS_CODE, etc.)
+     * @param rootPath Path to the criterion, e.g. "/pets->GET->type"
+     * @return The coverage criterion, or null if there is none with such type and rootPath
+     */
+    public CoverageCriterion getCoverageCriterion(CriterionType type, String rootPath) {
+        Map<String, CoverageCriterion> criteriaOfType = coverageCriteriaIndex.get(type);
+        return criteriaOfType != null ? criteriaOfType.get(rootPath) : null;
+    }
+
+    /**
+     * Merge the coverage of another CoverageGatherer built from the same specification, so that every
+     * element covered there is covered here too.
+     *
+     * @param coverageGatherer CoverageGatherer whose covered elements to add
+     */
+    public void addCoverage(CoverageGatherer coverageGatherer) {
+        for (CoverageCriterion criterion : coverageGatherer.getCoverageCriteria()) {
+            CoverageCriterion ownCriterion = getCoverageCriterion(criterion.getType(), criterion.getRootPath());
+            if (ownCriterion != null)
+                ownCriterion.coverElements(criterion);
+        }
+    }
+
+    /**
+     * Index coverage criteria by type and rootPath. If several criteria share the same
+     * type and rootPath, only the first one is indexed.
+     */
+    private void indexCoverageCriteria() {
+        coverageCriteriaIndex = new EnumMap<>(CriterionType.class);
+        for (CoverageCriterion criterion : coverageCriteria) {
+            coverageCriteriaIndex.computeIfAbsent(criterion.getType(), t -> new HashMap<>())
+                    .putIfAbsent(criterion.getRootPath(), criterion);
+        }
     }
 
     /**
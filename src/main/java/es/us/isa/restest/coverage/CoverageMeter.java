@@ -5,16 +5,18 @@ import static es.us.isa.restest.coverage.CriterionType.*;
 import java.io.IOException;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import es.us.isa.restest.testcases.TestCase;
 import es.us.isa.restest.testcases.TestResult;
 import static es.us.isa.restest.util.CSVManager.*;
 import static es.us.isa.restest.util.FileManager.*;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -28,6 +30,7 @@ import org.apache.logging.log4j.Logger;
 public class CoverageMeter {
 
     private static final Logger log = LogManager.getLogger(CoverageMeter.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
     private CoverageGatherer coverageGatherer;  // coverage gatherer already containing all criteria to be covered
     private Collection<TestCase> testSuite;     // full set of abstract test cases addressing the API
     private Collection<TestResult> testResults; // test outputs generated after running the test suite against the API
@@ -148,10 +151,11 @@ public class CoverageMeter {
      * @return Coverage percentage
      */
     public float getTotalCoverage() {
-        if (getAllTotalElements() == 0) {
+        long allElements = getAllTotalElements();
+        if (allElements == 0) {
             return 100;
         }
-        return 100 * (float) getCoveredTotalElements() / (float) getAllTotalElements();
+        return 100 * (float) getCoveredTotalElements() / (float) allElements;
     }
 
     /**
@@ -160,10 +164,11 @@ public class CoverageMeter {
      * @return Coverage percentage
      */
     public float getInputCoverage() {
-        if (getAllInputElements() == 0) {
+        long allElements = getAllInputElements();
+        if (allElements == 0) {
             return 100;
         }
-        return 100 * (float) getCoveredInputElements() / (float) getAllInputElements();
+        return 100 * (float) getCoveredInputElements() / (float) allElements;
     }
 
     /**
@@ -172,10 +177,11 @@ public class CoverageMeter {
      * @return Coverage percentage
      */
     public float getOutputCoverage() {
-        if (getAllOutputElements() == 0) {
+        long allElements = getAllOutputElements();
+        if (allElements == 0) {
             return 100;
         }
-        return 100 * (float) getCoveredOutputElements() / (float) getAllOutputElements();
+        return 100 * (float) getCoveredOutputElements() / (float) allElements;
     }
 
     /**
@@ -210,10 +216,7 @@ public class CoverageMeter {
      * @return Coverage percentage
      */
     public float getCriterionCoverage(CriterionType type, String rootPath) {
-        CoverageCriterion criterion = coverageGatherer.getCoverageCriteria().stream() // find criterion
-                .filter(c -> c.getType() == type && c.getRootPath().equals(rootPath))
-                .findFirst()
-                .orElse(null);
+        CoverageCriterion criterion = coverageGatherer.getCoverageCriterion(type, rootPath); // find criterion
 
         if (criterion != null) {
             return criterion.getCoverage();
@@ -236,109 +239,201 @@ public class CoverageMeter {
         CoverageMeter aPosterioriCoverageMeter = new CoverageMeter(new CoverageGatherer(coverageGatherer.getSpec()));
 
         if(testResults != null) {
-            List<String> tcIds = testSuite.stream().map(TestCase::getId).collect(Collectors.toList());
-            List<String> trIds = testResults.stream().map(TestResult::getId).collect(Collectors.toList());
-            List<TestCase> orderedTestSuite = new ArrayList<>(testSuite).stream()
+            Set<String> tcIds = testSuite.stream().map(TestCase::getId).collect(Collectors.toSet());
+            Set<String> trIds = testResults.stream().map(TestResult::getId).collect(Collectors.toSet());
+            List<TestCase> orderedTestSuite = testSuite.stream()
                     .filter(tc -> trIds.contains(tc.getId()))
                     .sorted(Comparator.comparing(TestCase::getId))
                     .collect(Collectors.toList());
-            List<TestResult> orderedTestResults = new ArrayList<>(testResults).stream()
+            List<TestResult> orderedTestResults = testResults.stream()
                     .filter(tr -> tcIds.contains(tr.getId()))
                     .sorted(Comparator.comparing(TestResult::getId))
                     .collect(Collectors.toList());
 
             aPosterioriCoverageMeter.testSuite = orderedTestSuite;
             aPosterioriCoverageMeter.testResults = orderedTestResults;
-            int totalSize = orderedTestSuite.size();
-
-            for (int i=0; i*maxTestSuiteSize < totalSize; i++) {
-                int upperLimit = Math.min((i + 1) * maxTestSuiteSize, totalSize);
-                Collection<TestCase> testSuiteFragment = orderedTestSuite.subList(i*maxTestSuiteSize, upperLimit);
-                Collection<TestResult> testResultsFragment = orderedTestResults.subList(i*maxTestSuiteSize, upperLimit);
-
-                List<String> invalidResponseResultsIds = new ArrayList<>(testResultsFragment).stream()
-                        .filter(testResult -> Integer.parseInt(testResult.getStatusCode()) >= 400)
-                        .map(TestResult::getId)
-                        .collect(Collectors.toList());
-
-                aPosterioriCoverageMeter.setCoveredOutputElements(testResultsFragment, testSuiteFragment);
-                testSuiteFragment = testSuiteFragment.stream()
-                        .filter(testCase -> !invalidResponseResultsIds.contains(testCase.getId()))
-                        .collect(Collectors.toList());
-                aPosterioriCoverageMeter.setCoveredInputElements(testSuiteFragment);
-
-                if (maxTestSuiteSize != Integer.MAX_VALUE)
-                    log.info("Creating a posteriori coverage meter. Progress: {}/{}", upperLimit, totalSize);
-            }
+            aPosterioriCoverageMeter.setAPosterioriCoveredElements(orderedTestSuite, orderedTestResults, maxTestSuiteSize);
         }
 
         return aPosterioriCoverageMeter;
     }
 
+    /**
+     * Update the coverage with a test suite and its test results, without keeping them (unlike
+     * {@link #addTestSuite(Collection)} and {@link #addTestResults(Collection, Collection)}). This
+     * allows computing the coverage of very large test suites progressively, e.g., one CSV file at a time.
+     *
+     * @param testSuite Test cases
+     * @param testResults Test results of the test cases
+     * @param aPosteriori If true, the coverage is computed as in {@link #getAPosteriorCoverageMeter()}:
+     *                    only test cases with a test result count, and their input elements are only
+     *                    covered if the response was successful
+     */
+    public void updateCoverage(Collection<TestCase> testSuite, Collection<TestResult> testResults, boolean aPosteriori) {
+        if (!aPosteriori) {
+            setCoveredInputElements(testSuite);
+            setCoveredOutputElements(testResults, testSuite);
+            return;
+        }
+
+        Set<String> tcIds = testSuite.stream().map(TestCase::getId).collect(Collectors.toSet());
+        Set<String> trIds = testResults.stream().map(TestResult::getId).collect(Collectors.toSet());
+        setAPosterioriCoveredElements(
+                testSuite.stream().filter(tc -> trIds.contains(tc.getId())).collect(Collectors.toList()),
+                testResults.stream().filter(tr -> tcIds.contains(tr.getId())).collect(Collectors.toList()),
+                Integer.MAX_VALUE);
+    }
+
+    /**
+     * Update the a priori coverage of this CoverageMeter and the a posteriori coverage of another one with a test
+     * suite and its test results read as streams (e.g., from CSV files), so that they are never loaded in memory.
+     * The coverage is the same as that of {@link #updateCoverage(Collection, Collection, boolean)}. The test cases
+     * are read twice, and only the operation of each test case and the IDs of the test results are kept meanwhile.
+     *
+     * @param testSuite Supplier of a new stream of the test cases, closed after use
+     * @param testResults Supplier of a new stream of the test results of the test cases, closed after use
+     * @param aPosterioriCoverageMeter CoverageMeter whose a posteriori coverage to update
+     */
+    public void updateCoverage(Supplier<Stream<TestCase>> testSuite, Supplier<Stream<TestResult>> testResults, CoverageMeter aPosterioriCoverageMeter) {
+        Map<String, String> operationRootPaths = new HashMap<>(); // Operation ("{path}->{httpMethod}") of each test case, by ID
+        try (Stream<TestCase> testCases = testSuite.get()) {
+            testCases.forEach(testCase -> {
+                setCoveredInputElements(testCase);
+                operationRootPaths.putIfAbsent(testCase.getId(), getOperationRootPath(testCase));
+            });
+        }
+
+        Set<String> trIds = new HashSet<>();
+        Set<String> invalidResponseResultsIds = new HashSet<>();
+        try (Stream<TestResult> results = testResults.get()) {
+            results.forEach(testResult -> {
+                String operationRootPath = operationRootPaths.get(testResult.getId());
+                if (operationRootPath == null)
+                    throw new IllegalArgumentException("There is no test case with id <" + testResult.getId() + ">");
+                setCoveredOutputElements(testResult, operationRootPath);
+                aPosterioriCoverageMeter.setCoveredOutputElements(testResult, operationRootPath);
+                trIds.add(testResult.getId());
+                if (Integer.parseInt(testResult.getStatusCode()) >= 400)
+                    invalidResponseResultsIds.add(testResult.getId());
+            });
+        }
+
+        try (Stream<TestCase> testCases = testSuite.get()) {
+            testCases.filter(testCase -> trIds.contains(testCase.getId()) && !invalidResponseResultsIds.contains(testCase.getId()))
+                    .forEach(aPosterioriCoverageMeter::setCoveredInputElements);
+        }
+    }
+
+    /**
+     * Merge the coverage of another CoverageMeter built from the same specification (e.g.,
+     * computed in parallel over another part of the test suite) into this one
+     *
+     * @param coverageMeter CoverageMeter whose covered elements to add
+     */
+    public void addCoverage(CoverageMeter coverageMeter) {
+        coverageGatherer.addCoverage(coverageMeter.getCoverageGatherer());
+    }
+
+    /**
+     * Set a posteriori covered elements: output elements of all test results, and input elements
+     * of the test cases whose response was successful. Test cases and test results are processed
+     * in fragments of maxTestSuiteSize elements
+     */
+    private void setAPosterioriCoveredElements(List<TestCase> orderedTestSuite, List<TestResult> orderedTestResults, int maxTestSuiteSize) {
+        int totalSize = orderedTestSuite.size();
+
+        for (int i=0; i*maxTestSuiteSize < totalSize; i++) {
+            int upperLimit = Math.min((i + 1) * maxTestSuiteSize, totalSize);
+            Collection<TestCase> testSuiteFragment = orderedTestSuite.subList(i*maxTestSuiteSize, upperLimit);
+            Collection<TestResult> testResultsFragment = orderedTestResults.subList(i*maxTestSuiteSize, upperLimit);
+
+            Set<String> invalidResponseResultsIds = testResultsFragment.stream()
+                    .filter(testResult -> Integer.parseInt(testResult.getStatusCode()) >= 400)
+                    .map(TestResult::getId)
+                    .collect(Collectors.toSet());
+
+            setCoveredOutputElements(testResultsFragment, testSuiteFragment);
+            testSuiteFragment = testSuiteFragment.stream()
+                    .filter(testCase -> !invalidResponseResultsIds.contains(testCase.getId()))
+                    .collect(Collectors.toList());
+            setCoveredInputElements(testSuiteFragment);
+
+            if (maxTestSuiteSize != Integer.MAX_VALUE)
+                log.info("Creating a posteriori coverage meter. Progress: {}/{}", upperLimit, totalSize);
+        }
+    }
+
     /**
      * Set 'coveredElements' field of every input CoverageCriterion
      * @param testSuite
      */
     private void setCoveredInputElements(Collection<TestCase> testSuite) {
         // Traverse all test cases and, for each one, modify the coverage criteria it affects, by adding new covered elements
-        for (TestCase testCase: testSuite) {
-            updateCriterion(PATH, "", testCase.getPath(), coverageGatherer);
-            updateCriterion(OPERATION, testCase.getPath(), testCase.getMethod().toString(), coverageGatherer);
-            for (Entry<String, String> parameter: testCase.getHeaderParameters().entrySet()) {
-                updateCriterion(PARAMETER, testCase.getPath() + "->" + testCase.getMethod().toString(), parameter.getKey(), coverageGatherer);
-                updateCriterion(PARAMETER_VALUE, testCase.getPath() + "->" + testCase.getMethod().toString() + "->" + parameter.getKey(), parameter.getValue(), coverageGatherer);
-            }
-            for (Entry<String, String> parameter: testCase.getPathParameters().entrySet()) {
-                updateCriterion(PARAMETER, testCase.getPath() + "->" + testCase.getMethod().toString(), parameter.getKey(), coverageGatherer);
-                updateCriterion(PARAMETER_VALUE, testCase.getPath() + "->" + testCase.getMethod().toString() + "->" + parameter.getKey(), parameter.getValue(), coverageGatherer);
-            }
-            for (Entry<String, String> parameter: testCase.getQueryParameters().entrySet()) {
-                updateCriterion(PARAMETER, testCase.getPath() + "->" + testCase.getMethod().toString(), parameter.getKey(), coverageGatherer);
-                updateCriterion(PARAMETER_VALUE, testCase.getPath() + "->" + testCase.getMethod().toString() + "->" + parameter.getKey(), parameter.getValue(), coverageGatherer);
-            }
-            for(Entry<String, String> parameter : testCase.getFormParameters().entrySet()) {
-                updateCriterion(PARAMETER, testCase.getPath() + "->" + testCase.getMethod().toString(), parameter.getKey(), coverageGatherer);
-                updateCriterion(PARAMETER_VALUE, testCase.getPath() + "->" + testCase.getMethod().toString() + "->" + parameter.getKey(), parameter.getValue(), coverageGatherer);
-            }
-            updateCriterion(PARAMETER, testCase.getPath() + "->" + testCase.getMethod().toString(), "body", coverageGatherer);
-//            updateCriterion(AUTHENTICATION, testCase.getPath() + "->" + testCase.getMethod().toString(), testCase.getAuthentication());
-            updateCriterion(INPUT_CONTENT_TYPE, testCase.getPath() + "->" + testCase.getMethod().toString(), testCase.getInputFormat(), coverageGatherer);
+        for (TestCase testCase: testSuite)
+            setCoveredInputElements(testCase);
+    }
 
+    private void setCoveredInputElements(TestCase testCase) {
+        updateCriterion(PATH, "", testCase.getPath(), coverageGatherer);
+        updateCriterion(OPERATION, testCase.getPath(), testCase.getMethod().toString(), coverageGatherer);
+        for (Entry<String, String> parameter: testCase.getHeaderParameters().entrySet()) {
+            updateCriterion(PARAMETER, testCase.getPath() + "->" + testCase.getMethod().toString(), parameter.getKey(), coverageGatherer);
+            updateCriterion(PARAMETER_VALUE, testCase.getPath() + "->" + testCase.getMethod().toString() + "->" + parameter.getKey(), parameter.getValue(), coverageGatherer);
+        }
+        for (Entry<String, String> parameter: testCase.getPathParameters().entrySet()) {
+            updateCriterion(PARAMETER, testCase.getPath() + "->" + testCase.getMethod().toString(), parameter.getKey(), coverageGatherer);
+            updateCriterion(PARAMETER_VALUE, testCase.getPath() + "->" + testCase.getMethod().toString() + "->" + parameter.getKey(), parameter.getValue(), coverageGatherer);
         }
+        for (Entry<String, String> parameter: testCase.getQueryParameters().entrySet()) {
+            updateCriterion(PARAMETER, testCase.getPath() + "->" + testCase.getMethod().toString(), parameter.getKey(), coverageGatherer);
+            updateCriterion(PARAMETER_VALUE, testCase.getPath() + "->" + testCase.getMethod().toString() + "->" + parameter.getKey(), parameter.getValue(), coverageGatherer);
+        }
+        for(Entry<String, String> parameter : testCase.getFormParameters().entrySet()) {
+            updateCriterion(PARAMETER, testCase.getPath() + "->" + testCase.getMethod().toString(), parameter.getKey(), coverageGatherer);
+            updateCriterion(PARAMETER_VALUE, testCase.getPath() + "->" + testCase.getMethod().toString() + "->" + parameter.getKey(), parameter.getValue(), coverageGatherer);
+        }
+        updateCriterion(PARAMETER, testCase.getPath() + "->" + testCase.getMethod().toString(), "body", coverageGatherer);
+//            updateCriterion(AUTHENTICATION, testCase.getPath() + "->" + testCase.getMethod().toString(), testCase.getAuthentication());
+            updateCriterion(INPUT_CONTENT_TYPE, testCase.getPath() + "->" + testCase.getMethod().toString(), testCase.getInputFormat(), coverageGatherer);
     }
 
     private void setCoveredOutputElements(Collection<TestResult> testResults, Collection<TestCase> testSuite) {
+        Map<String, TestCase> testCasesById = indexTestCases(testSuite);
+
         // Traverse all test results and, for each one, modify the coverage criteria it affects, by adding new covered elements
-        for (TestResult testResult: testResults) {
+        for (TestResult testResult: testResults)
+            setCoveredOutputElements(testResult, getOperationRootPath(findTestCase(testResult.getId(), testCasesById)));
+    }
 
-            String statusCodeClass = null;
-            if(testResult.getStatusCode().charAt(0) == '4') {
-                statusCodeClass = "4XX";
-            } else if(testResult.getStatusCode().charAt(0) == '2') {
-                statusCodeClass = "2XX";
-            }
+    private void setCoveredOutputElements(TestResult testResult, String operationRootPath) {
+        String statusCodeClass = null;
+        if(testResult.getStatusCode().charAt(0) == '4') {
+            statusCodeClass = "4XX";
+        } else if(testResult.getStatusCode().charAt(0) == '2') {
+            statusCodeClass = "2XX";
+        }
 
-            if (statusCodeClass != null)
-                updateCriterion(STATUS_CODE_CLASS, findTestCase(testResult.getId(), testSuite).getPath() + "->" + findTestCase(testResult.getId(), testSuite).getMethod().toString(), statusCodeClass, coverageGatherer);
-            updateCriterion(STATUS_CODE, findTestCase(testResult.getId(), testSuite).getPath() + "->" + findTestCase(testResult.getId(), testSuite).getMethod().toString(), testResult.getStatusCode(), coverageGatherer);
-            updateCriterion(OUTPUT_CONTENT_TYPE, findTestCase(testResult.getId(), testSuite).getPath() + "->" + findTestCase(testResult.getId(), testSuite).getMethod().toString(), outputContentTypeTranslator(testResult.getOutputFormat()), coverageGatherer);
-
-            // Response body properties criteria
-            ObjectMapper objectMapper = new ObjectMapper();
-            try {
-                JsonNode jsonResponse = objectMapper.readTree(testResult.getResponseBody());
-                String baseRootPath = findTestCase(testResult.getId(), testSuite).getPath() +
-                        "->" + findTestCase(testResult.getId(), testSuite).getMethod().toString() +
-                        "->" + testResult.getStatusCode() + "->"; // note the final arrow, since new elements will be added to the rootPath
-                iterateOverJsonNode(jsonResponse, baseRootPath, coverageGatherer, null, null, null);
-            } catch (IOException e) {
+        if (statusCodeClass != null)
+            updateCriterion(STATUS_CODE_CLASS, operationRootPath, statusCodeClass, coverageGatherer);
+        updateCriterion(STATUS_CODE, operationRootPath, testResult.getStatusCode(), coverageGatherer);
+        updateCriterion(OUTPUT_CONTENT_TYPE, operationRootPath, outputContentTypeTranslator(testResult.getOutputFormat()), coverageGatherer);
+
+        // Response body properties criteria
+        try {
+            String baseRootPath = operationRootPath +
+                    "->" + testResult.getStatusCode() + "->"; // note the final arrow, since new elements will be added to the rootPath
+            iterateOverJson(testResult.getResponseBody(), baseRootPath,
+                    (rootPath, property) -> updateCriterion(RESPONSE_BODY_PROPERTIES, rootPath, property, coverageGatherer)); // set the property as 'covered'
+        } catch (IOException e) {
 //                System.out.println("Error setting response body properties coverage criteria: response body is text/html; expected application/json.");
 //                e.printStackTrace();
-            }
-
         }
     }
 
+    private static String getOperationRootPath(TestCase testCase) {
+        return testCase.getPath() + "->" + testCase.getMethod().toString();
+    }
+
     /**
      * This method checks if the outputFormat is application/json or application/xml; in any of those cases,
      * returns the output format that CoverageMeter is able to manage.
@@ -355,76 +450,72 @@ public class CoverageMeter {
 
     /**
      * This method can be used in two ways: a) to mark several RESPONSE_BODY_PROPERTIES as 'covered'
-     * in the CoverageGatherer of the class, or b) to export that same data to CSV. Given a JSON node, if
-     * it is a JSON object or an array of JSON objects, apply one of the two processes mentioned for
-     * every RESPONSE_BODY_PROPERTIES criterion affected. This function is to be called recursively,
-     * so as to cover all sub-properties of the root element.
+     * in the CoverageGatherer of the class, or b) to export that same data to CSV. Given a JSON document,
+     * if it is a JSON object or an array of JSON objects, apply one of the two processes mentioned for
+     * every RESPONSE_BODY_PROPERTIES criterion affected, including those of all sub-properties of the
+     * root element.
+     *
+     * The JSON document is read as a stream of tokens, without building its tree, so the memory used
+     * does not depend on the size of the response. Every property is passed to {@code propertyConsumer}
+     * only once, even if it appears in many elements of an array (all of them share the same rootPath).
      *
-     * @param jsonNode JsonNode object that may contain some properties which will be marked as 'covered'
-     *                 on the {@link CoverageGatherer} object, or exported to CSV. A JsonNode can be a
-     *                 JSON object, an array or any other data type (such as an integer or a string)
+     * @param json JSON document that may contain some properties which will be marked as 'covered'
+     *             on the {@link CoverageGatherer} object, or exported to CSV. It can be a JSON object,
+     *             an array or any other data type (such as an integer or a string)
      * @param baseRootPath Case a): Initial rootPath: "{path}->{httpMethod}->{statusCode}->". Example of
-     *                     baseRootPath after 2 iterations: "{path}->{httpMethod}->{statusCode}->{prop1[{prop2".
-     *                     Case b): Initial rootPath: "". Example of baseRootPath after 2 iterations:
-     *                     "{prop1[{prop2"
-     * @param covGath CoverageGatherer where to update the criteria. {@code null} for case a)
-     * @param filePath Path to the CSV file where to export the data. {@code null} for case b)
-     * @param testResultId ID of the test result that is being exported (must be added in the row of the CSV
-     *                     file). {@code null} for case b)
-     * @param coveredRootPaths List of rootPaths that have already been covered (added to the CSV file). This
-     *                         is necessary because, for an array, the same element could be written multiple
-     *                         times (e.g. thousands of duplicated lines for an array with thousands of
-     *                         elements). {@code null} for case b)
+     *                     rootPath of a property nested 2 levels deep: "{path}->{httpMethod}->{statusCode}->{prop1[{".
+     *                     Case b): Initial rootPath: "". Example of rootPath of a property nested 2 levels
+     *                     deep: "{prop1[{"
+     * @param propertyConsumer Function to apply to every property found, receiving the rootPath of
+     *                         the property and its name
+     * @throws IOException if the document is not valid JSON
      */
-    private static void iterateOverJsonNode(JsonNode jsonNode, String baseRootPath, CoverageGatherer covGath, String filePath, String testResultId, List<String> coveredRootPaths) {
-        Iterator<Entry<String,JsonNode>> objectPropertiesIterator = null;
-
-        if (jsonNode instanceof ObjectNode) { // if the jsonNode is actually a JSON object
-            baseRootPath += "{"; // update rootPath accordingly
-            objectPropertiesIterator = jsonNode.fields(); // get all properties from the JSON object
-            updateResponseBodyPropertiesCriteria(objectPropertiesIterator, baseRootPath, covGath, filePath, testResultId, coveredRootPaths);
-        } else if (jsonNode instanceof ArrayNode && jsonNode.get(0) instanceof ObjectNode) { // if the jsonNode is an array of JSON objects
-            baseRootPath += "[{"; // update rootPath
-            for (int i = 0; i<jsonNode.size(); i++) { // for every element of the array
-                JsonNode arrayItem = jsonNode.get(i);
-                objectPropertiesIterator = arrayItem.fields(); // get all properties from the JSON object
-                updateResponseBodyPropertiesCriteria(objectPropertiesIterator, baseRootPath, covGath, filePath, testResultId, coveredRootPaths);
+    private static void iterateOverJson(String json, String baseRootPath, BiConsumer<String, String> propertyConsumer) throws IOException {
+        if (json == null)
+            return;
+
+        Set<String> coveredRootPaths = new HashSet<>(); // rootPaths of the properties already consumed
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != null)
+                iterateOverJsonValue(parser, baseRootPath, (rootPath, property) -> {
+                    if (coveredRootPaths.add(rootPath + property))
+                        propertyConsumer.accept(rootPath, property);
+                });
+        }
+    }
 
+    /**
+     * Consume the JSON value starting at the current token of the parser. If the value is a JSON object
+     * or an array whose first element is a JSON object, all its properties are consumed recursively.
+     * Otherwise, the value is skipped. After this method returns, the current token of the parser is the
+     * last one of the value.
+     */
+    private static void iterateOverJsonValue(JsonParser parser, String baseRootPath, BiConsumer<String, String> propertyConsumer) throws IOException {
+        if (parser.currentToken() == JsonToken.START_OBJECT) { // if the value is a JSON object
+            iterateOverJsonObject(parser, baseRootPath + "{", propertyConsumer); // update rootPath accordingly
+        } else if (parser.currentToken() == JsonToken.START_ARRAY) {
+            boolean arrayOfObjects = parser.nextToken() == JsonToken.START_OBJECT; // only arrays of JSON objects are considered
+            while (parser.currentToken() != JsonToken.END_ARRAY && parser.currentToken() != null) { // for every element of the array
+                if (arrayOfObjects && parser.currentToken() == JsonToken.START_OBJECT)
+                    iterateOverJsonObject(parser, baseRootPath + "[{", propertyConsumer); // update rootPath
+                else
+                    parser.skipChildren();
+                parser.nextToken();
             }
         }
     }
 
     /**
-     * Given some object properties, iterate over all of them and update the affected RESPONSE_BODY_PROPERTIES
-     * criteria accordingly. For each property, iterate over all of their sub-properties again (recursively)
-     * to continue covering all sub-properties.
-     *
-     * @param objectPropertiesIterator Iterator of entries where the key is the name of the property and the
-     *                                 value is the JsonNode property
-     * @param rootPath Root path to locate the coverage criterion among all criteria of the
-     *                 {@link CoverageGatherer} object. To be updated with the name of the property when
-     *                 calling {@link #iterateOverJsonNode(JsonNode, String, CoverageGatherer, String, String, List) iterateOverJsonNode}
-     * @param covGath CoverageGatherer where to update the criteria
-     * @param filePath Path to the CSV file where to export the data
-     * @param testResultId ID of the test result that is being exported (must added in the row of the CSV file).
-     * @param coveredRootPaths List of rootPaths that have already been covered (added to the CSV file). This
-     *                         is necessary because, for an array, the same element could be written multiple
-     *                         times (e.g. thousands of duplicated lines for an array with thousands of
-     *                         elements).
+     * Consume all properties of the JSON object starting at the current token of the parser, and iterate
+     * over the sub-properties of each of them. After this method returns, the current token of the parser
+     * is the end of the object.
      */
-    private static void updateResponseBodyPropertiesCriteria(Iterator<Entry<String,JsonNode>> objectPropertiesIterator, String rootPath, CoverageGatherer covGath, String filePath, String testResultId, List<String> coveredRootPaths) {
-        while (objectPropertiesIterator != null && objectPropertiesIterator.hasNext()) { // iterate over all properties of the object
-            Entry<String,JsonNode> responseProperty = objectPropertiesIterator.next();
-            if (filePath == null) // if we want to update the CoverageGatherer object
-                updateCriterion(RESPONSE_BODY_PROPERTIES, rootPath, responseProperty.getKey(), covGath); // set the property as 'covered'
-            else { // if we want to export the results to CSV
-                String updatedRootPath = rootPath + responseProperty.getKey();
-                if (!coveredRootPaths.contains(updatedRootPath)) {
-                    writeCSVRow(filePath, testResultId + ",RESPONSE_BODY_PROPERTIES," + rootPath + responseProperty.getKey());
-                    coveredRootPaths.add(updatedRootPath); // add the rootPath to the list of covered ones, in order not to duplicate lines in the CSV file
-                }
-            }
-            iterateOverJsonNode(responseProperty.getValue(), rootPath+responseProperty.getKey(), covGath, filePath, testResultId, coveredRootPaths); // iterate over the sub-properties of that property
+    private static void iterateOverJsonObject(JsonParser parser, String rootPath, BiConsumer<String, String> propertyConsumer) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) { // iterate over all properties of the object
+            String property = parser.getCurrentName();
+            propertyConsumer.accept(rootPath, property);
+            parser.nextToken();
+            iterateOverJsonValue(parser, rootPath + property, propertyConsumer); // iterate over the sub-properties of that property
         }
     }
 
@@ -438,27 +529,37 @@ public class CoverageMeter {
      */
     private static void updateCriterion(CriterionType type, String rootPath, String element, CoverageGatherer covGath) {
         // Find unique criterion by type and rootPath
-        CoverageCriterion criterion = covGath.getCoverageCriteria().stream()
-                .filter(c -> c.getType() == type && c.getRootPath().equals(rootPath))
-                .findFirst()
-                .orElse(null);
+        CoverageCriterion criterion = covGath.getCoverageCriterion(type, rootPath);
 
         if (criterion != null) { // if the criterion exists
             criterion.coverElement(element); // add element to the already covered elements of the criterion
         }
     }
 
+    /**
+     * Index a collection of test cases by their IDs. If several test cases share
+     * the same ID, only the first one is indexed.
+     * @param testSuite collection of test cases to index
+     * @return Map whose keys are the IDs of the test cases and whose values are the test cases
+     */
+    private static Map<String, TestCase> indexTestCases(Collection<TestCase> testSuite) {
+        Map<String, TestCase> testCasesById = new HashMap<>();
+        for (TestCase testCase: testSuite)
+            testCasesById.putIfAbsent(testCase.getId(), testCase);
+        return testCasesById;
+    }
+
     /**
      * Given a test case ID (or test result ID), return the test case
      * @param id ID of the test case
-     * @param testSuite collection of test cases where to look for the ID
+     * @param testCasesById test cases indexed by ID, where to look for the ID
      * @return Test case matching the ID passed in
      */
-    private TestCase findTestCase(String id, Collection<TestCase> testSuite) {
-        return testSuite.stream()
-                .filter(tc -> Objects.equals(tc.getId(), id))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("There is no test case with id <" + id + ">"));
+    private static TestCase findTestCase(String id, Map<String, TestCase> testCasesById) {
+        TestCase testCase = testCasesById.get(id);
+        if (testCase == null)
+            throw new IllegalArgumentException("There is no test case with id <" + id + ">");
+        return testCase;
     }
 
     /**
@@ -551,10 +652,9 @@ public class CoverageMeter {
         writeCSVRow(path, row);
 
         // Response body properties criteria
-        ObjectMapper objectMapper = new ObjectMapper();
         try {
-            JsonNode jsonResponse = objectMapper.readTree(tr.getResponseBody());
-            iterateOverJsonNode(jsonResponse, "", null, path, tr.getId(), new ArrayList<>());
+            iterateOverJson(tr.getResponseBody(), "",
+                    (rootPath, property) -> writeCSVRow(path, tr.getId() + ",RESPONSE_BODY_PROPERTIES," + rootPath + property));
         } catch (IOException e) {
             log.error("Unable to get body properties, body is not formatted in JSON", e);
             log.error(e.getMessage());
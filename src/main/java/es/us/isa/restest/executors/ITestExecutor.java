@@ -0,0 +1,29 @@
+package es.us.isa.restest.executors;
+
+import java.util.Collection;
+
+import es.us.isa.restest.testcases.TestCase;
+import es.us.isa.restest.testcases.TestResult;
+
+/**
+ * This interface defines a test executor. The classes that implement this interface should send the requests described
+ * by domain-independent test cases to the API under test, without writing them as domain-specific test cases first
+ * (see {@link es.us.isa.restest.writers.IWriter}).
+ */
+public interface ITestExecutor {
+
+	/**
+	 * Executes a collection of domain-independent test cases and checks the responses obtained with the test oracles.
+	 * @param testCases The collection of test cases to be executed
+	 * @return the result of each test case, in the same order as the test cases
+	 */
+	Collection<TestResult> execute(Collection<TestCase> testCases);
+
+	/**
+	 * Releases the resources of the executor (e.g., thread pools). It must be called once no more test cases
+	 * are going to be executed. By default, it does nothing.
+	 */
+	default void close() {
+	}
+
+}
@@ -0,0 +1,231 @@
+package es.us.isa.restest.executors;
+
+import es.us.isa.restest.testcases.TestCase;
+import es.us.isa.restest.util.AuthManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class schedules the requests sent to an API with rate limits. Each API key of the pool managed by an
+ * {@link AuthManager} has its own token bucket, which allows sending up to <i>burst</i> requests at once and
+ * <i>requestsPerSecond</i> requests per second on average. Before sending a request, {@link #acquire(TestCase)}
+ * waits until a token is available in the bucket that can be used first, and sets the API key of that bucket in
+ * the test case, so the requests are spread across the keys. If the API does not use a pool of keys, there is a
+ * single bucket.<br><br>
+ *
+ * The rate of each key adapts to the responses of the API: when a request is throttled (e.g., 429 status code),
+ * the rate of its key is halved and no requests are sent with it until the time indicated by the API (Retry-After
+ * header) elapses. The rate is then restored progressively with each request not throttled, up to the configured rate.
+ * This class is thread-safe.
+ */
+public class RequestScheduler {
+
+	private static final long DEFAULT_RETRY_AFTER = 1000;		// Time (ms) without sending requests with a throttled key, if the API does not indicate it
+	private static final double MIN_RATE_FACTOR = 0.01;			// Minimum rate of a key, relative to the configured rate
+	private static final double RECOVERY_FACTOR = 0.1;			// Rate recovered after each request not throttled, relative to the configured rate
+
+	private final double requestsPerSecond;						// Configured rate of each key
+	private final int burst;									// Maximum number of requests sent at once with each key
+	private final AuthManager authManager;						// Pool of API keys (null if there is no pool)
+	private final Map<String, Set<String>> authKeys = new HashMap<>();	// Auth keys of the pool, by auth property
+	private final TokenBucket[] buckets;						// One token bucket per API key
+
+	private static final Logger logger = LogManager.getLogger(RequestScheduler.class.getName());
+
+	/**
+	 * Creates a scheduler of the requests sent to an API with a rate limit per API key.
+	 * @param authManager Pool of API keys (only pools of API keys and auth headers are supported). If null, or
+	 *                    if it has no keys (e.g., OAuth), the rate limit applies to all requests
+	 * @param requestsPerSecond Maximum number of requests sent per second with each key
+	 * @param burst Maximum number of requests sent at once with each key
+	 */
+	public RequestScheduler(AuthManager authManager, double requestsPerSecond, int burst) {
+		if (requestsPerSecond <= 0)
+			throw new IllegalArgumentException("The number of requests per second must be greater than 0");
+		if (burst < 1)
+			throw new IllegalArgumentException("The burst size must be greater than 0");
+
+		this.requestsPerSecond = requestsPerSecond;
+		this.burst = burst;
+		int numberOfKeys = authManager == null ? 0 : authManager.getNumberOfAuthKeys();
+		this.authManager = numberOfKeys == 0 ? null : authManager;
+
+		if (this.authManager != null) {
+			for (String authProperty: authManager.getAuthPropertyNames()) {
+				Set<String> keys = new HashSet<>();
+				for (int i = 0; i < numberOfKeys; i++)
+					keys.add(authManager.getAuthProperty(authProperty, i));
+				authKeys.put(authProperty, keys);
+			}
+		}
+
+		this.buckets = new TokenBucket[Math.max(numberOfKeys, 1)];
+		long now = System.nanoTime();
+		for (int i = 0; i < buckets.length; i++)
+			buckets[i] = new TokenBucket(requestsPerSecond, burst, now);
+	}
+
+	/**
+	 * Waits until a request can be sent, and sets in the test case the API key of the bucket used. The API key
+	 * is only replaced if the test case uses a key of the pool (e.g., invalid keys of faulty test cases are kept).
+	 * @param testCase Test case whose request is going to be sent
+	 * @return the index of the API key used, to be passed to {@link #throttled(int, long)} and {@link #succeeded(int)}
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public int acquire(TestCase testCase) throws InterruptedException {
+		int key = 0;
+		long waitTime;
+		synchronized (this) {
+			long now = System.nanoTime();
+			waitTime = buckets[0].waitTime(now);
+			for (int i = 1; i < buckets.length && waitTime > 0; i++) {
+				long keyWaitTime = buckets[i].waitTime(now);
+				if (keyWaitTime < waitTime) {
+					key = i;
+					waitTime = keyWaitTime;
+				}
+			}
+			buckets[key].take(now);
+		}
+
+		if (authManager != null)
+			setAuthKey(testCase, key);
+		if (waitTime > 0)
+			TimeUnit.NANOSECONDS.sleep(waitTime);
+		return key;
+	}
+
+	/**
+	 * Reduces the rate of an API key after a request sent with it was throttled by the API.
+	 * @param key Index of the API key, as returned by {@link #acquire(TestCase)}
+	 * @param retryAfter Time (ms) to wait before sending another request with the key, or -1 if unknown
+	 */
+	public synchronized void throttled(int key, long retryAfter) {
+		long blockedTime = TimeUnit.MILLISECONDS.toNanos(retryAfter < 0 ? DEFAULT_RETRY_AFTER : retryAfter);
+		TokenBucket bucket = buckets[key];
+		bucket.block(System.nanoTime(), blockedTime, Math.max(bucket.rate / 2, requestsPerSecond * MIN_RATE_FACTOR));
+		logger.warn("Request throttled by the API (key {}). Waiting {} ms. New rate: {} requests per second", key, TimeUnit.NANOSECONDS.toMillis(blockedTime), bucket.rate);
+	}
+
+	/**
+	 * Restores progressively the rate of an API key after a request sent with it was not throttled.
+	 * @param key Index of the API key, as returned by {@link #acquire(TestCase)}
+	 */
+	public synchronized void succeeded(int key) {
+		TokenBucket bucket = buckets[key];
+		if (bucket.rate < requestsPerSecond)
+			bucket.setRate(System.nanoTime(), Math.min(bucket.rate + requestsPerSecond * RECOVERY_FACTOR, requestsPerSecond));
+	}
+
+	/**
+	 * Current rate (requests per second) of an API key.
+	 * @param key Index of the API key
+	 */
+	public synchronized double getRate(int key) {
+		return buckets[key].rate;
+	}
+
+	/**
+	 * Number of API keys among which the requests are spread (1 if there is no pool of keys)
+	 */
+	public int getNumberOfKeys() {
+		return buckets.length;
+	}
+
+	public double getRequestsPerSecond() {
+		return requestsPerSecond;
+	}
+
+	public int getBurst() {
+		return burst;
+	}
+
+	/**
+	 * Parses the value of a Retry-After header, which can be a number of seconds or an HTTP date.
+	 * @param retryAfter Value of the header (may be null)
+	 * @return the time (ms) to wait, or -1 if the value is null or not valid
+	 */
+	public static long parseRetryAfter(String retryAfter) {
+		if (retryAfter == null)
+			return -1;
+		try {
+			return TimeUnit.SECONDS.toMillis(Math.max(Long.parseLong(retryAfter.trim()), 0));
+		} catch (NumberFormatException e) {
+			try {
+				ZonedDateTime date = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+				return Math.max(Duration.between(ZonedDateTime.now(date.getZone()), date).toMillis(), 0);
+			} catch (DateTimeParseException ex) {
+				logger.warn("Invalid Retry-After header: {}", retryAfter);
+				return -1;
+			}
+		}
+	}
+
+	// Set the API key number 'key' in the auth parameters of the test case using a key of the pool
+	private void setAuthKey(TestCase testCase, int key) {
+		for (Map.Entry<String, Set<String>> authProperty: authKeys.entrySet()) {
+			String name = authProperty.getKey();
+			if (authProperty.getValue().contains(testCase.getQueryParameters().get(name)))
+				testCase.addQueryParameter(name, authManager.getAuthProperty(name, key));
+			if (authProperty.getValue().contains(testCase.getHeaderParameters().get(name)))
+				testCase.addHeaderParameter(name, authManager.getAuthProperty(name, key));
+		}
+	}
+
+	// Token bucket of an API key. Tokens can be taken in advance (negative tokens), so that the
+	// requests waiting for the same key are spread over time. Times are in nanoseconds
+	private static class TokenBucket {
+		private double rate;			// Tokens added per second
+		private final int capacity;		// Maximum number of tokens
+		private double tokens;			// Tokens available (negative if taken in advance)
+		private long lastRefill;		// Time of the last refill. It can be in the future if the key is blocked
+
+		private TokenBucket(double rate, int capacity, long now) {
+			this.rate = rate;
+			this.capacity = capacity;
+			this.tokens = capacity;
+			this.lastRefill = now;
+		}
+
+		private void refill(long now) {
+			if (now > lastRefill) {
+				tokens = Math.min(capacity, tokens + (now - lastRefill) * rate / 1e9);
+				lastRefill = now;
+			}
+		}
+
+		// Time until a token is available
+		private long waitTime(long now) {
+			refill(now);
+			long blockedTime = Math.max(lastRefill - now, 0);
+			return tokens >= 1 ? blockedTime : blockedTime + (long) Math.ceil((1 - tokens) / rate * 1e9);
+		}
+
+		private void take(long now) {
+			refill(now);
+			tokens--;
+		}
+
+		private void setRate(long now, double rate) {
+			refill(now);
+			this.rate = rate;
+		}
+
+		// No tokens are added until 'blockedTime' elapses, and the tokens available are discarded
+		private void block(long now, long blockedTime, double rate) {
+			setRate(now, rate);
+			tokens = Math.min(tokens, 0);
+			lastRefill = Math.max(lastRefill, now + blockedTime);
+		}
+	}
+}
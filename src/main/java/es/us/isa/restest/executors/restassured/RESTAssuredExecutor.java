@@ -0,0 +1,450 @@
+package es.us.isa.restest.executors.restassured;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import es.us.isa.restest.executors.ITestExecutor;
+import es.us.isa.restest.executors.RequestScheduler;
+import es.us.isa.restest.specification.OpenAPISpecification;
+import es.us.isa.restest.specification.OpenAPISpecificationRegistry;
+import es.us.isa.restest.testcases.TestCase;
+import es.us.isa.restest.testcases.TestResult;
+import es.us.isa.restest.writers.restassured.RESTAssuredWriter;
+import es.us.isa.restest.writers.restassured.filters.CSVFilter;
+import es.us.isa.restest.writers.restassured.filters.NominalOrFaultyTestCaseFilter;
+import es.us.isa.restest.writers.restassured.filters.ResponseValidationFilter;
+import es.us.isa.restest.writers.restassured.filters.StatefulFilter;
+import es.us.isa.restest.writers.restassured.filters.StatusCode5XXFilter;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.restassured.AllureRestAssured;
+import io.restassured.RestAssured;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.filter.log.RequestLoggingFilter;
+import io.restassured.filter.log.ResponseLoggingFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+import io.swagger.v3.oas.models.PathItem.HttpMethod;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.io.IoBuilder;
+
+import static es.us.isa.restest.configuration.TestConfigurationIO.loadConfiguration;
+import static es.us.isa.restest.configuration.TestConfigurationVisitor.hasStatefulGenerators;
+import static es.us.isa.restest.util.FileManager.checkIfExists;
+
+/** This class defines a test executor for the REST Assured framework. It sends the requests of the test cases
+ * directly, with the same filters (test oracles, CSV export, stateful data) used by the test classes created by
+ * {@link es.us.isa.restest.writers.restassured.RESTAssuredWriter}, so no Java class needs to be written, compiled
+ * and run with JUnit.
+ */
+public class RESTAssuredExecutor implements ITestExecutor {
+
+	private boolean logging = false;				// Log everything
+	private boolean allureReport = false;			// Generate an Allure test result for each test case, with request and response attachments
+	private boolean enableStats = false;			// If true, export test results data to CSV
+	private boolean enableOutputCoverage = false;	// If true, export output coverage data to CSV
+	private int parallelism = 1;					// Number of test cases executed concurrently
+	private ExecutorService executionPool;			// Threads executing the test cases (only if parallelism > 1). Created on first use
+	private RequestScheduler requestScheduler;		// Rate limiter of the requests (null for no rate limit)
+	private int maxRetries = 3;						// Number of times a request throttled by the API is sent again (only with a request scheduler)
+
+	private String baseURI;							// API base URI
+	private String proxyHost;						// Proxy to use for all requests (if any)
+	private int proxyPort;
+	private String APIName;							// API name (necessary for folder name of exported data)
+	private String testId;							// Test suite ID
+
+	// Filters shared by all test cases. They keep the data of the test case being executed per thread
+	private final StatusCode5XXFilter statusCode5XXFilter = new StatusCode5XXFilter();
+	private final NominalOrFaultyTestCaseFilter nominalOrFaultyTestCaseFilter = new NominalOrFaultyTestCaseFilter();
+	private final ResponseValidationFilter validationFilter;
+	private final StatefulFilter statefulFilter;	// null if the test configuration has no stateful generators
+	private final AllureRestAssured allureFilter = new AllureRestAssured();
+	private CSVFilter csvFilter;
+	private RequestLoggingFilter requestLoggingFilter;
+	private ResponseLoggingFilter responseLoggingFilter;
+
+	private static final Logger logger = LogManager.getLogger(RESTAssuredExecutor.class.getName());
+
+	public RESTAssuredExecutor(String specPath, String testConfPath, String baseURI, Boolean logToFile) {
+		OpenAPISpecification spec = OpenAPISpecificationRegistry.getSpecification(specPath);
+		this.baseURI = baseURI;
+		this.validationFilter = new ResponseValidationFilter(specPath);
+		this.statefulFilter = hasStatefulGenerators(loadConfiguration(testConfPath, spec)) ? new StatefulFilter(specPath.substring(0, specPath.lastIndexOf('/'))) : null;
+
+		if (logToFile) {
+			PrintStream logStream = IoBuilder.forLogger(logger).buildPrintStream();
+			requestLoggingFilter = RequestLoggingFilter.logRequestTo(logStream);
+			responseLoggingFilter = new ResponseLoggingFilter(logStream);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see es.us.isa.restest.executors.ITestExecutor#execute(java.util.Collection)
+	 */
+	@Override
+	public Collection<TestResult> execute(Collection<TestCase> testCases) {
+		List<TestResult> testResults = new ArrayList<>(testCases.size());
+
+		if (parallelism <= 1) {
+			for (TestCase testCase: testCases)
+				testResults.add(execute(testCase));
+			return testResults;
+		}
+
+		List<Future<TestResult>> futures = new ArrayList<>(testCases.size());
+		try {
+			ExecutorService pool = getExecutionPool();
+			for (TestCase testCase: testCases)
+				futures.add(pool.submit(() -> execute(testCase)));
+			for (Future<TestResult> future: futures)
+				testResults.add(future.get());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while executing the test cases", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Error executing test case", e.getCause());
+		} finally {
+			futures.forEach(future -> future.cancel(true));	// Test cases not executed yet if the execution failed
+		}
+
+		return testResults;
+	}
+
+	/**
+	 * Shuts down the threads executing the test cases, if any
+	 */
+	@Override
+	public synchronized void close() {
+		if (executionPool != null) {
+			executionPool.shutdownNow();
+			executionPool = null;
+		}
+	}
+
+	// Pool of parallelism threads, shared by all the calls to execute(Collection)
+	private synchronized ExecutorService getExecutionPool() {
+		if (executionPool == null) {
+			executionPool = Executors.newFixedThreadPool(parallelism, r -> {
+				Thread t = new Thread(r, "restassured-executor");
+				t.setDaemon(true);
+				return t;
+			});
+		}
+		return executionPool;
+	}
+
+	/**
+	 * Executes a single test case. If any test oracle fails, the test result is marked as failed
+	 * with the message of the oracle as the fail reason. If there is a request scheduler, the request
+	 * is sent when the scheduler allows it, and sent again if it is throttled by the API.
+	 * @param testCase The test case to be executed
+	 * @return the result of the test case
+	 */
+	public TestResult execute(TestCase testCase) {
+		AllureLifecycle lifecycle = allureReport ? Allure.getLifecycle() : null;
+		String allureUuid = UUID.randomUUID().toString();
+		if (lifecycle != null) {
+			String fullName = testId + "." + testCase.getId();
+			lifecycle.scheduleTestCase(new io.qameta.allure.model.TestResult()
+					.setUuid(allureUuid)
+					.setName(testCase.getId())
+					.setFullName(fullName)
+					.setHistoryId(fullName)
+					.setDescription(testCase.getOperationId()));
+			lifecycle.startTestCase(allureUuid);
+		}
+
+		TestResult testResult = null;
+		for (int attempt = 0; testResult == null; attempt++) {
+			ResponseCaptureFilter responseCaptureFilter = new ResponseCaptureFilter(requestScheduler != null && attempt < maxRetries);
+			int key = -1;
+			try {
+				if (requestScheduler != null)
+					key = requestScheduler.acquire(testCase);
+				initializeFilters(testCase);
+				createRequest(testCase, responseCaptureFilter)
+						.when()
+						.request(testCase.getMethod().name(), testCase.getPath());
+				testResult = createTestResult(testCase, responseCaptureFilter.response, true, "none");
+			} catch (ThrottledException ex) {
+				requestScheduler.throttled(key, ex.retryAfter);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				testResult = createTestResult(testCase, null, false, "Interrupted while waiting to send the request");
+			} catch (RuntimeException ex) {
+				logger.warn("Test case {} failed: {}", testCase.getId(), ex.getMessage());
+				testResult = createTestResult(testCase, responseCaptureFilter.response, false, ex.getMessage());
+			}
+
+			Response response = responseCaptureFilter.response;
+			if (testResult != null && requestScheduler != null && response != null) {
+				if (isThrottled(response)) // No retries left
+					requestScheduler.throttled(key, RequestScheduler.parseRetryAfter(response.header("Retry-After")));
+				else
+					requestScheduler.succeeded(key);
+			}
+		}
+
+		if (lifecycle != null) {
+			boolean passed = testResult.getPassed();
+			String failReason = testResult.getFailReason();
+			lifecycle.updateTestCase(allureUuid, result -> result
+					.setStatus(passed ? Status.PASSED : Status.FAILED)
+					.setStatusDetails(new StatusDetails().setMessage(failReason)));
+			lifecycle.stopTestCase(allureUuid);
+			lifecycle.writeTestCase(allureUuid);
+		}
+
+		return testResult;
+	}
+
+	// Update the filters with the data of the test case to be executed by the current thread
+	private void initializeFilters(TestCase testCase) {
+		nominalOrFaultyTestCaseFilter.updateFaultyData(testCase.getFaulty(), testCase.getFulfillsDependencies(), testCase.getFaultyReason());
+		statusCode5XXFilter.updateFaultyData(testCase.getFaulty(), testCase.getFulfillsDependencies(), testCase.getFaultyReason());
+
+		if (enableStats || enableOutputCoverage) {
+			csvFilter.setTestResultId(testCase.getId());
+			statusCode5XXFilter.setTestResultId(testCase.getId());
+			nominalOrFaultyTestCaseFilter.setTestResultId(testCase.getId());
+			validationFilter.setTestResultId(testCase.getId());
+		}
+
+		if (statefulFilter != null && testCase.getMethod().equals(HttpMethod.GET))
+			statefulFilter.setOperation(testCase.getMethod().toString(), testCase.getPath());
+	}
+
+	private RequestSpecification createRequest(TestCase testCase, ResponseCaptureFilter responseCaptureFilter) {
+		RequestSpecification request = RestAssured.given().baseUri(baseURI);
+
+		if (proxyHost != null)
+			request.proxy(proxyHost, proxyPort);
+		if (logging && requestLoggingFilter == null)
+			request.log().all();
+
+		for (Entry<String, String> param: testCase.getHeaderParameters().entrySet())
+			request.header(param.getKey(), param.getValue());
+		for (Entry<String, String> param: testCase.getQueryParameters().entrySet())
+			request.queryParam(param.getKey(), param.getValue());
+		for (Entry<String, String> param: testCase.getPathParameters().entrySet())
+			request.pathParam(param.getKey(), RESTAssuredWriter.sanitizePathParameter(param.getValue()));
+
+		// Form-data parameters
+		if (testCase.getFormParameters().values().stream().anyMatch(value -> checkIfExists(value)))
+			request.contentType("multipart/form-data");
+		else if (!testCase.getFormParameters().isEmpty())
+			request.contentType("application/x-www-form-urlencoded");
+		for (Entry<String, String> param: testCase.getFormParameters().entrySet()) {
+			if (checkIfExists(param.getValue()))
+				request.multiPart(param.getKey(), new File(param.getValue()));
+			else
+				request.formParam(param.getKey(), param.getValue());
+		}
+
+		// Body parameter
+		HttpMethod method = testCase.getMethod();
+		if (testCase.getFormParameters().isEmpty() &&
+				(method.equals(HttpMethod.POST) || method.equals(HttpMethod.PUT) || method.equals(HttpMethod.PATCH) ||
+				(testCase.getBodyParameter() != null && method.equals(HttpMethod.DELETE))))
+			request.contentType(testCase.getInputFormat());
+		if (testCase.getBodyParameter() != null)
+			request.body(testCase.getBodyParameter());
+
+		// Filters, in the same order as in the test classes written by RESTAssuredWriter
+		if (requestLoggingFilter != null)
+			request.filter(requestLoggingFilter).filter(responseLoggingFilter);
+		if (allureReport)
+			request.filter(allureFilter);
+		request.filter(statusCode5XXFilter)
+				.filter(nominalOrFaultyTestCaseFilter)
+				.filter(validationFilter);
+		if (enableStats || enableOutputCoverage)
+			request.filter(csvFilter);
+		if (statefulFilter != null && method.equals(HttpMethod.GET))
+			request.filter(statefulFilter);
+
+		return request.filter(responseCaptureFilter);
+	}
+
+	// 429 status code, or 503 status code with a Retry-After header
+	private static boolean isThrottled(Response response) {
+		return response.statusCode() == 429 || (response.statusCode() == 503 && response.header("Retry-After") != null);
+	}
+
+	private TestResult createTestResult(TestCase testCase, Response response, Boolean passed, String failReason) {
+		if (response == null) // The request could not be sent
+			return new TestResult(testCase.getId(), null, null, null, passed, failReason);
+		return new TestResult(testCase.getId(), Integer.toString(response.statusCode()), response.asString(), response.contentType(), passed, failReason);
+	}
+
+	// Update the test suite data of the filters exporting test results to CSV
+	private void updateCSVFilters() {
+		if (!enableStats && !enableOutputCoverage)
+			return;
+		if (csvFilter == null)
+			csvFilter = new CSVFilter(APIName, testId);
+		csvFilter.setAPIName(APIName);
+		csvFilter.setTestId(testId);
+		statusCode5XXFilter.setAPIName(APIName);
+		statusCode5XXFilter.setTestId(testId);
+		nominalOrFaultyTestCaseFilter.setAPIName(APIName);
+		nominalOrFaultyTestCaseFilter.setTestId(testId);
+		validationFilter.setAPIName(APIName);
+		validationFilter.setTestId(testId);
+	}
+
+	public boolean isLogging() {
+		return logging;
+	}
+
+	public void setLogging(boolean logging) {
+		this.logging = logging;
+	}
+
+	public boolean allureReport() {
+		return allureReport;
+	}
+
+	public void setAllureReport(boolean ar) {
+		this.allureReport = ar;
+	}
+
+	public boolean getEnableStats() {
+		return enableStats;
+	}
+
+	public void setEnableStats(boolean enableStats) {
+		this.enableStats = enableStats;
+		updateCSVFilters();
+	}
+
+	public boolean isEnableOutputCoverage() {
+		return enableOutputCoverage;
+	}
+
+	public void setEnableOutputCoverage(boolean enableOutputCoverage) {
+		this.enableOutputCoverage = enableOutputCoverage;
+		updateCSVFilters();
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+		close();	// The pool is created again with the new number of threads
+	}
+
+	public RequestScheduler getRequestScheduler() {
+		return requestScheduler;
+	}
+
+	/**
+	 * Sets the scheduler used to limit the rate of the requests sent to the API. Requests throttled by the API are
+	 * sent again (up to {@link #setMaxRetries(int) maxRetries} times) once the scheduler allows it, without checking
+	 * the test oracles nor exporting the throttled responses
+	 * @param requestScheduler Request scheduler, or null for no rate limit
+	 */
+	public void setRequestScheduler(RequestScheduler requestScheduler) {
+		this.requestScheduler = requestScheduler;
+	}
+
+	public int getMaxRetries() {
+		return maxRetries;
+	}
+
+	public void setMaxRetries(int maxRetries) {
+		this.maxRetries = maxRetries;
+	}
+
+	public String getBaseURI() {
+		return baseURI;
+	}
+
+	public void setBaseURI(String baseURI) {
+		this.baseURI = baseURI;
+	}
+
+	public String getAPIName() {
+		return APIName;
+	}
+
+	public void setAPIName(String APIName) {
+		this.APIName = APIName;
+		updateCSVFilters();
+	}
+
+	public String getTestId() {
+		return testId;
+	}
+
+	public void setTestId(String testId) {
+		this.testId = testId;
+		updateCSVFilters();
+	}
+
+	/**
+	 * Sets the proxy to use for all requests
+	 * @param proxy Proxy in format host:port, or null for no proxy
+	 */
+	public void setProxy(String proxy) {
+		if (proxy == null) {
+			proxyHost = null;
+			return;
+		}
+		proxyHost = proxy.split(":")[0];
+		proxyPort = Integer.parseInt(proxy.split(":")[1]);
+	}
+
+	// Filter keeping the response of a single request, so that the test result can be created even if an oracle fails.
+	// If the request is going to be sent again when throttled, throttled responses are not passed to the other filters
+	private static class ResponseCaptureFilter implements OrderedFilter {
+		private final boolean retryIfThrottled;
+		private Response response;
+
+		private ResponseCaptureFilter(boolean retryIfThrottled) {
+			this.retryIfThrottled = retryIfThrottled;
+		}
+
+		@Override
+		public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+			Response sentResponse = ctx.next(requestSpec, responseSpec);
+			if (retryIfThrottled && isThrottled(sentResponse))
+				throw new ThrottledException(RequestScheduler.parseRetryAfter(sentResponse.header("Retry-After")));
+			response = sentResponse;
+			return response;
+		}
+
+		@Override
+		public int getOrder() {
+			return Integer.MAX_VALUE; // Lowest priority of all filters, so it runs first after sending the request, before any oracle
+		}
+	}
+
+	// Request throttled by the API, to be sent again
+	private static class ThrottledException extends RuntimeException {
+		private final long retryAfter;	// Time (ms) to wait before sending the request again (-1 if unknown)
+
+		private ThrottledException(long retryAfter) {
+			super("Request throttled by the API");
+			this.retryAfter = retryAfter;
+		}
+	}
+}
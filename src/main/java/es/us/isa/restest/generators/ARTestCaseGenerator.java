@@ -4,13 +4,19 @@ import es.us.isa.restest.configuration.pojos.Operation;
 import es.us.isa.restest.configuration.pojos.TestConfigurationObject;
 import es.us.isa.restest.specification.OpenAPISpecification;
 import es.us.isa.restest.testcases.TestCase;
-import es.us.isa.restest.testcases.diversity.Diversity;
+import es.us.isa.restest.testcases.diversity.SimilarityIndex;
 import es.us.isa.restest.testcases.diversity.SimilarityMeter;
 import es.us.isa.restest.util.RESTestException;
 import org.javatuples.Pair;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.stream.IntStream;
 
 /**
  * @author José Ramón Fernández
@@ -18,25 +24,60 @@ import java.util.List;
 
 public class ARTestCaseGenerator extends ConstraintBasedTestCaseGenerator {
 
-    private Diversity diversity;
+    private SimilarityMeter.METRIC similarityMetric;
     private Integer numberOfCandidates = 100;
-    private List<TestCase> testCases;
+    private Map<String, SimilarityIndex> similarityIndexes;     // Test cases generated so far, indexed by operation
+    private int numberOfTestCases = 0;                          // Number of test cases generated so far (all operations)
+    private int initialNumberOfTestCases = 0;                   // Number of test cases generated before this generator was created (operation generators)
+    private int parallelism = 1;                                // Number of threads computing the distance of the candidates
+    private ForkJoinPool candidatesPool;                        // Pool computing the distance of the candidates (only if parallelism > 1)
 
 
     public ARTestCaseGenerator(OpenAPISpecification spec, TestConfigurationObject conf, int nTests) {
         super(spec, conf, nTests);
-        testCases = new ArrayList<>();
+        similarityIndexes = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Create a generator with the same configuration as <i>generator</i>, to generate the test cases of a single
+     * operation in parallel generation. The distance of the candidates is computed by the thread generating the
+     * operation (parallelism 1), since operations are already generated concurrently. The similarity indexes are
+     * shared with <i>generator</i>, so the candidates are compared with the test cases of previous generations too.
+     * This is safe because the index of each operation is only used by the generator of that operation.
+     */
+    protected ARTestCaseGenerator(ARTestCaseGenerator generator) {
+        super(generator);
+        this.similarityMetric = generator.similarityMetric;
+        this.numberOfCandidates = generator.numberOfCandidates;
+        this.similarityIndexes = generator.similarityIndexes;
+        this.numberOfTestCases = generator.numberOfTestCases;
+        this.initialNumberOfTestCases = generator.numberOfTestCases;
+    }
+
+    @Override
+    protected AbstractTestCaseGenerator createOperationGenerator() {
+        return new ARTestCaseGenerator(this);
+    }
+
+    @Override
+    protected void addOperationGenerator(AbstractTestCaseGenerator operationGenerator) {
+        super.addOperationGenerator(operationGenerator);
+        ARTestCaseGenerator artOperationGenerator = (ARTestCaseGenerator) operationGenerator;
+        numberOfTestCases += artOperationGenerator.numberOfTestCases - artOperationGenerator.initialNumberOfTestCases;
     }
 
     @Override
     public TestCase generateNextTestCase(Operation testOperation, String faultyReason) throws RESTestException {
         Pair<TestCase, Double> bestResult = Pair.with(generateTestCase(testOperation, faultyReason), .0);
 
-        if (!testCases.isEmpty()) {
+        if (numberOfTestCases > 0 && parallelism > 1) {
+            bestResult = selectBestCandidate(bestResult, testOperation, faultyReason);
+        } else if (numberOfTestCases > 0) {
             for (int i = 0; i < numberOfCandidates-1; i++) {
                 TestCase tc = generateTestCase(testOperation, faultyReason);
                 if (tc != null) {
-                    Double minDistance = diversity.evaluate(testCases, tc);
+                    // Candidates closer than the best one so far are discarded, so their exact distance is not needed
+                    Double minDistance = getSimilarityIndex(tc.getOperationId()).minDistance(tc, bestResult.getValue1());
                     if (minDistance > bestResult.getValue1())
                         bestResult = Pair.with(tc, minDistance);
                 }
@@ -46,7 +87,8 @@ public class ARTestCaseGenerator extends ConstraintBasedTestCaseGenerator {
         TestCase test = bestResult.getValue0();
 
         if (test != null) {
-            testCases.add(test);
+            getSimilarityIndex(test.getOperationId()).add(test);
+            numberOfTestCases++;
             if (test.getFaulty() != null) {
                 if (test.getFaulty() && faultyReason.equals(INTER_PARAMETER_DEPENDENCY)) {
                     nFaultyTestDueToDependencyViolations++;
@@ -59,6 +101,44 @@ public class ARTestCaseGenerator extends ConstraintBasedTestCaseGenerator {
         return test;
     }
 
+    /*
+     * Same selection as the sequential loop, but the distances of the candidates are computed in parallel. Candidates
+     * are still generated one after the other (test data generators and IDLReasoner are stateful and not thread-safe),
+     * so the same candidates are generated and the same one is selected (the first one with the maximum distance).
+     */
+    private Pair<TestCase, Double> selectBestCandidate(Pair<TestCase, Double> bestResult, Operation testOperation, String faultyReason) throws RESTestException {
+        List<TestCase> candidates = new ArrayList<>();
+        for (int i = 0; i < numberOfCandidates-1; i++) {
+            TestCase tc = generateTestCase(testOperation, faultyReason);
+            if (tc != null)
+                candidates.add(tc);
+        }
+        if (candidates.isEmpty())
+            return bestResult;
+
+        SimilarityIndex similarityIndex = getSimilarityIndex(candidates.get(0).getOperationId());
+        DoubleAccumulator maxDistance = new DoubleAccumulator(Math::max, bestResult.getValue1());
+        double[] distances = new double[candidates.size()];
+        try {
+            candidatesPool.submit(() -> IntStream.range(0, candidates.size()).parallel().forEach(i -> {
+                // Candidates strictly closer than the best one so far cannot be selected, so their exact distance is not needed
+                distances[i] = similarityIndex.minDistance(candidates.get(i), Math.nextDown(maxDistance.get()));
+                maxDistance.accumulate(distances[i]);
+            })).get();
+        } catch (ExecutionException e) {
+            throw new RESTestException("Error computing the distance of the candidates", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RESTestException("Interrupted while computing the distance of the candidates", e);
+        }
+
+        for (int i = 0; i < candidates.size(); i++)
+            if (distances[i] > bestResult.getValue1())
+                bestResult = Pair.with(candidates.get(i), distances[i]);
+
+        return bestResult;
+    }
+
     private TestCase generateTestCase(Operation testOperation, String faultyReason) throws RESTestException {
         TestCase test;
         switch (faultyReason) {
@@ -79,12 +159,45 @@ public class ARTestCaseGenerator extends ConstraintBasedTestCaseGenerator {
         return test;
     }
 
+    private SimilarityIndex getSimilarityIndex(String operationId) {
+        return similarityIndexes.computeIfAbsent(operationId, id -> new SimilarityIndex(similarityMetric));
+    }
+
     public void setDiversity(String similarityMetric) {
-        SimilarityMeter.METRIC metric = SimilarityMeter.METRIC.valueOf(similarityMetric);
-        this.diversity = new Diversity(metric, true);
+        this.similarityMetric = SimilarityMeter.METRIC.valueOf(similarityMetric);
+        this.similarityIndexes.clear();
     }
 
     public void setNumberOfCandidates(Integer numberOfCandidates) {
         this.numberOfCandidates = numberOfCandidates;
     }
+
+    /**
+     * Shuts down the pool computing the distance of the candidates. If more test cases are generated
+     * afterwards, the distances are computed by the generating thread (parallelism 1).
+     */
+    @Override
+    public void close() {
+        if (candidatesPool != null)
+            candidatesPool.shutdown();
+        candidatesPool = null;
+        parallelism = 1;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the number of threads computing the distance of the candidates to the test cases generated so far.
+     * The test cases generated are the same regardless of the parallelism.
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("The parallelism must be greater than 0, but it was " + parallelism);
+        if (candidatesPool != null)
+            candidatesPool.shutdown();
+        this.parallelism = parallelism;
+        this.candidatesPool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
 }
@@ -1,11 +1,20 @@
 package es.us.isa.restest.generators;
 
 import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import es.us.isa.restest.configuration.pojos.Generator;
 import es.us.isa.restest.inputs.stateful.BodyGenerator;
 import es.us.isa.restest.inputs.stateful.ParameterGenerator;
+import es.us.isa.restest.mutation.MutationPlan;
 import es.us.isa.restest.mutation.TestCaseMutation;
 import es.us.isa.restest.specification.OpenAPISpecificationVisitor;
 import es.us.isa.restest.util.*;
@@ -21,6 +30,7 @@ import es.us.isa.restest.configuration.pojos.TestParameter;
 import es.us.isa.restest.inputs.ITestDataGenerator;
 import es.us.isa.restest.inputs.TestDataGeneratorFactory;
 import es.us.isa.restest.inputs.perturbation.ObjectPerturbator;
+import es.us.isa.restest.inputs.random.RandomGenerator;
 import es.us.isa.restest.specification.OpenAPISpecification;
 import es.us.isa.restest.specification.OpenAPIParameter;
 import es.us.isa.restest.testcases.TestCase;
@@ -39,6 +49,7 @@ public abstract class AbstractTestCaseGenerator {
 
 	public static final String INDIVIDUAL_PARAMETER_CONSTRAINT = "individual_parameter_constraint";
 	private static Logger logger = LogManager.getLogger(AbstractTestCaseGenerator.class.getName());
+	private static final TestCase END_OF_OPERATION = new TestCase("", false, null, null, null);	// Marks the end of the test cases of an operation (parallel generation)
 
 	protected long seed = -1;												// Seed
 	protected Random rand;
@@ -51,6 +62,8 @@ public abstract class AbstractTestCaseGenerator {
 	protected Float faultyRatio = 0f;										// Ratio (0-1) of faulty test cases to be generated on each operation. Defaults to 0.1
 	protected int numberOfTests;											// Number of test cases to be generated for each operation
 	private int maxTriesPerTestCase=100;									// Maximum number of tries for generating a random test case conforming the input OAS schema.
+	private int generationThreads = 0;										// Number of threads generating operations concurrently (0: all operations generated by this generator, one after the other)
+	private Map<Operation, MutationPlan> mutationPlans = new ConcurrentHashMap<>();	// Mutations applicable to each operation, computed once
 
 	// Global counters
 	protected int nTotalTests;												// Number of test cases generated so far
@@ -73,15 +86,7 @@ public abstract class AbstractTestCaseGenerator {
 		this.conf = conf;
 
 		// AuthManager configuration:
-		String authPath = conf.getAuth().getApiKeysPath();
-		if (authPath == null)
-			authPath = conf.getAuth().getHeadersPath();
-		if (authPath == null)
-			authPath = conf.getAuth().getOauthPath();
-		if (authPath != null && conf.getAuth().getOauthPath() != null)
-			this.authManager = new AuthManager(authPath, true);
-		else if (authPath != null)
-			this.authManager = new AuthManager(authPath);
+		this.authManager = AuthManager.create(conf.getAuth());
 
 		this.numberOfTests = nTests;
 
@@ -94,6 +99,29 @@ public abstract class AbstractTestCaseGenerator {
 	}
 
 
+	/**
+	 * Create a generator with the same configuration as <i>generator</i>, used to generate the test cases of
+	 * a single operation in parallel generation (see {@link #setGenerationThreads(int)}). Counters are reset,
+	 * and the generator has its own test data generators and pool of API keys (OAuth tokens are shared).
+	 * @param generator The generator whose configuration is copied
+	 */
+	protected AbstractTestCaseGenerator(AbstractTestCaseGenerator generator) {
+		this.spec = generator.spec;
+		this.conf = generator.conf;
+		this.authManager = generator.conf.getAuth().getOauthPath() != null ? generator.authManager : AuthManager.create(generator.conf.getAuth());
+		this.numberOfTests = generator.numberOfTests;
+		this.faultyRatio = generator.faultyRatio;
+		this.maxTriesPerTestCase = generator.maxTriesPerTestCase;
+		this.checkTestCases = generator.checkTestCases;
+		this.mutationPlans = generator.mutationPlans;
+
+		resetGenerator();
+
+		this.rand = new Random();
+		this.seed = rand.nextLong();
+		rand.setSeed(this.seed);
+	}
+
 	// Reset all numerical counters
 	public void resetGenerator() {
 		this.nTotalTests = 0;
@@ -129,7 +157,7 @@ public abstract class AbstractTestCaseGenerator {
 
 				for(TestParameter testParameter : testOperation.getTestParameters()) {
 
-					OpenAPIParameter param = OpenAPISpecificationVisitor.findParameterFeatures(testOperation.getOpenApiOperation(), testParameter.getName(), testParameter.getIn());
+					OpenAPIParameter param = TestConfigurationVisitor.findParameterFeatures(testOperation, testParameter.getName(), testParameter.getIn());
 					if(param == null) {
 						throw new IllegalArgumentException("Each parameter in the testConf must exist in the OAS; unknown parameter: " + testParameter.getName() + ", in: " + testParameter.getIn());
 					}
@@ -152,21 +180,124 @@ public abstract class AbstractTestCaseGenerator {
 	public Collection<TestCase> generate(Collection<TestConfigurationFilter> filters) throws RESTestException {
 
 		List<TestCase> testCases = new ArrayList<>();
+		generate(filters, testCases::add);
+		return testCases;
+	}
 
-		// Generate test cases for each path and method
+	/**
+	 * Generate a set of test cases, passing each test case to a consumer as soon as it is generated,
+	 * instead of returning all of them at the end (e.g., to execute them while the next test cases are
+	 * generated)
+	 * @param filters Set the paths and HTTP methods to be tested
+	 * @param testCaseConsumer Consumer of the generated test cases (duplicates are possible)
+	 * @throws RESTestException if the test case generated does not conform to the specification
+	 */
+	public void generate(Collection<TestConfigurationFilter> filters, Consumer<TestCase> testCaseConsumer) throws RESTestException {
+
+		// Operations to be tested, in the order of the filters
+		List<Pair<String, HttpMethod>> operations = new ArrayList<>();
 		for(TestConfigurationFilter filter:filters) {
 
 			if (filter.getPath()==null) {
 				throw new IllegalArgumentException("Specify the path(s) to be tested");
 			}
 
-			for(HttpMethod method: filter.getMethods()) {
-				// Generate test cases for the operation
-				testCases.addAll(generate(filter.getPath(), method));
+			for(HttpMethod method: filter.getMethods())
+				operations.add(Pair.with(filter.getPath(), method));
+		}
+
+		if (generationThreads > 0) {
+			generateInParallel(operations, testCaseConsumer);
+			return;
+		}
+
+		// Generate test cases for each path and method
+		for (Pair<String, HttpMethod> operation: operations)
+			generate(operation.getValue0(), operation.getValue1(), testCaseConsumer);
+	}
+
+	/*
+	 * Generate the test cases of each operation with a new generator (see createOperationGenerator), seeded with
+	 * a seed split from the random generator of this generator, so the same test cases are generated regardless of
+	 * the number of threads. The test cases are passed to the consumer in the order of the operations: those of the
+	 * operation being consumed are passed as soon as they are generated, and those of the next operations are buffered.
+	 */
+	private void generateInParallel(List<Pair<String, HttpMethod>> operations, Consumer<TestCase> testCaseConsumer) throws RESTestException {
+		SplittableRandom seeds = new SplittableRandom(rand.nextLong());
+		List<AbstractTestCaseGenerator> operationGenerators = new ArrayList<>(operations.size());
+		for (int i = 0; i < operations.size(); i++) {
+			AbstractTestCaseGenerator operationGenerator = createOperationGenerator();
+			operationGenerator.setSeed(seeds.nextLong());
+			operationGenerators.add(operationGenerator);
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(generationThreads);
+		try {
+			List<BlockingQueue<TestCase>> buffers = new ArrayList<>(operations.size());
+			List<Future<Void>> futures = new ArrayList<>(operations.size());
+			for (int i = 0; i < operations.size(); i++) {
+				AbstractTestCaseGenerator operationGenerator = operationGenerators.get(i);
+				Pair<String, HttpMethod> operation = operations.get(i);
+				BlockingQueue<TestCase> buffer = new LinkedBlockingQueue<>();
+				buffers.add(buffer);
+				futures.add(executor.submit(() -> {
+					try {
+						operationGenerator.generate(operation.getValue0(), operation.getValue1(), buffer::add);
+					} finally {
+						buffer.add(END_OF_OPERATION);
+					}
+					return null;
+				}));
 			}
+
+			for (int i = 0; i < operations.size(); i++) {
+				BlockingQueue<TestCase> buffer = buffers.get(i);
+				for (TestCase testCase = buffer.take(); testCase != END_OF_OPERATION; testCase = buffer.take())
+					testCaseConsumer.accept(testCase);
+				futures.get(i).get(); // Rethrow the error of the operation generator, if any
+				addOperationGenerator(operationGenerators.get(i));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RESTestException("Interrupted while generating test cases", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RESTestException)
+				throw (RESTestException) e.getCause();
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new RESTestException("Error generating test cases: " + e.getCause().getMessage(), e.getCause());
+		} finally {
+			executor.shutdownNow();
 		}
+	}
 
-		return testCases;
+	/**
+	 * Create a generator with the same configuration as this one, to generate the test cases of a single
+	 * operation in parallel generation. To be implemented on each subclass, usually with a copy constructor
+	 * (see {@link #AbstractTestCaseGenerator(AbstractTestCaseGenerator)}).
+	 */
+	protected abstract AbstractTestCaseGenerator createOperationGenerator();
+
+	/**
+	 * Release the resources held by the generator (e.g., thread pools), once no more test cases are going to be
+	 * generated with it. Subclasses holding such resources must override it.
+	 */
+	public void close() {
+		// No resources to release
+	}
+
+	/**
+	 * Update the counters of this generator with those of a generator returned by {@link #createOperationGenerator()},
+	 * once it has generated the test cases of its operation. Subclasses with additional counters must override it.
+	 * @param operationGenerator The generator of the operation
+	 */
+	protected void addOperationGenerator(AbstractTestCaseGenerator operationGenerator) {
+		nTotalTests += operationGenerator.nTotalTests;
+		nTotalFaulty += operationGenerator.nTotalFaulty;
+		nTotalNominal += operationGenerator.nTotalNominal;
+		nTests = operationGenerator.nTests;
+		nFaulty = operationGenerator.nFaulty;
+		nNominal = operationGenerator.nNominal;
 	}
 
 	/**
@@ -175,6 +306,21 @@ public abstract class AbstractTestCaseGenerator {
 	 * @throws RESTestException if the test HTTP method is other than 'get', 'post', 'put' or 'delete'
 	 */
 	public Collection<TestCase> generate() throws RESTestException {
+		return generate(getFilters());
+	}
+
+	/**
+	 * Generate a set of test cases for the whole configuration file (all paths, all operations), passing
+	 * the test cases of each operation to a consumer as soon as they are generated
+	 * @param testCaseConsumer Consumer of the generated test cases (duplicates are possible)
+	 * @throws RESTestException if the test HTTP method is other than 'get', 'post', 'put' or 'delete'
+	 */
+	public void generate(Consumer<TestCase> testCaseConsumer) throws RESTestException {
+		generate(getFilters(), testCaseConsumer);
+	}
+
+	/* Filters for all the operations in the test configuration */
+	private List<TestConfigurationFilter> getFilters() throws RESTestException {
 		List<TestConfigurationFilter> filters = new ArrayList<>();
 
 		// Create filters for all the operations in the API
@@ -218,12 +364,12 @@ public abstract class AbstractTestCaseGenerator {
 
 		}
 
-		return generate(filters);
+		return filters;
 	}
 
 
-	/* Generate test cases for testOperation */
-	protected abstract Collection<TestCase> generateOperationTestCases(Operation testOperation) throws RESTestException;
+	/* Generate test cases for testOperation, passing each of them to testCaseConsumer as soon as it is generated */
+	protected abstract void generateOperationTestCases(Operation testOperation, Consumer<TestCase> testCaseConsumer) throws RESTestException;
 
 	/**
 	 * Generate the next test case and update the generation index. To be implemented on each subclass.
@@ -233,6 +379,13 @@ public abstract class AbstractTestCaseGenerator {
 
 	/* Generate test cases for the operation defined by path/method */
 	protected Collection<TestCase> generate(String path, HttpMethod method) throws RESTestException {
+		List<TestCase> testCases = new ArrayList<>();
+		generate(path, method, testCases::add);
+		return testCases;
+	}
+
+	/* Generate test cases for the operation defined by path/method, passing each of them to testCaseConsumer */
+	protected void generate(String path, HttpMethod method, Consumer<TestCase> testCaseConsumer) throws RESTestException {
 
 		// Get test configuration object for the operation
 		Operation testOperation = TestConfigurationVisitor.getOperation(conf, path, method.name());
@@ -244,7 +397,7 @@ public abstract class AbstractTestCaseGenerator {
 		hasStatefulGenerators = hasStatefulGenerators(testOperation);
 
 
-		return generateOperationTestCases(testOperation);
+		generateOperationTestCases(testOperation, testCaseConsumer);
 	}
 
 
@@ -364,7 +517,7 @@ public abstract class AbstractTestCaseGenerator {
 			generationAlternatives.add("invalid_generator");
 		}
 
-		Collections.shuffle(generationAlternatives);
+		Collections.shuffle(generationAlternatives, rand);
 
 		int i = 0;
 		while (i < generationAlternatives.size() && originalTest.equals(testCase)) {
@@ -375,7 +528,8 @@ public abstract class AbstractTestCaseGenerator {
 				makeTestCaseFaultyDueToInvalidRequestBody(testCase, testOperation, bodyGenerator);
 			}
 			if (originalTest.equals(testCase)) { // Valid test case and mutate it
-				String mutationDescription = TestCaseMutation.mutate(testCase, testOperation.getOpenApiOperation());
+				MutationPlan mutationPlan = mutationPlans.computeIfAbsent(testOperation, o -> new MutationPlan(o.getOpenApiOperation()));
+				String mutationDescription = TestCaseMutation.mutate(testCase, mutationPlan, rand);
 				if (!mutationDescription.equals("")) { // A mutation has been applied
 					testCase.setFaulty(true);
 					testCase.setFaultyReason(INDIVIDUAL_PARAMETER_CONSTRAINT + ":" + mutationDescription);
@@ -495,6 +649,7 @@ public abstract class AbstractTestCaseGenerator {
 
 	// Create an empty test case with a random name.
 	protected TestCase createTestCaseTemplate(Operation testOperation) {
+		// Not drawn from rand, so that test cases generated with the same seed in different runs have different IDs
 		String testId = "test_" + IDGenerator.generateId() + "_" + removeNotAlfanumericCharacters(testOperation.getOperationId());
 		TestCase test = new TestCase(testId, false, testOperation.getOperationId(), testOperation.getTestPath(), HttpMethod.valueOf(testOperation.getMethod().toUpperCase()));
 		updateContentType(test, testOperation.getOpenApiOperation());
@@ -531,8 +686,11 @@ public abstract class AbstractTestCaseGenerator {
 				List<ITestDataGenerator> faultyGens = new ArrayList<>();
 				for(Generator g : param.getGenerators()) {
 					ITestDataGenerator gen = TestDataGeneratorFactory.createTestDataGenerator(g);
+					if (gen instanceof RandomGenerator) // Seeded by this generator, so that test cases can be reproduced
+						((RandomGenerator) gen).setSeed(rand.nextLong());
 
 					if (gen instanceof BodyGenerator) {
+						((BodyGenerator) gen).setSeed(rand.nextLong());
 						((BodyGenerator) gen).setDataDirPath(spec.getPath().substring(0, spec.getPath().lastIndexOf('/')));
 						((BodyGenerator) gen).setSpec(spec);
 						((BodyGenerator) gen).setOpenApiOperation(operation.getOpenApiOperation());
@@ -543,7 +701,7 @@ public abstract class AbstractTestCaseGenerator {
 						((ParameterGenerator) gen).setSpec(spec);
 						((ParameterGenerator) gen).setOperation("GET", operation.getTestPath());
 						((ParameterGenerator) gen).setParameterName(param.getName());
-						((ParameterGenerator) gen).setParameterType(OpenAPISpecificationVisitor.findParameterFeatures(operation.getOpenApiOperation(), param.getName(), param.getIn()).getType());
+						((ParameterGenerator) gen).setParameterType(TestConfigurationVisitor.findParameterFeatures(operation, param.getName(), param.getIn()).getType());
 					}
 
 					if(g.isValid()) nomGens.add(gen);
@@ -623,6 +781,26 @@ public abstract class AbstractTestCaseGenerator {
 		rand.setSeed(seed);
 	}
 
+	public int getGenerationThreads() {
+		return generationThreads;
+	}
+
+	/**
+	 * Set the number of threads generating the test cases of different operations concurrently. If greater than 0,
+	 * the test cases of each operation are generated with its own generator (see {@link #createOperationGenerator()}),
+	 * seeded with a seed derived from the seed of this generator, and they are returned in the order of the operations,
+	 * so the same test cases (except for their IDs) are generated for a given seed regardless of the number of threads, as
+	 * long as their test data generators are seeded too (IDLReasoner, used by CBT and ART generators, is not). If 0 (default),
+	 * all operations are generated one after the other by this generator, drawing from its seed directly instead of
+	 * splitting it per operation, so the test cases generated with 0 threads differ from those generated with 1 or more.
+	 * @param generationThreads Number of threads
+	 */
+	public void setGenerationThreads(int generationThreads) {
+		if (generationThreads < 0)
+			throw new IllegalArgumentException("The number of generation threads cannot be negative, but it was " + generationThreads);
+		this.generationThreads = generationThreads;
+	}
+
 	public int getMaxTriesPerTestCase() {
 		return maxTriesPerTestCase;
 	}
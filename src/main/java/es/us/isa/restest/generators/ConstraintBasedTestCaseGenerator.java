@@ -9,6 +9,9 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import es.us.isa.idlreasonerchoco.analyzer.OASAnalyzer;
@@ -18,6 +21,7 @@ import org.apache.logging.log4j.Logger;
 import org.javatuples.Pair;
 
 import es.us.isa.idlreasonerchoco.analyzer.Analyzer;
+import es.us.isa.restest.configuration.TestConfigurationFilter;
 import es.us.isa.restest.configuration.pojos.Operation;
 import es.us.isa.restest.configuration.pojos.TestConfigurationObject;
 import es.us.isa.restest.configuration.pojos.TestParameter;
@@ -27,6 +31,10 @@ import es.us.isa.restest.inputs.random.RandomInputValueIterator;
 import es.us.isa.restest.specification.OpenAPISpecification;
 import es.us.isa.restest.testcases.TestCase;
 import es.us.isa.restest.util.RESTestException;
+import es.us.isa.restest.util.Timer;
+
+import static es.us.isa.restest.util.Timer.TestStep.IDL_REASONER_DATA_REFRESH;
+import static es.us.isa.restest.util.Timer.TestStep.IDL_REASONER_SOLVING;
 
 /**
  * This class implements a constraint-based test case generator using IDLReasoner, a CSP-based tool for the automated analysis of inter-parameter dependencies
@@ -41,6 +49,11 @@ public class ConstraintBasedTestCaseGenerator extends AbstractTestCaseGenerator
 	private Integer reloadInputDataEvery = 100;      										// Number of requests using the same randomly generated input data
 	private Integer inputDataMaxValues = 1000;       										// Number of values used for each parameter when reloading input data
 	private Analyzer idlReasoner;															// IDLReasoner to check if requests are valid or not
+	private final Map<String, Analyzer> idlReasoners;										// IDLReasoner of each operation (method and path) of this generator
+	private final Map<Analyzer, Map<String, List<String>>> idlReasonersFixedData;			// Fixed input data last fed to each IDLReasoner (see getFixedInputData)
+	private long idlReasonerSolvingTime;													// Time spent by IDLReasoner generating requests in the last generation (ns)
+	private long idlReasonerDataRefreshTime;												// Time spent generating and feeding input data to IDLReasoner in the last generation (ns)
+	private int idlReasonerDataUpdates;														// Number of times input data was fed to IDLReasoner in the last generation
 	
 	// Indexes
 	private int maxFaultyTestDueToDependencyViolations;											// Maximum number of faulty test cases due to dependency violations to be generated
@@ -52,11 +65,39 @@ public class ConstraintBasedTestCaseGenerator extends AbstractTestCaseGenerator
 
 	public ConstraintBasedTestCaseGenerator(OpenAPISpecification spec, TestConfigurationObject conf, int nTests) {
 		super(spec, conf, nTests);
-		
+		this.idlReasoners = new ConcurrentHashMap<>();
+		this.idlReasonersFixedData = new ConcurrentHashMap<>();
+	}
+
+	protected ConstraintBasedTestCaseGenerator(ConstraintBasedTestCaseGenerator generator) {
+		super(generator);
+		this.faultyDependencyRatio = generator.faultyDependencyRatio;
+		this.reloadInputDataEvery = generator.reloadInputDataEvery;
+		this.inputDataMaxValues = generator.inputDataMaxValues;
+		this.idlReasoners = generator.idlReasoners;	// Each operation is generated by a single worker, so its IDLReasoner is never used concurrently
+		this.idlReasonersFixedData = generator.idlReasonersFixedData;
+	}
+
+	@Override
+	protected AbstractTestCaseGenerator createOperationGenerator() {
+		return new ConstraintBasedTestCaseGenerator(this);
+	}
+
+	@Override
+	protected void addOperationGenerator(AbstractTestCaseGenerator operationGenerator) {
+		super.addOperationGenerator(operationGenerator);
+		ConstraintBasedTestCaseGenerator generator = (ConstraintBasedTestCaseGenerator) operationGenerator;
+		idlReasonerSolvingTime += generator.idlReasonerSolvingTime;
+		idlReasonerDataRefreshTime += generator.idlReasonerDataRefreshTime;
+		idlReasonerDataUpdates += generator.idlReasonerDataUpdates;
+		nFaultyTestDueToDependencyViolations = generator.nFaultyTestDueToDependencyViolations;
+		nFaultyTestsDueToIndividualConstraint = generator.nFaultyTestsDueToIndividualConstraint;
 	}
 
 	/**
-	 * Set IDLReasoner for the generation of dependency-aware valid/invalid test cases
+	 * Set IDLReasoner for the generation of dependency-aware valid/invalid test cases. The IDLReasoner
+	 * of each operation is built only once per generator and reused in later generations. IDLReasoner
+	 * is stateful and not thread-safe, so it is never shared with other generators
 	 * @param testOperation API operation under test
 	 */
 	public void setUpIDLReasoner(Operation testOperation) {
@@ -64,7 +105,12 @@ public class ConstraintBasedTestCaseGenerator extends AbstractTestCaseGenerator
 		if (hasDependencies(testOperation.getOpenApiOperation())) // If the operation contains dependencies, create new IDLReasoner for that operation
 		{
 			try {
-				idlReasoner = new OASAnalyzer(spec.getPath(), testOperation.getTestPath(), testOperation.getMethod());
+				String operationKey = testOperation.getMethod().toUpperCase() + " " + testOperation.getTestPath();
+				idlReasoner = idlReasoners.get(operationKey);
+				if (idlReasoner == null) {
+					idlReasoner = new OASAnalyzer(spec.getPath(), testOperation.getTestPath(), testOperation.getMethod());
+					idlReasoners.put(operationKey, idlReasoner);
+				}
 			} catch (IDLException e) {
 				logger.warn("There was an error processing the dependencies of the operation {} {}: {}", testOperation.getMethod(), testOperation.getTestPath(), e.getMessage());
 			}
@@ -73,26 +119,54 @@ public class ConstraintBasedTestCaseGenerator extends AbstractTestCaseGenerator
 
 	/**
 	 * Refresh the test data used for the generation of test cases. Test data must be fed to IDLReasoner, which in turn uses it for the generation of test cases using a CSP solver.
+	 * IDLReasoner rebuilds its CSP model whenever its data is updated, so if the configured test data generators of all parameters only produce
+	 * fixed lists of values, the data is not fed again while IDLReasoner already has it (e.g., from a previous reload or iteration)
 	 * @param testOperation API operation under test
 	 */
 	public void checkIDLReasonerData(Operation testOperation) {
 		if (idlReasoner != null && nTests%reloadInputDataEvery == 0) {
-			Map <String, List<String>> inputData = generateInputData(testOperation.getTestParameters()); // Update input data
-			try {
-				idlReasoner.updateData(inputData);
-			} catch (IDLException e) {
-				logger.warn("There was an error updating the data of IDLReasoner: {}", e.getMessage());
+			long start = System.nanoTime();
+			Map <String, List<String>> fixedData = getFixedInputData(testOperation.getTestParameters());
+			if (fixedData == null || !fixedData.equals(idlReasonersFixedData.get(idlReasoner))) {
+				Map <String, List<String>> inputData = fixedData != null ? fixedData : generateInputData(testOperation.getTestParameters()); // Update input data
+				idlReasonersFixedData.remove(idlReasoner);
+				try {
+					idlReasoner.updateData(inputData);
+					idlReasonerDataUpdates++;
+					if (fixedData != null)
+						idlReasonersFixedData.put(idlReasoner, fixedData);
+				} catch (IDLException e) {
+					logger.warn("There was an error updating the data of IDLReasoner: {}", e.getMessage());
+				}
 			}
+			idlReasonerDataRefreshTime += System.nanoTime() - start;
 		}
 	}
 
+	/**
+	 * Generate a set of test cases. The time spent by IDLReasoner generating requests and refreshing its
+	 * input data is added to the counters IDL_REASONER_SOLVING and IDL_REASONER_DATA_REFRESH of the {@link Timer}
+	 * (one measure per call, in milliseconds)
+	 * @param filters Set the paths and HTTP methods to be tested
+	 * @param testCaseConsumer Consumer of the generated test cases (duplicates are possible)
+	 * @throws RESTestException if the test case generated does not conform to the specification
+	 */
+	@Override
+	public void generate(Collection<TestConfigurationFilter> filters, Consumer<TestCase> testCaseConsumer) throws RESTestException {
+		idlReasonerSolvingTime = 0;
+		idlReasonerDataRefreshTime = 0;
+		idlReasonerDataUpdates = 0;
+
+		super.generate(filters, testCaseConsumer);
+
+		Timer.addMeasure(IDL_REASONER_SOLVING, TimeUnit.NANOSECONDS.toMillis(idlReasonerSolvingTime));
+		Timer.addMeasure(IDL_REASONER_DATA_REFRESH, TimeUnit.NANOSECONDS.toMillis(idlReasonerDataRefreshTime));
+	}
+
 	/*
 	 * Generate the collection of test cases 
 	 */
-	protected Collection<TestCase> generateOperationTestCases(Operation testOperation) throws RESTestException {
-
-		
-		List<TestCase> testCases = new ArrayList<>();
+	protected void generateOperationTestCases(Operation testOperation, Consumer<TestCase> testCaseConsumer) throws RESTestException {
 
 		setUpIDLReasoner(testOperation);
 
@@ -121,14 +195,12 @@ public class ConstraintBasedTestCaseGenerator extends AbstractTestCaseGenerator
 			// Set authentication data
 			authenticateTestCase(test);
 			
-			testCases.add(test);
+			testCaseConsumer.accept(test);
 			
 			// Update indexes
 			updateIndexes(test);
 			
 		}
-
-		return testCases;
 	}
 
 
@@ -197,7 +269,7 @@ public class ConstraintBasedTestCaseGenerator extends AbstractTestCaseGenerator
 		if (idlReasoner != null) {		// The operation has inter-parameter dependencies
 			test = createTestCaseTemplate(testOperation);
 			try {
-				idl2restestTestCase(test, idlReasoner.getRandomValidRequest(), testOperation); // Generate valid test case with IDLReasoner
+				idl2restestTestCase(test, getRandomValidRequest(), testOperation); // Generate valid test case with IDLReasoner
 			} catch (IDLException e) {
 				logger.warn("There was an error generating a valid request with IDLReasoner: {}", e.getMessage());
 				throw new RESTestException(e);
@@ -222,7 +294,7 @@ public class ConstraintBasedTestCaseGenerator extends AbstractTestCaseGenerator
 		if (idlReasoner != null) {		// The operation has inter-parameter dependencies
 			test = createTestCaseTemplate(testOperation);
 			try {
-				idl2restestTestCase(test, idlReasoner.getRandomInvalidRequest(), testOperation); // Generate invalid test case with IDLReasoner
+				idl2restestTestCase(test, getRandomInvalidRequest(), testOperation); // Generate invalid test case with IDLReasoner
 			} catch (IDLException e) {
 				logger.warn("There was an error generating an invalid request with IDLReasoner: {}", e.getMessage());
 				throw new RESTestException(e);
@@ -241,19 +313,34 @@ public class ConstraintBasedTestCaseGenerator extends AbstractTestCaseGenerator
 	
 	
 	
+	private Map<String, String> getRandomValidRequest() throws IDLException {
+		long start = System.nanoTime();
+		try {
+			return idlReasoner.getRandomValidRequest();
+		} finally {
+			idlReasonerSolvingTime += System.nanoTime() - start;
+		}
+	}
+
+	private Map<String, String> getRandomInvalidRequest() throws IDLException {
+		long start = System.nanoTime();
+		try {
+			return idlReasoner.getRandomInvalidRequest();
+		} finally {
+			idlReasonerSolvingTime += System.nanoTime() - start;
+		}
+	}
+
 	private Map <String, List<String>> generateInputData(List<TestParameter> testParameters) {
 		Map <String, List<String>> inputData = new HashMap<>();
 		List<String> paramValues;
 		ITestDataGenerator generator;
 		for (TestParameter parameter: testParameters) {
 			if (parameter.getWeight() == null || parameter.getWeight() > 0) {
-				paramValues = new ArrayList<>();
 				generator = getRandomGenerator(nominalGenerators.get(Pair.with(parameter.getName(), parameter.getIn())));
-				if (generator instanceof RandomInputValueIterator && ((RandomInputValueIterator) generator).getMaxValues() == 1) {
-					paramValues = ((RandomInputValueIterator) generator).getValues();
-				} else if (generator instanceof RandomBooleanGenerator) {
-					paramValues = Arrays.asList("true", "false");
-				} else {
+				paramValues = getFixedValues(generator);
+				if (paramValues == null) {
+					paramValues = new ArrayList<>();
 					while (paramValues.size() < inputDataMaxValues) {
 						paramValues.add(generator.nextValueAsString());
 					}
@@ -264,6 +351,31 @@ public class ConstraintBasedTestCaseGenerator extends AbstractTestCaseGenerator
 
 		return inputData;
 	}
+
+	// Input data of the parameters if all of them have a single test data generator producing a fixed list of values, null otherwise
+	private Map <String, List<String>> getFixedInputData(List<TestParameter> testParameters) {
+		Map <String, List<String>> inputData = new HashMap<>();
+		for (TestParameter parameter: testParameters) {
+			if (parameter.getWeight() == null || parameter.getWeight() > 0) {
+				List<ITestDataGenerator> generators = nominalGenerators.get(Pair.with(parameter.getName(), parameter.getIn()));
+				List<String> paramValues = generators.size() == 1 ? getFixedValues(generators.get(0)) : null;
+				if (paramValues == null)
+					return null;
+				inputData.put(parameter.getName(), paramValues.stream().distinct().collect(Collectors.toList()));
+			}
+		}
+
+		return inputData;
+	}
+
+	// All the values of a generator producing a fixed list of values, or null if its values are drawn randomly
+	private List<String> getFixedValues(ITestDataGenerator generator) {
+		if (generator instanceof RandomInputValueIterator && ((RandomInputValueIterator) generator).getMaxValues() == 1)
+			return ((RandomInputValueIterator) generator).getValues();
+		if (generator instanceof RandomBooleanGenerator)
+			return Arrays.asList("true", "false");
+		return null;
+	}
 	
 	// Returns true if there are more test cases to be generated
 	protected boolean hasNext() {
@@ -302,6 +414,27 @@ public class ConstraintBasedTestCaseGenerator extends AbstractTestCaseGenerator
 		this.idlReasoner = idlReasoner;
 	}
 
+	/**
+	 * Time spent by IDLReasoner generating requests in the last call to generate(), in nanoseconds
+	 */
+	public long getIdlReasonerSolvingTime() {
+		return idlReasonerSolvingTime;
+	}
+
+	/**
+	 * Time spent generating input data and feeding it to IDLReasoner in the last call to generate(), in nanoseconds
+	 */
+	public long getIdlReasonerDataRefreshTime() {
+		return idlReasonerDataRefreshTime;
+	}
+
+	/**
+	 * Number of times input data was fed to IDLReasoner in the last call to generate()
+	 */
+	public int getIdlReasonerDataUpdates() {
+		return idlReasonerDataUpdates;
+	}
+
 	public int getnFaultyTestDueToDependencyViolations() {
 		return nFaultyTestDueToDependencyViolations;
 	}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import es.us.isa.restest.configuration.TestConfigurationVisitor;
 import es.us.isa.restest.configuration.pojos.Operation;
 import es.us.isa.restest.configuration.pojos.TestConfigurationObject;
 import es.us.isa.restest.configuration.pojos.TestParameter;
@@ -14,7 +15,6 @@ import es.us.isa.restest.inputs.random.RandomStringGenerator;
 import es.us.isa.restest.specification.OpenAPISpecification;
 import es.us.isa.restest.specification.OpenAPIParameter;
 import es.us.isa.restest.testcases.TestCase;
-import es.us.isa.restest.specification.OpenAPISpecificationVisitor;
 import io.swagger.v3.oas.models.media.ArraySchema;
 import io.swagger.v3.oas.models.media.MediaType;
 import io.swagger.v3.oas.models.media.ObjectSchema;
@@ -24,10 +24,11 @@ import org.apache.logging.log4j.Logger;
 import org.javatuples.Pair;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 import static es.us.isa.restest.inputs.fuzzing.FuzzingDictionary.getFuzzingValues;
 import static es.us.isa.restest.inputs.fuzzing.FuzzingDictionary.getNodeFromValue;
-import static es.us.isa.restest.util.SchemaManager.generateFullyResolvedSchema;
+import static es.us.isa.restest.util.SchemaManager.getFullyResolvedSchema;
 import static es.us.isa.restest.specification.OpenAPISpecificationVisitor.MEDIA_TYPE_APPLICATION_JSON_REGEX;
 
 /**
@@ -49,10 +50,24 @@ public class FuzzingTestCaseGenerator extends AbstractTestCaseGenerator {
         commonFuzzingGenerator = new RandomStringGenerator(10, 20, true, true, true);
     }
 
+    protected FuzzingTestCaseGenerator(FuzzingTestCaseGenerator generator) {
+        super(generator);
+        commonFuzzingGenerator = new RandomStringGenerator(10, 20, true, true, true);
+    }
+
     @Override
-    protected Collection<TestCase> generateOperationTestCases(Operation testOperation) {
+    protected AbstractTestCaseGenerator createOperationGenerator() {
+        return new FuzzingTestCaseGenerator(this);
+    }
 
-        List<TestCase> testCases = new ArrayList<>();
+    @Override
+    public void setSeed(long seed) {
+        super.setSeed(seed);
+        ((RandomStringGenerator) commonFuzzingGenerator).setSeed(rand.nextLong());
+    }
+
+    @Override
+    protected void generateOperationTestCases(Operation testOperation, Consumer<TestCase> testCaseConsumer) {
 
         resetOperation();
 
@@ -60,7 +75,7 @@ public class FuzzingTestCaseGenerator extends AbstractTestCaseGenerator {
         if (testOperation.getTestParameters() != null) {
             for (TestParameter testParam : testOperation.getTestParameters()) {
                 if (!testParam.getIn().equals("body")) {
-                    OpenAPIParameter param = OpenAPISpecificationVisitor.findParameterFeatures(testOperation.getOpenApiOperation(), testParam.getName(), testParam.getIn());
+                    OpenAPIParameter param = TestConfigurationVisitor.findParameterFeatures(testOperation, testParam.getName(), testParam.getIn());
                     List<String> fuzzingList = getFuzzingValues(param.getType());
                     if (param.getEnumValues() != null)
                         fuzzingList.addAll(param.getEnumValues());
@@ -76,11 +91,9 @@ public class FuzzingTestCaseGenerator extends AbstractTestCaseGenerator {
             test.setFaulty(false);
 
             authenticateTestCase(test);
-            testCases.add(test);
+            testCaseConsumer.accept(test);
             updateIndexes(test);
         }
-
-        return testCases;
     }
 
     @Override
@@ -110,7 +123,7 @@ public class FuzzingTestCaseGenerator extends AbstractTestCaseGenerator {
 
         if (requestBody != null) {
             JsonNode node = null;
-            Schema schema = generateFullyResolvedSchema(requestBody.getSchema(), spec.getSpecification());
+            Schema schema = getFullyResolvedSchema(requestBody.getSchema(), spec.getSpecification());
             if ("array".equals(schema.getType()))
                 node = objectMapper.createArrayNode();
             else
@@ -144,7 +157,6 @@ public class FuzzingTestCaseGenerator extends AbstractTestCaseGenerator {
                     || (requiredProperties != null && requiredProperties.contains(entry.getKey())) // Req. property
                     || ((requiredProperties == null || !requiredProperties.contains(entry.getKey())) && rand.nextBoolean())) { // Optional property (50% prob.)
                 JsonNode childNode = null;
-                entry.setValue(generateFullyResolvedSchema(entry.getValue(), spec.getSpecification()));
                 if ("object".equals(entry.getValue().getType())) {
                     childNode = objectMapper.createObjectNode();
                     generateFuzzingBody(entry.getValue(), childNode, entry.getValue().getRequired());
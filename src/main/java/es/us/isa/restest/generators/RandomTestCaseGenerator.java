@@ -2,9 +2,7 @@ package es.us.isa.restest.generators;
 
 import static es.us.isa.restest.specification.OpenAPISpecificationVisitor.hasDependencies;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.function.Consumer;
 
 import es.us.isa.restest.configuration.pojos.Operation;
 import es.us.isa.restest.configuration.pojos.TestConfigurationObject;
@@ -25,10 +23,17 @@ public class RandomTestCaseGenerator extends AbstractTestCaseGenerator {
 		super(spec, conf, nTests);
 	}
 
+	protected RandomTestCaseGenerator(RandomTestCaseGenerator generator) {
+		super(generator);
+	}
+
 	@Override
-	protected Collection<TestCase> generateOperationTestCases(Operation testOperation) throws RESTestException {
+	protected AbstractTestCaseGenerator createOperationGenerator() {
+		return new RandomTestCaseGenerator(this);
+	}
 
-		List<TestCase> testCases = new ArrayList<>();
+	@Override
+	protected void generateOperationTestCases(Operation testOperation, Consumer<TestCase> testCaseConsumer) throws RESTestException {
 
 		// Reset counters for the current operation
 		resetOperation();
@@ -46,15 +51,13 @@ public class RandomTestCaseGenerator extends AbstractTestCaseGenerator {
 			// Set authentication data (if any)
 			authenticateTestCase(test);
 
-			// Add test case to the collection
-			testCases.add(test);
+			// Pass the test case to the consumer
+			testCaseConsumer.accept(test);
 
 			// Update indexes
 			updateIndexes(test);
 
 		}
-		
-		return testCases;
 	}
 	
 
@@ -2,7 +2,6 @@ package es.us.isa.restest.inputs.random;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import java.util.stream.Collectors;
 
 /** Random iterator for a list of input values of type &lt;T&gt;
@@ -15,7 +14,6 @@ public class RandomInputValueIterator<T> extends RandomGenerator{
     private Integer minValues; // Defaults to 1
     private Integer maxValues; // Defaults to 1
     private String separator; // Defaults to ","
-	private Random random = new Random();
      
     public RandomInputValueIterator() {
     	super();
@@ -38,7 +36,7 @@ public class RandomInputValueIterator<T> extends RandomGenerator{
 			} else {
 				value = new ArrayList<>();
 				List<T> localValues = new ArrayList<>(values);
-				double d = random.nextDouble();
+				double d = rand.nextUniform(0, 1);
 				int numValues = 0;
 				//while(minValues == null && d<1/2  (minValues == null || minValues > numValues) || ((maxValues == null || maxValues > numValues) && d<1/2)) {
 				while(minValues > numValues || (maxValues > numValues && d < 0.5)) {
@@ -46,7 +44,7 @@ public class RandomInputValueIterator<T> extends RandomGenerator{
 					localValues.remove(valueToAdd);
 					((List)value).add(valueToAdd);
 					numValues++;
-					d = random.nextDouble();
+					d = rand.nextUniform(0, 1);
 				}
 			}
 		}
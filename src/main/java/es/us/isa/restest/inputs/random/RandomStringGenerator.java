@@ -1,6 +1,7 @@
 package es.us.isa.restest.inputs.random;
 
 import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.commons.math3.random.RandomAdaptor;
 
 public class RandomStringGenerator extends RandomGenerator {
 
@@ -76,16 +77,16 @@ public class RandomStringGenerator extends RandomGenerator {
 
         switch(stringConf) {
             case 7:
-                generatedString = RandomStringUtils.randomAscii(stringLength);
+                generatedString = randomAscii(stringLength);
                 break;
             case 6:
-                generatedString = RandomStringUtils.randomAlphanumeric(stringLength);
+                generatedString = randomString(stringLength, true, true);
                 break;
             case 4:
-                generatedString = RandomStringUtils.randomAlphabetic(stringLength);
+                generatedString = randomString(stringLength, true, false);
                 break;
             case 2:
-                generatedString = RandomStringUtils.randomNumeric(stringLength);
+                generatedString = randomString(stringLength, false, true);
                 break;
             case 0:
                 generatedString = "";
@@ -93,7 +94,7 @@ public class RandomStringGenerator extends RandomGenerator {
             case 5:
             case 3:
             case 1:
-                generatedString = completeString(RandomStringUtils.randomAscii(stringLength), stringConf);
+                generatedString = completeString(randomAscii(stringLength), stringConf);
                 break;
             default:
                 // TODO: Is the following exception being properly used?
@@ -108,12 +109,21 @@ public class RandomStringGenerator extends RandomGenerator {
         return nextValue();
     }
 
+    // Random strings are generated with the seeded random generator, so that they can be reproduced
+    private String randomAscii(int count) {
+        return RandomStringUtils.random(count, 32, 127, false, false, null, new RandomAdaptor(rand.getRandomGenerator()));
+    }
+
+    private String randomString(int count, boolean letters, boolean numbers) {
+        return RandomStringUtils.random(count, 0, 0, letters, numbers, null, new RandomAdaptor(rand.getRandomGenerator()));
+    }
+
     private String completeString(String firstString, int stringConf) {
         String finalString = firstString;
 
         do {
             // Generate maximum-length ASCII string and then remove characters not permitted
-            finalString += RandomStringUtils.randomAscii(maxLength - finalString.length());
+            finalString += randomAscii(maxLength - finalString.length());
             switch (stringConf) {
                 case 5:
                     finalString = finalString.replaceAll("[0-9]", "");
@@ -7,8 +7,6 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import es.us.isa.restest.inputs.ITestDataGenerator;
 import es.us.isa.restest.mutation.SchemaMutation;
 import es.us.isa.restest.specification.OpenAPISpecification;
-import es.us.isa.restest.util.FileManager;
-import es.us.isa.restest.util.JSONManager;
 import es.us.isa.restest.util.RESTestException;
 import es.us.isa.restest.util.SchemaManager;
 import io.swagger.v3.oas.models.Operation;
@@ -24,7 +22,6 @@ import java.util.*;
 
 import static es.us.isa.restest.inputs.fuzzing.FuzzingDictionary.getNodeFuzzingValue;
 import static es.us.isa.restest.inputs.stateful.DataMatching.getParameterValue;
-import static es.us.isa.restest.util.FileManager.checkIfExists;
 import static es.us.isa.restest.util.SchemaManager.resolveSchema;
 import static es.us.isa.restest.specification.OpenAPISpecificationVisitor.MEDIA_TYPE_APPLICATION_JSON_REGEX;
 
@@ -38,6 +35,7 @@ public class BodyGenerator implements ITestDataGenerator {
     boolean mutate;
 
     String dataDirPath;
+    StatefulDataStore store;        // Stateful data of the data directory, shared with the other generators and the StatefulFilter
     OpenAPISpecification spec;
 
     Random random;
@@ -45,6 +43,7 @@ public class BodyGenerator implements ITestDataGenerator {
 
     private static final Logger logger = LogManager.getLogger(BodyGenerator.class);
     private static final String DOT_CONVERSION = "(dot)";
+    private static final StatefulDataStore EMPTY_STORE = new StatefulDataStore();
 
     public BodyGenerator() {
         this.random = new SecureRandom();
@@ -53,9 +52,10 @@ public class BodyGenerator implements ITestDataGenerator {
     @Override
     public JsonNode nextValue() {
         JsonNode body = null;
-        String jsonPath = this.dataDirPath + "/stateful_data.json";
+        StatefulDataStore store = operationPath != null && this.store != null ? this.store : EMPTY_STORE;
 
-        if (!checkIfExists(jsonPath) && defaultValue != null) {
+        // The store holds the data of the file and the data added in this run, even before it is flushed to the file
+        if (store.isEmpty() && defaultValue != null) {
             try {
                 return objectMapper.readTree(defaultValue);
             } catch (Exception e) {
@@ -63,7 +63,6 @@ public class BodyGenerator implements ITestDataGenerator {
             }
         }
 
-        ObjectNode dictNode = operationPath != null && FileManager.checkIfExists(jsonPath)? (ObjectNode) JSONManager.readJSON(jsonPath) : objectMapper.createObjectNode();
         Map.Entry<String, MediaType> mediaTypeEntry = openApiOperation.getRequestBody().getContent().entrySet()
                 .stream().filter(x -> x.getKey().matches(MEDIA_TYPE_APPLICATION_JSON_REGEX)).findFirst().orElse(null);
         MediaType requestBody = null;
@@ -71,14 +70,14 @@ public class BodyGenerator implements ITestDataGenerator {
             requestBody = mediaTypeEntry.getValue();
 
         if (requestBody != null) {
-            Schema mutatedSchema = mutate? new SchemaMutation(requestBody.getSchema(), spec.getSpecification()).mutate() : resolveSchema(requestBody.getSchema(), spec.getSpecification());
+            Schema mutatedSchema = mutate? new SchemaMutation(requestBody.getSchema(), spec.getSpecification(), random).mutate() : resolveSchema(requestBody.getSchema(), spec.getSpecification());
             JsonNode rootNode = null;
             if ("array".equals(mutatedSchema.getType()))
                 rootNode = objectMapper.createArrayNode();
             else
                 rootNode = objectMapper.createObjectNode();
             try {
-                generateStatefulObjectNode(dictNode, mutatedSchema, rootNode, "", new ArrayList<>(), true);
+                generateStatefulObjectNode(store, mutatedSchema, rootNode, "", new ArrayList<>(), true);
             } catch (RESTestException e) {
                 logger.warn("There isn't enough data to generate a valid request body for {} operation.", operationMethod+operationPath);
                 logger.warn("RESTest will use the default request body specified in the testConf.");
@@ -91,7 +90,7 @@ public class BodyGenerator implements ITestDataGenerator {
         return body;
     }
 
-    private void generateStatefulObjectNode(ObjectNode dictNode, Schema<?> schema, JsonNode rootNode, String prefix, List<String> requiredProperties, boolean firstLevel) throws RESTestException {
+    private void generateStatefulObjectNode(StatefulDataStore store, Schema<?> schema, JsonNode rootNode, String prefix, List<String> requiredProperties, boolean firstLevel) throws RESTestException {
         if (schema.get$ref() != null) {
             schema = spec.getSpecification().getComponents().getSchemas().get(schema.get$ref().substring(schema.get$ref().lastIndexOf('/') + 1));
         }
@@ -110,18 +109,18 @@ public class BodyGenerator implements ITestDataGenerator {
                     for (Map.Entry<String, Schema> entry : schema.getProperties().entrySet()) {
                         String paramName = entry.getKey().replace(".", DOT_CONVERSION);
                         String newPrefix = "".equals(prefix) ? prefix + paramName : prefix + '.' + paramName;
-                        generateStatefulObjectNode(dictNode, entry.getValue(), childNode, newPrefix, schema.getRequired(), false);
+                        generateStatefulObjectNode(store, entry.getValue(), childNode, newPrefix, schema.getRequired(), false);
                     }
                 }
 
             } else if (schema.getType().equals("array")) {
                 childNode = "".equals(prefix) && firstLevel ? rootNode : objectMapper.createArrayNode();
                 if (schema instanceof ArraySchema && ((ArraySchema) schema).getItems() != null) {
-                    generateStatefulObjectNode(dictNode, ((ArraySchema) schema).getItems(), childNode, prefix, schema.getRequired(), false);
+                    generateStatefulObjectNode(store, ((ArraySchema) schema).getItems(), childNode, prefix, schema.getRequired(), false);
                 }
             } else {
                 String resolvedPrefix = prefix.replace("-duplicated", "").replace(DOT_CONVERSION, ".");
-                childNode = getParameterValue(dictNode, operationMethod, operationPath, resolvedPrefix);
+                childNode = getParameterValue(store, operationMethod, operationPath, resolvedPrefix);
                 if (childNode == null) {
                     childNode = createNodeFromExample(schema, resolvedPrefix);
                 }
@@ -228,6 +227,7 @@ public class BodyGenerator implements ITestDataGenerator {
 
     public void setDataDirPath(String dataDirPath) {
         this.dataDirPath = dataDirPath;
+        this.store = dataDirPath != null ? StatefulDataStore.getInstance(dataDirPath) : null;
     }
 
     public void setOperation(String operationMethod, String operationPath) {
@@ -250,4 +250,9 @@ public class BodyGenerator implements ITestDataGenerator {
     public void setMutate(boolean mutate) {
         this.mutate = mutate;
     }
+
+    // Seed the random choices of the generator (optional properties, examples, schema mutations), so that bodies can be reproduced
+    public void setSeed(long seed) {
+        this.random = new Random(seed);
+    }
 }
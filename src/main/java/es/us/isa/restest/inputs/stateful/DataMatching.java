@@ -1,8 +1,6 @@
 package es.us.isa.restest.inputs.stateful;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import edu.stanford.nlp.process.Morphology;
 
 import java.util.*;
@@ -18,12 +16,16 @@ public class DataMatching {
 
     private static final Morphology m = new Morphology();
 
-    public static JsonNode getParameterValue(ObjectNode dict, String operationMethod, String operationPath, String paramName) {
+    public static JsonNode getParameterValue(StatefulDataStore store, String operationMethod, String operationPath, String paramName) {
+        return store.read(dict -> getParameterValue(store, dict, operationMethod, operationPath, paramName));
+    }
+
+    private static JsonNode getParameterValue(StatefulDataStore store, Map<String, Map<String, List<JsonNode>>> dict, String operationMethod, String operationPath, String paramName) {
         JsonNode paramValue = null;
-        ObjectNode operationDict = (ObjectNode) dict.get(operationMethod + operationPath);
+        Map<String, List<JsonNode>> operationDict = dict.get(operationMethod + operationPath);
 
         if ("id".equalsIgnoreCase(paramName)) {
-            paramValue = getParameterValue(dict, operationMethod, operationPath, getIdParameterName(paramName, operationPath));
+            paramValue = getParameterValue(store, dict, operationMethod, operationPath, getIdParameterName(paramName, operationPath));
             if (paramValue != null)
                 return paramValue;
         }
@@ -33,76 +35,80 @@ public class DataMatching {
 
         // 2nd option: Other operations, same parameter name
         if (paramValue == null) {
-            Iterator<JsonNode> dictIterator = dict.iterator();
+            Iterator<Map<String, List<JsonNode>>> dictIterator = dict.values().iterator();
             while (dictIterator.hasNext() && paramValue == null) {
-                paramValue = getValueFromOperationDict((ObjectNode) dictIterator.next(), paramName);
+                paramValue = getValueFromOperationDict(dictIterator.next(), paramName);
             }
         }
 
         // 3rd option: Original operation, similar parameter name
-        if (paramValue == null) {
-            List<JsonNode> paramValues = getValuesOfSimilarParameterNames(operationDict, paramName);
-            if (!paramValues.isEmpty())
-                paramValue = paramValues.get(ThreadLocalRandom.current().nextInt(paramValues.size()));
-        }
+        if (paramValue == null)
+            paramValue = getValueOfSimilarParameterNames(store.getNameIndex(operationMethod + operationPath), store.getProcessedParameterName(paramName));
 
         // 4th option: Other operations, similar parameter name
-        if (paramValue == null) {
-            List<JsonNode> paramValues = new ArrayList<>();
-            Iterator<JsonNode> dictIterator = dict.iterator();
-            while (dictIterator.hasNext())
-                paramValues.addAll(getValuesOfSimilarParameterNames((ObjectNode) dictIterator.next(), paramName));
-            if (!paramValues.isEmpty())
-                paramValue = paramValues.get(ThreadLocalRandom.current().nextInt(paramValues.size()));
-        }
+        if (paramValue == null)
+            paramValue = getValueOfSimilarParameterNames(store.getNameIndex(), store.getProcessedParameterName(paramName));
 
         // 5th option: Repeat whole process with sub-property name (e.g., "data.comment.id" -> "comment.id")
         if (paramValue == null && paramName.contains("."))
-            paramValue = getParameterValue(dict, operationMethod, operationPath, paramName.substring(paramName.indexOf('.')+1));
+            paramValue = getParameterValue(store, dict, operationMethod, operationPath, paramName.substring(paramName.indexOf('.')+1));
 
         return paramValue;
     }
 
-    private static JsonNode getValueFromOperationDict(ObjectNode operationDict, String paramName) {
+    private static JsonNode getValueFromOperationDict(Map<String, List<JsonNode>> operationDict, String paramName) {
         JsonNode paramValue = null;
         if (operationDict != null) {
-            ArrayNode paramDict = ((ArrayNode) operationDict.get(paramName));
-            if (paramDict != null) {
+            List<JsonNode> paramDict = operationDict.get(paramName);
+            if (paramDict != null && !paramDict.isEmpty()) {
                 paramValue = paramDict.get(ThreadLocalRandom.current().nextInt(paramDict.size()));
             }
         }
         return paramValue;
     }
 
-    private static List<JsonNode> getValuesOfSimilarParameterNames(ObjectNode operationDict, String paramName) {
-        List<JsonNode> validValues = new ArrayList<>();
+    /**
+     * Returns a random value among all the values of the parameters whose names
+     * are similar to the processed parameter name, or null if there are none.
+     */
+    private static JsonNode getValueOfSimilarParameterNames(ParameterNameIndex nameIndex, String processedParamName) {
+        JsonNode paramValue = null;
 
-        if (operationDict != null) {
-            String processedParamName = processParameterName(paramName);
-
-            operationDict.fields().forEachRemaining(f -> {
-                String processedFieldName = processParameterName(f.getKey());
-                if (processedParamName.matches(".*" + processedFieldName + "$")
-                        || processedFieldName.matches(".*" + processedParamName + "$"))
-                    f.getValue().elements().forEachRemaining(validValues::add);
-            });
+        if (nameIndex != null) {
+            List<List<JsonNode>> similarValues = nameIndex.getSimilarValues(processedParamName);
+            int nValues = similarValues.stream().mapToInt(List::size).sum();
+            if (nValues > 0) {
+                int valueIndex = ThreadLocalRandom.current().nextInt(nValues);
+                for (List<JsonNode> values: similarValues) {
+                    if (valueIndex < values.size()) {
+                        paramValue = values.get(valueIndex);
+                        break;
+                    }
+                    valueIndex -= values.size();
+                }
+            }
         }
 
-        return validValues;
+        return paramValue;
     }
 
-    private static String processParameterName(String paramName) {
-        return Arrays.stream(paramName.toLowerCase().split("[^a-z\\d]"))
-                .map(m::stem)
-                .filter(Objects::nonNull)
-                .collect(Collectors.joining());
+    static String processParameterName(String paramName) {
+        synchronized (m) {
+            return Arrays.stream(paramName.toLowerCase().split("[^a-z\\d]"))
+                    .map(m::stem)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.joining());
+        }
     }
 
     private static String getIdParameterName(String paramName, String operationPath) {
         String lastResourceOperationPath = operationPath.replaceAll("(/\\{[^/]*\\})+$", "");
-        return m.stem(lastResourceOperationPath
-                .substring(lastResourceOperationPath.lastIndexOf('/') + 1)
-                .replaceAll("^([gG]et|[sS]et|[pP]ost|[pP]ut|[dD]elete|[pP]atch|[oO]btain|[rR]etrieve|[cC]reate|[uU]pdate|[rR]emove)([A-Z])", "$2"))
-                + ("ID".equals(paramName) ? "ID" : "Id");
+        String resourceName;
+        synchronized (m) {
+            resourceName = m.stem(lastResourceOperationPath
+                    .substring(lastResourceOperationPath.lastIndexOf('/') + 1)
+                    .replaceAll("^([gG]et|[sS]et|[pP]ost|[pP]ut|[dD]elete|[pP]atch|[oO]btain|[rR]etrieve|[cC]reate|[uU]pdate|[rR]emove)([A-Z])", "$2"));
+        }
+        return resourceName + ("ID".equals(paramName) ? "ID" : "Id");
     }
 }
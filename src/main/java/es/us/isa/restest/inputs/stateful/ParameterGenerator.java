@@ -2,7 +2,6 @@ package es.us.isa.restest.inputs.stateful;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import es.us.isa.restest.inputs.ITestDataGenerator;
 import es.us.isa.restest.specification.OpenAPISpecification;
 import org.apache.logging.log4j.LogManager;
@@ -13,8 +12,6 @@ import java.util.*;
 
 import static es.us.isa.restest.inputs.fuzzing.FuzzingDictionary.getNodeFuzzingValue;
 import static es.us.isa.restest.inputs.stateful.DataMatching.getParameterValue;
-import static es.us.isa.restest.util.FileManager.checkIfExists;
-import static es.us.isa.restest.util.JSONManager.readJSON;
 
 
 public class ParameterGenerator implements ITestDataGenerator {
@@ -27,6 +24,7 @@ public class ParameterGenerator implements ITestDataGenerator {
     private String parameterType;
 
     private String dataDirPath;
+    private StatefulDataStore store;    // Stateful data of the data directory, shared with the other generators and the StatefulFilter
     private String defaultValue;
     private OpenAPISpecification spec;
 
@@ -42,11 +40,9 @@ public class ParameterGenerator implements ITestDataGenerator {
     @Override
     public JsonNode nextValue() {
         JsonNode valueNode = null;
-        String jsonPath = dataDirPath + "/stateful_data.json";
 
-        if (operationPath != null && checkIfExists(jsonPath)) {
-            ObjectNode dict = (ObjectNode) readJSON(jsonPath);
-            valueNode = getParameterValue(dict, operationMethod,
+        if (operationPath != null && store != null) {
+            valueNode = getParameterValue(store, operationMethod,
                     altOperationPath != null ? altOperationPath : operationPath,
                     altParameterName != null ? altParameterName : parameterName
             );
@@ -81,6 +77,7 @@ public class ParameterGenerator implements ITestDataGenerator {
 
     public void setDataDirPath(String dataDirPath) {
         this.dataDirPath = dataDirPath;
+        this.store = dataDirPath != null ? StatefulDataStore.getInstance(dataDirPath) : null;
     }
 
     public void setOperation(String operationMethod, String operationPath) {
@@ -0,0 +1,65 @@
+package es.us.isa.restest.inputs.stateful;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.*;
+
+/**
+ * Suffix index over processed (i.e., lowercased and stemmed) parameter names,
+ * used by {@link DataMatching} to find the values of parameters with similar names.
+ * Two names are similar if one of them ends with the other one. Names are stored
+ * in a trie of reversed names, so that the names similar to a given one are found
+ * in time proportional to its length plus the number of matches, regardless of
+ * the number of names indexed. The index is updated incrementally as new
+ * parameters are added to the {@link StatefulDataStore}.
+ */
+class ParameterNameIndex {
+
+    private final Node root = new Node();
+
+    /**
+     * Indexes the values of a parameter under its processed name.
+     * @param processedName name of the parameter, as returned by {@link DataMatching#processParameterName(String)}
+     * @param values values of the parameter. The list is not copied, so values added
+     *               to it later on will be found too.
+     */
+    void add(String processedName, List<JsonNode> values) {
+        Node node = root;
+        node.subtreeValues.add(values);
+        for (int i = processedName.length() - 1; i >= 0; i--) {
+            node = node.children.computeIfAbsent(processedName.charAt(i), k -> new Node());
+            node.subtreeValues.add(values);
+        }
+        node.values.add(values);
+    }
+
+    /**
+     * Returns the values of all indexed parameters whose processed name is a suffix
+     * of the given one, or the given one is a suffix of theirs.
+     * @param processedName name of the parameter, as returned by {@link DataMatching#processParameterName(String)}
+     * @return lists of values of the similar parameters (each list appears only once)
+     */
+    List<List<JsonNode>> getSimilarValues(String processedName) {
+        List<List<JsonNode>> similarValues = new ArrayList<>();
+        Node node = root;
+        int i = processedName.length() - 1;
+
+        // Indexed names that are suffixes of processedName (excluding processedName itself)
+        while (i >= 0 && node != null) {
+            similarValues.addAll(node.values);
+            node = node.children.get(processedName.charAt(i--));
+        }
+
+        // Indexed names ending with processedName (including processedName itself)
+        if (node != null)
+            similarValues.addAll(node.subtreeValues);
+
+        return similarValues;
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<List<JsonNode>> values = new ArrayList<>();         // Values of the names ending at this node
+        private final List<List<JsonNode>> subtreeValues = new ArrayList<>();  // Values of the names ending at this node or below
+    }
+}
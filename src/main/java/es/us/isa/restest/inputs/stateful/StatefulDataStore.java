@@ -0,0 +1,259 @@
+package es.us.isa.restest.inputs.stateful;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * In-memory, thread-safe store of the values found in API responses, used for
+ * generating stateful inputs. Values are indexed by operation (method + path) and
+ * then by parameter name (e.g., "data.comment.id"). There is one store per data
+ * directory, shared by the whole process: the {@link es.us.isa.restest.writers.restassured.filters.StatefulFilter}
+ * adds values to it and the {@link ParameterGenerator} and {@link BodyGenerator} read
+ * from it, so that the JSON file does not need to be parsed and rewritten on
+ * every request and every generated value.
+ *
+ * The store is loaded from the "stateful_data.json" file of the data directory
+ * the first time it is requested, and it is flushed back to that file (with the
+ * same format) in the background after being modified, and at shutdown.
+ */
+public class StatefulDataStore {
+
+    public static final String STATEFUL_DATA_FILE = "stateful_data.json";
+    private static final long FLUSH_DELAY_MS = 5000;
+
+    private static final Map<String, StatefulDataStore> stores = new ConcurrentHashMap<>();
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "stateful-data-flusher");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static final Logger logger = LogManager.getLogger(StatefulDataStore.class.getName());
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(StatefulDataStore::flushAll, "stateful-data-shutdown"));
+    }
+
+    private final String jsonPath;                                  // File backing this store (null if in-memory only)
+    private final Map<String, Map<String, List<JsonNode>>> data = new LinkedHashMap<>(); // operation -> parameter -> values
+    private final Map<String, ParameterNameIndex> operationNameIndexes = new HashMap<>();  // operation -> index of parameter names
+    private final ParameterNameIndex nameIndex = new ParameterNameIndex();                // Index of parameter names of all operations
+    private final Map<String, String> processedParameterNames = new ConcurrentHashMap<>(); // Parameter names looked up -> processed names
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private boolean dirty = false;
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * Creates an in-memory store, not backed by any file.
+     */
+    public StatefulDataStore() {
+        this.jsonPath = null;
+    }
+
+    /**
+     * Creates an in-memory store with the values of a stateful data dictionary
+     * (i.e., the contents of a "stateful_data.json" file). The store is not
+     * backed by any file.
+     * @param dict stateful data dictionary
+     */
+    public StatefulDataStore(JsonNode dict) {
+        this.jsonPath = null;
+        load(objectMapper.convertValue(dict, new TypeReference<LinkedHashMap<String, LinkedHashMap<String, List<JsonNode>>>>() {}));
+    }
+
+    private StatefulDataStore(String jsonPath) {
+        this.jsonPath = jsonPath;
+        File jsonFile = new File(jsonPath);
+        if (jsonFile.exists()) {
+            try {
+                load(objectMapper.readValue(jsonFile, new TypeReference<LinkedHashMap<String, LinkedHashMap<String, List<JsonNode>>>>() {}));
+            } catch (IOException e) {
+                logger.warn("The stateful data file {} could not be loaded: {}", jsonPath, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns the store shared by the whole process for the given data directory,
+     * creating it (and loading the "stateful_data.json" file, if any) the first time.
+     * @param dataDirPath directory where the "stateful_data.json" file is located
+     * @return the stateful data store of the directory
+     */
+    public static StatefulDataStore getInstance(String dataDirPath) {
+        String jsonPath = new File(dataDirPath, STATEFUL_DATA_FILE).getAbsoluteFile().toPath().normalize().toString();
+        return stores.computeIfAbsent(jsonPath, StatefulDataStore::new);
+    }
+
+    /**
+     * Writes all modified stores to their corresponding files.
+     */
+    public static void flushAll() {
+        stores.values().forEach(StatefulDataStore::flush);
+    }
+
+    private void load(Map<String, ? extends Map<String, List<JsonNode>>> values) {
+        for (Map.Entry<String, ? extends Map<String, List<JsonNode>>> operation: values.entrySet())
+            for (Map.Entry<String, List<JsonNode>> parameter: operation.getValue().entrySet())
+                for (JsonNode value: parameter.getValue())
+                    addValue(operation.getKey(), parameter.getKey(), value);
+    }
+
+    private boolean addValue(String operation, String parameterName, JsonNode value) {
+        Map<String, List<JsonNode>> operationDict = data.computeIfAbsent(operation, k -> new LinkedHashMap<>());
+        ValueList values = (ValueList) operationDict.get(parameterName);
+        if (values == null) { // New parameter, index it
+            values = new ValueList();
+            operationDict.put(parameterName, values);
+            String processedName = DataMatching.processParameterName(parameterName);
+            operationNameIndexes.computeIfAbsent(operation, k -> new ParameterNameIndex()).add(processedName, values);
+            nameIndex.add(processedName, values);
+        }
+        return values.addIfAbsent(value);
+    }
+
+    /**
+     * Adds the values of all the properties of a response body to the store, under
+     * the given operation. Nested properties are named after their full path (e.g.,
+     * "data.comment.id"), and array items under the name of the array.
+     * @param operation operation method and path (e.g., "GET/comments")
+     * @param bodyNode response body
+     */
+    public void addResponseBodyValues(String operation, JsonNode bodyNode) {
+        boolean added;
+        lock.writeLock().lock();
+        try {
+            data.computeIfAbsent(operation, k -> new LinkedHashMap<>());
+            added = addResponseBodyValues(operation, bodyNode, "");
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (added)
+            markDirty();
+    }
+
+    private boolean addResponseBodyValues(String operation, JsonNode bodyNode, String prefix) {
+        boolean added = false;
+        if (bodyNode.isObject()) {
+            for (Iterator<Map.Entry<String, JsonNode>> it = bodyNode.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> entry = it.next();
+                String newPrefix = "".equals(prefix)? entry.getKey() : prefix + '.' + entry.getKey();
+                added |= addResponseBodyValues(operation, entry.getValue(), newPrefix);
+            }
+        } else if (bodyNode.isArray()) {
+            for (Iterator<JsonNode> it = bodyNode.elements(); it.hasNext(); ) {
+                added |= addResponseBodyValues(operation, it.next(), prefix);
+            }
+        } else if (bodyNode.isValueNode()) {
+            added = addValue(operation, prefix, bodyNode);
+        }
+        return added;
+    }
+
+    /**
+     * Runs a read-only query over the values of the store. The dictionary passed to
+     * the query maps operations to parameter names to values, and must not be
+     * modified nor used outside of the query, since values may be concurrently
+     * added to the store afterwards.
+     * @param query function to apply to the dictionary
+     * @param <T> type of the result of the query
+     * @return the result of the query
+     */
+    public <T> T read(Function<Map<String, Map<String, List<JsonNode>>>, T> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(Collections.unmodifiableMap(data));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the index of parameter names of an operation. It must only be used
+     * within a {@link #read(Function)} query.
+     * @param operation operation method and path (e.g., "GET/comments")
+     * @return the index, or null if the operation has no parameters
+     */
+    ParameterNameIndex getNameIndex(String operation) {
+        return operationNameIndexes.get(operation);
+    }
+
+    /**
+     * Returns the index of parameter names of all operations. It must only be used
+     * within a {@link #read(Function)} query.
+     * @return the index
+     */
+    ParameterNameIndex getNameIndex() {
+        return nameIndex;
+    }
+
+    /**
+     * Returns the processed name of a parameter looked up in this store (see
+     * {@link DataMatching#processParameterName(String)}). Processed names are kept
+     * while the store exists, since the same parameters are looked up repeatedly.
+     * @param parameterName name of the parameter
+     * @return the processed name
+     */
+    String getProcessedParameterName(String parameterName) {
+        return processedParameterNames.computeIfAbsent(parameterName, DataMatching::processParameterName);
+    }
+
+    /**
+     * Whether the store has no values, neither loaded from the file nor added since (even if not flushed yet)
+     * @return true if the store is empty
+     */
+    public boolean isEmpty() {
+        return read(Map::isEmpty);
+    }
+
+    private void markDirty() {
+        if (jsonPath == null)
+            return;
+        synchronized (this) {
+            dirty = true;
+            if (scheduledFlush == null || scheduledFlush.isDone())
+                scheduledFlush = flusher.schedule(this::flush, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes the store to its "stateful_data.json" file, if it was modified since
+     * it was last written.
+     */
+    public synchronized void flush() {
+        if (jsonPath == null || !dirty)
+            return;
+        lock.readLock().lock();
+        try {
+            objectMapper.writeValue(new File(jsonPath), data);
+            dirty = false;
+        } catch (IOException e) {
+            logger.warn("The stateful data could not be saved to JSON: {}", e.getMessage());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * List of values of a parameter, with constant-time duplicate checking.
+     */
+    private static class ValueList extends ArrayList<JsonNode> {
+
+        private final transient Set<JsonNode> index = new HashSet<>();
+
+        private boolean addIfAbsent(JsonNode value) {
+            return index.add(value) && add(value);
+        }
+    }
+}
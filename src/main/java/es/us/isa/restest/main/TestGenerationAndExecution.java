@@ -3,6 +3,9 @@ package es.us.isa.restest.main;
 import es.us.isa.restest.configuration.pojos.TestConfigurationObject;
 import es.us.isa.restest.coverage.CoverageGatherer;
 import es.us.isa.restest.coverage.CoverageMeter;
+import es.us.isa.restest.executors.ITestExecutor;
+import es.us.isa.restest.executors.RequestScheduler;
+import es.us.isa.restest.executors.restassured.RESTAssuredExecutor;
 import es.us.isa.restest.generators.ARTestCaseGenerator;
 import es.us.isa.restest.generators.AbstractTestCaseGenerator;
 import es.us.isa.restest.generators.ConstraintBasedTestCaseGenerator;
@@ -12,6 +15,7 @@ import es.us.isa.restest.reporting.AllureReportManager;
 import es.us.isa.restest.reporting.StatsReportManager;
 import es.us.isa.restest.runners.RESTestWorkflow;
 import es.us.isa.restest.specification.OpenAPISpecification;
+import es.us.isa.restest.specification.OpenAPISpecificationRegistry;
 import es.us.isa.restest.writers.IWriter;
 import es.us.isa.restest.writers.restassured.RESTAssuredWriter;
 import es.us.isa.restest.util.*;
@@ -42,6 +46,7 @@ public class TestGenerationAndExecution {
 	private static List<String> argsList;								// List containing args
 	
 	private static Integer numTestCases; 								// Number of test cases per operation
+	private static int generationThreads = 0;							// Number of threads generating operations concurrently (0: one after the other)
 	private static String OAISpecPath; 									// Path to OAS specification file
 	private static OpenAPISpecification spec; 							// OAS specification
 	private static String confPath; 									// Path to test configuration file
@@ -59,9 +64,19 @@ public class TestGenerationAndExecution {
 	private static String generator; 									// Generator (RT: Random testing, CBT:Constraint-based testing)
 	private static Boolean logToFile;									// If 'true', log messages will be printed to external files
 	private static boolean executeTestCases;							// If 'false', test cases will be generated but not executed
+	private static int executionParallelism = 1;						// Number of test cases executed concurrently
+	private static boolean directExecution = false;						// If 'true', test cases will be executed directly, without compiling a test class
+	private static boolean exportTestClass = false;						// If 'true', the test class is written even if test cases are executed directly
+	private static boolean executionLogging = false;					// If 'true', the requests and responses of the test cases executed directly will be logged
+	private static boolean pipelinedExecution = false;					// If 'true', test cases will be executed directly while they are generated
+	private static int pipelineQueueSize = 100;							// Maximum number of test cases waiting to be executed (pipelined execution)
+	private static double rateLimit = 0.0;								// Maximum number of requests per second sent with each API key (0 for no limit)
+	private static int rateLimitBurst = 1;								// Maximum number of requests sent at once with each API key
+	private static int rateLimitMaxRetries = 3;							// Number of times a request throttled by the API is sent again
 	private static boolean allureReports;								// If 'true', Allure reports will be generated
 	private static boolean checkTestCases;								// If 'true', test cases will be checked with OASValidator before executing them
 	private static String proxy;										// Proxy to use for all requests in format host:port
+	private static int maxTestsPerClass = 0;							// Maximum number of test cases per test class (0 for no limit)
 
 	// For Constraint-based testing and AR Testing:
 	private static Float faultyDependencyRatio; 						// Percentage of faulty test cases due to dependencies to generate.
@@ -71,6 +86,7 @@ public class TestGenerationAndExecution {
 	// For AR Testing only:
 	private static String similarityMetric;								// The algorithm to measure the similarity between test cases
 	private static Integer numberCandidates;							// Number of candidate test cases per AR iteration
+	private static int artParallelism = 1;								// Number of threads computing the distance of the candidates
 
 	private static Logger logger = LogManager.getLogger(TestGenerationAndExecution.class.getName());
 
@@ -102,7 +118,8 @@ public class TestGenerationAndExecution {
 
 		// RESTest runner
 		AbstractTestCaseGenerator generator = createGenerator(); // Test case generator
-		IWriter writer = createWriter(); // Test case writer
+		IWriter writer = !directExecution || exportTestClass ? createWriter() : null; // Test case writer (not needed if test cases are executed directly)
+		ITestExecutor executor = createExecutor(); // Test case executor (only if test cases are executed directly)
 		StatsReportManager statsReportManager = createStatsReportManager(); // Stats reporter
 		AllureReportManager reportManager = createAllureReportManager(); // Allure test case reporter
 
@@ -110,31 +127,44 @@ public class TestGenerationAndExecution {
 				reportManager, statsReportManager);
 
 		runner.setExecuteTestCases(executeTestCases);
+		runner.setExecutionParallelism(executionParallelism);
 		runner.setAllureReport(allureReports);
-
+		runner.setExecutor(executor);
+		runner.setPipelined(pipelinedExecution);
+		runner.setPipelineQueueSize(pipelineQueueSize);
 
 
 		// Main loop
 		int iteration = 1;
-		while (totalNumTestCases == -1 || runner.getNumTestCases() < totalNumTestCases) {
-
-			// Introduce optional delay
-			if (iteration != 1 && timeDelay != -1)
-				delay(timeDelay);
-
-			// Generate unique test class name to avoid the same class being loaded everytime
-			String id = IDGenerator.generateTimeId();
-			String className = testClassName + "_" + id;
-			((RESTAssuredWriter) writer).setClassName(className);
-			((RESTAssuredWriter) writer).setTestId(id);
-			runner.setTestClassName(className);
-			runner.setTestId(id);
-
-			// Test case generation + execution + test report generation
-			runner.run();
-
-			logger.info("Iteration {}. {} test cases generated.", iteration, runner.getNumTestCases());
-			iteration++;
+		try {
+			while (totalNumTestCases == -1 || runner.getNumTestCases() < totalNumTestCases) {
+
+				// Introduce optional delay
+				if (iteration != 1 && timeDelay != -1)
+					delay(timeDelay);
+
+				// Generate unique test class name to avoid the same class being loaded everytime
+				String id = IDGenerator.generateTimeId();
+				String className = testClassName + "_" + id;
+				if (writer != null) {
+					((RESTAssuredWriter) writer).setClassName(className);
+					((RESTAssuredWriter) writer).setTestId(id);
+				}
+				if (executor != null)
+					((RESTAssuredExecutor) executor).setTestId(id);
+				runner.setTestClassName(className);
+				runner.setTestId(id);
+
+				// Test case generation + execution + test report generation
+				runner.run();
+
+				logger.info("Iteration {}. {} test cases generated.", iteration, runner.getNumTestCases());
+				iteration++;
+			}
+		} finally {
+			generator.close();	// Release the resources of the generator (e.g., thread pools)
+			if (executor != null)
+				executor.close();
 		}
 
 		Timer.stopCounting(ALL);
@@ -145,7 +175,7 @@ public class TestGenerationAndExecution {
 	// Create a test case generator
 	private static AbstractTestCaseGenerator createGenerator() throws RESTestException {
 		// Load specification
-		spec = new OpenAPISpecification(OAISpecPath);
+		spec = OpenAPISpecificationRegistry.getSpecification(OAISpecPath);
 
 		// Load configuration
 		TestConfigurationObject conf;
@@ -187,6 +217,7 @@ public class TestGenerationAndExecution {
 			((ARTestCaseGenerator) gen).setReloadInputDataEvery(reloadInputDataEvery);
 			((ARTestCaseGenerator) gen).setDiversity(similarityMetric);
 			((ARTestCaseGenerator) gen).setNumberOfCandidates(numberCandidates);
+			((ARTestCaseGenerator) gen).setParallelism(artParallelism);
 			gen.setFaultyRatio(faultyRatio);
 			break;
 		default:
@@ -194,6 +225,7 @@ public class TestGenerationAndExecution {
 		}
 
 		gen.setCheckTestCases(checkTestCases);
+		gen.setGenerationThreads(generationThreads);
 
 		return gen;
 	}
@@ -209,9 +241,31 @@ public class TestGenerationAndExecution {
 		writer.setEnableOutputCoverage(enableOutputCoverage);
 		writer.setAPIName(experimentName);
 		writer.setProxy(proxy);
+		writer.setMaxTestsPerClass(maxTestsPerClass);
 		return writer;
 	}
 
+	// Create a RESTAssured executor (only if test cases are executed directly)
+	private static ITestExecutor createExecutor() {
+		if (!directExecution)
+			return null;
+		String basePath = spec.getSpecification().getServers().get(0).getUrl();
+		RESTAssuredExecutor executor = new RESTAssuredExecutor(OAISpecPath, confPath, basePath, logToFile);
+		executor.setLogging(executionLogging);
+		executor.setAllureReport(allureReports);
+		executor.setEnableStats(enableCSVStats);
+		executor.setEnableOutputCoverage(enableOutputCoverage);
+		executor.setAPIName(experimentName);
+		executor.setTestId(experimentName);
+		executor.setProxy(proxy);
+		executor.setParallelism(executionParallelism);
+		if (rateLimit > 0) {
+			executor.setRequestScheduler(new RequestScheduler(AuthManager.create(getTestConfigurationObject().getAuth()), rateLimit, rateLimitBurst));
+			executor.setMaxRetries(rateLimitMaxRetries);
+		}
+		return executor;
+	}
+
 	// Create an Allure report manager
 	private static AllureReportManager createAllureReportManager() {
 		AllureReportManager arm = null;
@@ -312,6 +366,42 @@ public class TestGenerationAndExecution {
 		}
 		logger.info("Experiment execution: {}", executeTestCases);
 
+		if (readParameterValue("test.execution.parallelism") != null)
+			executionParallelism = Integer.parseInt(readParameterValue("test.execution.parallelism"));
+		logger.info("Test execution parallelism: {}", executionParallelism);
+
+		if (readParameterValue("test.execution.direct") != null)
+			directExecution = Boolean.parseBoolean(readParameterValue("test.execution.direct"));
+		logger.info("Direct test execution: {}", directExecution);
+
+		if (readParameterValue("test.execution.direct.export") != null)
+			exportTestClass = Boolean.parseBoolean(readParameterValue("test.execution.direct.export"));
+		logger.info("Export test class of direct execution: {}", exportTestClass);
+
+		if (readParameterValue("test.execution.logging") != null)
+			executionLogging = Boolean.parseBoolean(readParameterValue("test.execution.logging"));
+		logger.info("Log requests of direct execution: {}", executionLogging);
+
+		if (readParameterValue("test.execution.pipelined") != null)
+			pipelinedExecution = Boolean.parseBoolean(readParameterValue("test.execution.pipelined"));
+		logger.info("Pipelined test execution: {}", pipelinedExecution);
+
+		if (readParameterValue("test.execution.pipeline.queuesize") != null)
+			pipelineQueueSize = Integer.parseInt(readParameterValue("test.execution.pipeline.queuesize"));
+		logger.info("Pipeline queue size: {}", pipelineQueueSize);
+
+		if (readParameterValue("test.execution.ratelimit") != null)
+			rateLimit = Double.parseDouble(readParameterValue("test.execution.ratelimit"));
+		logger.info("Rate limit (requests per second and API key): {}", rateLimit);
+
+		if (readParameterValue("test.execution.ratelimit.burst") != null)
+			rateLimitBurst = Integer.parseInt(readParameterValue("test.execution.ratelimit.burst"));
+		logger.info("Rate limit burst: {}", rateLimitBurst);
+
+		if (readParameterValue("test.execution.ratelimit.maxretries") != null)
+			rateLimitMaxRetries = Integer.parseInt(readParameterValue("test.execution.ratelimit.maxretries"));
+		logger.info("Maximum retries of throttled requests: {}", rateLimitMaxRetries);
+
 		if (readParameterValue("allure.report") != null) {
 			allureReports = Boolean.parseBoolean(readParameterValue("allure.report"));
 		}
@@ -331,10 +421,18 @@ public class TestGenerationAndExecution {
 		testClassName = readParameterValue("testclass.name");
 		logger.info("Test class name: {}", testClassName);
 
+		if (readParameterValue("testclass.maxtests") != null)
+			maxTestsPerClass = Integer.parseInt(readParameterValue("testclass.maxtests"));
+		logger.info("Maximum number of test cases per test class: {}", maxTestsPerClass);
+
 		if (readParameterValue("testsperoperation") != null)
 			numTestCases = Integer.parseInt(readParameterValue("testsperoperation"));
 		logger.info("Number of test cases per operation: {}", numTestCases);
 
+		if (readParameterValue("generation.threads") != null)
+			generationThreads = Integer.parseInt(readParameterValue("generation.threads"));
+		logger.info("Generation threads: {}", generationThreads);
+
 		if (readParameterValue("numtotaltestcases") != null)
 			totalNumTestCases = Integer.parseInt(readParameterValue("numtotaltestcases"));
 		logger.info("Max number of test cases: {}", totalNumTestCases);
@@ -375,6 +473,10 @@ public class TestGenerationAndExecution {
 			numberCandidates = Integer.parseInt(readParameterValue("art.number.candidates"));
 		logger.info("Number of candidates: {}", numberCandidates);
 
+		if (readParameterValue("art.parallelism") != null)
+			artParallelism = Integer.parseInt(readParameterValue("art.parallelism"));
+		logger.info("ART parallelism: {}", artParallelism);
+
 		if (readParameterValue("faulty.ratio") != null)
 			faultyRatio = Float.parseFloat(readParameterValue("faulty.ratio"));
 		logger.info("Faulty ratio: {}", faultyRatio);
@@ -0,0 +1,96 @@
+package es.us.isa.restest.mutation;
+
+import es.us.isa.restest.mutation.operators.invalidvalue.InvalidParameterValue;
+import es.us.isa.restest.specification.OpenAPIParameter;
+import io.swagger.v3.oas.models.Operation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static es.us.isa.restest.specification.OpenAPISpecificationVisitor.getParametersFeaturesSubjectToInvalidValueChange;
+import static es.us.isa.restest.specification.OpenAPISpecificationVisitor.getRequiredNotPathParametersFeatures;
+
+/**
+ * Mutations that can be applied to the test cases of an operation to make them faulty, computed once
+ * from the OpenAPI operation. It contains the required parameters that can be removed, and the parameters
+ * that can be assigned an invalid value along with the mutations applicable to each of them, so that the
+ * mutation operators only need to select one randomly. Plans are immutable, so they can be shared
+ * by different generators.
+ *
+ * @see TestCaseMutation#mutate(es.us.isa.restest.testcases.TestCase, MutationPlan)
+ */
+public class MutationPlan {
+
+    private final List<OpenAPIParameter> requiredNotPathParameters;     // Parameters that can be removed
+    private final List<InvalidValueCandidate> invalidValueCandidates;   // Parameters that can be assigned an invalid value
+
+    /**
+     * @param specOperation OpenAPI operation whose test cases will be mutated
+     */
+    public MutationPlan(Operation specOperation) {
+        this.requiredNotPathParameters = Collections.unmodifiableList(getRequiredNotPathParametersFeatures(specOperation));
+
+        List<InvalidValueCandidate> candidates = new ArrayList<>();
+        for (OpenAPIParameter param: getParametersFeaturesSubjectToInvalidValueChange(specOperation)) {
+            String[] mutations = InvalidParameterValue.getApplicableMutations(param);
+            if (mutations.length > 0)
+                candidates.add(new InvalidValueCandidate(param, mutations));
+        }
+        this.invalidValueCandidates = Collections.unmodifiableList(candidates);
+    }
+
+    /**
+     * Required parameters of the operation that can be removed (i.e., all except path parameters)
+     */
+    public List<OpenAPIParameter> getRequiredNotPathParameters() {
+        return requiredNotPathParameters;
+    }
+
+    /**
+     * Parameters of the operation that can be assigned an invalid value, with at least one mutation applicable
+     */
+    public List<InvalidValueCandidate> getInvalidValueCandidates() {
+        return invalidValueCandidates;
+    }
+
+    /**
+     * Returns true if no mutation can be applied to the test cases of the operation
+     */
+    public boolean isEmpty() {
+        return requiredNotPathParameters.isEmpty() && invalidValueCandidates.isEmpty();
+    }
+
+    /**
+     * Parameter that can be assigned an invalid value, and the mutations applicable to it
+     */
+    public static class InvalidValueCandidate {
+        private final OpenAPIParameter parameter;
+        private final String[] mutations;
+        private final Set<Object> enumValues;       // Enum range of the parameter (null if not an enum), to check invalid values in O(1)
+
+        private InvalidValueCandidate(OpenAPIParameter parameter, String[] mutations) {
+            this.parameter = parameter;
+            this.mutations = mutations;
+            this.enumValues = parameter.getEnumValues() == null ? null : Collections.unmodifiableSet(new HashSet<>(parameter.getEnumValues()));
+        }
+
+        public OpenAPIParameter getParameter() {
+            return parameter;
+        }
+
+        public int getNumberOfMutations() {
+            return mutations.length;
+        }
+
+        public String getMutation(int index) {
+            return mutations[index];
+        }
+
+        public Set<Object> getEnumValues() {
+            return enumValues;
+        }
+    }
+}
@@ -2,41 +2,49 @@ package es.us.isa.restest.mutation;
 
 import es.us.isa.restest.mutation.pipelines.DropSelectTypePipeline;
 import es.us.isa.restest.mutation.rules.DuplicateRule;
-import es.us.isa.restest.util.SchemaManager;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.media.Schema;
 
 import java.security.SecureRandom;
 import java.util.Random;
 
-import static es.us.isa.restest.util.SchemaManager.generateFullyResolvedSchema;
+import static es.us.isa.restest.util.SchemaManager.getFullyResolvedSchema;
 
 public class SchemaMutation {
 
-    private final Random random = new SecureRandom();
+    private final Random random;
 
     private Schema schema;
     private OpenAPI spec;
 
     public SchemaMutation(Schema schema, OpenAPI spec) {
+        this(schema, spec, new SecureRandom());
+    }
+
+    /**
+     * @param random Random generator used to select the mutations (e.g., a seeded one, to reproduce them)
+     */
+    public SchemaMutation(Schema schema, OpenAPI spec, Random random) {
         this.schema = schema;
         this.spec = spec;
+        this.random = random;
     }
 
     public Schema mutate() {
         MutationPipeline mutation = MutationPipeline.values()[random.nextInt(MutationPipeline.values().length)];
-        Schema mutatedSchema = generateFullyResolvedSchema(schema, spec);
+        // The resolved schema is shared, so only the nodes mutated are copied
+        SchemaOverlay mutatedSchema = new SchemaOverlay(getFullyResolvedSchema(schema, spec));
         switch (mutation) {
             case DUPLICATE:
-                DuplicateRule.getInstance().apply(mutatedSchema, true, spec);
+                DuplicateRule.getInstance().apply(mutatedSchema, true, spec, random);
                 break;
             case DROP_SELECT_TYPE:
-                DropSelectTypePipeline.getInstance().apply(mutatedSchema, spec);
+                DropSelectTypePipeline.getInstance().apply(mutatedSchema, spec, random);
                 break;
             default:
         }
 
-        return mutatedSchema;
+        return mutatedSchema.getSchema();
     }
 
     public enum MutationPipeline {
@@ -0,0 +1,96 @@
+package es.us.isa.restest.mutation;
+
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static es.us.isa.restest.util.SchemaManager.prePopulateSchema;
+
+/**
+ * Copy-on-write view of a fully resolved schema to be mutated. The original schema is shared (e.g., it
+ * is cached by the SchemaManager), so it is never modified: a node is copied the first time it is accessed
+ * to be modified, along with its ancestors, and the rest of the nodes are shared with the original schema.
+ * Therefore, each mutation only allocates the nodes in the paths to the nodes mutated.<br><br>
+ *
+ * The root schema and the nodes returned by {@link #getProperty(Schema, String)} and {@link #getItems(ArraySchema)}
+ * can be modified (e.g., removing properties or changing their type), but their children must be accessed
+ * through these methods to modify them.
+ */
+public class SchemaOverlay {
+
+    private final Schema<?> schema;
+    private final boolean copyOnWrite;
+    private final Set<Schema<?>> copies = Collections.newSetFromMap(new IdentityHashMap<>()); // Nodes that can be modified
+
+    /**
+     * @param schema Fully resolved schema to be mutated. It will not be modified
+     */
+    public SchemaOverlay(Schema<?> schema) {
+        this(schema, true);
+    }
+
+    private SchemaOverlay(Schema<?> schema, boolean copyOnWrite) {
+        this.copyOnWrite = copyOnWrite;
+        this.schema = copyOnWrite ? copy(schema) : schema;
+    }
+
+    /**
+     * View of a schema whose nodes are modified in place, without copying them. Useful to mutate
+     * schemas that are not shared, e.g., those generated with SchemaManager.generateFullyResolvedSchema.
+     */
+    public static SchemaOverlay inPlace(Schema<?> schema) {
+        return new SchemaOverlay(schema, false);
+    }
+
+    /**
+     * Mutated schema. The nodes not mutated are shared with the original schema, so it must
+     * not be modified once the mutation is finished.
+     */
+    public Schema<?> getSchema() {
+        return schema;
+    }
+
+    /**
+     * Returns a property of a node that can be modified.
+     * @param parent Node that can be modified (i.e., the root schema or a node returned by this overlay)
+     * @param property Name of the property
+     */
+    public Schema<?> getProperty(Schema<?> parent, String property) {
+        Schema<?> propertySchema = parent.getProperties().get(property);
+        if (copyOnWrite && !copies.contains(propertySchema)) {
+            propertySchema = copy(propertySchema);
+            parent.getProperties().put(property, propertySchema);
+        }
+        return propertySchema;
+    }
+
+    /**
+     * Returns the items of an array node that can be modified.
+     * @param parent Array node that can be modified (i.e., the root schema or a node returned by this overlay)
+     */
+    public Schema<?> getItems(ArraySchema parent) {
+        Schema<?> items = parent.getItems();
+        if (copyOnWrite && !copies.contains(items)) {
+            items = copy(items);
+            parent.setItems(items);
+        }
+        return items;
+    }
+
+    // Shallow copy: the properties map is copied, but not the properties
+    private Schema<?> copy(Schema<?> node) {
+        Schema<?> copy = node instanceof ArraySchema ? new ArraySchema() : new Schema<>();
+        prePopulateSchema(node, copy);
+        if (node instanceof ArraySchema)
+            ((ArraySchema) copy).setItems(((ArraySchema) node).getItems());
+        else if (node.getProperties() != null)
+            copy.setProperties(new HashMap<>(node.getProperties()));
+
+        copies.add(copy);
+        return copy;
+    }
+}
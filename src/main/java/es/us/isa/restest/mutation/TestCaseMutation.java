@@ -1,8 +1,7 @@
 package es.us.isa.restest.mutation;
 
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 import es.us.isa.restest.mutation.operators.invalidvalue.InvalidParameterValue;
 import es.us.isa.restest.mutation.operators.RemoveRequiredParameter;
@@ -36,24 +35,46 @@ public class TestCaseMutation {
      * @return a string indicating the mutation operator applied, empty if none.
      */
 	public static String mutate(TestCase testCase, Operation specOperation) {
+		return mutate(testCase, new MutationPlan(specOperation));
+	}
+
+	/**
+	 * Same as {@link #mutate(TestCase, Operation)}, but the mutations applicable to the test case are
+	 * taken from a precompiled plan of the operation, so that they are not computed for every test case.
+	 * @param testCase Original valid test case. It is modified if the mutation is applied.
+	 * @param plan Mutation plan of the operation related to the test case.
+	 * @return a string indicating the mutation operator applied, empty if none.
+	 */
+	public static String mutate(TestCase testCase, MutationPlan plan) {
+		return mutate(testCase, plan, ThreadLocalRandom.current());
+	}
+
+	/**
+	 * Same as {@link #mutate(TestCase, MutationPlan)}, but all random choices (operator, parameter and
+	 * invalid value) are drawn from <i>rand</i>, so that the mutations can be reproduced with a seed.
+	 * @param testCase Original valid test case. It is modified if the mutation is applied.
+	 * @param plan Mutation plan of the operation related to the test case.
+	 * @param rand Random generator used to select and apply the mutation.
+	 * @return a string indicating the mutation operator applied, empty if none.
+	 */
+	public static String mutate(TestCase testCase, MutationPlan plan, Random rand) {
 		String mutationApplied = "";
 
-		// Shuffle list of operators
-		List<String> operators = Arrays.asList(mutationOperators);
-		Collections.shuffle(operators);
-		
+		// Random order of operators
+		int first = rand.nextInt(mutationOperators.length);
+
 		int index = 0;
-		while (index<operators.size() && mutationApplied.equals("")) {
-			switch(operators.get(index)) {
+		while (index<mutationOperators.length && mutationApplied.equals("")) {
+			switch(mutationOperators[(first + index) % mutationOperators.length]) {
 				case INVALID_VALUE:
-					mutationApplied = InvalidParameterValue.mutate(testCase, specOperation);
+					mutationApplied = InvalidParameterValue.mutate(testCase, plan, rand);
 					break;
 				case REMOVE_REQUIRED_PARAMETER:
-					mutationApplied = RemoveRequiredParameter.mutate(testCase, specOperation);
+					mutationApplied = RemoveRequiredParameter.mutate(testCase, plan, rand);
 					break;
 				default:
 			}
-			index++;		
+			index++;
 		}
 		
 		return mutationApplied;
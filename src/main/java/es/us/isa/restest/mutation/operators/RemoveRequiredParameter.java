@@ -1,14 +1,14 @@
 package es.us.isa.restest.mutation.operators;
 
+import es.us.isa.restest.mutation.MutationPlan;
 import es.us.isa.restest.specification.OpenAPIParameter;
 import es.us.isa.restest.testcases.TestCase;
 import io.swagger.v3.oas.models.Operation;
 
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 
-import static es.us.isa.restest.specification.OpenAPISpecificationVisitor.getRequiredNotPathParametersFeatures;
-
 /**
  * @author Alberto Martin-Lopez
  */
@@ -26,14 +26,29 @@ public class RemoveRequiredParameter extends AbstractMutationOperator {
      * @return True if the mutation was applied, false otherwise.
      */
     public static String mutate(TestCase tc, Operation specOperation) {
-        List<OpenAPIParameter> candidateParameters = getRequiredNotPathParametersFeatures(specOperation); // Path parameters cannot be removed
+        return mutate(tc, new MutationPlan(specOperation));
+    }
+
+    /**
+     * Same as {@link #mutate(TestCase, Operation)}, but the parameters that can be removed
+     * are taken from a precompiled plan of the operation.
+     */
+    public static String mutate(TestCase tc, MutationPlan plan) {
+        return mutate(tc, plan, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Same as {@link #mutate(TestCase, MutationPlan)}, but the parameter removed is selected with <i>rand</i>.
+     */
+    public static String mutate(TestCase tc, MutationPlan plan, Random rand) {
+        List<OpenAPIParameter> candidateParameters = plan.getRequiredNotPathParameters(); // Path parameters cannot be removed
         
         // No required parameters. Mutation not applicable
         if (candidateParameters.isEmpty())
         	return "";
         
         // Remove random required parameter
-        OpenAPIParameter selectedParam = candidateParameters.get(ThreadLocalRandom.current().nextInt(0, candidateParameters.size()));
+        OpenAPIParameter selectedParam = candidateParameters.get(rand.nextInt(candidateParameters.size()));
         tc.removeParameter(selectedParam);
         return "Removed required parameter " + selectedParam.getName();
     }
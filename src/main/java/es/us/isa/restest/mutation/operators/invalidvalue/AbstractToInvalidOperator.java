@@ -1,13 +1,17 @@
 package es.us.isa.restest.mutation.operators.invalidvalue;
 
+import es.us.isa.restest.mutation.MutationPlan;
 import es.us.isa.restest.mutation.operators.AbstractMutationOperator;
 import es.us.isa.restest.specification.OpenAPIParameter;
 import es.us.isa.restest.testcases.TestCase;
 import org.apache.commons.lang3.RandomStringUtils;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static es.us.isa.restest.mutation.operators.invalidvalue.InvalidParameterValue.INTEGER_TYPE;
@@ -36,85 +40,143 @@ public abstract class AbstractToInvalidOperator extends AbstractMutationOperator
         String mutationApplied = "";
 
         // Shuffle list of mutations
-        List<String> mutationsList = Arrays.asList(mutations);
+        List<String> mutationsList = new ArrayList<>(Arrays.asList(mutations));
         Collections.shuffle(mutationsList);
 
         int index = 0;
         while (index<mutationsList.size() && mutationApplied.equals("")) {
-            switch (mutationsList.get(index)) {
-                case REPLACE_WITH_INT:
-                    String randomInt = Integer.toString(ThreadLocalRandom.current().nextInt(1000, 10001));
-                    if (param.getEnumValues() == null || !param.getEnumValues().contains(randomInt)) {
-                        mutationApplied = getMutationMessage(mutationsList.get(index), param, tc, randomInt);
-                        tc.addParameter(param, randomInt);
-                    }
-                    break;
-                case REPLACE_WITH_BOOL:
-                    String randomBoolean = Boolean.toString(ThreadLocalRandom.current().nextBoolean());
-                    if (param.getEnumValues() == null || !param.getEnumValues().contains(randomBoolean)) {
-                        mutationApplied = getMutationMessage(mutationsList.get(index), param, tc, randomBoolean);
-                        tc.addParameter(param, randomBoolean);
-                    }
-                    break;
-                case REPLACE_WITH_STRING:
-                    String randomString = RandomStringUtils.randomAlphabetic(10, 20);
-                    if (param.getEnumValues() == null || !param.getEnumValues().contains(randomString)) {
-                        mutationApplied = getMutationMessage(mutationsList.get(index), param, tc, randomString);
-                        tc.addParameter(param, randomString);
-                    }
-                    break;
-                case REPLACE_WITH_NUMBER:
-                    String randomNumber = Double.toString(ThreadLocalRandom.current().nextDouble(1000, 10001));
-                    if (param.getEnumValues() == null || !param.getEnumValues().contains(randomNumber)) {
-                        mutationApplied = getMutationMessage(mutationsList.get(index), param, tc, randomNumber);
-                        tc.addParameter(param, randomNumber);
-                    }
-                    break;
-                case VIOLATE_MAX_CONSTRAINT:
-                    if (param.getMax() != null) {
-                        mutationApplied = getMutationMessage(mutationsList.get(index), param, tc, null);
-                        if (param.getType().equals(NUMBER_TYPE))
-                            tc.addParameter(param, Double.toString(param.getMax().doubleValue() + ThreadLocalRandom.current().nextDouble(1, 10)));
-                        else if (param.getType().equals(INTEGER_TYPE))
-                            tc.addParameter(param, Integer.toString(param.getMax().intValue() + ThreadLocalRandom.current().nextInt(1, 10)));
-                    }
-                    break;
-                case VIOLATE_MIN_CONSTRAINT:
-                    if (param.getMin() != null) {
-                        mutationApplied = getMutationMessage(mutationsList.get(index), param, tc, null);
-                        if (param.getType().equals(NUMBER_TYPE))
-                            tc.addParameter(param, Double.toString(param.getMin().doubleValue() - ThreadLocalRandom.current().nextDouble(1, 10)));
-                        else if (param.getType().equals(INTEGER_TYPE))
-                            tc.addParameter(param, Integer.toString(param.getMin().intValue() - ThreadLocalRandom.current().nextInt(1, 10)));
-                    }
-                    break;
-                case VIOLATE_FORMAT_CONSTRAINT:
-                    if (param.getFormat() != null || param.getPattern() != null) {
-                        mutationApplied = getMutationMessage(mutationsList.get(index), param, tc, null);
-                        tc.addParameter(param, RandomStringUtils.randomAlphabetic(10, 20));
-                    }
-                    break;
-                case VIOLATE_MAX_LENGTH_CONSTRAINT:
-                    if (param.getMaxLength() != null) {
-                        mutationApplied = getMutationMessage(mutationsList.get(index), param, tc, null);
-                        tc.addParameter(param, RandomStringUtils.randomAlphabetic(param.getMaxLength() + ThreadLocalRandom.current().nextInt(1, 11)));
-                    }
-                    break;
-                case VIOLATE_MIN_LENGTH_CONSTRAINT:
-                    if (param.getMinLength() != null && param.getMinLength() > 1) {
-                        mutationApplied = getMutationMessage(mutationsList.get(index), param, tc, null);
-                        tc.addParameter(param, RandomStringUtils.randomAlphabetic(param.getMinLength() - 1));
-                    }
-                    break;
-                default:
-                    throw new IllegalArgumentException("Mutation not supported: " + mutationsList.get(index));
-            }
+            if (isApplicable(mutationsList.get(index), param))
+                mutationApplied = applyMutation(tc, param, mutationsList.get(index), param.getEnumValues(), ThreadLocalRandom.current());
             index++;
         }
 
         return mutationApplied;
     }
 
+    /**
+     * Applies one of the mutations of a candidate of a {@link MutationPlan}, selected randomly. If the mutation
+     * cannot be applied (e.g., the invalid value generated is in the enum range), the next one is tried.
+     * @param tc Test case to mutate
+     * @param candidate Parameter to mutate and mutations applicable to it
+     * @param rand Random generator used to select the mutation and generate the invalid value
+     * @return Description of the mutation applied, "" if none applied.
+     */
+    public static String mutate(TestCase tc, MutationPlan.InvalidValueCandidate candidate, Random rand) {
+        String mutationApplied = "";
+        int nMutations = candidate.getNumberOfMutations();
+        int first = rand.nextInt(nMutations);
+
+        for (int i = 0; i < nMutations && mutationApplied.equals(""); i++)
+            mutationApplied = applyMutation(tc, candidate.getParameter(), candidate.getMutation((first + i) % nMutations), candidate.getEnumValues(), rand);
+
+        return mutationApplied;
+    }
+
+    /**
+     * Checks whether a mutation can be applied to a parameter according to its constraints. Mutations replacing
+     * the value of an enum parameter may still not be applied, if the value generated is in the enum range.
+     */
+    public static boolean isApplicable(String mutation, OpenAPIParameter param) {
+        switch (mutation) {
+            case REPLACE_WITH_INT:
+            case REPLACE_WITH_BOOL:
+            case REPLACE_WITH_STRING:
+            case REPLACE_WITH_NUMBER:
+                return true;
+            case VIOLATE_MAX_CONSTRAINT:
+                return param.getMax() != null;
+            case VIOLATE_MIN_CONSTRAINT:
+                return param.getMin() != null;
+            case VIOLATE_FORMAT_CONSTRAINT:
+                return param.getFormat() != null || param.getPattern() != null;
+            case VIOLATE_MAX_LENGTH_CONSTRAINT:
+                return param.getMaxLength() != null;
+            case VIOLATE_MIN_LENGTH_CONSTRAINT:
+                return param.getMinLength() != null && param.getMinLength() > 1;
+            default:
+                throw new IllegalArgumentException("Mutation not supported: " + mutation);
+        }
+    }
+
+    // Apply a mutation applicable to the parameter (see isApplicable). Returns "" if the value generated is in the enum range
+    private static String applyMutation(TestCase tc, OpenAPIParameter param, String mutation, Collection<?> enumValues, Random rand) {
+        String mutationApplied = "";
+        switch (mutation) {
+            case REPLACE_WITH_INT:
+                String randomInt = Integer.toString(nextInt(rand, 1000, 10001));
+                if (enumValues == null || !enumValues.contains(randomInt)) {
+                    mutationApplied = getMutationMessage(mutation, param, tc, randomInt);
+                    tc.addParameter(param, randomInt);
+                }
+                break;
+            case REPLACE_WITH_BOOL:
+                String randomBoolean = Boolean.toString(rand.nextBoolean());
+                if (enumValues == null || !enumValues.contains(randomBoolean)) {
+                    mutationApplied = getMutationMessage(mutation, param, tc, randomBoolean);
+                    tc.addParameter(param, randomBoolean);
+                }
+                break;
+            case REPLACE_WITH_STRING:
+                String randomString = randomAlphabetic(rand, nextInt(rand, 10, 20));
+                if (enumValues == null || !enumValues.contains(randomString)) {
+                    mutationApplied = getMutationMessage(mutation, param, tc, randomString);
+                    tc.addParameter(param, randomString);
+                }
+                break;
+            case REPLACE_WITH_NUMBER:
+                String randomNumber = Double.toString(nextDouble(rand, 1000, 10001));
+                if (enumValues == null || !enumValues.contains(randomNumber)) {
+                    mutationApplied = getMutationMessage(mutation, param, tc, randomNumber);
+                    tc.addParameter(param, randomNumber);
+                }
+                break;
+            case VIOLATE_MAX_CONSTRAINT:
+                mutationApplied = getMutationMessage(mutation, param, tc, null);
+                if (param.getType().equals(NUMBER_TYPE))
+                    tc.addParameter(param, Double.toString(param.getMax().doubleValue() + nextDouble(rand, 1, 10)));
+                else if (param.getType().equals(INTEGER_TYPE))
+                    tc.addParameter(param, Integer.toString(param.getMax().intValue() + nextInt(rand, 1, 10)));
+                break;
+            case VIOLATE_MIN_CONSTRAINT:
+                mutationApplied = getMutationMessage(mutation, param, tc, null);
+                if (param.getType().equals(NUMBER_TYPE))
+                    tc.addParameter(param, Double.toString(param.getMin().doubleValue() - nextDouble(rand, 1, 10)));
+                else if (param.getType().equals(INTEGER_TYPE))
+                    tc.addParameter(param, Integer.toString(param.getMin().intValue() - nextInt(rand, 1, 10)));
+                break;
+            case VIOLATE_FORMAT_CONSTRAINT:
+                mutationApplied = getMutationMessage(mutation, param, tc, null);
+                tc.addParameter(param, randomAlphabetic(rand, nextInt(rand, 10, 20)));
+                break;
+            case VIOLATE_MAX_LENGTH_CONSTRAINT:
+                mutationApplied = getMutationMessage(mutation, param, tc, null);
+                tc.addParameter(param, randomAlphabetic(rand, param.getMaxLength() + nextInt(rand, 1, 11)));
+                break;
+            case VIOLATE_MIN_LENGTH_CONSTRAINT:
+                mutationApplied = getMutationMessage(mutation, param, tc, null);
+                tc.addParameter(param, randomAlphabetic(rand, param.getMinLength() - 1));
+                break;
+            default:
+                throw new IllegalArgumentException("Mutation not supported: " + mutation);
+        }
+
+        return mutationApplied;
+    }
+
+    // Random int between origin (inclusive) and bound (exclusive)
+    private static int nextInt(Random rand, int origin, int bound) {
+        return origin + rand.nextInt(bound - origin);
+    }
+
+    // Random double between origin (inclusive) and bound (exclusive)
+    private static double nextDouble(Random rand, double origin, double bound) {
+        return origin + rand.nextDouble() * (bound - origin);
+    }
+
+    private static String randomAlphabetic(Random rand, int count) {
+        return RandomStringUtils.random(count, 0, 0, true, false, null, rand);
+    }
+
     private static String getMutationMessage(String mutation, OpenAPIParameter param, TestCase tc, String newValue) {
         switch (mutation) {
             case REPLACE_WITH_INT:
@@ -11,7 +11,7 @@ import es.us.isa.restest.testcases.TestCase;
  */
 public class EnumToInvalid extends AbstractToInvalidOperator {
 
-    private static final String[] mutations= {
+    static final String[] mutations= {
             REPLACE_WITH_INT,
             REPLACE_WITH_NUMBER,
             REPLACE_WITH_STRING,
@@ -1,15 +1,16 @@
 package es.us.isa.restest.mutation.operators.invalidvalue;
 
+import es.us.isa.restest.mutation.MutationPlan;
 import es.us.isa.restest.mutation.operators.AbstractMutationOperator;
 import es.us.isa.restest.specification.OpenAPIParameter;
 import es.us.isa.restest.testcases.TestCase;
 import io.swagger.v3.oas.models.Operation;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 
-import static es.us.isa.restest.specification.OpenAPISpecificationVisitor.getParametersFeaturesSubjectToInvalidValueChange;
-
 /**
  * @author Alberto Martin-Lopez
  */
@@ -32,25 +33,53 @@ public class InvalidParameterValue extends AbstractMutationOperator {
      * @return Description of the mutation applied, "" if none applied.
      */
     public static String mutate(TestCase tc, Operation specOperation) {
-        List<OpenAPIParameter> candidateParameters = getParametersFeaturesSubjectToInvalidValueChange(specOperation); // Parameters that can be mutated to create a faulty test case
-        
-        if (candidateParameters.isEmpty())
-        	return "";
-        	
-        OpenAPIParameter selectedParam = candidateParameters.get(ThreadLocalRandom.current().nextInt(0, candidateParameters.size())); // Select one randomly
-
-        if (selectedParam.getEnumValues() != null) // Value of enum range
-            return EnumToInvalid.mutate(tc, selectedParam);
-        else if (selectedParam.getType().equals(BOOLEAN_TYPE)) // Boolean
-            return BooleanToInvalid.mutate(tc, selectedParam);
-        else if (selectedParam.getType().equals(INTEGER_TYPE)) // Integer
-            return IntegerToInvalid.mutate(tc, selectedParam);
-        else if (selectedParam.getType().equals(NUMBER_TYPE)) // Number
-            return NumberToInvalid.mutate(tc, selectedParam);
-        else if (selectedParam.getType().equals(STRING_TYPE)) // String
-            return StringToInvalid.mutate(tc, selectedParam);
-
-        return "";
-        
+        return mutate(tc, new MutationPlan(specOperation));
+    }
+
+    /**
+     * Same as {@link #mutate(TestCase, Operation)}, but the parameters that can be mutated and their
+     * mutations are taken from a precompiled plan of the operation.
+     */
+    public static String mutate(TestCase tc, MutationPlan plan) {
+        return mutate(tc, plan, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Same as {@link #mutate(TestCase, MutationPlan)}, but the parameter, the mutation and the invalid
+     * value are selected with <i>rand</i>.
+     */
+    public static String mutate(TestCase tc, MutationPlan plan, Random rand) {
+        List<MutationPlan.InvalidValueCandidate> candidates = plan.getInvalidValueCandidates(); // Parameters that can be mutated to create a faulty test case
+
+        if (candidates.isEmpty())
+            return "";
+
+        MutationPlan.InvalidValueCandidate selectedCandidate = candidates.get(rand.nextInt(candidates.size())); // Select one randomly
+        return AbstractToInvalidOperator.mutate(tc, selectedCandidate, rand);
+    }
+
+    /**
+     * Returns the mutations that can be applied to a parameter to assign it an invalid value, according
+     * to its type and constraints. For example, VIOLATE_MAX_CONSTRAINT is only applicable to integer and
+     * number parameters with a maximum value.
+     */
+    public static String[] getApplicableMutations(OpenAPIParameter param) {
+        String[] mutations;
+        if (param.getEnumValues() != null) // Value of enum range
+            mutations = EnumToInvalid.mutations;
+        else if (param.getType().equals(BOOLEAN_TYPE)) // Boolean
+            mutations = BooleanToInvalid.mutations;
+        else if (param.getType().equals(INTEGER_TYPE)) // Integer
+            mutations = IntegerToInvalid.mutations;
+        else if (param.getType().equals(NUMBER_TYPE)) // Number
+            mutations = NumberToInvalid.mutations;
+        else if (param.getType().equals(STRING_TYPE)) // String
+            mutations = StringToInvalid.mutations;
+        else
+            mutations = new String[0];
+
+        return Arrays.stream(mutations)
+                .filter(mutation -> AbstractToInvalidOperator.isApplicable(mutation, param))
+                .toArray(String[]::new);
     }
 }
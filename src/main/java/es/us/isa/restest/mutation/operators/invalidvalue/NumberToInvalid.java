@@ -11,7 +11,7 @@ import es.us.isa.restest.testcases.TestCase;
  */
 public class NumberToInvalid extends AbstractToInvalidOperator {
 
-    private static final String[] mutations = {
+    static final String[] mutations = {
             VIOLATE_MAX_CONSTRAINT,
             VIOLATE_MIN_CONSTRAINT,
             REPLACE_WITH_STRING,
@@ -11,7 +11,7 @@ import es.us.isa.restest.testcases.TestCase;
  */
 public class StringToInvalid extends AbstractToInvalidOperator {
 
-    private static final String[] mutations = {
+    static final String[] mutations = {
             VIOLATE_FORMAT_CONSTRAINT,
             VIOLATE_MAX_LENGTH_CONSTRAINT,
             VIOLATE_MIN_LENGTH_CONSTRAINT
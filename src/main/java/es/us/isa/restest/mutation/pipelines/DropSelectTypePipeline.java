@@ -1,5 +1,6 @@
 package es.us.isa.restest.mutation.pipelines;
 
+import es.us.isa.restest.mutation.SchemaOverlay;
 import es.us.isa.restest.mutation.rules.DropRule;
 import es.us.isa.restest.mutation.rules.SelectRule;
 import es.us.isa.restest.mutation.rules.TypeRule;
@@ -25,12 +26,21 @@ public class DropSelectTypePipeline {
     private static final Random random = new SecureRandom();
 
     public void apply(Schema<?> schema, OpenAPI spec) {
-        DropRule.getInstance().apply(schema, spec);
-        if (random.nextDouble() > 0.5) {
-            SelectRule.getInstance().apply(schema, spec);
+        apply(SchemaOverlay.inPlace(schema), spec);
+    }
+
+    public void apply(SchemaOverlay overlay, OpenAPI spec) {
+        apply(overlay, spec, random);
+    }
+
+    // The rules applied and the nodes mutated are selected with rand (e.g., a seeded one, to reproduce the mutations)
+    public void apply(SchemaOverlay overlay, OpenAPI spec, Random rand) {
+        DropRule.getInstance().apply(overlay, spec, rand);
+        if (rand.nextDouble() > 0.5) {
+            SelectRule.getInstance().apply(overlay, spec, rand);
         }
-        if (random.nextDouble() > 0.1) {
-            TypeRule.getInstance().apply(schema, false, spec);
+        if (rand.nextDouble() > 0.1) {
+            TypeRule.getInstance().apply(overlay, false, spec, rand);
         }
     }
 }
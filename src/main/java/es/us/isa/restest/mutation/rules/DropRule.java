@@ -19,11 +19,11 @@ public class DropRule extends PathRule {
         return instance;
     }
 
-    protected void applyNodeFuzzingRule(Schema<?> schema, String objectChild) {
+    protected void applyNodeFuzzingRule(Schema<?> schema, String objectChild, Random rand) {
         List<String> propertyNames = new ArrayList<>(schema.getProperties().keySet());
         propertyNames.remove(objectChild);
         if (propertyNames.size() > 0) {
-            String dropProperty = propertyNames.get(random.nextInt(propertyNames.size()));
+            String dropProperty = propertyNames.get(rand.nextInt(propertyNames.size()));
             schema.getProperties().remove(dropProperty);
         }
     }
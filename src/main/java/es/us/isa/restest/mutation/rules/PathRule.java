@@ -1,5 +1,6 @@
 package es.us.isa.restest.mutation.rules;
 
+import es.us.isa.restest.mutation.SchemaOverlay;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.media.ArraySchema;
 import io.swagger.v3.oas.models.media.Schema;
@@ -9,34 +10,47 @@ import java.util.*;
 
 public abstract class PathRule {
 
-    protected final Random random = new SecureRandom();
+    private final Random random = new SecureRandom();
 
     protected PathRule() {}
 
     public void apply(Schema<?> schema, OpenAPI spec) {
+        apply(SchemaOverlay.inPlace(schema), spec);
+    }
+
+    public void apply(SchemaOverlay overlay, OpenAPI spec) {
+        apply(overlay, spec, random);
+    }
+
+    // The nodes are selected with rand (e.g., a seeded one, to reproduce the mutations)
+    public void apply(SchemaOverlay overlay, OpenAPI spec, Random rand) {
+        apply(overlay, overlay.getSchema(), rand);
+    }
+
+    private void apply(SchemaOverlay overlay, Schema<?> schema, Random rand) {
         if ("array".equals(schema.getType())) {
-            apply(((ArraySchema) schema).getItems(), spec);
+            apply(overlay, overlay.getItems((ArraySchema) schema), rand);
         } else if (schema.getProperties() != null) {
-            List<Map.Entry<String, Schema>> objectNodes = new ArrayList<>();
-
-            for (Map.Entry<String, Schema> entry : schema.getProperties().entrySet()) {
-                if ("array".equals(entry.getValue().getType())) {
-                    apply(((ArraySchema) entry.getValue()).getItems(), spec);
-                } else if ("object".equals(entry.getValue().getType())) {
-                    objectNodes.add(entry);
+            List<String> objectNodes = new ArrayList<>();
+
+            for (String property : new ArrayList<>(schema.getProperties().keySet())) {
+                Schema<?> propertySchema = schema.getProperties().get(property);
+                if ("array".equals(propertySchema.getType())) {
+                    apply(overlay, overlay.getItems((ArraySchema) overlay.getProperty(schema, property)), rand);
+                } else if ("object".equals(propertySchema.getType())) {
+                    objectNodes.add(property);
                 }
             }
 
             String objectChild = "";
             if (!objectNodes.isEmpty()) {
-                Map.Entry<String, Schema> entry = objectNodes.get(random.nextInt(objectNodes.size()));
-                objectChild = entry.getKey();
-                apply(entry.getValue(), spec);
+                objectChild = objectNodes.get(rand.nextInt(objectNodes.size()));
+                apply(overlay, overlay.getProperty(schema, objectChild), rand);
             }
 
-            applyNodeFuzzingRule(schema, objectChild);
+            applyNodeFuzzingRule(schema, objectChild, rand);
         }
     }
 
-    protected abstract void applyNodeFuzzingRule(Schema<?> schema, String objectChild);
+    protected abstract void applyNodeFuzzingRule(Schema<?> schema, String objectChild, Random rand);
 }
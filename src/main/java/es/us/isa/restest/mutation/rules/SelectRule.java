@@ -5,6 +5,7 @@ import io.swagger.v3.oas.models.media.Schema;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 public class SelectRule extends PathRule {
 
@@ -21,12 +22,12 @@ public class SelectRule extends PathRule {
         return instance;
     }
 
-    protected void applyNodeFuzzingRule(Schema<?> schema, String objectChild) {
+    protected void applyNodeFuzzingRule(Schema<?> schema, String objectChild, Random rand) {
         List<String> propertyNames = new ArrayList<>(schema.getProperties().keySet());
         propertyNames.remove(objectChild);
 
         if(!propertyNames.isEmpty()) {
-            String selectedProperty = propertyNames.get(random.nextInt(propertyNames.size()));
+            String selectedProperty = propertyNames.get(rand.nextInt(propertyNames.size()));
             for (String propertyName : propertyNames) {
                 if (!selectedProperty.equals(propertyName)) {
                     schema.getProperties().remove(propertyName);
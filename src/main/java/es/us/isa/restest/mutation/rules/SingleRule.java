@@ -1,5 +1,6 @@
 package es.us.isa.restest.mutation.rules;
 
+import es.us.isa.restest.mutation.SchemaOverlay;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.media.ArraySchema;
 import io.swagger.v3.oas.models.media.Schema;
@@ -10,42 +11,66 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 
-import static es.us.isa.restest.util.SchemaManager.resolveSchema;
-
 public abstract class SingleRule {
 
-    protected final Random random = new SecureRandom();
+    private final Random random = new SecureRandom();
 
     protected SingleRule() {}
 
     public void apply(Schema<?> schema, boolean internalNode, OpenAPI spec) {
+        apply(SchemaOverlay.inPlace(schema), internalNode, spec);
+    }
+
+    public void apply(SchemaOverlay overlay, boolean internalNode, OpenAPI spec) {
+        apply(overlay, internalNode, spec, random);
+    }
+
+    // The nodes are selected with rand (e.g., a seeded one, to reproduce the mutations)
+    public void apply(SchemaOverlay overlay, boolean internalNode, OpenAPI spec, Random rand) {
+        apply(overlay, overlay.getSchema(), internalNode, spec, rand);
+    }
+
+    private void apply(SchemaOverlay overlay, Schema<?> schema, boolean internalNode, OpenAPI spec, Random rand) {
         if ("array".equals(schema.getType())) {
-            apply(((ArraySchema)schema).getItems(), internalNode, spec);
+            apply(overlay, overlay.getItems((ArraySchema) schema), internalNode, spec, rand);
         } else if (schema.getProperties() != null) {
-            List<Schema> objectNodes = getAllObjectNodes(schema, internalNode, spec);
-            Schema s = objectNodes.get(random.nextInt(objectNodes.size()));
+            List<List<String>> objectNodes = new ArrayList<>();
+            addAllObjectNodes(overlay, schema, new ArrayList<>(), internalNode, spec, objectNodes, rand);
+            List<String> path = objectNodes.get(rand.nextInt(objectNodes.size()));
 
-            applyNodeFuzzingRule(s, spec);
+            applyNodeFuzzingRule(getNode(overlay, schema, path), spec, rand);
         }
     }
 
-    private List<Schema> getAllObjectNodes(Schema<?> schema, boolean internalNode, OpenAPI spec) {
-        List<Schema> objectNodes = new ArrayList<>();
+    // Object nodes (and leaf nodes if !internalNode) are collected as paths from the schema, so that
+    // only the node selected is accessed to be modified
+    private void addAllObjectNodes(SchemaOverlay overlay, Schema<?> schema, List<String> path, boolean internalNode, OpenAPI spec, List<List<String>> objectNodes, Random rand) {
+        Schema<?> node = path.isEmpty() ? schema : schema.getProperties().get(path.get(0));
+        for (int i = 1; i < path.size(); i++)
+            node = node.getProperties().get(path.get(i));
 
-        objectNodes.add(schema);
+        objectNodes.add(path);
 
-        for(Map.Entry<String, Schema> entry : schema.getProperties().entrySet()) {
+        for(Map.Entry<String, Schema> entry : node.getProperties().entrySet()) {
+            List<String> propertyPath = new ArrayList<>(path);
+            propertyPath.add(entry.getKey());
             if ("array".equals(entry.getValue().getType())) {
-                apply(((ArraySchema) entry.getValue()).getItems(), internalNode, spec);
+                apply(overlay, overlay.getItems((ArraySchema) getNode(overlay, schema, propertyPath)), internalNode, spec, rand);
             } else if ("object".equals(entry.getValue().getType())) {
-                objectNodes.addAll(getAllObjectNodes(entry.getValue(), internalNode, spec));
+                addAllObjectNodes(overlay, schema, propertyPath, internalNode, spec, objectNodes, rand);
             } else if (!internalNode) {
-                objectNodes.add(entry.getValue());
+                objectNodes.add(propertyPath);
             }
         }
+    }
 
-        return objectNodes;
+    // Node of the path that can be modified
+    private Schema<?> getNode(SchemaOverlay overlay, Schema<?> schema, List<String> path) {
+        Schema<?> node = schema;
+        for (String property : path)
+            node = overlay.getProperty(node, property);
+        return node;
     }
 
-    protected abstract void applyNodeFuzzingRule(Schema<?> schema, OpenAPI spec);
+    protected abstract void applyNodeFuzzingRule(Schema<?> schema, OpenAPI spec, Random rand);
 }
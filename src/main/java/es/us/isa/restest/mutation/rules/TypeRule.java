@@ -5,6 +5,7 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.media.Schema;
 
 import java.util.List;
+import java.util.Random;
 
 public class TypeRule extends SingleRule {
 
@@ -22,7 +23,7 @@ public class TypeRule extends SingleRule {
     }
 
     @Override
-    protected void applyNodeFuzzingRule(Schema<?> schema, OpenAPI spec) {
+    protected void applyNodeFuzzingRule(Schema<?> schema, OpenAPI spec, Random rand) {
         List<String> types = Lists.newArrayList("string", "integer", "boolean", "object", "array");
         String type = schema.getType();
         if (type.equals("number")) {
@@ -30,7 +31,7 @@ public class TypeRule extends SingleRule {
         }
 
         types.remove(type);
-        String newType = types.get(random.nextInt(types.size()));
+        String newType = types.get(rand.nextInt(types.size()));
         schema.type(newType);
         schema.example(null);
     }
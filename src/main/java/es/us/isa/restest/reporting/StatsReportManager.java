@@ -1,9 +1,11 @@
 package es.us.isa.restest.reporting;
 
+import es.us.isa.restest.coverage.CoverageGatherer;
 import es.us.isa.restest.coverage.CoverageMeter;
 import es.us.isa.restest.coverage.CoverageResults;
 import es.us.isa.restest.testcases.TestCase;
 import es.us.isa.restest.testcases.TestResult;
+import es.us.isa.restest.util.CSVSink;
 import es.us.isa.restest.util.PropertyManager;
 import es.us.isa.restest.util.TestManager;
 import org.apache.logging.log4j.LogManager;
@@ -11,7 +13,9 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static es.us.isa.restest.util.FileManager.copyFile;
 
@@ -29,6 +33,7 @@ public class StatsReportManager {
     private boolean enableInputCoverage = true;
     private boolean enableOutputCoverage = true;
     private CoverageMeter coverageMeter;
+    private CoverageMeter aPosterioriCoverageMeter;     // A posteriori coverage, only when it is updated incrementally
     Collection<TestCase> testCases = null;
 
     private static final Logger logger = LogManager.getLogger(StatsReportManager.class.getName());
@@ -67,6 +72,7 @@ public class StatsReportManager {
         logger.info("Exporting test cases to CSV");
         String csvTcPath = testDataDir + "/" + PropertyManager.readProperty("data.tests.testcases.file") + "_" + testId + ".csv";
         testCases.forEach(tc -> tc.exportToCSV(csvTcPath));
+        CSVSink.close(csvTcPath);
     }
 
     // Generate coverage statistics
@@ -78,6 +84,7 @@ public class StatsReportManager {
         if (enableOutputCoverage && executeTestCases) {
             // Update CoverageMeter with the test results
             String csvTrPath = testDataDir + "/" + PropertyManager.readProperty("data.tests.testresults.file") + "_" + testId + ".csv";
+            CSVSink.close(csvTrPath); // All test results have been written at this point
             List<TestResult> trs = TestManager.getTestResults(csvTrPath);
             coverageMeter.addTestResults(trs, testCases);
         }
@@ -95,11 +102,59 @@ public class StatsReportManager {
         }
     }
 
+    /**
+     * Update the statistics with some test cases already executed and their test results, without keeping
+     * them, for workflows that generate and execute test cases progressively. The test cases are exported
+     * to CSV and the coverage (a priori and a posteriori) is updated. The reports are generated with
+     * {@link #generateIncrementalReport(String)}. This method can be called from several threads
+     * @param testId Test suite ID
+     * @param testCases Test cases executed
+     * @param testResults Results of the test cases
+     */
+    public synchronized void addTestResults(String testId, Collection<TestCase> testCases, Collection<TestResult> testResults) {
+        if (enableCSVStats) {
+            String csvTcPath = testDataDir + "/" + PropertyManager.readProperty("data.tests.testcases.file") + "_" + testId + ".csv";
+            testCases.forEach(tc -> tc.exportToCSV(csvTcPath));
+        }
+
+        if (enableInputCoverage || enableOutputCoverage) {
+            // Only the test results whose request was sent are considered, as in the test results CSV
+            List<TestResult> sentTestResults = !enableOutputCoverage ? Collections.emptyList() : testResults.stream()
+                    .filter(tr -> tr.getStatusCode() != null)
+                    .collect(Collectors.toList());
+            coverageMeter.updateCoverage(testCases, sentTestResults, false);
+            getAPosterioriCoverageMeter().updateCoverage(testCases, sentTestResults, true);
+        }
+    }
+
+    /**
+     * Generate the statistics updated with {@link #addTestResults(String, Collection, Collection)}
+     * @param testId Test suite ID
+     */
+    public synchronized void generateIncrementalReport(String testId) {
+        if (enableCSVStats)
+            CSVSink.close(testDataDir + "/" + PropertyManager.readProperty("data.tests.testcases.file") + "_" + testId + ".csv");
+
+        if (enableInputCoverage || enableOutputCoverage) {
+            exportCoverageReport(coverageMeter, coverageDataDir + "/" + PropertyManager.readProperty("data.coverage.computation.priori.file") + "_" + testId + ".csv");
+            logger.info("Coverage report a priori generated.");
+            exportCoverageReport(getAPosterioriCoverageMeter(), coverageDataDir + "/" + PropertyManager.readProperty("data.coverage.computation.posteriori.file") + "_" + testId + ".csv");
+            logger.info("Coverage report a posteriori generated.");
+        }
+    }
+
+    private CoverageMeter getAPosterioriCoverageMeter() {
+        if (aPosterioriCoverageMeter == null)
+            aPosterioriCoverageMeter = new CoverageMeter(new CoverageGatherer(coverageMeter.getCoverageGatherer().getSpec()));
+        return aPosterioriCoverageMeter;
+    }
+
     private void exportCoverageReport(CoverageMeter coverageMeter, String path) {
         CoverageResults results = new CoverageResults(coverageMeter);
         results.setCoverageOfCoverageCriteriaFromCoverageMeter(coverageMeter);
         results.setCoverageOfCriterionTypeFromCoverageMeter(coverageMeter);
         results.exportCoverageReportToCSV(path);
+        CSVSink.close(path);
     }
 
     public String getTestDataDir() {
@@ -0,0 +1,101 @@
+package es.us.isa.restest.runners;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.FixMethodOrder;
+import org.junit.runner.Computer;
+import org.junit.runner.Runner;
+import org.junit.runners.ParentRunner;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerBuilder;
+import org.junit.runners.model.RunnerScheduler;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JUnit computer that runs test classes concurrently, and the test methods of each test
+ * class too, on pools with a fixed number of threads. Each test method (including the
+ * notifications to the JUnit listeners, e.g., Allure) runs entirely on a single thread
+ * of the pool, so the REST-Assured filters of the generated test classes can keep the
+ * data of the test case being executed per thread. The test methods of the classes
+ * annotated with {@link FixMethodOrder} (e.g., the generated ones) are run one after
+ * the other, in that order, since they may depend on each other.
+ */
+public class ParallelTestComputer extends Computer {
+
+    private final int parallelism;      // Maximum number of test classes, and of test methods of each class, running at the same time
+
+    private static final Logger logger = LogManager.getLogger(ParallelTestComputer.class.getName());
+
+    public ParallelTestComputer(int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("The parallelism must be greater than 0, but it was " + parallelism);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the computer to run test classes with the given parallelism: a
+     * {@link ParallelTestComputer} if it is greater than 1, or a serial computer otherwise.
+     */
+    public static Computer withParallelism(int parallelism) {
+        return parallelism > 1 ? new ParallelTestComputer(parallelism) : Computer.serial();
+    }
+
+    @Override
+    public Runner getSuite(RunnerBuilder builder, Class<?>[] classes) throws InitializationError {
+        Runner suite = super.getSuite(builder, classes);
+        if (classes.length > 1 && suite instanceof ParentRunner)
+            ((ParentRunner<?>) suite).setScheduler(new PoolScheduler("test-classes", parallelism));
+        return suite;
+    }
+
+    @Override
+    protected Runner getRunner(RunnerBuilder builder, Class<?> testClass) throws Throwable {
+        Runner runner = super.getRunner(builder, testClass);
+        if (testClass.isAnnotationPresent(FixMethodOrder.class))
+            logger.debug("Running the test methods of {} sequentially, since their order is fixed", testClass.getSimpleName());
+        else if (runner instanceof ParentRunner)
+            ((ParentRunner<?>) runner).setScheduler(new PoolScheduler(testClass.getSimpleName(), parallelism));
+        return runner;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    private static class PoolScheduler implements RunnerScheduler {
+
+        private final ExecutorService executor;
+
+        private PoolScheduler(String testClassName, int parallelism) {
+            AtomicInteger threadCount = new AtomicInteger();
+            ThreadFactory threadFactory = r -> {
+                Thread thread = new Thread(r, testClassName + "-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            this.executor = Executors.newFixedThreadPool(parallelism, threadFactory);
+        }
+
+        @Override
+        public void schedule(Runnable childStatement) {
+            executor.execute(childStatement);
+        }
+
+        @Override
+        public void finished() {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                logger.warn("Interrupted while waiting for the test cases to finish");
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package es.us.isa.restest.runners;
 
 
-import es.us.isa.restest.specification.OpenAPISpecification;
+import es.us.isa.restest.specification.OpenAPISpecificationRegistry;
+import es.us.isa.restest.util.CSVSink;
 import es.us.isa.restest.util.ClassLoader;
+import es.us.isa.restest.util.FileManager;
 
 import es.us.isa.restest.util.Timer;
 import org.apache.logging.log4j.LogManager;
@@ -10,10 +12,18 @@ import org.apache.logging.log4j.Logger;
 import org.junit.runner.JUnitCore;
 import org.junit.runner.Result;
 
+import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static es.us.isa.restest.util.Timer.TestStep.TEST_CLASS_COMPILATION;
 import static es.us.isa.restest.util.Timer.TestStep.TEST_SUITE_EXECUTION;
 
 /**
@@ -45,26 +55,46 @@ public class RESTestExecutor {
             logger.error("Test class {} not found in {}", className, filePath);
             throw new IllegalArgumentException("Test class " + className + " not found in " + filePath);
         }else{
-            Class<?> testClass = loadTestClass(filePath, className);
-            runTests(testClass);
+            Class<?>[] testClasses = loadTestClasses(filePath, className);
+            runTests(testClasses);
         }
 
     }
 
-    private Class<?> loadTestClass(String filePath, String className) {
-        logger.info("Compiling and loading test class {}.java", className);
-        return ClassLoader.loadClass(filePath, className);
+    // Load the test class or, if it was split into several parts, the parts (which are run instead of the suite)
+    private Class<?>[] loadTestClasses(String filePath, String className) {
+        Map<String, String> sources = new LinkedHashMap<>();
+        Pattern partPattern = Pattern.compile(Pattern.quote(loader.testClassName) + "Part(\\d+)\\.java");
+        File[] parts = new File(loader.targetDirJava).listFiles((dir, name) -> partPattern.matcher(name).matches());
+        if (parts != null && parts.length > 0) {
+            Arrays.sort(parts, (p1, p2) -> Integer.compare(partNumber(partPattern, p1), partNumber(partPattern, p2)));
+            for (File part: parts)
+                sources.put(loader.packageName + "." + part.getName().replace(".java", ""), FileManager.readFile(part.getPath()));
+        } else
+            sources.put(className, FileManager.readFile(filePath));
+
+        logger.info("Compiling and loading {} test class(es) {}", sources.size(), sources.keySet());
+        Timer.startCounting(TEST_CLASS_COMPILATION);
+        List<Class<?>> testClasses = ClassLoader.loadClassesFromSources(sources);
+        Timer.stopCounting(TEST_CLASS_COMPILATION);
+        return testClasses != null ? testClasses.toArray(new Class<?>[0]) : new Class<?>[] { null };
+    }
+
+    private static int partNumber(Pattern partPattern, File part) {
+        Matcher matcher = partPattern.matcher(part.getName());
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : 0;
     }
 
-    private void runTests(Class<?> testClass) {
+    private void runTests(Class<?>... testClasses) {
 
         JUnitCore junit = new JUnitCore();
         junit.addListener(new io.qameta.allure.junit4.AllureJunit4());
-        loader.spec = new OpenAPISpecification(loader.OAISpecPath);
+        loader.spec = OpenAPISpecificationRegistry.getSpecification(loader.OAISpecPath);
         loader.createStatsReportManager();
         Timer.startCounting(TEST_SUITE_EXECUTION);
-        Result result = junit.run(testClass);
+        Result result = junit.run(ParallelTestComputer.withParallelism(loader.executionParallelism), testClasses);
         Timer.stopCounting(TEST_SUITE_EXECUTION);
+        CSVSink.flushAll();
         int successfulTests = result.getRunCount() - result.getFailureCount() - result.getIgnoreCount();
         logger.info("{} tests run in {} seconds. Successful: {}, Failures: {}, Ignored: {}", result.getRunCount(), result.getRunTime()/1000, successfulTests, result.getFailureCount(), result.getIgnoreCount());
 
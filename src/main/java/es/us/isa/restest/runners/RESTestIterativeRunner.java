@@ -1,5 +1,6 @@
 package es.us.isa.restest.runners;
 
+import es.us.isa.restest.executors.restassured.RESTAssuredExecutor;
 import es.us.isa.restest.generators.AbstractTestCaseGenerator;
 import es.us.isa.restest.reporting.AllureReportManager;
 import es.us.isa.restest.reporting.StatsReportManager;
@@ -42,7 +43,7 @@ public class RESTestIterativeRunner extends RESTestLoader {
 		// Create RESTest workflo (generation -> execution -> reporting)
 		logger.info("Generating RESTest workflow...");
 		generator = createGenerator(); 						// Test case generator
-		writer = createWriter(); 							// Test case writer
+		writer = writesTestClass() ? createWriter() : null;	// Test case writer (not needed if test cases are executed directly)
 		allureReportManager = createAllureReportManager(); 	// Allure test case reporter
 		statsReportManager = createStatsReportManager(); 	// Stats reporter
 		workflow = new RESTestWorkflow(testClassName,
@@ -57,6 +58,10 @@ public class RESTestIterativeRunner extends RESTestLoader {
 
 		workflow.setAllureReport(allureReports);			// Enable/disable allure generation
 		workflow.setExecuteTestCases(executeTestCases);		// Enable/disable test execution
+		workflow.setExecutionParallelism(executionParallelism);	// Number of test cases executed concurrently
+		workflow.setExecutor(createExecutor());				// Direct execution of test cases (if enabled)
+		workflow.setPipelined(pipelinedExecution);			// Execution of test cases while they are generated (if enabled)
+		workflow.setPipelineQueueSize(pipelineQueueSize);
 		workflow.setTestId(experimentName);
 
 	}
@@ -77,25 +82,35 @@ public class RESTestIterativeRunner extends RESTestLoader {
 
 		// Main loop
 		int iteration = 1;
-		while (totalNumTestCases == -1 || workflow.getNumTestCases() < totalNumTestCases) {
-
-			// Introduce optional delay
-			if (iteration != 1 && timeDelay != -1)
-				delay(timeDelay);
-
-			// Generate unique test class name to avoid the same class being loaded everytime
-			String id = IDGenerator.generateTimeId();
-			String className = testClassName + "_" + id;
-			((RESTAssuredWriter) writer).setClassName(className);
-			((RESTAssuredWriter) writer).setTestId(id);
-			workflow.setTestClassName(className);
-			workflow.setTestId(id);
-
-			// Test case generation + execution + test report generation
-			workflow.run();
-
-			logger.info("Iteration {}. {} test cases generated.", iteration, workflow.getNumTestCases());
-			iteration++;
+		try {
+			while (totalNumTestCases == -1 || workflow.getNumTestCases() < totalNumTestCases) {
+
+				// Introduce optional delay
+				if (iteration != 1 && timeDelay != -1)
+					delay(timeDelay);
+
+				// Generate unique test class name to avoid the same class being loaded everytime
+				String id = IDGenerator.generateTimeId();
+				String className = testClassName + "_" + id;
+				if (writer != null) {
+					((RESTAssuredWriter) writer).setClassName(className);
+					((RESTAssuredWriter) writer).setTestId(id);
+				}
+				if (workflow.getExecutor() != null)
+					((RESTAssuredExecutor) workflow.getExecutor()).setTestId(id);
+				workflow.setTestClassName(className);
+				workflow.setTestId(id);
+
+				// Test case generation + execution + test report generation
+				workflow.run();
+
+				logger.info("Iteration {}. {} test cases generated.", iteration, workflow.getNumTestCases());
+				iteration++;
+			}
+		} finally {
+			generator.close();	// Release the resources of the generator (e.g., thread pools)
+			if (workflow.getExecutor() != null)
+				workflow.getExecutor().close();
 		}
 
 		Timer.stopCounting(ALL);
@@ -3,11 +3,15 @@ package es.us.isa.restest.runners;
 import es.us.isa.restest.configuration.pojos.TestConfigurationObject;
 import es.us.isa.restest.coverage.CoverageGatherer;
 import es.us.isa.restest.coverage.CoverageMeter;
+import es.us.isa.restest.executors.ITestExecutor;
+import es.us.isa.restest.executors.RequestScheduler;
+import es.us.isa.restest.executors.restassured.RESTAssuredExecutor;
 import es.us.isa.restest.generators.*;
 import es.us.isa.restest.main.CreateTestConf;
 import es.us.isa.restest.reporting.AllureReportManager;
 import es.us.isa.restest.reporting.StatsReportManager;
 import es.us.isa.restest.specification.OpenAPISpecification;
+import es.us.isa.restest.specification.OpenAPISpecificationRegistry;
 import es.us.isa.restest.util.*;
 import es.us.isa.restest.writers.IWriter;
 import es.us.isa.restest.writers.restassured.RESTAssuredWriter;
@@ -33,6 +37,7 @@ public class RESTestLoader {
 	static String userPropertiesFilePath;				// Path to user properties file (if any). If not provided, default values will be used from global property file (config.properties).
 
 	Integer numTestCases; 								// Number of test cases per operation
+	Integer generationThreads = 0;						// Number of threads generating operations concurrently (0: one after the other)
 	String OAISpecPath; 								// Path to OAS specification file
 	OpenAPISpecification spec; 							// OAS specification
 	String confPath; 									// Path to test configuration file
@@ -50,9 +55,19 @@ public class RESTestLoader {
 	String generator; 									// Generator (RT: Random testing, CBT:Constraint-based testing...)
 	Boolean logToFile;									// If 'true', log messages will be printed to external files
 	Boolean executeTestCases;							// If 'false', test cases will be generated but not executed
+	Integer executionParallelism = 1;					// Number of test cases executed concurrently
+	Boolean directExecution = false;					// If 'true', test cases will be executed directly, without compiling a test class
+	Boolean exportTestClass = false;					// If 'true', the test class is written even if test cases are executed directly
+	Boolean executionLogging = false;					// If 'true', the requests and responses of the test cases executed directly will be logged
+	Boolean pipelinedExecution = false;					// If 'true', test cases will be executed directly while they are generated
+	Integer pipelineQueueSize = 100;					// Maximum number of test cases waiting to be executed (pipelined execution)
+	Double rateLimit = 0.0;								// Maximum number of requests per second sent with each API key (0 for no limit)
+	Integer rateLimitBurst = 1;							// Maximum number of requests sent at once with each API key
+	Integer rateLimitMaxRetries = 3;					// Number of times a request throttled by the API is sent again
 	Boolean allureReports;								// If 'true', Allure reports will be generated
 	String allureReportsPath;							// Path to Allure reports
 	Boolean checkTestCases;								// If 'true', test cases will be checked with OASValidator before executing them
+	Integer maxTestsPerClass = 0;						// Maximum number of test cases per test class (0 for no limit)
 	String proxy;										// Proxy to use for all requests in format host:port
 
 	// For Constraint-based testing and AR Testing:
@@ -63,6 +78,7 @@ public class RESTestLoader {
 	// For AR Testing only:
 	String similarityMetric;							// The algorithm to measure the similarity between test cases
 	Integer numberCandidates;							// Number of candidate test cases per AR iteration
+	Integer artParallelism = 1;							// Number of threads computing the distance of the candidates
 
 	// Logger
 	Logger logger = LogManager.getLogger(RESTestLoader.class.getName());
@@ -87,7 +103,7 @@ public class RESTestLoader {
 	// Create a test case generator
 	public AbstractTestCaseGenerator createGenerator() throws RESTestException {
 		// Load specification
-		spec = new OpenAPISpecification(OAISpecPath);
+		spec = OpenAPISpecificationRegistry.getSpecification(OAISpecPath);
 
 		// Load configuration
 		TestConfigurationObject conf = loadConfiguration(confPath, spec);
@@ -117,6 +133,7 @@ public class RESTestLoader {
 			((ARTestCaseGenerator) gen).setReloadInputDataEvery(reloadInputDataEvery);
 			((ARTestCaseGenerator) gen).setDiversity(similarityMetric);
 			((ARTestCaseGenerator) gen).setNumberOfCandidates(numberCandidates);
+			((ARTestCaseGenerator) gen).setParallelism(artParallelism);
 			gen.setFaultyRatio(faultyRatio);
 			break;
 		default:
@@ -124,6 +141,7 @@ public class RESTestLoader {
 		}
 
 		gen.setCheckTestCases(checkTestCases);
+		gen.setGenerationThreads(generationThreads);
 
 		return gen;
 	}
@@ -139,9 +157,36 @@ public class RESTestLoader {
 		writer.setAPIName(experimentName);
 		writer.setTestId(experimentName);
 		writer.setProxy(proxy);
+		writer.setMaxTestsPerClass(maxTestsPerClass);
 		return writer;
 	}
 
+	// Whether the test cases are written to a test class (always, unless they are executed directly and the class is not exported)
+	public boolean writesTestClass() {
+		return !directExecution || exportTestClass;
+	}
+
+	// Create RESTAssured executor (only if test cases are executed directly)
+	public ITestExecutor createExecutor() {
+		if (!directExecution)
+			return null;
+		String basePath = spec.getSpecification().getServers().get(0).getUrl();
+		RESTAssuredExecutor executor = new RESTAssuredExecutor(OAISpecPath, confPath, basePath, logToFile);
+		executor.setAllureReport(allureReports);
+		executor.setEnableStats(enableCSVStats);
+		executor.setEnableOutputCoverage(enableOutputCoverage);
+		executor.setAPIName(experimentName);
+		executor.setTestId(experimentName);
+		executor.setProxy(proxy);
+		executor.setLogging(executionLogging);
+		executor.setParallelism(executionParallelism);
+		if (rateLimit > 0) {
+			executor.setRequestScheduler(new RequestScheduler(AuthManager.create(getTestConfigurationObject().getAuth()), rateLimit, rateLimitBurst));
+			executor.setMaxRetries(rateLimitMaxRetries);
+		}
+		return executor;
+	}
+
 	// Create Allure report manager
 	public AllureReportManager createAllureReportManager() {
 		AllureReportManager arm = null;
@@ -216,6 +261,42 @@ public class RESTestLoader {
 		}
 		logger.info("Experiment execution: {}", executeTestCases);
 
+		if (readProperty("test.execution.parallelism") != null)
+			executionParallelism = Integer.parseInt(readProperty("test.execution.parallelism"));
+		logger.info("Test execution parallelism: {}", executionParallelism);
+
+		if (readProperty("test.execution.direct") != null)
+			directExecution = Boolean.parseBoolean(readProperty("test.execution.direct"));
+		logger.info("Direct test execution: {}", directExecution);
+
+		if (readProperty("test.execution.direct.export") != null)
+			exportTestClass = Boolean.parseBoolean(readProperty("test.execution.direct.export"));
+		logger.info("Export test class of direct execution: {}", exportTestClass);
+
+		if (readProperty("test.execution.logging") != null)
+			executionLogging = Boolean.parseBoolean(readProperty("test.execution.logging"));
+		logger.info("Log requests of direct execution: {}", executionLogging);
+
+		if (readProperty("test.execution.pipelined") != null)
+			pipelinedExecution = Boolean.parseBoolean(readProperty("test.execution.pipelined"));
+		logger.info("Pipelined test execution: {}", pipelinedExecution);
+
+		if (readProperty("test.execution.pipeline.queuesize") != null)
+			pipelineQueueSize = Integer.parseInt(readProperty("test.execution.pipeline.queuesize"));
+		logger.info("Pipeline queue size: {}", pipelineQueueSize);
+
+		if (readProperty("test.execution.ratelimit") != null)
+			rateLimit = Double.parseDouble(readProperty("test.execution.ratelimit"));
+		logger.info("Rate limit (requests per second and API key): {}", rateLimit);
+
+		if (readProperty("test.execution.ratelimit.burst") != null)
+			rateLimitBurst = Integer.parseInt(readProperty("test.execution.ratelimit.burst"));
+		logger.info("Rate limit burst: {}", rateLimitBurst);
+
+		if (readProperty("test.execution.ratelimit.maxretries") != null)
+			rateLimitMaxRetries = Integer.parseInt(readProperty("test.execution.ratelimit.maxretries"));
+		logger.info("Maximum retries of throttled requests: {}", rateLimitMaxRetries);
+
 		if (readProperty("allure.report") != null) {
 			allureReports = Boolean.parseBoolean(readProperty("allure.report"));
 		}
@@ -241,6 +322,10 @@ public class RESTestLoader {
 		testClassName = readProperty("testclass.name");
 		logger.info("Test class name: {}", testClassName);
 
+		if (readProperty("testclass.maxtests") != null)
+			maxTestsPerClass = Integer.parseInt(readProperty("testclass.maxtests"));
+		logger.info("Maximum number of test cases per test class: {}", maxTestsPerClass);
+
 		packageName = readProperty("test.target.package");
 		logger.info("Package name: {}", packageName);
 
@@ -248,6 +333,10 @@ public class RESTestLoader {
 			numTestCases = Integer.parseInt(readProperty("testsperoperation"));
 		logger.info("Number of test cases per operation: {}", numTestCases);
 
+		if (readProperty("generation.threads") != null)
+			generationThreads = Integer.parseInt(readProperty("generation.threads"));
+		logger.info("Generation threads: {}", generationThreads);
+
 		if (readProperty("numtotaltestcases") != null)
 			totalNumTestCases = Integer.parseInt(readProperty("numtotaltestcases"));
 		logger.info("Max number of test cases: {}", totalNumTestCases);
@@ -288,6 +377,10 @@ public class RESTestLoader {
 			numberCandidates = Integer.parseInt(readProperty("art.number.candidates"));
 		logger.info("Number of candidates: {}", numberCandidates);
 
+		if (readProperty("art.parallelism") != null)
+			artParallelism = Integer.parseInt(readProperty("art.parallelism"));
+		logger.info("ART parallelism: {}", artParallelism);
+
 		if (readProperty("faulty.ratio") != null)
 			faultyRatio = Float.parseFloat(readProperty("faulty.ratio"));
 		logger.info("Faulty ratio: {}", faultyRatio);
@@ -44,7 +44,7 @@ public class RESTestRunner extends RESTestLoader {
 		// Create RESTest workflo (generation -> execution -> reporting)
 		logger.info("Generating RESTest workflow...");
 		generator = createGenerator(); 						// Test case generator
-		writer = createWriter(); 							// Test case writer
+		writer = writesTestClass() ? createWriter() : null;	// Test case writer (not needed if test cases are executed directly)
 		allureReportManager = createAllureReportManager(); 	// Allure test case reporter
 		statsReportManager = createStatsReportManager(); 	// Stats reporter
 		workflow = new RESTestWorkflow(testClassName,
@@ -59,6 +59,10 @@ public class RESTestRunner extends RESTestLoader {
 
 		workflow.setAllureReport(allureReports);			// Enable/disable allure generation
 		workflow.setExecuteTestCases(executeTestCases);		// Enable/disable test execution
+		workflow.setExecutionParallelism(executionParallelism);	// Number of test cases executed concurrently
+		workflow.setExecutor(createExecutor());				// Direct execution of test cases (if enabled)
+		workflow.setPipelined(pipelinedExecution);			// Execution of test cases while they are generated (if enabled)
+		workflow.setPipelineQueueSize(pipelineQueueSize);
 		workflow.setTestId(experimentName);
 
 	}
@@ -71,7 +75,13 @@ public class RESTestRunner extends RESTestLoader {
 	public void run() throws RESTestException {
 
 		logger.info("Running workflow (generation -> execution -> reporting)...");
-		workflow.run();										// Run RESTest workflow
+		try {
+			workflow.run();									// Run RESTest workflow
+		} finally {
+			generator.close();								// Release the resources of the generator (e.g., thread pools)
+			if (workflow.getExecutor() != null)
+				workflow.getExecutor().close();				// Release the resources of the executor (e.g., thread pools)
+		}
 
 	}
 
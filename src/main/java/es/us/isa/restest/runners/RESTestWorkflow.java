@@ -1,7 +1,19 @@
 package es.us.isa.restest.runners;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import es.us.isa.restest.executors.ITestExecutor;
 import es.us.isa.restest.specification.OpenAPISpecification;
 import es.us.isa.restest.util.*;
 import es.us.isa.restest.util.ClassLoader;
@@ -12,15 +24,20 @@ import org.junit.runner.JUnitCore;
 import org.junit.runner.Result;
 
 import es.us.isa.restest.generators.AbstractTestCaseGenerator;
+import es.us.isa.restest.inputs.stateful.StatefulDataStore;
 import es.us.isa.restest.reporting.AllureReportManager;
 import es.us.isa.restest.reporting.StatsReportManager;
 import es.us.isa.restest.testcases.TestCase;
+import es.us.isa.restest.testcases.TestResult;
 import es.us.isa.restest.writers.IWriter;
 
 import static es.us.isa.restest.util.Timer.TestStep.*;
 
 /**
  * This class implements a basic test workflow: test generation -> test writing -> class compilation and loading -> test execution -> test report generation -> test coverage report generation.
+ * If the test cases are executed directly with an executor, the workflow can be pipelined: the test cases are passed
+ * to the executor through a bounded queue as soon as they are generated, and the statistics are updated with the results of each batch
+ * of test cases executed, so generation, execution and statistics overlap, and only the test cases in the queue are kept in memory.
  * @author Sergio Segura
  *
  */
@@ -31,12 +48,19 @@ public class RESTestWorkflow {
 	private String testId="";
 	private String packageName;							// Package name
 	private AbstractTestCaseGenerator generator;   		// Test case generator
-	protected IWriter writer;							// RESTAssured writer
+	protected IWriter writer;							// RESTAssured writer (optional if an executor is used)
+	protected ITestExecutor executor;					// Executor of the test cases. If null, the test class written is compiled and run
 	protected AllureReportManager allureReportManager;	// Allure report manager
 	protected StatsReportManager statsReportManager;	// Stats report manager
 	private boolean executeTestCases = true;			// Whether to execute test cases
+	private int executionParallelism = 1;				// Number of test cases executed concurrently
 	private boolean allureReports = true;				// Whether to actually generate reports or not (folder "allure-reports")
 	private int numTestCases = 0;						// Number of test cases generated so far
+	private boolean pipelined = false;					// Whether to execute the test cases while they are generated (only with an executor)
+	private int pipelineQueueSize = 100;				// Maximum number of test cases generated and waiting to be executed (pipelined workflow)
+	private long queueWaitTime = 0;						// Time (in nanoseconds) the generation waited for room in the queue (pipelined workflow)
+
+	private static final TestCase END_OF_GENERATION = new TestCase("", false, null, null, null); // Marks the end of the test cases in the queue
 
 	private OpenAPISpecification spec;
 	private String confPath;
@@ -59,20 +83,139 @@ public class RESTestWorkflow {
 	  
 	public void run() throws RESTestException {
 
+		if (pipelined && executeTestCases && executor != null) {
+			runPipelined();
+			return;
+		}
+
 		// Test generation and writing (RESTAssured)
-		testGeneration();
+		Collection<TestCase> testCases = testGeneration();
 
 		if(executeTestCases) {
 			// Test execution
 			logger.info("Running tests");
 			System.setProperty("allure.results.directory", allureReportManager.getResultsDirPath());
-			testExecution(getTestClass());
+			if (executor != null)
+				testExecution(testCases);
+			else
+				testExecution(getTestClasses());
 		}
 
 		generateReports();
 
 	}
 
+	/*
+	 * Pipelined workflow: the test cases are generated in this thread and put in a bounded queue, from which another
+	 * thread takes them in batches, executes them and updates the statistics. The writer is not used, since the test
+	 * cases are never kept together.
+	 */
+	private void runPipelined() throws RESTestException {
+		logger.info("Generating and running tests (pipelined, queue size: {})", pipelineQueueSize);
+		System.setProperty("allure.results.directory", allureReportManager.getResultsDirPath());
+
+		BlockingQueue<TestCase> queue = new ArrayBlockingQueue<>(pipelineQueueSize);
+		ExecutorService executionThread = Executors.newSingleThreadExecutor();
+		Future<Long> execution = executionThread.submit(() -> executePipeline(queue));
+		try {
+			// The time waiting for room in the queue is execution time, so it is not counted as generation time
+			queueWaitTime = 0;
+			long start = System.nanoTime();
+			try {
+				generator.generate(testCase -> {
+					numTestCases++;
+					enqueue(queue, testCase, execution);
+				});
+				enqueue(queue, END_OF_GENERATION, execution);
+			} finally {
+				Timer.addMeasure(TEST_SUITE_GENERATION, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start - queueWaitTime));
+			}
+
+			Timer.addMeasure(TEST_SUITE_EXECUTION, TimeUnit.NANOSECONDS.toMillis(execution.get()));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RESTestException("Interrupted while executing the test cases", e);
+		} catch (ExecutionException e) {
+			throw executionError(e);
+		} finally {
+			executionThread.shutdownNow(); // Stops the execution if the generation failed
+		}
+
+		StatefulDataStore.flushAll();
+		CSVSink.flushAll();
+
+		if (allureReports) {
+			logger.info("Generating test report");
+			allureReportManager.generateReport();
+		}
+		logger.info("Generating CSV data");
+		statsReportManager.generateIncrementalReport(testId);
+	}
+
+	// Put a test case in the queue, waiting while it is full. If the execution stopped, the error that stopped it is thrown
+	private void enqueue(BlockingQueue<TestCase> queue, TestCase testCase, Future<Long> execution) {
+		if (queue.offer(testCase))
+			return;
+
+		long start = System.nanoTime();
+		try {
+			while (!queue.offer(testCase, 1, TimeUnit.SECONDS)) {
+				if (execution.isDone()) {
+					execution.get();
+					throw new IllegalStateException("The execution of the test cases finished before all of them were generated");
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for the execution of the test cases", e);
+		} catch (ExecutionException e) {
+			throw executionError(e);
+		} finally {
+			queueWaitTime += System.nanoTime() - start;
+		}
+	}
+
+	// The error thrown by the executor, unchecked so that it can be thrown while generating the test cases
+	private static RuntimeException executionError(ExecutionException e) {
+		if (e.getCause() instanceof Error)
+			throw (Error) e.getCause();
+		if (e.getCause() instanceof RuntimeException)
+			return (RuntimeException) e.getCause();
+		return new IllegalStateException("Error executing the test cases: " + e.getCause().getMessage(), e.getCause());
+	}
+
+	// Execute the test cases in the queue in batches (all test cases waiting) until the end of the generation. Returns the execution time (ns)
+	private long executePipeline(BlockingQueue<TestCase> queue) throws InterruptedException {
+		long executionTime = 0;
+		int executedTests = 0;
+		long successfulTests = 0;
+		List<TestCase> batch = new ArrayList<>();
+		boolean generationFinished = false;
+
+		while (!generationFinished) {
+			batch.add(queue.take());
+			queue.drainTo(batch);
+			if (batch.get(batch.size() - 1) == END_OF_GENERATION) { // It is always the last test case in the queue
+				batch.remove(batch.size() - 1);
+				generationFinished = true;
+			}
+			if (batch.isEmpty())
+				continue;
+
+			long start = System.nanoTime();
+			Collection<TestResult> testResults = executor.execute(batch);
+			executionTime += System.nanoTime() - start;
+
+			statsReportManager.addTestResults(testId, batch, testResults);
+			executedTests += testResults.size();
+			successfulTests += testResults.stream().filter(tr -> Boolean.TRUE.equals(tr.getPassed())).count();
+			batch.clear();
+		}
+
+		logger.info("{} tests run. Successful: {}, Failures: {}", executedTests, successfulTests, executedTests - successfulTests);
+		return executionTime;
+	}
+
 	protected void generateReports() {
 		if(executeTestCases && allureReports) {
 			// Generate test report
@@ -85,15 +228,22 @@ public class RESTestWorkflow {
 		statsReportManager.generateReport(testId, executeTestCases);
 	}
 
-	protected Class<?> getTestClass() {
-		// Load test class
-		String filePath = targetDir + "/" + testClassName + ".java";
-		String className = packageName + "." + testClassName;
-		logger.info("Compiling and loading test class {}.java", className);
-		return ClassLoader.loadClass(filePath, className);
+	protected Class<?>[] getTestClasses() {
+		// Load test classes (the test class, or its parts if it was split)
+		Map<String, String> sources = new LinkedHashMap<>();
+		if (writer instanceof RESTAssuredWriter && ((RESTAssuredWriter) writer).getTestClassSources() != null) {
+			for (Map.Entry<String, String> source: ((RESTAssuredWriter) writer).getTestClassSources().entrySet())
+				sources.put(packageName + "." + source.getKey(), source.getValue());
+		} else
+			sources.put(packageName + "." + testClassName, FileManager.readFile(targetDir + "/" + testClassName + ".java"));
+		logger.info("Compiling and loading {} test class(es) {}", sources.size(), sources.keySet());
+		Timer.startCounting(TEST_CLASS_COMPILATION);
+		List<Class<?>> testClasses = ClassLoader.loadClassesFromSources(sources);
+		Timer.stopCounting(TEST_CLASS_COMPILATION);
+		return testClasses != null ? testClasses.toArray(new Class<?>[0]) : new Class<?>[] { null };
 	}
 
-	private void testGeneration() throws RESTestException {
+	private Collection<TestCase> testGeneration() throws RESTestException {
 	    
 		// Generate test cases
 		logger.info("Generating tests");
@@ -106,25 +256,42 @@ public class RESTestWorkflow {
         statsReportManager.setTestCases(testCases);
         
         // Write test cases
-        String filePath = targetDir + "/" + testClassName + ".java";
-        logger.info("Writing {} test cases to test class {}", testCases.size(), filePath);
-        writer.write(testCases);
+        if (writer != null) {
+            String filePath = targetDir + "/" + testClassName + ".java";
+            logger.info("Writing {} test cases to test class {}", testCases.size(), filePath);
+            writer.write(testCases);
+        }
 
+        return testCases;
 	}
 
-	protected void testExecution(Class<?> testClass)  {
+	protected void testExecution(Class<?>... testClasses)  {
 		
 		JUnitCore junit = new JUnitCore();
 		//junit.addListener(new TextListener(System.out));
 		junit.addListener(new io.qameta.allure.junit4.AllureJunit4());
 		Timer.startCounting(TEST_SUITE_EXECUTION);
-		Result result = junit.run(testClass);
+		Result result = junit.run(ParallelTestComputer.withParallelism(executionParallelism), testClasses);
 		Timer.stopCounting(TEST_SUITE_EXECUTION);
+		StatefulDataStore.flushAll();
+		CSVSink.flushAll();
 		int successfulTests = result.getRunCount() - result.getFailureCount() - result.getIgnoreCount();
 		logger.info("{} tests run in {} seconds. Successful: {}, Failures: {}, Ignored: {}", result.getRunCount(), result.getRunTime()/1000, successfulTests, result.getFailureCount(), result.getIgnoreCount());
 
 	}
 	
+	protected void testExecution(Collection<TestCase> testCases) {
+
+		Timer.startCounting(TEST_SUITE_EXECUTION);
+		Collection<TestResult> testResults = executor.execute(testCases);
+		Timer.stopCounting(TEST_SUITE_EXECUTION);
+		StatefulDataStore.flushAll();
+		CSVSink.flushAll();
+		long successfulTests = testResults.stream().filter(tr -> Boolean.TRUE.equals(tr.getPassed())).count();
+		logger.info("{} tests run. Successful: {}, Failures: {}", testResults.size(), successfulTests, testResults.size() - successfulTests);
+
+	}
+	
 	public String getTargetDir() {
 		return targetDir;
 	}
@@ -158,7 +325,48 @@ public class RESTestWorkflow {
 		this.executeTestCases = executeTestCases;
 	}
 
+	public int getExecutionParallelism() {
+		return executionParallelism;
+	}
+
+	public void setExecutionParallelism(int executionParallelism) {
+		this.executionParallelism = executionParallelism;
+	}
+
+	public ITestExecutor getExecutor() {
+		return executor;
+	}
+
+	public void setExecutor(ITestExecutor executor) {
+		this.executor = executor;
+	}
+
 	public void setAllureReport(boolean allureReports) {
 		this.allureReports = allureReports;
 	}
+
+	public boolean isPipelined() {
+		return pipelined;
+	}
+
+	/**
+	 * Set whether to execute the test cases while they are generated. Only applies if the test cases are
+	 * executed directly with an executor (see {@link #setExecutor(ITestExecutor)})
+	 */
+	public void setPipelined(boolean pipelined) {
+		this.pipelined = pipelined;
+	}
+
+	public int getPipelineQueueSize() {
+		return pipelineQueueSize;
+	}
+
+	/**
+	 * Set the maximum number of test cases generated and waiting to be executed in the pipelined workflow
+	 */
+	public void setPipelineQueueSize(int pipelineQueueSize) {
+		if (pipelineQueueSize < 1)
+			throw new IllegalArgumentException("The size of the pipeline queue must be greater than 0");
+		this.pipelineQueueSize = pipelineQueueSize;
+	}
 }
@@ -0,0 +1,188 @@
+package es.us.isa.restest.specification;
+
+import com.atlassian.oai.validator.OpenApiInteractionValidator;
+import com.atlassian.oai.validator.whitelist.ValidationErrorsWhitelist;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry of OAS specifications. Each specification is parsed only once,
+ * and the objects built from it (the parsed {@link OpenAPISpecification} and the interaction
+ * validator used to check the responses of the API) are shared by all the components of
+ * RESTest (loaders, generators, writers, executors, filters and coverage). Specifications
+ * stored in files are keyed by their location and the SHA-256 hash of their content, so a
+ * specification is parsed again if the file changes. The file is only hashed again when its
+ * modification time or size change. Specifications not stored in files (e.g., URLs) are
+ * keyed by their location only. IDLReasoner analyzers are stateful, so they are not shared
+ * here: each generator builds its own (see ConstraintBasedTestCaseGenerator).
+ */
+public class OpenAPISpecificationRegistry {
+
+	private static final Map<String, SpecificationEntry> entries = new ConcurrentHashMap<>();	// Entries by location
+
+	private static final Logger logger = LogManager.getLogger(OpenAPISpecificationRegistry.class.getName());
+
+	private OpenAPISpecificationRegistry() {}
+
+	/**
+	 * Returns the specification stored in <i>location</i>, parsing it only if it was not parsed before
+	 * or if its content changed. The returned object is shared, so it must not be modified.
+	 * @param location File location (URL or file path)
+	 * @return the parsed specification
+	 */
+	public static OpenAPISpecification getSpecification(String location) {
+		return getEntry(location).getSpecification();
+	}
+
+	/**
+	 * Returns the validator of the interactions (requests and responses) with the API described by
+	 * the specification stored in <i>location</i>. Validators are thread-safe, so they are shared.
+	 * @param location File location (URL or file path) or content of the specification
+	 * @return the interaction validator of the specification
+	 */
+	public static OpenApiInteractionValidator getValidator(String location) {
+		return getEntry(location).getValidator();
+	}
+
+	/**
+	 * Returns the validator of the interactions with the API described by the specification stored in
+	 * <i>location</i> that ignores the validation errors matched by <i>whitelist</i>. A validator is built
+	 * only once for each specification and whitelist (compared by identity), so the same whitelist
+	 * object should be used in all calls.
+	 * @param location File location (URL or file path) or content of the specification
+	 * @param whitelist Validation errors to ignore
+	 * @return the interaction validator of the specification
+	 */
+	public static OpenApiInteractionValidator getValidator(String location, ValidationErrorsWhitelist whitelist) {
+		return getEntry(location).getValidator(whitelist);
+	}
+
+	/**
+	 * Removes all the specifications from the registry, so that they are parsed again on the next access
+	 */
+	public static void clear() {
+		entries.clear();
+	}
+
+	private static SpecificationEntry getEntry(String location) {
+		FileStamp fileStamp = FileStamp.of(location);
+		SpecificationEntry currentEntry = entries.get(location);
+		if (currentEntry != null && Objects.equals(currentEntry.fileStamp, fileStamp)) // The file was not modified
+			return currentEntry;
+
+		return entries.compute(location, (key, entry) -> {
+			if (entry != null && Objects.equals(entry.fileStamp, fileStamp))
+				return entry;
+			String contentHash = hash(location);
+			if (entry == null || !entry.contentHash.equals(contentHash)) {
+				if (entry != null)
+					logger.info("Specification {} changed. It will be parsed again", location);
+				entry = new SpecificationEntry(location, contentHash);
+			}
+			entry.fileStamp = fileStamp;	// The file may have been touched without changing its content
+			return entry;
+		});
+	}
+
+	// SHA-256 hash of the file stored in location, or an empty string if location is not a readable file
+	private static String hash(String location) {
+		try {
+			Path path = Paths.get(location);
+			if (!Files.isRegularFile(path))
+				return "";
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(path));
+			return String.format("%064x", new BigInteger(1, digest));
+		} catch (InvalidPathException e) {
+			return "";
+		} catch (IOException | NoSuchAlgorithmException e) {
+			logger.warn("The content of the specification {} could not be hashed: {}", location, e.getMessage());
+			return "";
+		}
+	}
+
+	// Modification time and size of the file stored in a location, to check cheaply whether it may have changed
+	private static class FileStamp {
+		private final long lastModified;
+		private final long size;
+
+		private FileStamp(long lastModified, long size) {
+			this.lastModified = lastModified;
+			this.size = size;
+		}
+
+		// Null if location is not a readable file
+		private static FileStamp of(String location) {
+			try {
+				BasicFileAttributes attributes = Files.readAttributes(Paths.get(location), BasicFileAttributes.class);
+				return attributes.isRegularFile() ? new FileStamp(attributes.lastModifiedTime().toMillis(), attributes.size()) : null;
+			} catch (InvalidPathException | IOException e) {
+				return null;
+			}
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof FileStamp))
+				return false;
+			FileStamp other = (FileStamp) obj;
+			return lastModified == other.lastModified && size == other.size;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(lastModified, size);
+		}
+	}
+
+	// Objects built from a specification. All of them are built lazily, the first time they are requested
+	private static class SpecificationEntry {
+		private final String location;
+		private final String contentHash;
+		private volatile FileStamp fileStamp;		// Stamp of the file when its content was last hashed
+		private volatile OpenAPISpecification specification;
+		private volatile OpenApiInteractionValidator validator;
+		private final Map<ValidationErrorsWhitelist, OpenApiInteractionValidator> whitelistValidators = new ConcurrentHashMap<>();	// Validators by whitelist
+
+		private SpecificationEntry(String location, String contentHash) {
+			this.location = location;
+			this.contentHash = contentHash;
+		}
+
+		private OpenAPISpecification getSpecification() {
+			if (specification == null) {
+				synchronized (this) {
+					if (specification == null)
+						specification = new OpenAPISpecification(location);
+				}
+			}
+			return specification;
+		}
+
+		private OpenApiInteractionValidator getValidator() {
+			if (validator == null) {
+				synchronized (this) {
+					if (validator == null)
+						validator = OpenApiInteractionValidator.createFor(location).build();
+				}
+			}
+			return validator;
+		}
+
+		private OpenApiInteractionValidator getValidator(ValidationErrorsWhitelist whitelist) {
+			return whitelistValidators.computeIfAbsent(whitelist, w -> OpenApiInteractionValidator.createFor(location).withWhitelist(w).build());
+		}
+	}
+}
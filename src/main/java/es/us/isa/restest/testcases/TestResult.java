@@ -1,9 +1,7 @@
 package es.us.isa.restest.testcases;
 
 
-import static es.us.isa.restest.util.CSVManager.createCSVwithHeader;
-import static es.us.isa.restest.util.CSVManager.writeCSVRow;
-import static es.us.isa.restest.util.FileManager.checkIfExists;
+import static es.us.isa.restest.util.CSVManager.writeCSVRowWithHeader;
 import static org.apache.commons.text.StringEscapeUtils.escapeCsv;
 
 /**
@@ -101,11 +99,10 @@ public class TestResult {
     }
 
     public void exportToCSV(String filePath) {
-        if (!checkIfExists(filePath)) // If the file doesn't exist, create it (only once)
-            createCSVwithHeader(filePath, "testResultId,statusCode,responseBody,outputContentType,passed,failReason");
-
         // Generate row, we need to escape all fields susceptible to contain characters such as ',', '\n', '"', etc.
         String row = id + "," + statusCode + "," + escapeCsv(responseBody) + "," + outputFormat + "," + passed + "," + escapeCsv(failReason);
-        writeCSVRow(filePath, row);
+
+        // If the file doesn't exist, create it (only once, even if test results are exported concurrently)
+        writeCSVRowWithHeader(filePath, "testResultId,statusCode,responseBody,outputContentType,passed,failReason", row);
     }
 }
\ No newline at end of file
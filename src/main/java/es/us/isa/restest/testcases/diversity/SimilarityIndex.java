@@ -0,0 +1,177 @@
+package es.us.isa.restest.testcases.diversity;
+
+import es.us.isa.restest.testcases.TestCase;
+import org.apache.commons.text.similarity.LevenshteinDistance;
+
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Index of the test cases of an API operation, used to compute the distance between
+ * a new test case and the closest one in the index, i.e., 1 - maximum similarity (the
+ * same value as {@link Diversity#evaluate(java.util.List, TestCase)}), without comparing
+ * the new test case against every test case in the index:<br>
+ *     1.- The flat representation of the test cases is computed only once, when they are
+ *     added to the index. Identical representations are stored only once.<br>
+ *     2.- For the Jaccard similarity (computed over the sets of characters of the flat
+ *     representations), the set of characters of each test case is precomputed.<br>
+ *     3.- Representations are grouped by size (length of the representation for Levenshtein,
+ *     number of distinct characters for Jaccard), and the groups are visited from the size
+ *     of the new test case outwards. Since the similarity is bounded by min(size)/max(size),
+ *     the search stops as soon as no group can contain a more similar test case. The
+ *     Levenshtein distance is only computed up to the distance that would improve the
+ *     maximum similarity found so far.<br>
+ *
+ * The Jaro-Winkler similarity has no such bound, so it is computed against every distinct
+ * representation.
+ */
+public class SimilarityIndex {
+
+    private final SimilarityMeter similarityMeter;
+    private final NavigableMap<Integer, Set<Object>> representationsBySize = new TreeMap<>(); // Distinct representations of the test cases, by size
+    private int size = 0;                                                                   // Number of test cases added to the index
+
+    public SimilarityIndex(SimilarityMeter.METRIC similarityMetric) {
+        this.similarityMeter = new SimilarityMeter(similarityMetric);
+    }
+
+    public void add(TestCase testCase) {
+        Object representation = getRepresentation(testCase);
+        representationsBySize.computeIfAbsent(getSize(representation), k -> new LinkedHashSet<>()).add(representation);
+        size++;
+    }
+
+    /**
+     * Number of test cases added to the index
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the distance between a test case and the closest test case in the index (1 if the index is empty).
+     */
+    public double minDistance(TestCase testCase) {
+        return minDistance(testCase, -1);
+    }
+
+    /**
+     * Returns the distance between a test case and the closest test case in the index (1 if the index is empty).
+     * The search stops as soon as the distance is known to be lower or equal than <i>threshold</i>, in which case
+     * the value returned is lower or equal than <i>threshold</i>, but it may not be the actual minimum distance.
+     * @param testCase The test case
+     * @param threshold Distance below which the actual value is not needed (e.g., the distance of the best candidate so far)
+     */
+    public double minDistance(TestCase testCase, double threshold) {
+        Object representation = getRepresentation(testCase);
+        int representationSize = getSize(representation);
+        double maxSimilarity = 0;
+
+        if (similarityMeter.getSimilarityMetric() == SimilarityMeter.METRIC.JARO_WINKLER) {
+            for (Set<Object> representations: representationsBySize.values())
+                for (Object indexedRepresentation: representations) {
+                    maxSimilarity = Math.max(maxSimilarity, similarityMeter.apply((String) representation, (String) indexedRepresentation));
+                    if (1 - maxSimilarity <= threshold)
+                        return 1 - maxSimilarity;
+                }
+            return 1 - maxSimilarity;
+        }
+
+        // Visit the groups of representations from the size of the test case outwards, in both directions
+        Iterator<Map.Entry<Integer, Set<Object>>> smaller = representationsBySize.headMap(representationSize, true).descendingMap().entrySet().iterator();
+        Iterator<Map.Entry<Integer, Set<Object>>> bigger = representationsBySize.tailMap(representationSize, false).entrySet().iterator();
+        Map.Entry<Integer, Set<Object>> nextSmaller = smaller.hasNext() ? smaller.next() : null;
+        Map.Entry<Integer, Set<Object>> nextBigger = bigger.hasNext() ? bigger.next() : null;
+
+        while (nextSmaller != null || nextBigger != null) {
+            // Visit first the group with the highest bound
+            boolean visitSmaller = nextBigger == null || (nextSmaller != null && representationSize - nextSmaller.getKey() <= nextBigger.getKey() - representationSize);
+            Map.Entry<Integer, Set<Object>> group = visitSmaller ? nextSmaller : nextBigger;
+
+            if (getSimilarityBound(representationSize, group.getKey()) <= maxSimilarity) {
+                // No group in this direction may improve the maximum similarity
+                if (visitSmaller)
+                    nextSmaller = null;
+                else
+                    nextBigger = null;
+                continue;
+            }
+
+            for (Object indexedRepresentation: group.getValue()) {
+                maxSimilarity = Math.max(maxSimilarity, getSimilarity(representation, indexedRepresentation, maxSimilarity));
+                if (maxSimilarity == 1 || 1 - maxSimilarity <= threshold)
+                    return 1 - maxSimilarity;
+            }
+
+            if (visitSmaller)
+                nextSmaller = smaller.hasNext() ? smaller.next() : null;
+            else
+                nextBigger = bigger.hasNext() ? bigger.next() : null;
+        }
+
+        return 1 - maxSimilarity;
+    }
+
+    // Flat representation of the test case, or its set of characters for the Jaccard similarity
+    private Object getRepresentation(TestCase testCase) {
+        String flatRepresentation = testCase.getFlatRepresentation();
+        if (similarityMeter.getSimilarityMetric() != SimilarityMeter.METRIC.JACCARD)
+            return flatRepresentation;
+
+        BitSet characters = new BitSet();
+        for (int i = 0; i < flatRepresentation.length(); i++)
+            characters.set(flatRepresentation.charAt(i));
+        return characters;
+    }
+
+    private int getSize(Object representation) {
+        return representation instanceof BitSet ? ((BitSet) representation).cardinality() : ((String) representation).length();
+    }
+
+    // Upper bound of the similarity between two representations, given their sizes. It is computed
+    // the same way as the similarity, so that rounding errors never make it lower than the similarity
+    private double getSimilarityBound(int size1, int size2) {
+        int minSize = Math.min(size1, size2);
+        int maxSize = Math.max(size1, size2);
+        if (similarityMeter.getSimilarityMetric() == SimilarityMeter.METRIC.JACCARD) // intersection <= minSize, union >= maxSize
+            return minSize == 0 ? 0 : 1.0d * minSize / maxSize;
+        if (maxSize == 0) // Both representations are empty
+            return 1d;
+        return 1 - (double) (maxSize - minSize) / maxSize;   // distance >= maxSize - minSize
+    }
+
+    // Similarity between two representations. Levenshtein similarities lower or equal than minSimilarity may not be exact
+    private double getSimilarity(Object representation1, Object representation2, double minSimilarity) {
+        if (similarityMeter.getSimilarityMetric() == SimilarityMeter.METRIC.JACCARD) {
+            // Same value as JaccardSimilarity, computed over the sets of characters
+            BitSet characters1 = (BitSet) representation1;
+            BitSet characters2 = (BitSet) representation2;
+            if (characters1.isEmpty() || characters2.isEmpty())
+                return 0;
+            BitSet union = (BitSet) characters1.clone();
+            union.or(characters2);
+            int unionSize = union.cardinality();
+            int intersectionSize = characters1.cardinality() + characters2.cardinality() - unionSize;
+            return 1.0d * intersectionSize / unionSize;
+        }
+
+        // Levenshtein similarity, computed as: 1 - (distance / maxlength(left, right))
+        String string1 = (String) representation1;
+        String string2 = (String) representation2;
+        double maxStringLength = Math.max(string1.length(), string2.length());
+        if (maxStringLength == 0)
+            return 1d;
+
+        // Only distances that improve minSimilarity are needed
+        int threshold = (int) Math.ceil((1 - minSimilarity) * maxStringLength);
+        int distance = threshold < maxStringLength ? new LevenshteinDistance(threshold).apply(string1, string2) : LevenshteinDistance.getDefaultInstance().apply(string1, string2);
+        if (distance == -1) // Distance greater than the threshold
+            return minSimilarity;
+        return 1 - (double) distance / maxStringLength;
+    }
+}
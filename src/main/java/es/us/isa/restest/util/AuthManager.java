@@ -3,6 +3,7 @@ package es.us.isa.restest.util;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import es.us.isa.restest.configuration.pojos.Auth;
 import io.restassured.RestAssured;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -132,7 +133,25 @@ public class AuthManager {
         expiration = nowInSeconds();
     }
 
-    public String getUpdatedOauthHeader() {
+    /**
+     * Create the AuthManager of the auth section of a test configuration: a pool of API keys,
+     * a pool of auth headers or an OAuth token, in that order of preference.
+     * @param auth auth section of the test configuration (may be null)
+     * @return the AuthManager, or null if no API keys, auth headers or OAuth files are configured
+     */
+    public static AuthManager create(Auth auth) {
+        if (auth == null)
+            return null;
+        if (auth.getApiKeysPath() != null)
+            return new AuthManager(auth.getApiKeysPath());
+        if (auth.getHeadersPath() != null)
+            return new AuthManager(auth.getHeadersPath());
+        if (auth.getOauthPath() != null)
+            return new AuthManager(auth.getOauthPath(), true);
+        return null;
+    }
+
+    public synchronized String getUpdatedOauthHeader() {
         refreshTokenIfNeeded();
         return oauthHeader;
     }
@@ -187,6 +206,26 @@ public class AuthManager {
         return authProperty;
     }
 
+    /**
+     * Get a specific auth key, regardless of the order in which auth keys are selected.
+     * @param propertyName the name of the wanted auth key.
+     * @param index the position of the auth key in the array of the auth property.
+     * @return an auth key
+     */
+    public String getAuthProperty(String propertyName, int index) {
+        return this.authProperties.get(propertyName).get(index);
+    }
+
+    /**
+     * Get the number of auth keys of each auth property, i.e., the size of the key pool.
+     * @return the number of auth keys, or 0 if there are no auth properties (e.g., OAuth)
+     */
+    public int getNumberOfAuthKeys() {
+        if (authProperties == null || authProperties.isEmpty())
+            return 0;
+        return authProperties.values().iterator().next().size();
+    }
+
     /**
      * Get name of the parameters that represent the auth keys (e.g., "key", "apikey", etc.).
      * @return the auth property names
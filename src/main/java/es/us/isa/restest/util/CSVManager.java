@@ -3,12 +3,16 @@ package es.us.isa.restest.util;
 import java.io.*;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import static es.us.isa.restest.util.FileManager.checkIfExists;
 import static es.us.isa.restest.util.FileManager.createFileIfNotExists;
 import static es.us.isa.restest.util.FileManager.deleteFile;
 
@@ -24,10 +28,8 @@ public class CSVManager {
 	public static List<String> readValues(String path) {
 		List<String> values = new ArrayList<String>();
 		
-		Reader in;
-		try {
-			in = new FileReader(path);
-			
+		CSVSink.flush(path);
+		try (Reader in = new FileReader(path)) {
 			Iterable<CSVRecord> records = CSVFormat.EXCEL.parse(in);
 			for (CSVRecord record : records)
 			    values.add(record.get(0));
@@ -48,24 +50,9 @@ public class CSVManager {
 	 * @return the values of all rows of the CSV file
 	 */
 	public static List<List<String>> readCSV(String path, char delimiter) {
-		List<List<String>> rows = new ArrayList<>();
-
-		Reader in;
-		try {
-			in = new FileReader(path);
-			Iterable<CSVRecord> records = CSVFormat.EXCEL.withDelimiter(delimiter).parse(in);
-			for (CSVRecord record : records) {
-				List<String> currentRow = new ArrayList<>();
-				for (String field: record)
-					currentRow.add(field);
-				rows.add(currentRow);
-			}
-		} catch (IOException ex) {
-			logger.error("Error parsing CSV file: {}", path);
-			logger.error("Exception: ", ex);
+		try (Stream<List<String>> rows = streamCSV(path, delimiter)) {
+			return rows.collect(Collectors.toList());
 		}
-
-		return rows;
 	}
 
 	/**
@@ -92,6 +79,62 @@ public class CSVManager {
 		return readCSV(path, ',');
 	}
 
+	/**
+	 * Returns a lazy stream with the values of all rows (including header, if any)
+	 * of the input CSV file. Each row is a list of strings (one element per field).
+	 * Rows are parsed as they are consumed, so large files can be processed in constant
+	 * memory. The stream keeps the file open until it is closed, so it must be used
+	 * within a try-with-resources statement
+	 * @param path The path of the CSV file
+	 * @param delimiter The character that separates the values in each row
+	 * @return the rows of the CSV file, or an empty stream if the file could not be read
+	 */
+	public static Stream<List<String>> streamCSV(String path, char delimiter) {
+		CSVSink.flush(path);
+		Reader in = null;
+		try {
+			in = new BufferedReader(new FileReader(path));
+			CSVParser parser = CSVFormat.EXCEL.withDelimiter(delimiter).parse(in);
+			return StreamSupport.stream(parser.spliterator(), false)
+					.map(CSVManager::recordToRow)
+					.onClose(() -> close(parser, path));
+		} catch (IOException ex) {
+			logger.error("Error parsing CSV file: {}", path);
+			logger.error("Exception: ", ex);
+			if (in != null)
+				close(in, path);
+			return Stream.empty();
+		}
+	}
+
+	/**
+	 * Returns a lazy stream with the values of all rows of the input CSV file,
+	 * delimited by ','. See {@link #streamCSV(String, char)}
+	 * @param path The path of the CSV file
+	 * @param includeFirstRow Whether to include first row of the CSV in the result
+	 *                        or not. Useful for excluding header.
+	 * @return the rows of the CSV file
+	 */
+	public static Stream<List<String>> streamCSV(String path, boolean includeFirstRow) {
+		Stream<List<String>> rows = streamCSV(path, ',');
+		return includeFirstRow ? rows : rows.skip(1);
+	}
+
+	private static List<String> recordToRow(CSVRecord record) {
+		List<String> row = new ArrayList<>(record.size());
+		for (String field: record)
+			row.add(field);
+		return row;
+	}
+
+	private static void close(Closeable closeable, String path) {
+		try {
+			closeable.close();
+		} catch (IOException ex) {
+			logger.warn("Error closing CSV file {}: {}", path, ex.getMessage());
+		}
+	}
+
 	/**
 	 * Create a new CSV file in the given path and with the given header.
 	 * @param path Path where to place the file. Parent folders must be already created
@@ -103,19 +146,46 @@ public class CSVManager {
 		writeCSVRow(path, header);
 	}
 
+	/**
+	 * Append a row to a CSV file. The row is buffered in the {@link CSVSink} of the
+	 * file, so it may not be in the file until the sink is flushed. Reading the file
+	 * with this class flushes it.
+	 * @param path Path of the CSV file
+	 * @param row Row to append
+	 */
 	public static void writeCSVRow(String path, String row) {
-		File csvFile = new File(path);
-		try(FileOutputStream oCsvFile = new FileOutputStream(csvFile, true)) {
-			row += "\n";
-			oCsvFile.write(row.getBytes());
-		} catch (IOException e) {
-			logger.error("The line could not be written to the CSV: {}", path);
-			logger.error("Exception: ", e);
-		}
+		CSVSink.getInstance(path).writeRow(row);
+	}
 
+	/**
+	 * Append several rows to a CSV file in a single batch, so that rows written
+	 * concurrently to the same file by other threads are not interleaved with them.
+	 * @param path Path of the CSV file
+	 * @param rows Rows to append
+	 */
+	public static void writeCSVRows(String path, Collection<String> rows) {
+		CSVSink.getInstance(path).writeRows(rows);
+	}
+
+	/**
+	 * Append a row to a CSV file, creating the file with the given header first if it
+	 * does not exist. Other threads writing to the same file with this method cannot
+	 * create the file at the same time, so that the header is written once.
+	 * @param path Path of the CSV file
+	 * @param header Header to add to the first line if the file does not exist
+	 * @param row Row to append
+	 */
+	public static void writeCSVRowWithHeader(String path, String header, String row) {
+		CSVSink sink = CSVSink.getInstance(path);
+		synchronized (sink) {
+			if (!checkIfExists(path))
+				createCSVwithHeader(path, header);
+			sink.writeRow(row);
+		}
 	}
 
 	public static void collectionToCSV(String path, Collection<String> collection) {
+		CSVSink.close(path);
 		try (FileWriter writer = new FileWriter(path)) {
 			String collect = collection.stream().collect(Collectors.joining("\n"));
 			writer.write(collect);
@@ -0,0 +1,157 @@
+package es.us.isa.restest.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffered writer of rows to a CSV file. There is a single sink per file in the whole
+ * process, which keeps the file open and appends rows to it in batches, instead of
+ * opening and closing the file for every row. Appends are thread-safe.
+ *
+ * Rows written to a sink may not be in the file until the sink is flushed. The
+ * {@link CSVManager} and {@link FileManager} methods that read or delete a file flush
+ * or close its sink first, and all sinks are closed at shutdown. Several operations can
+ * be made atomic by synchronizing on the sink.
+ */
+public class CSVSink implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Map<String, CSVSink> sinks = new ConcurrentHashMap<>();
+
+    private static final Logger logger = LogManager.getLogger(CSVSink.class.getName());
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(CSVSink::closeAll, "csv-sink-shutdown"));
+    }
+
+    private final String path;
+    private Writer writer;              // Opened lazily, on the first write after the sink is created or closed
+
+    private CSVSink(String path) {
+        this.path = path;
+    }
+
+    /**
+     * Returns the sink of a CSV file, creating it the first time.
+     * @param path Path of the CSV file
+     * @return the sink shared by the whole process for that file
+     */
+    public static CSVSink getInstance(String path) {
+        return sinks.computeIfAbsent(normalize(path), CSVSink::new);
+    }
+
+    /**
+     * Writes all pending rows of the sink of a file, if there is any.
+     * @param path Path of the CSV file
+     */
+    public static void flush(String path) {
+        CSVSink sink = sinks.get(normalize(path));
+        if (sink != null)
+            sink.flush();
+    }
+
+    /**
+     * Writes all pending rows of the sink of a file, if there is any, and closes the file.
+     * @param path Path of the CSV file
+     */
+    public static void close(String path) {
+        CSVSink sink = sinks.get(normalize(path));
+        if (sink != null)
+            sink.close();
+    }
+
+    /**
+     * Writes all pending rows of all sinks.
+     */
+    public static void flushAll() {
+        sinks.values().forEach(CSVSink::flush);
+    }
+
+    /**
+     * Writes all pending rows of all sinks and closes their files.
+     */
+    public static void closeAll() {
+        sinks.values().forEach(CSVSink::close);
+    }
+
+    /**
+     * Writes all pending rows of the sinks of the files in a directory (or any of its
+     * subdirectories), and closes those files.
+     * @param dirPath Path of the directory
+     */
+    public static void closeAll(String dirPath) {
+        String normalizedDirPath = normalize(dirPath);
+        sinks.forEach((path, sink) -> {
+            if (path.startsWith(normalizedDirPath))
+                sink.close();
+        });
+    }
+
+    private static String normalize(String path) {
+        return Paths.get(path).toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * Appends a row to the CSV file. A line break is added after the row.
+     * @param row Row to append, with all its fields already escaped
+     */
+    public synchronized void writeRow(String row) {
+        try {
+            if (writer == null)
+                writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(path, true), Charset.defaultCharset()), BUFFER_SIZE);
+            writer.write(row);
+            writer.write('\n');
+        } catch (IOException e) {
+            logger.error("The line could not be written to the CSV: {}", path);
+            logger.error("Exception: ", e);
+        }
+    }
+
+    /**
+     * Appends several rows to the CSV file, one after the other. Rows appended by other
+     * threads at the same time are not interleaved with them.
+     * @param rows Rows to append
+     */
+    public synchronized void writeRows(Collection<String> rows) {
+        rows.forEach(this::writeRow);
+    }
+
+    /**
+     * Writes all pending rows to the CSV file.
+     */
+    public synchronized void flush() {
+        if (writer == null)
+            return;
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            logger.error("The CSV could not be flushed: {}", path);
+            logger.error("Exception: ", e);
+        }
+    }
+
+    /**
+     * Writes all pending rows to the CSV file and closes it. The sink can still be
+     * used afterwards, in which case the file is opened again.
+     */
+    @Override
+    public synchronized void close() {
+        if (writer == null)
+            return;
+        try {
+            writer.close();
+        } catch (IOException e) {
+            logger.error("The CSV could not be closed: {}", path);
+            logger.error("Exception: ", e);
+        } finally {
+            writer = null;
+        }
+    }
+}
@@ -3,14 +3,32 @@ package es.us.isa.restest.util;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
 import javax.tools.JavaCompiler;
 import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
 import javax.tools.StandardJavaFileManager;
 import javax.tools.StandardLocation;
 import javax.tools.ToolProvider;
@@ -23,6 +41,13 @@ public class ClassLoader {
 
 	private static final Logger logger = LogManager.getLogger(ClassLoader.class.getName());
 
+	private static final int COMPILATION_THREADS = Runtime.getRuntime().availableProcessors();	// Maximum number of classes compiled in parallel
+
+	private static final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();	// System Java compiler, shared by all compilations
+	private static final BlockingQueue<StandardJavaFileManager> idleFileManagers =		// File managers of the compiler not in use, reused by later in-memory compilations
+			new ArrayBlockingQueue<>(COMPILATION_THREADS);
+	private static final ExecutorService compilationExecutor = createCompilationExecutor();	// Long-lived pool compiling several classes in parallel
+
 	public static Class<?> loadClass(String filePath, String className) {
 		File sourceFile = new File(filePath);
 		Class<?> loadedClass= null;
@@ -51,6 +76,112 @@ public class ClassLoader {
 		return loadedClass;
 	}
 
+	/**
+	 * Compiles a class from its source code and loads it, without writing any file to disk.
+	 * The compiled classes are kept in memory, in a class loader that is discarded along
+	 * with the loaded class. The compiler and its file managers are reused among calls, so that
+	 * the classpath is not scanned on every compilation. Classes may be compiled concurrently
+	 * from different threads, each compilation using a file manager of its own.
+	 * @param className Fully qualified name of the class
+	 * @param source Source code of the class
+	 * @return the loaded class, or null if it could not be compiled
+	 */
+	public static Class<?> loadClassFromSource(String className, String source) {
+		Class<?> loadedClass = null;
+		StandardJavaFileManager fileManager = null;
+
+		try {
+			fileManager = acquireFileManager();
+			InMemoryFileManager inMemoryFileManager = new InMemoryFileManager(fileManager);
+			JavaFileObject compilationUnit = new SourceFileObject(className, source);
+			if (!compiler.getTask(null, inMemoryFileManager, null, null, null, Collections.singletonList(compilationUnit)).call()) {
+				logger.error("Error compiling class {}", className);
+				return null;
+			}
+
+			// Load the compiled class
+			loadedClass = new InMemoryClassLoader(inMemoryFileManager.classes).loadClass(className);
+		} catch (ClassNotFoundException e) {
+			logger.error("Class not found");
+			logger.error("Exception: ", e);
+		} catch (NullPointerException e) {
+			logger.error("Error loading class. Make sure JDK is used");
+			logger.error("Exception: ", e);
+		} finally {
+			if (fileManager != null)
+				releaseFileManager(fileManager);
+		}
+
+		return loadedClass;
+	}
+
+	/**
+	 * Compiles and loads several independent classes from their source code, in parallel.
+	 * The compilations run on a pool of daemon threads shared by all calls.
+	 * Each class is compiled on its own, so they must not depend on each other.
+	 * @param sources Source code of each class, by fully qualified name of the class
+	 * @return the loaded classes, in the same order as the sources, or null if any of them could not be compiled
+	 */
+	public static List<Class<?>> loadClassesFromSources(Map<String, String> sources) {
+		if (sources.size() == 1) {
+			Map.Entry<String, String> source = sources.entrySet().iterator().next();
+			Class<?> loadedClass = loadClassFromSource(source.getKey(), source.getValue());
+			return loadedClass != null ? Collections.singletonList(loadedClass) : null;
+		}
+
+		List<Future<Class<?>>> compilations = new ArrayList<>();
+		try {
+			for (Map.Entry<String, String> source: sources.entrySet())
+				compilations.add(compilationExecutor.submit(() -> loadClassFromSource(source.getKey(), source.getValue())));
+
+			List<Class<?>> loadedClasses = new ArrayList<>();
+			for (Future<Class<?>> compilation: compilations) {
+				Class<?> loadedClass = compilation.get();
+				if (loadedClass == null)
+					return null;
+				loadedClasses.add(loadedClass);
+			}
+			return loadedClasses;
+		} catch (ExecutionException e) {
+			logger.error("Error loading classes");
+			logger.error("Exception: ", e);
+			return null;
+		} catch (InterruptedException e) {
+			logger.error("Interrupted while loading classes");
+			Thread.currentThread().interrupt();
+			return null;
+		} finally {
+			for (Future<Class<?>> compilation: compilations)
+				compilation.cancel(false);	// Skip the pending compilations if some of them failed
+		}
+	}
+
+	// Reuses an idle file manager, or creates a new one if all of them are in use
+	private static StandardJavaFileManager acquireFileManager() {
+		StandardJavaFileManager fileManager = idleFileManagers.poll();
+		return fileManager != null ? fileManager : compiler.getStandardFileManager(null, null, null);
+	}
+
+	// Keeps a file manager for later compilations, or closes it if there are enough idle file managers already
+	private static void releaseFileManager(StandardJavaFileManager fileManager) {
+		if (!idleFileManagers.offer(fileManager)) {
+			try {
+				fileManager.close();
+			} catch (IOException e) {
+				logger.warn("Error closing the file manager of the compiler: {}", e.getMessage());
+			}
+		}
+	}
+
+	private static ExecutorService createCompilationExecutor() {
+		AtomicInteger threadCount = new AtomicInteger();
+		return Executors.newFixedThreadPool(COMPILATION_THREADS, r -> {
+			Thread thread = new Thread(r, "restest-compiler-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);	// Idle compilation threads must not keep the JVM alive
+			return thread;
+		});
+	}
+
 	private static Class<?> loadClass(File parentDirectory, String className) {
 		Class<?> loadedClass= null;
 		try(URLClassLoader classLoader = URLClassLoader.newInstance(new URL[] { parentDirectory.toURI().toURL() })) {
@@ -65,4 +196,75 @@ public class ClassLoader {
 
 		return loadedClass;
 	}
+
+	// Source code of a class, read from memory
+	private static class SourceFileObject extends SimpleJavaFileObject {
+		private final String source;
+
+		private SourceFileObject(String className, String source) {
+			super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+			this.source = source;
+		}
+
+		@Override
+		public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+			return source;
+		}
+	}
+
+	// Bytecode of a class, written to memory
+	private static class ClassFileObject extends SimpleJavaFileObject {
+		private final ByteArrayOutputStream bytecode = new ByteArrayOutputStream();
+
+		private ClassFileObject(String className) {
+			super(URI.create("bytes:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+		}
+
+		@Override
+		public OutputStream openOutputStream() {
+			return bytecode;
+		}
+	}
+
+	// File manager writing the compiled classes to memory. Everything else is delegated to the shared file manager
+	private static class InMemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+		private final Map<String, ClassFileObject> classes = new HashMap<>();
+
+		private InMemoryFileManager(StandardJavaFileManager fileManager) {
+			super(fileManager);
+		}
+
+		@Override
+		public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) throws IOException {
+			if (kind != JavaFileObject.Kind.CLASS)
+				return super.getJavaFileForOutput(location, className, kind, sibling);
+			ClassFileObject classFile = new ClassFileObject(className);
+			classes.put(className, classFile);
+			return classFile;
+		}
+
+		@Override
+		public void close() {
+			// The underlying file manager is reused, so it is closed when it is discarded
+		}
+	}
+
+	// Class loader of the classes compiled in memory (the test class and its nested classes, if any)
+	private static class InMemoryClassLoader extends java.lang.ClassLoader {
+		private final Map<String, ClassFileObject> classes;
+
+		private InMemoryClassLoader(Map<String, ClassFileObject> classes) {
+			super(ClassLoader.class.getClassLoader());
+			this.classes = classes;
+		}
+
+		@Override
+		protected Class<?> findClass(String name) throws ClassNotFoundException {
+			ClassFileObject classFile = classes.get(name);
+			if (classFile == null)
+				return super.findClass(name);
+			byte[] bytecode = classFile.bytecode.toByteArray();
+			return defineClass(name, bytecode, 0, bytecode.length);
+		}
+	}
 }
@@ -32,6 +32,7 @@ public class FileManager {
     }
 
     public static Boolean deleteFile(String path) {
+        CSVSink.close(path);
         File file = new File(path);
         return file.delete();
     }
@@ -45,6 +46,7 @@ public class FileManager {
     }
 
     public static void deleteDir(String path) {
+        CSVSink.closeAll(path);
         File file = new File(path);
         try {
             FileUtils.deleteDirectory(file);
@@ -55,6 +57,7 @@ public class FileManager {
     }
 
     public static String readFile(String path) {
+        CSVSink.flush(path);
         try {
             return new String(Files.readAllBytes(Paths.get(path)));
         } catch (IOException e) {
@@ -64,6 +67,8 @@ public class FileManager {
     }
 
     public static void copyFile(String source, String destination) throws IOException {
+        CSVSink.flush(source);
+        CSVSink.close(destination);
         Files.copy(Paths.get(source), Paths.get(destination), StandardCopyOption.REPLACE_EXISTING);
     }
 
@@ -73,6 +78,7 @@ public class FileManager {
      * @param data the text to be written
      */
     public static void writeFile(String path, String data) {
+        CSVSink.close(path);
         try {
             Files.write(Paths.get(path), Collections.singleton(data));
         } catch (IOException e) {
@@ -19,6 +19,14 @@ public class IDGenerator {
 	 * @return a short ID (13 characters)
 	 */
 	public static String generateId() {
+		return generateId(rand);
+	}
+
+	/**
+	 * @param rand Random generator used to generate the ID (e.g., a seeded one, to reproduce the IDs)
+	 * @return a short ID (13 characters)
+	 */
+	public static String generateId(Random rand) {
 		byte[] bytes = new byte[16];
 		rand.nextBytes(bytes);
 		UUID uuid = UUID.nameUUIDFromBytes(bytes);
@@ -19,7 +19,7 @@ public class IDLAdapter {
 
     public static void idl2restestTestCase(TestCase tc, Map<String, String> request, Operation testOperation) {
         for (Map.Entry<String, String> parameter: request.entrySet()) {
-            TestParameter testParameter = searchTestParameter(parameter.getKey(), testOperation.getTestParameters());
+            TestParameter testParameter = searchTestParameter(parameter.getKey(), testOperation);
             tc.addParameter(testParameter, parameter.getValue());
         }
     }
@@ -9,44 +9,30 @@ import com.atlassian.oai.validator.OpenApiInteractionValidator;
 import com.atlassian.oai.validator.whitelist.ValidationErrorsWhitelist;
 
 import es.us.isa.restest.specification.OpenAPISpecification;
+import es.us.isa.restest.specification.OpenAPISpecificationRegistry;
 
 public class OASAPIValidator {
 
-	private static OpenApiInteractionValidator validator;						// OAS validator
-	private static OpenAPISpecification spec = null;							// OAS specification
+	// Test case validator:
+	// Whitelist: Fix for swagger-validation library: formData parameters defined as string should not
+	// violate the schema when using numbers or booleans, since those are still strings.
+	private static final ValidationErrorsWhitelist whitelist = ValidationErrorsWhitelist.create()
+			.withRule(
+					"Ignore non-strings for string-type formData parameters",
+					allOf(
+							headerContainsSubstring("Content-Type", "application/x-www-form-urlencoded"),
+							messageHasKey("validation.request.body.schema.type"),
+							messageContainsSubstring("does not match any allowed primitive type (allowed: [\"string\"])")
+					)
+			);
 	
-	private static OASAPIValidator instance = null;							// Singleton object
 	
-	
-	private OASAPIValidator(OpenAPISpecification spec) {
-		
-		this.spec = spec;
-		
-		// Test case validator:
-		// Whitelist: Fix for swagger-validation library: formData parameters defined as string should not
-		// violate the schema when using numbers or booleans, since those are still strings.
-		ValidationErrorsWhitelist whitelist = ValidationErrorsWhitelist.create()
-				.withRule(
-						"Ignore non-strings for string-type formData parameters",
-						allOf(
-								headerContainsSubstring("Content-Type", "application/x-www-form-urlencoded"),
-								messageHasKey("validation.request.body.schema.type"),
-								messageContainsSubstring("does not match any allowed primitive type (allowed: [\"string\"])")
-						)
-				);
-		this.validator = OpenApiInteractionValidator.createFor(spec.getPath()).withWhitelist(whitelist).build();
-	}
+	private OASAPIValidator() {}
 	
 	
+	// The validator of each specification is built once and shared through the registry, so it can be used by concurrent generators
 	public static OpenApiInteractionValidator getValidator(OpenAPISpecification oas) {
-		
-		if (instance==null || !spec.equals(oas)) {
-			spec = oas;
-			instance = new OASAPIValidator(oas);
-		}
-		
-		return validator;
-		
+		return OpenAPISpecificationRegistry.getValidator(oas.getPath(), whitelist);
 	}
 	
 }
@@ -2,6 +2,7 @@ package es.us.isa.restest.util;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.MapMaker;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.media.ArraySchema;
 import io.swagger.v3.oas.models.media.Schema;
@@ -9,10 +10,14 @@ import io.swagger.v3.oas.models.media.Schema;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.OffsetDateTime;
-import java.util.Arrays;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class SchemaManager {
 
@@ -20,31 +25,23 @@ public class SchemaManager {
         Swagger definitions may contain cycle references, i.e., A points to B, and
         B (eventually) points to A. In these cases, we cannot represent the whole
         object, e.g., A->B->A, so we represent A->B->{} (empty object without properties).
-        To achieve this, we need to keep track of the references, which is the purpose
-        of the currentRefPath.
+        To achieve this, we need to keep track of the references being resolved, which
+        is the purpose of the refPath. It is local to each resolution, so schemas can be
+        resolved concurrently.
+
+        Resolving a schema means walking and copying its whole graph of references, so the
+        fully resolved schemas of the references (e.g., "#/components/schemas/Pet") are cached
+        per specification. These schemas are shared, so they must not be modified: callers that
+        need to modify them must use a copy (see generateFullyResolvedSchema). Specifications are
+        compared by identity (OpenAPI.equals compares the whole specification), and they are not
+        retained by the cache (weak keys).
      */
-    private static String currentRefPath = "";
+    private static final ConcurrentMap<OpenAPI, Map<String, Schema<?>>> resolvedSchemas = new MapMaker().weakKeys().makeMap();
 
     private SchemaManager() {}
 
     public static Schema<?> generateFullyResolvedObjectSchema(Schema<?> schema, OpenAPI spec) {
-        Schema<?> resolvedSchema = resolveSchemaAndUpdateRefPath(schema, spec);
-        Schema copy = new Schema();
-
-        prePopulateSchema(resolvedSchema, copy);
-
-        Map<String, Schema> properties = null;
-        if (resolvedSchema.getProperties() != null) {
-            properties = new HashMap<>();
-
-            for (Map.Entry<String, Schema> entry: resolvedSchema.getProperties().entrySet()) {
-                Schema<?> entryResolvedSchema = generateFullyResolvedSchema(entry.getValue(), spec);
-                properties.put(entry.getKey(), entryResolvedSchema);
-            }
-        }
-        copy.setProperties(properties);
-
-        return copy;
+        return copySchema(resolveObjectSchema(schema, spec, new ArrayDeque<>()));
     }
 
     /**
@@ -52,33 +49,44 @@ public class SchemaManager {
      * <br>
      * <br>
      * Given a schema, it generates a duplicate with all properties resolved (i.e.,
-     * without "ref" attributes).
+     * without "ref" attributes). The duplicate can be freely modified.
      */
     public static Schema<?> generateFullyResolvedSchema(Schema<?> schema, OpenAPI spec) {
-        Schema<?> resolvedSchema = resolveSchemaAndUpdateRefPath(schema, spec);
-        Schema<?> fullyResolvedSchema;
-        if ("array".equals(resolvedSchema.getType()))
-            fullyResolvedSchema = generateFullyResolvedArraySchema((ArraySchema) resolvedSchema, spec);
-        else
-            fullyResolvedSchema = generateFullyResolvedObjectSchema(resolvedSchema, spec);
-
-        if (schema.get$ref() != null) {
-            String schemaSubRef = schema.get$ref().replace("#/components/schemas", "");
-            currentRefPath = currentRefPath.replaceAll(schemaSubRef + "/.*", "");
-            currentRefPath = currentRefPath.replaceAll(schemaSubRef + "$", "");
-        }
+        return copySchema(getFullyResolvedSchema(schema, spec));
+    }
 
-        return fullyResolvedSchema;
+    /**
+     * Given a schema, it returns the schema with all properties resolved (i.e., without
+     * "ref" attributes). The schemas of the references are resolved only once per specification,
+     * so the schema returned (or part of it) is shared and <b>must not be modified</b>. Use
+     * {@link #generateFullyResolvedSchema(Schema, OpenAPI)} to get a copy that can be modified.
+     */
+    public static Schema<?> getFullyResolvedSchema(Schema<?> schema, OpenAPI spec) {
+        return resolveFullSchema(schema, spec, new ArrayDeque<>());
     }
 
     public static ArraySchema generateFullyResolvedArraySchema(ArraySchema schema, OpenAPI spec) {
-        ArraySchema resolvedSchema = (ArraySchema) resolveSchemaAndUpdateRefPath(schema, spec);
-        ArraySchema copy = new ArraySchema();
-
-        prePopulateSchema(resolvedSchema, copy);
+        return (ArraySchema) copySchema(resolveArraySchema(schema, spec, new ArrayDeque<>()));
+    }
 
-        Schema<?> itemsSchema = generateFullyResolvedSchema(resolvedSchema.getItems(), spec);
-        copy.setItems(itemsSchema);
+    /**
+     * Given a fully resolved schema, it generates a deep copy of it, i.e., the properties
+     * and items are also copied, so it can be modified without affecting the original schema.
+     */
+    public static Schema<?> copySchema(Schema<?> schema) {
+        Schema<?> copy = schema instanceof ArraySchema ? new ArraySchema() : new Schema<>();
+        prePopulateSchema(schema, copy);
+        if (schema.getRequired() != null)
+            copy.setRequired(new ArrayList<>(schema.getRequired()));
+
+        if (schema instanceof ArraySchema)
+            ((ArraySchema) copy).setItems(copySchema(((ArraySchema) schema).getItems()));
+        else if (schema.getProperties() != null) {
+            Map<String, Schema> properties = new HashMap<>();
+            for (Map.Entry<String, Schema> entry: schema.getProperties().entrySet())
+                properties.put(entry.getKey(), copySchema(entry.getValue()));
+            copy.setProperties(properties);
+        }
 
         return copy;
     }
@@ -132,21 +140,73 @@ public class SchemaManager {
         return resolvedSchema;
     }
 
-    private static Schema<?> resolveSchemaAndUpdateRefPath(Schema<?> schema, OpenAPI spec) {
-        Schema resolvedSchema = schema;
-        String schemaSubRef;
-        while (resolvedSchema.get$ref() != null) {
-            schemaSubRef = resolvedSchema.get$ref().replace("#/components/schemas/", "");
-            if (!Pattern.compile("/" + schemaSubRef + "/|/" + schemaSubRef + "$").matcher(currentRefPath).find()) {
-                currentRefPath += "/" + schemaSubRef;
-                resolvedSchema = spec.getComponents().getSchemas().get(schemaSubRef);
+    private static Schema<?> resolveFullSchema(Schema<?> schema, OpenAPI spec, Deque<String> refPath) {
+        if (schema.get$ref() == null || !refPath.isEmpty())
+            return resolveSchemaAndUpdateRefPath(schema, spec, refPath, false);
+
+        // The resolution of a reference outside any other reference is always the same, so it is cached
+        Map<String, Schema<?>> specResolvedSchemas = getResolvedSchemas(spec);
+        Schema<?> fullyResolvedSchema = specResolvedSchemas.get(schema.get$ref());
+        if (fullyResolvedSchema == null) {
+            fullyResolvedSchema = resolveSchemaAndUpdateRefPath(schema, spec, refPath, false);
+            Schema<?> previous = specResolvedSchemas.putIfAbsent(schema.get$ref(), fullyResolvedSchema);
+            if (previous != null)
+                fullyResolvedSchema = previous;
+        }
+        return fullyResolvedSchema;
+    }
+
+    private static Schema<?> resolveObjectSchema(Schema<?> schema, OpenAPI spec, Deque<String> refPath) {
+        return resolveSchemaAndUpdateRefPath(schema, spec, refPath, true);
+    }
+
+    private static ArraySchema resolveArraySchema(ArraySchema schema, OpenAPI spec, Deque<String> refPath) {
+        return (ArraySchema) resolveSchemaAndUpdateRefPath(schema, spec, refPath, false);
+    }
+
+    // Resolve the schema, its properties and items, adding its references to the refPath while they are resolved
+    private static Schema<?> resolveSchemaAndUpdateRefPath(Schema<?> schema, OpenAPI spec, Deque<String> refPath, boolean asObject) {
+        int refPathSize = refPath.size();
+        Schema<?> resolvedSchema = schema;
+        while (resolvedSchema != null && resolvedSchema.get$ref() != null) {
+            String schemaSubRef = resolvedSchema.get$ref().replace("#/components/schemas/", "");
+            if (refPath.contains(schemaSubRef)) {
+                resolvedSchema = null;
             } else {
-                resolvedSchema.set$ref(null);
-                resolvedSchema.setType("object");
-                resolvedSchema.setProperties(new HashMap<>());
+                refPath.push(schemaSubRef);
+                resolvedSchema = spec.getComponents().getSchemas().get(schemaSubRef);
             }
         }
-        return resolvedSchema;
+
+        Schema<?> fullyResolvedSchema;
+        if (resolvedSchema == null) { // Cycle reference: empty object
+            fullyResolvedSchema = new Schema<>();
+            fullyResolvedSchema.setType("object");
+            fullyResolvedSchema.setProperties(Collections.emptyMap());
+        } else if (!asObject && "array".equals(resolvedSchema.getType())) {
+            fullyResolvedSchema = new ArraySchema();
+            prePopulateSchema(resolvedSchema, fullyResolvedSchema);
+            ((ArraySchema) fullyResolvedSchema).setItems(resolveFullSchema(((ArraySchema) resolvedSchema).getItems(), spec, refPath));
+        } else {
+            fullyResolvedSchema = new Schema<>();
+            prePopulateSchema(resolvedSchema, fullyResolvedSchema);
+            if (resolvedSchema.getProperties() != null) {
+                Map<String, Schema> properties = new HashMap<>();
+                for (Map.Entry<String, Schema> entry: resolvedSchema.getProperties().entrySet())
+                    properties.put(entry.getKey(), resolveFullSchema(entry.getValue(), spec, refPath));
+                fullyResolvedSchema.setProperties(Collections.unmodifiableMap(properties));
+            }
+        }
+
+        while (refPath.size() > refPathSize)
+            refPath.pop();
+
+        return fullyResolvedSchema;
+    }
+
+    // Fully resolved schemas of the references of a specification
+    private static Map<String, Schema<?>> getResolvedSchemas(OpenAPI spec) {
+        return resolvedSchemas.computeIfAbsent(spec, s -> new ConcurrentHashMap<>());
     }
 
     public static JsonNode createValueNode(Object value, ObjectMapper mapper) {
@@ -7,17 +7,20 @@ import org.apache.logging.log4j.LogManager;
 
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import static java.net.URLDecoder.decode;
 
-import static es.us.isa.restest.util.CSVManager.readCSV;
+import static es.us.isa.restest.util.CSVManager.streamCSV;
 
 /**
  * This class allows to populate a List of TestResult objects given
- * the path of a CSV containing the test results
+ * the path of a CSV containing the test results. CSV files are read
+ * lazily, so only the rows requested are kept in memory
  */
 public class TestManager {
 
@@ -32,13 +35,9 @@ public class TestManager {
      * @return Collection of TestResult objects
      */
     public static List<TestResult> getTestResults(String csvPath) {
-        List<List<String>> csvRows = readCSV(csvPath, false);
-        List<TestResult> testResults = new ArrayList<>();
-        for (List<String> csvRow: csvRows) {
-            TestResult tr = new TestResult(csvRow.get(0), csvRow.get(1), csvRow.get(2), csvRow.get(3), Boolean.parseBoolean(csvRow.get(4)), csvRow.get(5));
-            testResults.add(tr);
+        try (Stream<TestResult> testResults = streamTestResults(csvPath)) {
+            return testResults.collect(Collectors.toList());
         }
-        return testResults;
     }
 
     /**
@@ -46,32 +45,44 @@ public class TestManager {
      * @param csvPath Path to the CSV file. It must contain the header
      *                "testResultId,statusCode,responseBody,outputContentType"
      * @param startRow First row to retrieve
-     * @param stopRow Last row to retrieve
+     * @param stopRow Last row to retrieve (exclusive). The rows after it are not read
      * @return Collection of TestResult objects
      */
     public static List<TestResult> getTestResults(String csvPath, Integer startRow, Integer stopRow) {
-        List<List<String>> csvRows = readCSV(csvPath, false);
         int start = startRow != null ? startRow : 0;
-        int stop = stopRow != null ? stopRow : csvRows.size();
 
-        List<TestResult> testResults = new ArrayList<>();
-        for (int i=start; i<stop; i++) {
-            TestResult tr = new TestResult(csvRows.get(i).get(0), csvRows.get(i).get(1), csvRows.get(i).get(2), csvRows.get(i).get(3), Boolean.parseBoolean(csvRows.get(i).get(4)), csvRows.get(i).get(5));
-            testResults.add(tr);
+        try (Stream<List<String>> csvRows = streamCSV(csvPath, false)) {
+            Stream<List<String>> rangeRows = csvRows.skip(start);
+            if (stopRow != null)
+                rangeRows = rangeRows.limit(Math.max(0, stopRow - start));
+            return rangeRows.map(TestManager::csvRowToTestResult).collect(Collectors.toList());
         }
+    }
 
-        return testResults;
+    /**
+     * Returns a lazy stream with the test results of a CSV file. The stream must be closed
+     * after use (e.g., with a try-with-resources statement)
+     * @param csvPath Path to the CSV file. It must contain the header
+     *                "testResultId,statusCode,responseBody,outputContentType"
+     * @return Stream of TestResult objects
+     */
+    public static Stream<TestResult> streamTestResults(String csvPath) {
+        return streamCSV(csvPath, false).map(TestManager::csvRowToTestResult);
     }
 
     /**
      *
      * @param csvPath Path to the CSV file. It must contain the header
      *                "testResultId,statusCode,responseBody,outputContentType"
-     * @return Last TestResult object added to the CSV file
+     * @return Last TestResult object added to the CSV file, or null if there is none. Only the
+     * last row is kept in memory while the file is read
      */
     public static TestResult getLastTestResult(String csvPath) {
-        List<List<String>> csvRows = readCSV(csvPath, false);
-        return new TestResult(csvRows.get(csvRows.size()-1).get(0), csvRows.get(csvRows.size()-1).get(1), csvRows.get(csvRows.size()-1).get(2), csvRows.get(csvRows.size()-1).get(3));
+        try (Stream<List<String>> csvRows = streamCSV(csvPath, false)) {
+            return csvRows.reduce((previousRow, row) -> row)
+                    .map(csvRow -> new TestResult(csvRow.get(0), csvRow.get(1), csvRow.get(2), csvRow.get(3)))
+                    .orElse(null);
+        }
     }
 
     /**
@@ -83,22 +94,40 @@ public class TestManager {
      * @return Collection of TestCase objects
      */
     public static List<TestCase> getTestCases(String csvPath) {
-        List<List<String>> csvRows = readCSV(csvPath, false);
-        List<TestCase> testCases = new ArrayList<>();
-        for(List<String> csvRow: csvRows) {
-            TestCase tc = new TestCase(csvRow.get(0), Boolean.parseBoolean(csvRow.get(1)), csvRow.get(4),
-                    csvRow.get(5), HttpMethod.valueOf(csvRow.get(6)));
-            tc.setFaultyReason(csvRow.get(2));
-            tc.setFulfillsDependencies(Boolean.parseBoolean(csvRow.get(3)));
-            tc.setInputFormat(csvRow.get(7));
-            tc.setBodyParameter(csvRow.get(13).equals("") ? null : csvRow.get(13));
-            tc.setPathParameters(stringParamsToMap(csvRow.get(10)));
-            tc.setQueryParameters(stringParamsToMap(csvRow.get(11)));
-            tc.setHeaderParameters(stringParamsToMap(csvRow.get(9)));
-            tc.setFormParameters(stringParamsToMap(csvRow.get(12)));
-            testCases.add(tc);
+        try (Stream<TestCase> testCases = streamTestCases(csvPath)) {
+            return testCases.collect(Collectors.toList());
         }
-        return testCases;
+    }
+
+    /**
+     * Returns a lazy stream with the test cases of a CSV file. The stream must be closed
+     * after use (e.g., with a try-with-resources statement)
+     * @param csvPath Path to the CSV file. It must contain the header
+     *                "testCaseId,faulty,operationId,path,httpMethod,inputContentType,outputContentType,
+     *                headerParameters,pathParameters,queryParameters,formParameters,bodyParameter,
+     *                authentication,expectedOutputs,expectedSuccessfulOutput"
+     * @return Stream of TestCase objects
+     */
+    public static Stream<TestCase> streamTestCases(String csvPath) {
+        return streamCSV(csvPath, false).map(TestManager::csvRowToTestCase);
+    }
+
+    private static TestResult csvRowToTestResult(List<String> csvRow) {
+        return new TestResult(csvRow.get(0), csvRow.get(1), csvRow.get(2), csvRow.get(3), Boolean.parseBoolean(csvRow.get(4)), csvRow.get(5));
+    }
+
+    private static TestCase csvRowToTestCase(List<String> csvRow) {
+        TestCase tc = new TestCase(csvRow.get(0), Boolean.parseBoolean(csvRow.get(1)), csvRow.get(4),
+                csvRow.get(5), HttpMethod.valueOf(csvRow.get(6)));
+        tc.setFaultyReason(csvRow.get(2));
+        tc.setFulfillsDependencies(Boolean.parseBoolean(csvRow.get(3)));
+        tc.setInputFormat(csvRow.get(7));
+        tc.setBodyParameter(csvRow.get(13).equals("") ? null : csvRow.get(13));
+        tc.setPathParameters(stringParamsToMap(csvRow.get(10)));
+        tc.setQueryParameters(stringParamsToMap(csvRow.get(11)));
+        tc.setHeaderParameters(stringParamsToMap(csvRow.get(9)));
+        tc.setFormParameters(stringParamsToMap(csvRow.get(12)));
+        return tc;
     }
 
     private static Map<String, String> stringParamsToMap(String stringParameters) {
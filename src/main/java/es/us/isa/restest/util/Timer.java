@@ -6,17 +6,21 @@ import static es.us.isa.restest.util.CSVManager.createCSVwithHeader;
 import static es.us.isa.restest.util.CSVManager.writeCSVRow;
 import static es.us.isa.restest.util.FileManager.checkIfExists;
 
+/**
+ * Time measures of the steps of the process. Measures may be taken from several threads (e.g., in the
+ * pipelined workflow), so the counters are only accessed while holding the lock of this class.
+ */
 public class Timer {
 
     private static Map<String, List<Long>> counters = new HashMap<>();
 
-    public static Map<String, List<Long>> getCounters() {
+    public static synchronized Map<String, List<Long>> getCounters() {
         return counters;
     }
 
-    public static void resetCounters() { counters = new HashMap<>(); }
+    public static synchronized void resetCounters() { counters = new HashMap<>(); }
 
-    public static void startCounting(TestStep step) {
+    public static synchronized void startCounting(TestStep step) {
         counters.putIfAbsent(step.name, new ArrayList<>());
         List<Long> stepMeasures = counters.get(step.name);
         if (stepMeasures.size() > 0 && stepMeasures.get(stepMeasures.size()-1) < 0)
@@ -25,13 +29,22 @@ public class Timer {
         stepMeasures.add(-new Date().getTime());
     }
 
-    public static void stopCounting(TestStep step) {
+    public static synchronized void stopCounting(TestStep step) {
         Long stopTime = new Date().getTime();
         List<Long> stepMeasures = counters.get(step.name);
         stepMeasures.set(stepMeasures.size()-1, stopTime+stepMeasures.get(stepMeasures.size()-1));
     }
 
-    public static void exportToCSV(String path, Integer iterations) {
+    /**
+     * Adds a measure (in milliseconds) to the counter of a step, for steps whose time is accumulated
+     * by other components instead of being measured with {@link #startCounting(TestStep)} and
+     * {@link #stopCounting(TestStep)}
+     */
+    public static synchronized void addMeasure(TestStep step, long time) {
+        counters.computeIfAbsent(step.name, k -> new ArrayList<>()).add(time);
+    }
+
+    public static synchronized void exportToCSV(String path, Integer iterations) {
         if (!checkIfExists(path)) { // If the file doesn't exist, create it (only once)
             StringBuilder header = new StringBuilder();
             boolean first = true;
@@ -76,6 +89,9 @@ public class Timer {
         TEST_CASE_GENERATION("Test case generation"),
         TEST_SUITE_GENERATION("Test suite generation"),
         TEST_SUITE_EXECUTION("Test suite execution"),
+        TEST_CLASS_COMPILATION("Test class compilation"),
+        IDL_REASONER_SOLVING("IDLReasoner solving"),
+        IDL_REASONER_DATA_REFRESH("IDLReasoner data refresh"),
         ALL("Whole process");
 
         private String name;
@@ -1,14 +1,27 @@
 package es.us.isa.restest.writers.restassured;
 
+import java.io.BufferedWriter;
+import java.io.File;
 import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.regex.Pattern;
 
 import es.us.isa.restest.configuration.pojos.TestConfigurationObject;
 import es.us.isa.restest.specification.OpenAPISpecification;
+import es.us.isa.restest.specification.OpenAPISpecificationRegistry;
 import es.us.isa.restest.testcases.TestCase;
 import es.us.isa.restest.writers.IWriter;
 import io.swagger.v3.oas.models.PathItem.HttpMethod;
+import org.apache.commons.io.output.StringBuilderWriter;
+import org.apache.commons.io.output.TeeWriter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -18,7 +31,9 @@ import static es.us.isa.restest.util.FileManager.checkIfExists;
 import static org.apache.commons.lang3.StringEscapeUtils.escapeJava;
 
 /** This class defines a test writer for the REST Assured framework. It creates a Java class with JUnit test cases
- * ready to be executed.
+ * ready to be executed. If the number of test cases exceeds the maximum number of test cases per class, they are
+ * split into several classes (named after the test class, followed by "Part" and the number of the class), which
+ * can be compiled independently, and the test class is generated as a JUnit suite running all of them.
  * 
  * @author Sergio Segura &amp; Alberto Martin-Lopez
  *
@@ -44,14 +59,16 @@ public class RESTAssuredWriter implements IWriter {
 	private boolean logToFile;						// If 'true', REST-Assured requests and responses will be logged into external files
 	private boolean statefulFilter;					// If 'true', stateful filter will be used in written classes
 	private String proxy;							// Proxy to use for all requests in format host:port
+	private int maxTestsPerClass = 0;				// Maximum number of test cases per class (0 for writing all of them in a single class)
 
 	private String APIName;							// API name (necessary for folder name of exported data)
+	private Map<String, String> testClassSources;	// Source code of the last test classes written (excluding the suite), by class name
 
 	private static final Logger logger = LogManager.getLogger(RESTAssuredWriter.class.getName());
 	
 	public RESTAssuredWriter(String specPath, String testConfPath, String targetDirJava, String className, String packageName, String baseURI, Boolean logToFile) {
 		this.specPath = specPath;
-		this.spec = new OpenAPISpecification(specPath);
+		this.spec = OpenAPISpecificationRegistry.getSpecification(specPath);
 		this.testConfPath = testConfPath;
 		this.testConf = loadConfiguration(testConfPath, spec);
 		this.targetDirJava = targetDirJava;
@@ -67,37 +84,87 @@ public class RESTAssuredWriter implements IWriter {
 	 */
 	@Override
 	public void write(Collection<TestCase> testCases) {
-		
-		// Initializing content
-		String contentFile = "";
-		
-		// Generating imports
-		contentFile += generateImports(packageName);
-		
-		// Generate className
-		contentFile += generateClassName(className);
-		
-		// Generate attributes
-		contentFile += generateAttributes(specPath);
-		
-		// Generate variables to be used.
-		contentFile += generateSetUp(baseURI);
+		testClassSources = new LinkedHashMap<>();
 
-		// Generate tests
-		int ntest=1;
-		for(TestCase t: testCases)
-			contentFile += generateTest(t,ntest++);
-		
-		// Close class
-		contentFile += "}\n";
-		
-		//Save to file
-		saveToFile(targetDirJava,className,contentFile);
-		
-		/* Test Compile
-		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-		compiler.run(System.in, System.out, System.err, TEST_LOCATION + this.specification.getInfo().getTitle().replaceAll(" ", "") + "Test.java");
-		*/
+		// Remove the parts written previously for this class, if any
+		deleteTestClassParts();
+
+		if (maxTestsPerClass <= 0 || testCases.size() <= maxTestsPerClass) {
+			writeTestClass(className, testCases, 1);
+			return;
+		}
+
+		// Split the test cases into several classes, tied together by a suite
+		List<TestCase> testCaseList = new ArrayList<>(testCases);
+		List<String> partClassNames = new ArrayList<>();
+		for (int from = 0; from < testCaseList.size(); from += maxTestsPerClass) {
+			String partClassName = className + "Part" + (partClassNames.size() + 1);
+			writeTestClass(partClassName, testCaseList.subList(from, Math.min(from + maxTestsPerClass, testCaseList.size())), from + 1);
+			partClassNames.add(partClassName);
+		}
+		saveToFile(targetDirJava, className, generateSuite(partClassNames));
+		logger.info("{} test cases written to {} classes run by the suite {}", testCases.size(), partClassNames.size(), className);
+	}
+
+	// Stream the test class to its file, one test method after the other
+	private void writeTestClass(String testClassName, Collection<TestCase> testCases, int firstTest) {
+		StringBuilderWriter source = new StringBuilderWriter();
+		try(Writer testClass = new TeeWriter(new BufferedWriter(new FileWriter(targetDirJava + "/" + testClassName + ".java")), source)) {
+
+			// Generating imports
+			testClass.write(generateImports(packageName));
+
+			// Generate className
+			testClass.write(generateClassName(testClassName));
+
+			// Generate attributes
+			testClass.write(generateAttributes(specPath, testClassName));
+
+			// Generate variables to be used.
+			testClass.write(generateSetUp(baseURI, testClassName));
+
+			// Generate tests
+			int ntest=firstTest;
+			for(TestCase t: testCases)
+				testClass.write(generateTest(t,ntest++));
+
+			// Close class
+			testClass.write("}\n");
+		} catch(IOException ex) {
+			logger.error("Error writing test file");
+			logger.error("Exception: ", ex);
+		}
+
+		testClassSources.put(testClassName, source.toString());
+	}
+
+	private String generateSuite(List<String> partClassNames) {
+		String content = "";
+
+		if (packageName!=null)
+			content += "package " + packageName + ";\n\n";
+
+		content += "import org.junit.runner.RunWith;\n"
+				+  "import org.junit.runners.Suite;\n\n"
+				+  "@RunWith(Suite.class)\n"
+				+  "@Suite.SuiteClasses({\n";
+
+		for (int i = 0; i < partClassNames.size(); i++)
+			content += "\t" + partClassNames.get(i) + ".class" + (i < partClassNames.size() - 1 ? "," : "") + "\n";
+
+		content += "})\n"
+				+  "public class " + className + " {\n"
+				+  "}\n";
+
+		return content;
+	}
+
+	private void deleteTestClassParts() {
+		Pattern partPattern = Pattern.compile(Pattern.quote(className) + "Part\\d+\\.java");
+		File[] parts = new File(targetDirJava).listFiles((dir, name) -> partPattern.matcher(name).matches());
+		if (parts != null)
+			for (File part: parts)
+				part.delete();
 	}
 
 	private String generateImports(String packageName) {
@@ -161,7 +228,7 @@ public class RESTAssuredWriter implements IWriter {
 			 + "public class " + className + " {\n\n";
 	}
 	
-	private String generateAttributes(String specPath) {
+	private String generateAttributes(String specPath, String className) {
 		String content = "";
 		
 //		if (OAIValidation)
@@ -197,7 +264,7 @@ public class RESTAssuredWriter implements IWriter {
 		return content;
 	}
 	
-	private String generateSetUp(String baseURI) {
+	private String generateSetUp(String baseURI, String className) {
 		String content = "";
 
 		content += "\t@BeforeClass\n"
@@ -373,12 +440,21 @@ public class RESTAssuredWriter implements IWriter {
 		String content = "";
 		
 		for(Entry<String,String> param: t.getPathParameters().entrySet())
-			content += "\t\t\t\t.pathParam(\"" + param.getKey() + "\", \"" + escapeJava(param.getValue().replace("{", "")) + "\")\n";
-			// TODO: Once REST-Assured fixes the bug, stop removing "{" chars from path parameters
+			content += "\t\t\t\t.pathParam(\"" + param.getKey() + "\", \"" + escapeJava(sanitizePathParameter(param.getValue())) + "\")\n";
 
 		return content;
 	}
 
+	/**
+	 * Value of a path parameter as it must be passed to REST Assured (used both by the test classes written
+	 * and by {@link es.us.isa.restest.executors.restassured.RESTAssuredExecutor})
+	 * @param value Value of the path parameter
+	 * @return the value without "{" chars, which REST Assured wrongly takes as path parameter templates
+	 */
+	public static String sanitizePathParameter(String value) {
+		return value.replace("{", "");
+	}
+
 	private String generateFormParameters(TestCase t) {
 		String content = "";
 
@@ -475,6 +551,15 @@ public class RESTAssuredWriter implements IWriter {
 		} 
 	}
 
+	/**
+	 * Returns the source code of the last test classes written (a single class, or the parts of the test
+	 * class if it was split), by class name, so that they can be compiled without reading them back from
+	 * disk. The suite running the parts is not included, since the parts can be run directly.
+	 */
+	public Map<String, String> getTestClassSources() {
+		return testClassSources != null ? Collections.unmodifiableMap(testClassSources) : null;
+	}
+
 	public boolean OAIValidation() {
 		return OAIValidation;
 	}
@@ -582,4 +667,12 @@ public class RESTAssuredWriter implements IWriter {
 	public void setProxy(String proxy) {
 		this.proxy = proxy;
 	}
+
+	public int getMaxTestsPerClass() {
+		return maxTestsPerClass;
+	}
+
+	public void setMaxTestsPerClass(int maxTestsPerClass) {
+		this.maxTestsPerClass = maxTestsPerClass;
+	}
 }
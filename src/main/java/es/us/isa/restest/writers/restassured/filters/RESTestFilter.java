@@ -1,6 +1,5 @@
 package es.us.isa.restest.writers.restassured.filters;
 
-import com.google.protobuf.Api;
 import es.us.isa.restest.testcases.TestResult;
 import es.us.isa.restest.util.PropertyManager;
 import io.restassured.response.Response;
@@ -10,16 +9,18 @@ import io.restassured.response.Response;
  * This class implements a method to export a REST-Assured response to a TestResult
  * in CSV. Such method must be called before throwing the exception corresponding
  * to the oracle being violated.
+ *
+ * The data of the test case being executed (test result ID and faulty data) is kept
+ * per thread, so that the same filter can be shared by test cases running concurrently,
+ * as long as each test case updates it and sends its request from the same thread.
  */
 public class RESTestFilter {
 
     protected String APIName;
     protected String testId;
-    protected String testResultId;
 
-    protected Boolean testCaseIsFaulty; // Whether this test case is faulty or not
-    protected Boolean dependenciesFulfilled; // Whether this test case fulfills all inter-parameter dependencies or not
-    protected String faultyReason; // Why the test case is faulty
+    private final TestCaseData defaultTestCaseData = new TestCaseData(); // Data used by threads that did not update it
+    private final ThreadLocal<TestCaseData> testCaseData = ThreadLocal.withInitial(defaultTestCaseData::copy);
 
 
     public RESTestFilter() {
@@ -27,9 +28,9 @@ public class RESTestFilter {
     }
 
     public RESTestFilter(Boolean testCaseIsFaulty, Boolean dependenciesFulfilled, String faultyReason) {
-        this.testCaseIsFaulty = testCaseIsFaulty;
-        this.dependenciesFulfilled = dependenciesFulfilled;
-        this.faultyReason = faultyReason;
+        defaultTestCaseData.testCaseIsFaulty = testCaseIsFaulty;
+        defaultTestCaseData.dependenciesFulfilled = dependenciesFulfilled;
+        defaultTestCaseData.faultyReason = faultyReason;
     }
 
     public RESTestFilter(String APIName) {
@@ -43,30 +44,54 @@ public class RESTestFilter {
         this.APIName = APIName;
     }
 
+    /**
+     * Appends the test result to the CSV file of test results of the current test suite. The
+     * row is buffered in the {@link es.us.isa.restest.util.CSVSink} of the file, which is
+     * shared by all filters and test cases, so it is only written when the sink is flushed.
+     */
     protected void exportTestResultToCSV(Response response, Boolean passed, String failReason) {
         String testDataFile = PropertyManager.readProperty("data.tests.dir") + "/" + APIName + "/" + PropertyManager.readProperty("data.tests.testresults.file") + "_" + testId + ".csv";
-        TestResult tr = new TestResult(testResultId, Integer.toString(response.statusCode()), response.asString(), response.contentType(), passed, failReason);
+        TestResult tr = new TestResult(getTestResultId(), Integer.toString(response.statusCode()), response.asString(), response.contentType(), passed, failReason);
         tr.exportToCSV(testDataFile);
     }
 
     protected void saveTestResultAndThrowException(Response response, String message) {
-        if (APIName != null && testResultId != null)
+        if (APIName != null && getTestResultId() != null)
             exportTestResultToCSV(response, false, message);
         throw new RuntimeException(message);
     }
 
+    /**
+     * Updates the faulty data of the test case being executed by the current thread.
+     */
     public void updateFaultyData(Boolean testCaseIsFaulty, Boolean dependenciesFulfilled, String faultyReason) {
-        this.testCaseIsFaulty = testCaseIsFaulty;
-        this.dependenciesFulfilled = dependenciesFulfilled;
-        this.faultyReason = faultyReason;
+        TestCaseData data = testCaseData.get();
+        data.testCaseIsFaulty = testCaseIsFaulty;
+        data.dependenciesFulfilled = dependenciesFulfilled;
+        data.faultyReason = faultyReason;
+    }
+
+    public Boolean getTestCaseIsFaulty() {
+        return testCaseData.get().testCaseIsFaulty;
+    }
+
+    public Boolean getDependenciesFulfilled() {
+        return testCaseData.get().dependenciesFulfilled;
+    }
+
+    public String getFaultyReason() {
+        return testCaseData.get().faultyReason;
     }
 
     public String getTestResultId() {
-        return testResultId;
+        return testCaseData.get().testResultId;
     }
 
+    /**
+     * Sets the test result ID of the test case being executed by the current thread.
+     */
     public void setTestResultId(String testResultId) {
-        this.testResultId = testResultId;
+        testCaseData.get().testResultId = testResultId;
     }
 
     public String getAPIName() {
@@ -80,4 +105,20 @@ public class RESTestFilter {
     public void setTestId(String testId) {
         this.testId = testId;
     }
+
+    private static class TestCaseData {
+        private String testResultId;
+        private Boolean testCaseIsFaulty;           // Whether this test case is faulty or not
+        private Boolean dependenciesFulfilled;      // Whether this test case fulfills all inter-parameter dependencies or not
+        private String faultyReason;                // Why the test case is faulty
+
+        private TestCaseData copy() {
+            TestCaseData data = new TestCaseData();
+            data.testResultId = testResultId;
+            data.testCaseIsFaulty = testCaseIsFaulty;
+            data.dependenciesFulfilled = dependenciesFulfilled;
+            data.faultyReason = faultyReason;
+            return data;
+        }
+    }
 }
@@ -5,6 +5,7 @@ import com.atlassian.oai.validator.model.Request;
 import com.atlassian.oai.validator.report.ValidationReport;
 import com.atlassian.oai.validator.restassured.RestAssuredRequest;
 import com.atlassian.oai.validator.restassured.RestAssuredResponse;
+import es.us.isa.restest.specification.OpenAPISpecificationRegistry;
 import es.us.isa.restest.util.PropertyManager;
 import io.restassured.filter.FilterContext;
 import io.restassured.filter.OrderedFilter;
@@ -35,7 +36,7 @@ public class ResponseValidationFilter extends RESTestFilter implements OrderedFi
     public ResponseValidationFilter(final String specUrlOrDefinition) {
         requireNonEmpty(specUrlOrDefinition, "A spec is required");
 
-        this.validator = OpenApiInteractionValidator.createFor(specUrlOrDefinition).build();
+        this.validator = OpenAPISpecificationRegistry.getValidator(specUrlOrDefinition);
     }
 
     @Override
@@ -54,7 +55,7 @@ public class ResponseValidationFilter extends RESTestFilter implements OrderedFi
         final ValidationReport validationReport = validator.validateResponse(path, Request.Method.valueOf(method), RestAssuredResponse.of(response));
         if (validationReport.hasErrors()) {
             String errors = "OAS disconformity: " + getMessagesSummary(validationReport);
-            if (APIName != null && testResultId != null)
+            if (APIName != null && getTestResultId() != null)
                 exportTestResultToCSV(response, false, errors);
             throw new RuntimeException(errors);
         }
@@ -1,8 +1,8 @@
 package es.us.isa.restest.writers.restassured.filters;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import es.us.isa.restest.inputs.stateful.StatefulDataStore;
 import io.restassured.filter.FilterContext;
 import io.restassured.filter.OrderedFilter;
 import io.restassured.response.Response;
@@ -11,17 +11,14 @@ import io.restassured.specification.FilterableResponseSpecification;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.File;
 import java.io.IOException;
-import java.util.*;
 
 import static com.atlassian.oai.validator.util.StringUtils.requireNonEmpty;
 
 public class StatefulFilter extends RESTestFilter implements OrderedFilter {
 
     private String specDirPath;
-    private String operationMethod;
-    private String operationPath;
+    private final ThreadLocal<String> operation = new ThreadLocal<>(); // Operation of the test case being executed by each thread
     private ObjectMapper objectMapper;
 
     private static final Logger logger = LogManager.getLogger(StatefulFilter.class.getName());
@@ -37,17 +34,9 @@ public class StatefulFilter extends RESTestFilter implements OrderedFilter {
     public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
         Response response = ctx.next(requestSpec, responseSpec);
         if (response.getStatusCode() < 400) {
-            File jsonFile = new File(this.specDirPath + '/' + "stateful_data.json");
-            String body = response.getBody().asString();
-            Map<String, Map<String, List<JsonNode>>> allValues = new HashMap<>();
-
             try {
-                if (jsonFile.exists())
-                    allValues = objectMapper.readValue(jsonFile, new TypeReference<Map<String, Map<String, List<JsonNode>>>>() {});
-                allValues.putIfAbsent(operationMethod + operationPath, new HashMap<>());
-                JsonNode bodyNode = objectMapper.readTree(body);
-                addResponseBodyValues(allValues.get(operationMethod + operationPath), bodyNode, "");
-                objectMapper.writeValue(jsonFile, allValues);
+                JsonNode bodyNode = objectMapper.readTree(response.getBody().asString());
+                StatefulDataStore.getInstance(specDirPath).addResponseBodyValues(operation.get(), bodyNode);
             } catch (IOException e) {
                 logger.warn("The response body could not be saved to JSON: {}", e.getMessage());
             }
@@ -55,28 +44,11 @@ public class StatefulFilter extends RESTestFilter implements OrderedFilter {
         return response;
     }
 
-    private void addResponseBodyValues(Map<String, List<JsonNode>> allValues, JsonNode bodyNode, String prefix) {
-        if (bodyNode.isObject()) {
-            for (Iterator<Map.Entry<String, JsonNode>> it = bodyNode.fields(); it.hasNext(); ) {
-                Map.Entry<String, JsonNode> entry = it.next();
-                String newPrefix = "".equals(prefix)? entry.getKey() : prefix + '.' + entry.getKey();
-                addResponseBodyValues(allValues, entry.getValue(), newPrefix);
-            }
-        } else if (bodyNode.isArray()) {
-            for (Iterator<JsonNode> it = bodyNode.elements(); it.hasNext(); ) {
-                addResponseBodyValues(allValues, it.next(), prefix);
-            }
-        } else if (bodyNode.isValueNode()) {
-            allValues.putIfAbsent(prefix, new ArrayList<>());
-            if (!allValues.get(prefix).contains(bodyNode))
-                allValues.get(prefix).add(bodyNode);
-        }
-
-    }
-
+    /**
+     * Sets the operation of the test case being executed by the current thread.
+     */
     public void setOperation(String operationMethod, String operationPath) {
-        this.operationMethod = operationMethod;
-        this.operationPath = operationPath;
+        operation.set(operationMethod + operationPath);
     }
 
     @Override
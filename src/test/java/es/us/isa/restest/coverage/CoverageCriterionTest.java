@@ -0,0 +1,67 @@
+package es.us.isa.restest.coverage;
+
+import static es.us.isa.restest.coverage.CriterionType.*;
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class CoverageCriterionTest {
+
+    private CoverageCriterion criterion;
+
+    @Before
+    public void setUp() {
+        Map<String, Boolean> elements = new HashMap<>();
+        elements.put("available", false);
+        elements.put("pending", true);
+        elements.put("sold", false);
+
+        criterion = new CoverageCriterion(PARAMETER_VALUE);
+        criterion.setRootPath("/pet/findByStatus->GET->status");
+        criterion.setElements(elements);
+    }
+
+    @Test
+    public void coverElementTest() {
+        assertEquals(3, criterion.getElementsCount());
+        assertEquals(1, criterion.getCoveredElementsCount());
+
+        criterion.coverElement("sold");
+        criterion.coverElement("sold");
+        criterion.coverElement("nonExisting");
+
+        assertEquals("Covering an element twice should count once", 2, criterion.getCoveredElementsCount());
+        assertEquals(3, criterion.getElementsCount());
+        assertEquals(200f/3, criterion.getCoverage(), 0.001);
+    }
+
+    @Test
+    public void elementsViewTest() {
+        criterion.coverElement("available");
+
+        Map<String, Boolean> elements = criterion.getElements();
+        assertEquals(3, elements.size());
+        assertTrue(elements.get("available"));
+        assertFalse(elements.get("sold"));
+        assertNull(elements.get("nonExisting"));
+
+        Map<String, Boolean> coveredElements = criterion.getCoveredElements();
+        assertEquals(2, coveredElements.size());
+        assertTrue(coveredElements.containsKey("available"));
+        assertTrue(coveredElements.containsKey("pending"));
+        assertFalse(coveredElements.containsKey("sold"));
+        coveredElements.forEach((element, isCovered) -> assertTrue(isCovered));
+    }
+
+    @Test
+    public void emptyCriterionTest() {
+        CoverageCriterion emptyCriterion = new CoverageCriterion(PATH);
+
+        assertEquals(0, emptyCriterion.getElementsCount());
+        assertEquals(100, emptyCriterion.getCoverage(), 0);
+    }
+}
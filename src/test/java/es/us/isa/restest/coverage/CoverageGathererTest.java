@@ -89,4 +89,18 @@ public class CoverageGathererTest {
         System.out.println("As long as this is printed, this test cases passes (no exceptions thrown).");
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void coverageCriterionLookupTest() {
+        String oasPath = "src/test/resources/restest-test-resources/swagger-dhl.yaml";
+        OpenAPISpecification oas = new OpenAPISpecification(oasPath);
+        CoverageGatherer covGath = new CoverageGatherer(oas);
+
+        for (CoverageCriterion criterion: covGath.getCoverageCriteria()) {
+            assertSame("The criterion " + criterion.getType() + " " + criterion.getRootPath() + " should be found by type and rootPath",
+                    criterion, covGath.getCoverageCriterion(criterion.getType(), criterion.getRootPath()));
+        }
+        assertEquals(4, covGath.getCoverageCriterion(RESPONSE_BODY_PROPERTIES, "/find-by-keyword-id->GET->200->{place{address{").getElements().size());
+        assertNull(covGath.getCoverageCriterion(RESPONSE_BODY_PROPERTIES, "/find-by-keyword-id->GET->200->{place{address{countryCode"));
+    }
+}
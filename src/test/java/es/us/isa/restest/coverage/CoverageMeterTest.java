@@ -6,6 +6,8 @@ import static org.junit.Assert.*;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Before;
@@ -14,6 +16,7 @@ import org.junit.Test;
 import es.us.isa.restest.specification.OpenAPISpecification;
 import es.us.isa.restest.testcases.TestCase;
 import es.us.isa.restest.testcases.TestResult;
+import static es.us.isa.restest.util.CSVManager.readCSV;
 import static es.us.isa.restest.util.FileManager.*;
 import io.swagger.v3.oas.models.PathItem.HttpMethod;
 
@@ -168,4 +171,52 @@ public class CoverageMeterTest {
 
         assertTrue("The new coverage should be lower than the old one", covMeter.getTotalCoverage() < oldCoverage);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void aPosterioriCoverageMeterTest() {
+        TestCase testCase4 = new TestCase(generateId(), false, "getOrderById", "/store/order/{orderId}", HttpMethod.GET);
+        testCase4.addPathParameter("orderId", "5");
+        TestCase testCase5 = new TestCase(generateId(), false, "getInventory", "/store/inventory", HttpMethod.GET); // Not executed
+        covMeter.addTestSuite(Arrays.asList(testCase4, testCase5));
+        covMeter.addTestResults(Collections.singletonList(new TestResult(testCase4.getId(), "404", "{}", "application/json")), covMeter.getTestSuite());
+
+        CoverageMeter aPosterioriCovMeter = covMeter.getAPosteriorCoverageMeter();
+
+        assertEquals("Only executed test cases should be considered", 4, aPosterioriCovMeter.getTestSuite().size());
+        assertEquals(4, aPosterioriCovMeter.getTestResults().size());
+        assertEquals("Test cases with invalid responses should not cover input elements", 0, aPosterioriCovMeter.getCriterionCoverage(OPERATION, "/store/order/{orderId}"), 0);
+        assertEquals("Test cases with invalid responses should cover output elements", 50, aPosterioriCovMeter.getCriterionCoverage(STATUS_CODE_CLASS, "/store/order/{orderId}->GET"), 0);
+        assertEquals(covMeter.getCriterionCoverage(OPERATION, "/pet"), aPosterioriCovMeter.getCriterionCoverage(OPERATION, "/pet"), 0);
+    }
+
+    @Test
+    public void responseBodyPropertiesCoverageTest() {
+        assertEquals("Only 'name' and 'id' should be covered", 100*2f/6, covMeter.getCriterionCoverage(RESPONSE_BODY_PROPERTIES, "/pet/findByStatus->GET->200->[{"), 0.001);
+
+        TestCase testCase4 = new TestCase(generateId(), false, "findPetsByStatus", "/pet/findByStatus", HttpMethod.GET);
+        StringBuilder responseBody = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++)
+            responseBody.append("{\"id\": ").append(i).append(", \"photoUrls\": [\"a\"], \"category\": {\"name\": \"dogs\"}, \"tags\": [{\"id\": 1}]},");
+        responseBody.append("{\"status\": \"sold\"}]");
+        covMeter.addTestSuite(Collections.singletonList(testCase4));
+        covMeter.addTestResults(Collections.singletonList(new TestResult(testCase4.getId(), "200", responseBody.toString(), "application/json")), covMeter.getTestSuite());
+
+        assertEquals(100, covMeter.getCriterionCoverage(RESPONSE_BODY_PROPERTIES, "/pet/findByStatus->GET->200->[{"), 0.001);
+        assertEquals(50, covMeter.getCriterionCoverage(RESPONSE_BODY_PROPERTIES, "/pet/findByStatus->GET->200->[{category{"), 0.001);
+        assertEquals(50, covMeter.getCriterionCoverage(RESPONSE_BODY_PROPERTIES, "/pet/findByStatus->GET->200->[{tags[{"), 0.001);
+    }
+
+    @Test
+    public void exportCoverageOfTestResultToCSVTest() {
+        String path = "src/test/resources/csvData/test-results-coverage.csv";
+        deleteFile(path);
+
+        CoverageMeter.exportCoverageOfTestResultToCSV(path, testResult2);
+
+        List<List<String>> rows = readCSV(path);
+        assertEquals("Each response body property should be exported once", 4 + 4, rows.size());
+        assertTrue(rows.contains(Arrays.asList(testResult2.getId(), "RESPONSE_BODY_PROPERTIES", "[{name")));
+        assertTrue(rows.contains(Arrays.asList(testResult2.getId(), "RESPONSE_BODY_PROPERTIES", "[{c")));
+        deleteFile(path);
+    }
+}
@@ -1,11 +1,22 @@
 package es.us.isa.restest.e2e;
 
 import es.us.isa.restest.coverage.CoverageComputation;
+import es.us.isa.restest.coverage.CoverageGatherer;
+import es.us.isa.restest.coverage.CoverageMeter;
+import es.us.isa.restest.coverage.CriterionType;
+import es.us.isa.restest.specification.OpenAPISpecification;
+import es.us.isa.restest.testcases.TestCase;
+import es.us.isa.restest.testcases.TestResult;
 import es.us.isa.restest.util.PropertyManager;
+import es.us.isa.restest.util.TestManager;
+import org.javatuples.Pair;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
 import static es.us.isa.restest.util.CSVManager.readCSV;
@@ -33,9 +44,11 @@ public class CoverageComputationTest {
             CoverageComputation.main(args);
             fail("This test should throw an exception.");
         } catch (IllegalArgumentException e) {
-            assertEquals ("You must provide two or three arguments: 1) path to OAS,2) path to " +
-                    "folder containing test cases and test results in CSV format, and 3) batch size for computing " +
-                    "coverage (optional, but improve performance for very large test suites, e.g., >100K test cases.", e.getMessage());
+            assertEquals ("You must provide two, three or four arguments: 1) path to OAS,2) path to " +
+                    "folder containing test cases and test results in CSV format, 3) batch size for computing " +
+                    "coverage (optional, but improve performance for very large test suites, e.g., >100K test cases), " +
+                    "and 4) number of threads for computing the coverage of each pair of CSV files in parallel " +
+                    "(optional, bounds memory usage for very large numbers of files).", e.getMessage());
         }
     }
 
@@ -61,6 +74,17 @@ public class CoverageComputationTest {
         }
     }
 
+    @Test
+    public void wrongFourthArgumentTest() {
+        try {
+            String[] args = {"src/test/resources/restest-test-resources/coverage-data/swagger.yaml", "src/test/resources/restest-test-resources/coverage-data", "100", "0"};
+            CoverageComputation.main(args);
+            fail("This test should throw an exception.");
+        } catch (IllegalArgumentException e) {
+            assertEquals ("The number of threads must be an integer greater than 0.", e.getMessage());
+        }
+    }
+
     @Test
     public void oasDoesntExistTest() {
         try {
@@ -105,4 +129,60 @@ public class CoverageComputationTest {
         deleteFile(aPrioriCoveragePath);
         deleteFile(aPosterioriCoveragePath);
     }
+
+    @Test
+    public void validParallelTest() {
+        String[] args = {"src/test/resources/restest-test-resources/coverage-data/swagger.yaml", "src/test/resources/restest-test-resources/coverage-data"};
+        String aPrioriCoveragePath = "src/test/resources/restest-test-resources/coverage-data/test-coverage-priori.csv";
+        String aPosterioriCoveragePath = "src/test/resources/restest-test-resources/coverage-data/test-coverage-posteriori.csv";
+
+        CoverageComputation.main(args);
+        List<List<String>> csvRowsAPriori = readCSV(aPrioriCoveragePath);
+        List<List<String>> csvRowsAPosteriori = readCSV(aPosterioriCoveragePath);
+
+        String[] parallelArgs = {"src/test/resources/restest-test-resources/coverage-data/swagger.yaml", "src/test/resources/restest-test-resources/coverage-data", "1", "2"};
+        CoverageComputation.main(parallelArgs);
+
+        assertEquals("The a priori coverage computed in parallel should be the same", csvRowsAPriori, readCSV(aPrioriCoveragePath));
+        assertEquals("The a posteriori coverage computed in parallel should be the same", csvRowsAPosteriori, readCSV(aPosterioriCoveragePath));
+
+        deleteFile(aPrioriCoveragePath);
+        deleteFile(aPosterioriCoveragePath);
+    }
+
+    @Test
+    public void computeCoverageTest() {
+        String coverageData = "src/test/resources/restest-test-resources/coverage-data";
+        OpenAPISpecification spec = new OpenAPISpecification(coverageData + "/swagger.yaml");
+        List<Pair<String, String>> testCasesResultsFiles = Arrays.asList(
+                Pair.with(coverageData + "/test-cases_1h7wgquoyv0vp.csv", coverageData + "/test-results_1h7wgquoyv0vp.csv"),
+                Pair.with(coverageData + "/test-cases_1h7wgquoyv0vq.csv", coverageData + "/test-results_1h7wgquoyv0vq.csv"));
+
+        // Coverage of all the files at once
+        CoverageMeter coverageMeter = new CoverageMeter(new CoverageGatherer(spec));
+        for (Pair<String, String> testCasesResultsFile: testCasesResultsFiles) {
+            Collection<TestCase> testSuite = TestManager.getTestCases(testCasesResultsFile.getValue0());
+            Collection<TestResult> testResults = TestManager.getTestResults(testCasesResultsFile.getValue1());
+            coverageMeter.addTestSuite(testSuite);
+            coverageMeter.addTestResults(testResults, testSuite);
+        }
+        CoverageMeter aPosterioriCoverageMeter = coverageMeter.getAPosteriorCoverageMeter();
+
+        for (int threads = 1; threads <= 3; threads++) {
+            Pair<CoverageMeter, CoverageMeter> coverageMeters = CoverageComputation.computeCoverage(spec, testCasesResultsFiles, threads);
+            assertSameCoverage(coverageMeter, coverageMeters.getValue0());
+            assertSameCoverage(aPosterioriCoverageMeter, coverageMeters.getValue1());
+        }
+
+        Pair<CoverageMeter, CoverageMeter> emptyCoverageMeters = CoverageComputation.computeCoverage(spec, new ArrayList<>(), 4);
+        assertEquals(0, emptyCoverageMeters.getValue0().getCoveredTotalElements());
+        assertEquals(0, emptyCoverageMeters.getValue1().getCoveredTotalElements());
+    }
+
+    private static void assertSameCoverage(CoverageMeter expected, CoverageMeter actual) {
+        assertEquals("Incorrect number of covered input elements", expected.getCoveredInputElements(), actual.getCoveredInputElements());
+        assertEquals("Incorrect number of covered output elements", expected.getCoveredOutputElements(), actual.getCoveredOutputElements());
+        for (CriterionType type: CriterionType.values())
+            assertEquals("Incorrect coverage of " + type, expected.getCriterionTypeCoverage(type), actual.getCriterionTypeCoverage(type), 0f);
+    }
 }
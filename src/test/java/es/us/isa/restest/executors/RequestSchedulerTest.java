@@ -0,0 +1,109 @@
+package es.us.isa.restest.executors;
+
+import es.us.isa.restest.testcases.TestCase;
+import es.us.isa.restest.util.AuthManager;
+import io.swagger.v3.oas.models.PathItem.HttpMethod;
+import org.junit.Test;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.Assert.*;
+
+public class RequestSchedulerTest {
+
+    @Test
+    public void rateLimitTest() throws InterruptedException {
+        RequestScheduler scheduler = new RequestScheduler(null, 20, 1);
+        assertEquals(1, scheduler.getNumberOfKeys());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 11; i++)
+            assertEquals(0, scheduler.acquire(createTestCase("abc", "ghi")));
+        long elapsedMillis = (System.nanoTime() - start) / 1000000;
+
+        assertTrue("10 requests should take at least 500 ms at 20 requests per second, but they took " + elapsedMillis, elapsedMillis >= 490);
+    }
+
+    @Test
+    public void burstTest() throws InterruptedException {
+        RequestScheduler scheduler = new RequestScheduler(null, 1, 5);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++)
+            scheduler.acquire(createTestCase("abc", "ghi"));
+        long elapsedMillis = (System.nanoTime() - start) / 1000000;
+
+        assertTrue("The requests of a burst should not wait, but they took " + elapsedMillis + " ms", elapsedMillis < 500);
+    }
+
+    @Test
+    public void spreadAcrossKeysTest() throws InterruptedException {
+        RequestScheduler scheduler = new RequestScheduler(new AuthManager("Sample/apikeys.json"), 1, 1);
+        assertEquals(2, scheduler.getNumberOfKeys());
+
+        long start = System.nanoTime();
+        TestCase testCase1 = createTestCase("abc", "ghi");
+        TestCase testCase2 = createTestCase("abc", "ghi");
+        assertEquals(0, scheduler.acquire(testCase1));
+        assertEquals("The key with tokens available should be used", 1, scheduler.acquire(testCase2));
+        long elapsedMillis = (System.nanoTime() - start) / 1000000;
+
+        assertTrue("Requests sent with different keys should not wait, but they took " + elapsedMillis + " ms", elapsedMillis < 500);
+        assertEquals("abc", testCase1.getQueryParameters().get("apikey_1"));
+        assertEquals("ghi", testCase1.getQueryParameters().get("apikey_2"));
+        assertEquals("The key of the bucket should be set in the test case", "def", testCase2.getQueryParameters().get("apikey_1"));
+        assertEquals("The key of the bucket should be set in the test case", "jkl", testCase2.getQueryParameters().get("apikey_2"));
+    }
+
+    @Test
+    public void keysNotInPoolTest() throws InterruptedException {
+        RequestScheduler scheduler = new RequestScheduler(new AuthManager("Sample/apikeys.json"), 1, 1);
+        scheduler.acquire(createTestCase("abc", "ghi"));
+
+        TestCase testCase = createTestCase("invalidKey", "ghi");
+        assertEquals(1, scheduler.acquire(testCase));
+        assertEquals("Keys not in the pool should not be replaced", "invalidKey", testCase.getQueryParameters().get("apikey_1"));
+        assertEquals("jkl", testCase.getQueryParameters().get("apikey_2"));
+    }
+
+    @Test
+    public void throttledTest() throws InterruptedException {
+        RequestScheduler scheduler = new RequestScheduler(null, 100, 1);
+
+        scheduler.throttled(0, 300);
+        assertEquals("The rate should be halved", 50, scheduler.getRate(0), 0.001);
+
+        long start = System.nanoTime();
+        scheduler.acquire(createTestCase("abc", "ghi"));
+        long elapsedMillis = (System.nanoTime() - start) / 1000000;
+        assertTrue("No request should be sent until the Retry-After time elapses, but it waited " + elapsedMillis + " ms", elapsedMillis >= 290);
+
+        for (int i = 0; i < 5; i++)
+            scheduler.succeeded(0);
+        assertEquals("The rate should be restored progressively up to the configured rate", 100, scheduler.getRate(0), 0.001);
+    }
+
+    @Test
+    public void parseRetryAfterTest() {
+        assertEquals(2000, RequestScheduler.parseRetryAfter("2"));
+        assertEquals(-1, RequestScheduler.parseRetryAfter(null));
+        assertEquals(-1, RequestScheduler.parseRetryAfter("soon"));
+
+        long retryAfter = RequestScheduler.parseRetryAfter(DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusSeconds(60)));
+        assertTrue("HTTP dates should be converted to the time to wait", retryAfter > 55000 && retryAfter <= 60000);
+        assertEquals("Past dates should not make the scheduler wait", 0, RequestScheduler.parseRetryAfter(DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().minusSeconds(60))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrongRateTest() {
+        new RequestScheduler(null, 0, 1);
+    }
+
+    private static TestCase createTestCase(String apikey1, String apikey2) {
+        TestCase testCase = new TestCase("id", false, "getPet", "/pet", HttpMethod.GET);
+        testCase.addQueryParameter("apikey_1", apikey1);
+        testCase.addQueryParameter("apikey_2", apikey2);
+        return testCase;
+    }
+}
@@ -0,0 +1,164 @@
+package es.us.isa.restest.executors.restassured;
+
+import com.sun.net.httpserver.HttpServer;
+import es.us.isa.restest.executors.RequestScheduler;
+import es.us.isa.restest.testcases.TestCase;
+import es.us.isa.restest.testcases.TestResult;
+import es.us.isa.restest.util.PropertyManager;
+import io.swagger.v3.oas.models.PathItem.HttpMethod;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static es.us.isa.restest.util.CSVManager.readCSV;
+import static es.us.isa.restest.util.FileManager.createDir;
+import static es.us.isa.restest.util.FileManager.deleteDir;
+import static org.junit.Assert.*;
+
+public class RESTAssuredExecutorTest {
+
+    private static HttpServer server;
+    private static String baseURI;
+    private static final AtomicInteger throttledRequests = new AtomicInteger();  // Number of next requests with status=sold throttled
+
+    // Local API returning a valid response, a 5XX status code or a response not conforming to the OAS, depending on the status.
+    // Requests with status=sold may be throttled (429 status code)
+    @BeforeClass
+    public static void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/pet/findByStatus", exchange -> {
+            String query = exchange.getRequestURI().getQuery();
+            if (query.contains("status=sold") && throttledRequests.getAndDecrement() > 0) {
+                exchange.getResponseHeaders().add("Retry-After", "0");
+                exchange.sendResponseHeaders(429, -1);
+                exchange.close();
+                return;
+            }
+            int statusCode = query.contains("status=wrong") ? 500 : 200;
+            byte[] body = (query.contains("status=pending") ? "{\"id\": \"notAnArray\"}" : "[]").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(statusCode, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+        baseURI = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void executeTest() {
+        RESTAssuredExecutor executor = new RESTAssuredExecutor("src/test/resources/Petstore/swagger.yaml", "src/test/resources/Petstore/fullConf.yaml", baseURI, false);
+        List<TestCase> testCases = Arrays.asList(
+                createTestCase("test_nominal", false, "available"),
+                createTestCase("test_faulty5XX", true, "wrong"),
+                createTestCase("test_disconformity", false, "pending"));
+
+        List<TestResult> testResults = new ArrayList<>(executor.execute(testCases));
+
+        assertEquals(3, testResults.size());
+        assertEquals("test_nominal", testResults.get(0).getId());
+        assertTrue(testResults.get(0).getPassed());
+        assertEquals("200", testResults.get(0).getStatusCode());
+        assertEquals("[]", testResults.get(0).getResponseBody());
+
+        assertFalse(testResults.get(1).getPassed());
+        assertEquals("500", testResults.get(1).getStatusCode());
+        assertTrue(testResults.get(1).getFailReason().startsWith("Status code 5XX with invalid request"));
+
+        assertFalse(testResults.get(2).getPassed());
+        assertEquals("200", testResults.get(2).getStatusCode());
+        assertTrue(testResults.get(2).getFailReason().startsWith("OAS disconformity"));
+    }
+
+    @Test
+    public void parallelExecutionWithCSVTest() {
+        String testDataDir = PropertyManager.readProperty("data.tests.dir") + "/executorTest";
+        deleteDir(testDataDir);
+        createDir(testDataDir);
+
+        RESTAssuredExecutor executor = new RESTAssuredExecutor("src/test/resources/Petstore/swagger.yaml", "src/test/resources/Petstore/fullConf.yaml", baseURI, false);
+        executor.setEnableStats(true);
+        executor.setAPIName("executorTest");
+        executor.setTestId("parallel");
+        executor.setParallelism(4);
+
+        List<TestCase> testCases = new ArrayList<>();
+        for (int i = 0; i < 20; i++)
+            testCases.add(createTestCase("test_" + i, i % 2 == 1, i % 2 == 0 ? "available" : "wrong"));
+
+        List<TestResult> testResults = new ArrayList<>(executor.execute(testCases.subList(0, 10)));
+        testResults.addAll(executor.execute(testCases.subList(10, 20)));    // Second batch, executed by the same threads
+        executor.close();
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals("The test results should be in the same order as the test cases", "test_" + i, testResults.get(i).getId());
+            assertEquals("The test result does not correspond to its test case", i % 2 == 0, testResults.get(i).getPassed());
+        }
+
+        List<List<String>> rows = readCSV(testDataDir + "/" + PropertyManager.readProperty("data.tests.testresults.file") + "_parallel.csv", false);
+        assertEquals("There should be one row per test case", 20, rows.size());
+        for (List<String> row : rows) {
+            int i = Integer.parseInt(row.get(0).substring("test_".length()));
+            assertEquals("The row does not correspond to its test case", Boolean.toString(i % 2 == 0), row.get(4));
+        }
+    }
+
+    @Test
+    public void interruptedExecutionTest() {
+        RESTAssuredExecutor executor = new RESTAssuredExecutor("src/test/resources/Petstore/swagger.yaml", "src/test/resources/Petstore/fullConf.yaml", baseURI, false);
+        executor.setParallelism(2);
+
+        Thread.currentThread().interrupt();
+        try {
+            executor.execute(Arrays.asList(createTestCase("test_1", false, "available"), createTestCase("test_2", false, "available")));
+            fail("An interrupted execution should not return the test results");
+        } catch (IllegalStateException e) {
+            assertTrue("The interrupt status should be kept", Thread.interrupted());
+        } finally {
+            Thread.interrupted();
+            executor.close();
+        }
+    }
+
+    @Test
+    public void throttledRequestsTest() {
+        RESTAssuredExecutor executor = new RESTAssuredExecutor("src/test/resources/Petstore/swagger.yaml", "src/test/resources/Petstore/fullConf.yaml", baseURI, false);
+        RequestScheduler scheduler = new RequestScheduler(null, 100, 1);
+        executor.setRequestScheduler(scheduler);
+        executor.setMaxRetries(2);
+
+        throttledRequests.set(2);
+        TestResult testResult = executor.execute(createTestCase("test_retried", false, "sold"));
+        assertTrue("The request should be sent again until it is not throttled", testResult.getPassed());
+        assertEquals("200", testResult.getStatusCode());
+        assertTrue("The rate should be reduced after the requests throttled", scheduler.getRate(0) < 100);
+
+        throttledRequests.set(3);
+        testResult = executor.execute(createTestCase("test_throttled", false, "sold"));
+        assertEquals("The response should be checked if the request is throttled more times than the maximum number of retries", "429", testResult.getStatusCode());
+        throttledRequests.set(0);
+    }
+
+    private static TestCase createTestCase(String id, boolean faulty, String status) {
+        TestCase testCase = new TestCase(id, faulty, "findPetsByStatus", "/pet/findByStatus", HttpMethod.GET);
+        testCase.setFulfillsDependencies(true);
+        testCase.setFaultyReason(faulty ? "individual_parameter_constraint" : "none");
+        testCase.addQueryParameter("status", status);
+        return testCase;
+    }
+}
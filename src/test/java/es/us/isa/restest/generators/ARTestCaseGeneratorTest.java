@@ -8,7 +8,9 @@ import es.us.isa.restest.writers.restassured.RESTAssuredWriter;
 import es.us.isa.restest.util.RESTestException;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 
@@ -53,6 +55,81 @@ public class ARTestCaseGeneratorTest {
         writer.write(testCases);
     }
 
+    @Test
+    public void bikewiseParallelARTestCaseGenerator() throws RESTestException {
+        // Load specification
+        String OAISpecPath = "src/test/resources/Bikewise/swagger.yaml";
+        String testConf = "src/test/resources/Bikewise/fullConf.yaml";
+        OpenAPISpecification spec = new OpenAPISpecification(OAISpecPath);
+
+        // Load configuration
+        TestConfigurationObject conf = TestConfigurationIO.loadConfiguration(testConf, spec);
+
+        // Set number of test cases to be generated on each path, on each operation (HTTP method)
+        int numTestCases = 20;
+
+        // Create generator, computing the distance of the candidates with 4 threads
+        ARTestCaseGenerator generator = new ARTestCaseGenerator(spec, conf, numTestCases);
+        generator.setDiversity("LEVENSHTEIN");
+        generator.setParallelism(4);
+
+        Collection<TestCase> testCases = generator.generate();
+        generator.close();
+
+        // Expected results
+        int expectedNumberOfTestCases = 80;
+
+        assertEquals("Incorrect number of test cases", expectedNumberOfTestCases, testCases.size());
+        assertEquals("Incorrect number of valid test cases (according to the OAS validator)", expectedNumberOfTestCases, GeneratorTestHelper.numberOfValidTestCases(testCases, spec));
+    }
+
+    @Test
+    public void featuresServiceParallelARTestCaseGeneratorSameTestCases() throws RESTestException {
+        // Only seeded test data generators (Bikewise uses RandomEnglishWord, whose dictionary draws words with its own random generator)
+        OpenAPISpecification spec = new OpenAPISpecification("src/test/resources/features-service/swagger.yaml");
+        TestConfigurationObject conf = TestConfigurationIO.loadConfiguration("src/test/resources/features-service/testConf.yaml", spec);
+
+        // Same seed, computing the distance of the candidates with 1 and 4 threads
+        ARTestCaseGenerator sequentialGenerator = createSeededGenerator(spec, conf, 5, 1);
+        ARTestCaseGenerator parallelGenerator = createSeededGenerator(spec, conf, 5, 4);
+
+        List<String> sequentialTestCases = describe(sequentialGenerator.generate());
+        List<String> parallelTestCases = describe(parallelGenerator.generate());
+        // Second generation, with the similarity indexes of the first one
+        List<String> sequentialTestCases2 = describe(sequentialGenerator.generate());
+        List<String> parallelTestCases2 = describe(parallelGenerator.generate());
+        parallelGenerator.close();
+        sequentialGenerator.close();
+
+        assertEquals("Incorrect number of test cases", 18 * 5, parallelTestCases.size());
+        assertEquals("The same test cases should be generated for a given seed regardless of the parallelism", sequentialTestCases, parallelTestCases);
+        assertEquals("The same test cases should be generated in later generations too", sequentialTestCases2, parallelTestCases2);
+    }
+
+    private static ARTestCaseGenerator createSeededGenerator(OpenAPISpecification spec, TestConfigurationObject conf, int numTestCases, int parallelism) {
+        ARTestCaseGenerator generator = new ARTestCaseGenerator(spec, conf, numTestCases);
+        generator.setSeed(42);
+        generator.setDiversity("LEVENSHTEIN");
+        generator.setParallelism(parallelism);
+        return generator;
+    }
+
+    // Test cases without their IDs, which are not drawn from the seed
+    private static List<String> describe(Collection<TestCase> testCases) {
+        List<String> descriptions = new ArrayList<>();
+        for (TestCase testCase: testCases)
+            descriptions.add(testCase.getOperationId() + " " + testCase.getFaulty() + " " + testCase.getPathParameters() + testCase.getQueryParameters()
+                    + testCase.getHeaderParameters() + testCase.getFormParameters() + testCase.getBodyParameter());
+        return descriptions;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrongParallelismTest() {
+        OpenAPISpecification spec = new OpenAPISpecification("src/test/resources/Bikewise/swagger.yaml");
+        TestConfigurationObject conf = TestConfigurationIO.loadConfiguration("src/test/resources/Bikewise/fullConf.yaml", spec);
+        new ARTestCaseGenerator(spec, conf, 5).setParallelism(0);
+    }
+
     @Test
     public void bikewiseARTestCaseGeneratorWithoutFaults() throws RESTestException {
         // Load specification
@@ -1,21 +1,28 @@
 package es.us.isa.restest.generators;
 
+import es.us.isa.idlreasonerchoco.analyzer.Analyzer;
 import es.us.isa.restest.configuration.TestConfigurationFilter;
 import es.us.isa.restest.configuration.TestConfigurationIO;
+import es.us.isa.restest.configuration.pojos.GenParameter;
+import es.us.isa.restest.configuration.pojos.Generator;
 import es.us.isa.restest.configuration.pojos.TestConfigurationObject;
+import es.us.isa.restest.configuration.pojos.TestParameter;
 import es.us.isa.restest.specification.OpenAPISpecification;
 import es.us.isa.restest.testcases.TestCase;
 import es.us.isa.restest.writers.restassured.RESTAssuredWriter;
 import es.us.isa.restest.util.RESTestException;
+import es.us.isa.restest.util.Timer;
 
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
 
 public class ConstraintBasedTestCaseGeneratorTest {
 
@@ -393,6 +400,122 @@ public class ConstraintBasedTestCaseGeneratorTest {
     }
     
 	
+    @Test
+    public void amadeusHotelIDLReasonerTimersTest() throws RESTestException {
+        String OAISpecPath = "src/test/resources/AmadeusHotel/swagger.yaml";
+        String testConf = "src/test/resources/AmadeusHotel/defaultConf.yaml";
+        OpenAPISpecification spec = new OpenAPISpecification(OAISpecPath);
+        TestConfigurationObject conf = TestConfigurationIO.loadConfiguration(testConf, spec);
+
+        ConstraintBasedTestCaseGenerator generator = new ConstraintBasedTestCaseGenerator(spec, conf, 4);
+        generator.setFaultyRatio(0.5f);
+
+        Timer.resetCounters();
+        assertEquals("Incorrect number of test cases", 4, generator.generate().size());
+        assertEquals("Incorrect number of test cases in the second iteration", 4, generator.generate().size());
+
+        // One measure per iteration
+        assertEquals("The IDLReasoner solving counter should have 2 entries", 2, Timer.getCounters().get(Timer.TestStep.IDL_REASONER_SOLVING.getName()).size());
+        assertEquals("The IDLReasoner data refresh counter should have 2 entries", 2, Timer.getCounters().get(Timer.TestStep.IDL_REASONER_DATA_REFRESH.getName()).size());
+        assertTrue("IDLReasoner should have been used to generate requests", generator.getIdlReasonerSolvingTime() > 0);
+        assertTrue("The input data of IDLReasoner should have been refreshed", generator.getIdlReasonerDataRefreshTime() > 0);
+        Timer.resetCounters();
+    }
+
+    @Test
+    public void amadeusHotelParallelTestCaseGeneratorWithFaults() throws RESTestException {
+        String OAISpecPath = "src/test/resources/AmadeusHotel/swagger.yaml";
+        String testConf = "src/test/resources/AmadeusHotel/defaultConf.yaml";
+        OpenAPISpecification spec = new OpenAPISpecification(OAISpecPath);
+        TestConfigurationObject conf = TestConfigurationIO.loadConfiguration(testConf, spec);
+
+        int numTestCases = 20;
+        ConstraintBasedTestCaseGenerator generator = new ConstraintBasedTestCaseGenerator(spec, conf, numTestCases);
+        generator.setFaultyRatio(0.5f);
+        generator.setGenerationThreads(2);
+
+        Collection<TestCase> testCases = generator.generate();
+
+        assertEquals("Incorrect number of test cases", numTestCases, testCases.size());
+        assertEquals("The counters of the operation generators should be added", numTestCases, generator.getnFaulty() + generator.getnNominal());
+        assertEquals("Incorrect number of faulty test cases due to dependencies", 5, testCases.stream().filter(c -> c.getFaultyReason().equals(ConstraintBasedTestCaseGenerator.INTER_PARAMETER_DEPENDENCY)).count());
+        assertEquals("Incorrect number of valid test cases (according to the OAS validator)", numTestCases - generator.getnFaultyTestsDueToIndividualConstraint(), GeneratorTestHelper.numberOfValidTestCases(testCases, spec));
+        assertTrue("The time spent by IDLReasoner in the operation generators should be added", generator.getIdlReasonerSolvingTime() > 0);
+    }
+
+    @Test
+    public void amadeusHotelIDLReasonerNotSharedTest() throws RESTestException {
+        String OAISpecPath = "src/test/resources/AmadeusHotel/swagger.yaml";
+        String testConf = "src/test/resources/AmadeusHotel/defaultConf.yaml";
+        OpenAPISpecification spec = new OpenAPISpecification(OAISpecPath);
+        TestConfigurationObject conf = TestConfigurationIO.loadConfiguration(testConf, spec);
+
+        ConstraintBasedTestCaseGenerator generator = new ConstraintBasedTestCaseGenerator(spec, conf, 4);
+        ConstraintBasedTestCaseGenerator otherGenerator = new ConstraintBasedTestCaseGenerator(spec, conf, 4);
+        generator.generate();
+        Analyzer idlReasoner = generator.getIdlReasoner();
+        generator.generate();
+        otherGenerator.generate();
+
+        assertNotNull("The operation has inter-parameter dependencies", idlReasoner);
+        assertSame("The IDLReasoner of each operation should be built only once per generator", idlReasoner, generator.getIdlReasoner());
+        assertNotSame("The IDLReasoner should not be shared between generators", idlReasoner, otherGenerator.getIdlReasoner());
+    }
+
+    @Test
+    public void amadeusHotelRandomInputDataTest() throws RESTestException {
+        String OAISpecPath = "src/test/resources/AmadeusHotel/swagger.yaml";
+        String testConf = "src/test/resources/AmadeusHotel/defaultConf.yaml";
+        OpenAPISpecification spec = new OpenAPISpecification(OAISpecPath);
+        TestConfigurationObject conf = TestConfigurationIO.loadConfiguration(testConf, spec);
+
+        ConstraintBasedTestCaseGenerator generator = new ConstraintBasedTestCaseGenerator(spec, conf, 20);
+        generator.setReloadInputDataEvery(5);
+
+        generator.generate();
+        assertEquals("Randomly generated input data should be fed to IDLReasoner on every reload", 4, generator.getIdlReasonerDataUpdates());
+        generator.generate();
+        assertEquals("Randomly generated input data should be fed to IDLReasoner on every reload in later generations too", 4, generator.getIdlReasonerDataUpdates());
+    }
+
+    @Test
+    public void amadeusHotelFixedInputDataTest() throws RESTestException {
+        String OAISpecPath = "src/test/resources/AmadeusHotel/swagger.yaml";
+        String testConf = "src/test/resources/AmadeusHotel/defaultConf.yaml";
+        OpenAPISpecification spec = new OpenAPISpecification(OAISpecPath);
+        TestConfigurationObject conf = TestConfigurationIO.loadConfiguration(testConf, spec);
+        useFixedValues(conf);
+
+        ConstraintBasedTestCaseGenerator generator = new ConstraintBasedTestCaseGenerator(spec, conf, 20);
+        generator.setReloadInputDataEvery(5);
+
+        assertEquals("Incorrect number of test cases", 20, generator.generate().size());
+        assertEquals("Fixed input data should only be fed to IDLReasoner once", 1, generator.getIdlReasonerDataUpdates());
+        assertEquals("Incorrect number of test cases in the second iteration", 20, generator.generate().size());
+        assertEquals("Fixed input data should not be fed again in later generations", 0, generator.getIdlReasonerDataUpdates());
+    }
+
+    // Replace the test data generators drawing random values with lists of fixed values
+    private static void useFixedValues(TestConfigurationObject conf) {
+        for (TestParameter parameter: conf.getTestConfiguration().getOperations().get(0).getTestParameters()) {
+            for (Generator generator: parameter.getGenerators()) {
+                if (generator.getType().equals("RandomBoolean"))
+                    continue;
+                List<GenParameter> values = generator.getGenParameters().stream()
+                        .filter(p -> p.getName().equals("values") || p.getName().equals("csv"))
+                        .collect(Collectors.toList());
+                if (values.isEmpty()) {
+                    GenParameter fixedValues = new GenParameter();
+                    fixedValues.setName("values");
+                    fixedValues.setValues(generator.getType().equals("RandomNumber") ? Arrays.asList("1", "2") : Arrays.asList("2030-01-01", "2030-01-02"));
+                    values = Collections.singletonList(fixedValues);
+                }
+                generator.setType("RandomInputValue");
+                generator.setGenParameters(new ArrayList<>(values));
+            }
+        }
+    }
+
     @Test
     public void amadeusHotelFullTestCaseGeneratorWithFaults() throws RESTestException {
         // Load specification
@@ -19,8 +19,74 @@ import java.util.List;
 
 public class RandomTestCaseGeneratorTest {
 
+	// FEATURES SERVICE
+
+	@Test
+	public void featuresServiceParallelTestCaseGeneratorSameTestCases() throws RESTestException {
+		// Only seeded test data generators (RandomInputValue, RandomNumber, RandomString...)
+		OpenAPISpecification spec = new OpenAPISpecification("src/test/resources/features-service/swagger.yaml");
+		TestConfigurationObject conf = TestConfigurationIO.loadConfiguration("src/test/resources/features-service/testConf.yaml", spec);
+
+		List<String> testCases1 = generateWithThreads(spec, conf, 1, 0f);
+		List<String> testCases4 = generateWithThreads(spec, conf, 4, 0f);
+
+		assertEquals("Incorrect number of test cases", 18 * 10, testCases1.size());
+		assertEquals("The same test cases should be generated for a given seed regardless of the number of threads", testCases1, testCases4);
+		assertEquals("The same test cases should be generated for a given seed", testCases1, generateWithThreads(spec, conf, 1, 0f));
+	}
+
+	@Test
+	public void featuresServiceParallelTestCaseGeneratorSameFaultyTestCases() throws RESTestException {
+		// Faulty test cases are created by the mutation operators, which draw from the seed of the operation too
+		OpenAPISpecification spec = new OpenAPISpecification("src/test/resources/features-service/swagger.yaml");
+		TestConfigurationObject conf = TestConfigurationIO.loadConfiguration("src/test/resources/features-service/testConf.yaml", spec);
+
+		List<String> testCases1 = generateWithThreads(spec, conf, 1, 0.5f);
+		List<String> testCases4 = generateWithThreads(spec, conf, 4, 0.5f);
+
+		assertEquals("Incorrect number of test cases", 18 * 10, testCases1.size());
+		assertTrue("Some faulty test cases should be generated", testCases1.stream().anyMatch(tc -> tc.startsWith("true ")));
+		assertEquals("The same test cases should be generated for a given seed regardless of the number of threads", testCases1, testCases4);
+		assertEquals("The same test cases should be generated for a given seed", testCases1, generateWithThreads(spec, conf, 2, 0.5f));
+	}
+
+	// Faulty reason and parameters of the test cases generated with seed 42 (IDs are not reproduced, see createTestCaseTemplate)
+	private static List<String> generateWithThreads(OpenAPISpecification spec, TestConfigurationObject conf, int threads, float faultyRatio) throws RESTestException {
+		AbstractTestCaseGenerator generator = new RandomTestCaseGenerator(spec, conf, 10);
+		generator.setSeed(42);
+		generator.setFaultyRatio(faultyRatio);
+		generator.setGenerationThreads(threads);
+
+		List<String> testCases = new ArrayList<>();
+		for (TestCase testCase: generator.generate())
+			testCases.add(testCase.getFaulty() + " " + testCase.getFaultyReason() + " " + testCase.getPathParameters() + testCase.getQueryParameters()
+					+ testCase.getHeaderParameters() + testCase.getFormParameters() + testCase.getBodyParameter());
+		return testCases;
+	}
+
 	// PET STORE
 
+	@Test
+	public void petstoreTestCaseGeneratorWithConsumer() throws RESTestException {
+		String OAISpecPath = "src/test/resources/Petstore/swagger.yaml";
+		String testConf = "src/test/resources/Petstore/fullConf.yaml";
+		OpenAPISpecification spec = new OpenAPISpecification(OAISpecPath);
+		TestConfigurationObject conf = TestConfigurationIO.loadConfiguration(testConf, spec);
+
+		AbstractTestCaseGenerator generator = new RandomTestCaseGenerator(spec, conf, 3);
+		Collection<TestCase> testCases = generator.generate();
+
+		// Test cases passed to a consumer (e.g., pipelined workflow) should be generated in the same order, operation by operation
+		List<String> consumedOperations = new ArrayList<>();
+		AbstractTestCaseGenerator consumerGenerator = new RandomTestCaseGenerator(spec, conf, 3);
+		consumerGenerator.generate(tc -> consumedOperations.add(tc.getMethod() + " " + tc.getPath()));
+
+		List<String> operations = new ArrayList<>();
+		testCases.forEach(tc -> operations.add(tc.getMethod() + " " + tc.getPath()));
+		assertEquals("Incorrect number of test cases passed to the consumer", testCases.size(), consumedOperations.size());
+		assertEquals("The test cases should be passed to the consumer operation by operation", operations, consumedOperations);
+	}
+
 	@Test
 	public void petstoreTestCaseGeneratorWithFilters() throws RESTestException {
 		// Load specification
@@ -0,0 +1,50 @@
+package es.us.isa.restest.inputs.stateful;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static es.us.isa.restest.inputs.stateful.DataMatching.getParameterValue;
+import static org.junit.Assert.*;
+
+public class ParameterNameIndexTest {
+
+    @Test
+    public void similarNamesTest() {
+        ParameterNameIndex index = new ParameterNameIndex();
+        List<JsonNode> channelId = new ArrayList<>();
+        List<JsonNode> id = new ArrayList<>();
+        List<JsonNode> videoChannelId = new ArrayList<>();
+        List<JsonNode> name = new ArrayList<>();
+        index.add("channelid", channelId);
+        index.add("id", id);
+        index.add("videochannelid", videoChannelId);
+        index.add("name", name);
+
+        List<List<JsonNode>> similarValues = index.getSimilarValues("channelid");
+
+        assertEquals("Wrong number of similar names", 3, similarValues.size());
+        assertTrue(similarValues.contains(channelId));
+        assertTrue(similarValues.contains(id));
+        assertTrue(similarValues.contains(videoChannelId));
+        assertTrue("There should be no similar names", index.getSimilarValues("height").isEmpty());
+    }
+
+    @Test
+    public void incrementalUpdateTest() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        StatefulDataStore store = new StatefulDataStore();
+        store.addResponseBodyValues("GET/videos", objectMapper.readTree("{\"snippet\": {\"title\": \"My video\"}}"));
+
+        assertNull(getParameterValue(store, "GET", "/channels", "channelId"));
+
+        store.addResponseBodyValues("GET/videos", objectMapper.readTree("{\"snippet\": {\"channelId\": \"UC1\"}}"));
+
+        assertEquals("UC1", getParameterValue(store, "GET", "/channels", "channelId").asText());
+        assertEquals("UC1", getParameterValue(store, "GET", "/channels", "data.channelId").asText());
+    }
+}
@@ -0,0 +1,63 @@
+package es.us.isa.restest.inputs.stateful;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static es.us.isa.restest.inputs.stateful.DataMatching.getParameterValue;
+import static es.us.isa.restest.util.FileManager.createDir;
+import static es.us.isa.restest.util.FileManager.deleteDir;
+import static org.junit.Assert.*;
+
+public class StatefulDataStoreTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void sameInstanceForSameDirTest() {
+        StatefulDataStore store1 = StatefulDataStore.getInstance("src/test/resources/jsonData");
+        StatefulDataStore store2 = StatefulDataStore.getInstance("src/test/resources/jsonData/../jsonData");
+
+        assertSame("The same data directory should have a single store", store1, store2);
+        assertFalse("The store should be loaded from the stateful_data.json file", store1.isEmpty());
+    }
+
+    @Test
+    public void addResponseBodyValuesTest() throws IOException {
+        StatefulDataStore store = new StatefulDataStore();
+        store.addResponseBodyValues("GET/comments", objectMapper.readTree("{\"data\": [{\"id\": \"c1\"}, {\"id\": \"c1\"}, {\"id\": \"c2\"}]}"));
+        store.addResponseBodyValues("GET/comments", objectMapper.readTree("{\"data\": [{\"id\": \"c2\"}, {\"id\": \"c3\"}]}"));
+
+        int nValues = store.read(dict -> dict.get("GET/comments").get("data.id").size());
+        assertEquals("Duplicated values should not be stored", 3, nValues);
+
+        JsonNode value = getParameterValue(store, "GET", "/comments", "data.id");
+        assertTrue("The value should have been taken from the store", value.asText().matches("c[1-3]"));
+    }
+
+    @Test
+    public void processedParameterNamesTest() {
+        StatefulDataStore store = new StatefulDataStore();
+
+        assertEquals("The processed name should be that of DataMatching", DataMatching.processParameterName("user_Names"), store.getProcessedParameterName("user_Names"));
+        assertSame("The processed name should be kept by the store", store.getProcessedParameterName("user_Names"), store.getProcessedParameterName("user_Names"));
+    }
+
+    @Test
+    public void flushTest() throws IOException {
+        String dataDirPath = "target/test-data/stateful_store";
+        deleteDir(dataDirPath);
+        createDir(dataDirPath);
+
+        StatefulDataStore store = StatefulDataStore.getInstance(dataDirPath);
+        store.addResponseBodyValues("GET/comments", objectMapper.readTree("{\"id\": \"c1\", \"user\": {\"name\": \"John\"}}"));
+        store.flush();
+
+        JsonNode json = objectMapper.readTree(new File(dataDirPath + "/" + StatefulDataStore.STATEFUL_DATA_FILE));
+        assertEquals("c1", json.get("GET/comments").get("id").get(0).asText());
+        assertEquals("John", json.get("GET/comments").get("user.name").get(0).asText());
+    }
+}
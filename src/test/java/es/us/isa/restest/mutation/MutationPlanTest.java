@@ -0,0 +1,61 @@
+package es.us.isa.restest.mutation;
+
+import es.us.isa.restest.specification.OpenAPISpecification;
+import es.us.isa.restest.testcases.TestCase;
+import io.swagger.v3.oas.models.PathItem.HttpMethod;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class MutationPlanTest {
+
+    @Test
+    public void mutationPlanTest() {
+        OpenAPISpecification spec = new OpenAPISpecification("src/test/resources/Comments/swagger.yaml");
+        MutationPlan plan = new MutationPlan(spec.getSpecification().getPaths().get("/comments").getGet());
+
+        assertTrue("There should be no required parameters to remove", plan.getRequiredNotPathParameters().isEmpty());
+        assertEquals("Only enum and integer parameters can be assigned an invalid value", "type,order,offset,limit",
+                plan.getInvalidValueCandidates().stream().map(c -> c.getParameter().getName()).collect(Collectors.joining(",")));
+
+        MutationPlan.InvalidValueCandidate offset = plan.getInvalidValueCandidates().get(2);
+        assertNull("The parameter is not an enum", offset.getEnumValues());
+        assertEquals("Min/max constraints should not be violated if the parameter has none", 3, offset.getNumberOfMutations());
+
+        MutationPlan.InvalidValueCandidate type = plan.getInvalidValueCandidates().get(0);
+        assertTrue("The enum range should be precomputed", type.getEnumValues().contains("Review"));
+        assertEquals("All replacements should be applicable to enums", 4, type.getNumberOfMutations());
+    }
+
+    @Test
+    public void mutationPlanOnlyApplicableMutationsTest() {
+        OpenAPISpecification spec = new OpenAPISpecification("src/test/resources/Comments/swagger_forTestSuite.yaml");
+        MutationPlan plan = new MutationPlan(spec.getSpecification().getPaths().get("/comments/{id}").getGet());
+
+        assertEquals("The path parameter should be the only candidate", 1, plan.getInvalidValueCandidates().size());
+        assertEquals("Only the 'max_length' constraint should be violated", 1, plan.getInvalidValueCandidates().get(0).getNumberOfMutations());
+
+        for (int i = 0; i < 20; i++) {
+            TestCase tc = new TestCase("dfgsdfg", true, "getComment", "/comments/{id}", HttpMethod.GET);
+            tc.addPathParameter("id", "c1");
+            assertEquals("The test case should be mutated", "Violated 'max_length' constraint of string parameter id", TestCaseMutation.mutate(tc, plan));
+            assertTrue("The length of the mutated 'id' parameter should be greater than 4", tc.getPathParameters().get("id").length() > 4);
+        }
+    }
+
+    @Test
+    public void mutationPlanEmptyTest() {
+        OpenAPISpecification spec = new OpenAPISpecification("src/test/resources/Comments/swagger.yaml");
+        MutationPlan plan = new MutationPlan(spec.getSpecification().getPaths().get("/comments/{id}").getGet());
+        TestCase tc = new TestCase("dfgsdfg", true, "getComment", "/comments/{id}", HttpMethod.GET);
+        tc.addPathParameter("id", "c1");
+        TestCase oldTc = SerializationUtils.clone(tc);
+
+        assertTrue("No mutation should be applicable", plan.isEmpty());
+        assertEquals("The test case should NOT be mutated", "", TestCaseMutation.mutate(tc, plan));
+        assertEquals("Both test cases should be equal", tc, oldTc);
+    }
+}
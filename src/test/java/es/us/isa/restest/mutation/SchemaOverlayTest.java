@@ -0,0 +1,51 @@
+package es.us.isa.restest.mutation;
+
+import es.us.isa.restest.mutation.pipelines.DropSelectTypePipeline;
+import es.us.isa.restest.mutation.rules.DuplicateRule;
+import es.us.isa.restest.specification.OpenAPISpecification;
+import io.swagger.v3.oas.models.media.Schema;
+import org.junit.Test;
+
+import static es.us.isa.restest.util.SchemaManager.generateFullyResolvedSchema;
+import static es.us.isa.restest.util.SchemaManager.getFullyResolvedSchema;
+import static org.junit.Assert.*;
+
+public class SchemaOverlayTest {
+
+    @Test
+    public void onlyModifiedNodesAreCopiedTest() {
+        OpenAPISpecification spec = new OpenAPISpecification("src/test/resources/specifications/petstore.yaml");
+        Schema schema = getFullyResolvedSchema(spec.getSpecification().getPaths().get("/pet").getPost().getRequestBody().getContent().get("application/json").getSchema(), spec.getSpecification());
+
+        SchemaOverlay overlay = new SchemaOverlay(schema);
+        Schema mutatedSchema = overlay.getSchema();
+        Schema category = overlay.getProperty(mutatedSchema, "category");
+        category.getProperties().remove("id");
+        mutatedSchema.getProperties().remove("name");
+
+        assertNotSame("The root should be copied", schema, mutatedSchema);
+        assertNotSame("The node modified should be copied", schema.getProperties().get("category"), category);
+        assertSame("The node modified should be copied once", category, overlay.getProperty(mutatedSchema, "category"));
+        assertSame("The nodes not modified should be shared", schema.getProperties().get("tags"), mutatedSchema.getProperties().get("tags"));
+        assertFalse("The node should be modified", category.getProperties().containsKey("id"));
+        assertFalse("The root should be modified", mutatedSchema.getProperties().containsKey("name"));
+        assertTrue("The original schema should not be modified", ((Schema) schema.getProperties().get("category")).getProperties().containsKey("id"));
+        assertTrue("The original schema should not be modified", schema.getProperties().containsKey("name"));
+    }
+
+    @Test
+    public void mutationsDoNotModifyOriginalSchemaTest() {
+        OpenAPISpecification spec = new OpenAPISpecification("src/test/resources/specifications/petstore.yaml");
+        Schema originalSchema = spec.getSpecification().getPaths().get("/pet").getPost().getRequestBody().getContent().get("application/json").getSchema();
+        Schema schema = getFullyResolvedSchema(originalSchema, spec.getSpecification());
+        Schema expectedSchema = generateFullyResolvedSchema(originalSchema, spec.getSpecification());
+
+        for (int i = 0; i < 50; i++) {
+            DropSelectTypePipeline.getInstance().apply(new SchemaOverlay(schema), spec.getSpecification());
+            DuplicateRule.getInstance().apply(new SchemaOverlay(schema), true, spec.getSpecification());
+            assertNotNull("The mutated schema should not be null", new SchemaMutation(originalSchema, spec.getSpecification()).mutate());
+        }
+
+        assertEquals("The original schema should not be modified", expectedSchema, schema);
+    }
+}
@@ -0,0 +1,71 @@
+package es.us.isa.restest.reporting;
+
+import es.us.isa.restest.configuration.pojos.TestConfigurationObject;
+import es.us.isa.restest.coverage.CoverageGatherer;
+import es.us.isa.restest.coverage.CoverageMeter;
+import es.us.isa.restest.generators.RandomTestCaseGenerator;
+import es.us.isa.restest.specification.OpenAPISpecification;
+import es.us.isa.restest.testcases.TestCase;
+import es.us.isa.restest.testcases.TestResult;
+import es.us.isa.restest.util.PropertyManager;
+import es.us.isa.restest.util.RESTestException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static es.us.isa.restest.configuration.TestConfigurationIO.loadConfiguration;
+import static es.us.isa.restest.util.FileManager.*;
+import static org.junit.Assert.*;
+
+public class StatsReportManagerTest {
+
+    @Test
+    public void incrementalReportTest() throws RESTestException, IOException {
+        OpenAPISpecification spec = new OpenAPISpecification("src/test/resources/features-service/swagger.yaml");
+        TestConfigurationObject conf = loadConfiguration("src/test/resources/features-service/testConf.yaml", spec);
+        List<TestCase> testCases = new ArrayList<>(new RandomTestCaseGenerator(spec, conf, 2).generate());
+
+        String testId = "IncrementalReportTest";
+        String testDataDir = PropertyManager.readProperty("data.tests.dir") + "/" + testId;
+        String coverageDataDir = PropertyManager.readProperty("data.coverage.dir") + "/" + testId;
+        deleteDir(testDataDir);
+        deleteDir(coverageDataDir);
+        createDir(testDataDir);
+        createDir(coverageDataDir);
+
+        StatsReportManager statsReportManager = new StatsReportManager(testDataDir, coverageDataDir);
+        CoverageMeter coverageMeter = new CoverageMeter(new CoverageGatherer(spec));
+        statsReportManager.setCoverageMeter(coverageMeter);
+
+        // Two batches, the second one with a test case whose request was not sent
+        int half = testCases.size() / 2;
+        List<TestCase> firstBatch = testCases.subList(0, half);
+        List<TestCase> secondBatch = testCases.subList(half, testCases.size());
+        statsReportManager.addTestResults(testId, firstBatch, testResults(firstBatch));
+        long coveredAfterFirstBatch = coverageMeter.getCoveredInputElements();
+        List<TestResult> secondResults = testResults(secondBatch);
+        secondResults.set(0, new TestResult(secondBatch.get(0).getId(), null, null, null));
+        statsReportManager.addTestResults(testId, secondBatch, secondResults);
+        statsReportManager.generateIncrementalReport(testId);
+
+        assertTrue("The input coverage should be updated with each batch", coveredAfterFirstBatch > 0);
+        assertTrue("The input coverage should not decrease", coverageMeter.getCoveredInputElements() >= coveredAfterFirstBatch);
+        assertTrue("The output coverage should be updated with the test results", coverageMeter.getCoveredOutputElements() > 0);
+
+        String testCasesPath = testDataDir + "/" + PropertyManager.readProperty("data.tests.testcases.file") + "_" + testId + ".csv";
+        assertEquals("All the test cases should be exported to CSV (plus the header)", testCases.size() + 1, Files.readAllLines(Paths.get(testCasesPath)).size());
+        assertTrue("The a priori coverage report should be generated", checkIfExists(coverageDataDir + "/" + PropertyManager.readProperty("data.coverage.computation.priori.file") + "_" + testId + ".csv"));
+        assertTrue("The a posteriori coverage report should be generated", checkIfExists(coverageDataDir + "/" + PropertyManager.readProperty("data.coverage.computation.posteriori.file") + "_" + testId + ".csv"));
+    }
+
+    private static List<TestResult> testResults(List<TestCase> testCases) {
+        return testCases.stream()
+                .map(tc -> new TestResult(tc.getId(), "200", "{}", "application/json", true, ""))
+                .collect(Collectors.toList());
+    }
+}
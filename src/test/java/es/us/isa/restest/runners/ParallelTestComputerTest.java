@@ -0,0 +1,107 @@
+package es.us.isa.restest.runners;
+
+import es.us.isa.restest.writers.restassured.filters.StatusCode5XXFilter;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runners.MethodSorters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ParallelTestComputerTest {
+
+    @Test
+    public void parallelExecutionTest() {
+        SampleTest.reset();
+        Result result = new JUnitCore().run(new ParallelTestComputer(4), SampleTest.class);
+
+        assertTrue("All test methods should pass: " + result.getFailures(), result.wasSuccessful());
+        assertEquals(8, result.getRunCount());
+        assertTrue("Test methods should run concurrently", SampleTest.maxRunning.get() > 1);
+        assertTrue("No more test methods than the parallelism should run at the same time", SampleTest.maxRunning.get() <= 4);
+    }
+
+    @Test
+    public void serialExecutionTest() {
+        SampleTest.reset();
+        Result result = new JUnitCore().run(ParallelTestComputer.withParallelism(1), SampleTest.class);
+
+        assertTrue("All test methods should pass: " + result.getFailures(), result.wasSuccessful());
+        assertEquals(1, SampleTest.maxRunning.get());
+    }
+
+    @Test
+    public void fixedMethodOrderTest() {
+        SampleTest.reset();
+        OrderedSampleTest.executed.clear();
+        Result result = new JUnitCore().run(new ParallelTestComputer(4), OrderedSampleTest.class, SampleTest.class);
+
+        assertTrue("All test methods should pass: " + result.getFailures(), result.wasSuccessful());
+        assertEquals(12, result.getRunCount());
+        assertEquals("The test methods of a class with a fixed order should run in that order", Arrays.asList("test1", "test2", "test3", "test4"), OrderedSampleTest.executed);
+        assertTrue("Test methods of classes without a fixed order should still run concurrently", SampleTest.maxRunning.get() > 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrongParallelismTest() {
+        new ParallelTestComputer(0);
+    }
+
+    // Test class sharing a filter among its test methods, like the generated ones
+    public static class SampleTest {
+
+        private static final StatusCode5XXFilter statusCode5XXFilter = new StatusCode5XXFilter();
+        private static final AtomicInteger running = new AtomicInteger();
+        private static final AtomicInteger maxRunning = new AtomicInteger();
+
+        private static void reset() {
+            running.set(0);
+            maxRunning.set(0);
+        }
+
+        private void runTestCase(String testResultId) throws InterruptedException {
+            statusCode5XXFilter.updateFaultyData(true, true, testResultId);
+            statusCode5XXFilter.setTestResultId(testResultId);
+
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(100);
+            running.decrementAndGet();
+
+            assertEquals("The filter data should not be overwritten by other test cases", testResultId, statusCode5XXFilter.getTestResultId());
+            assertEquals(testResultId, statusCode5XXFilter.getFaultyReason());
+        }
+
+        @Test public void test1() throws InterruptedException { runTestCase("test1"); }
+        @Test public void test2() throws InterruptedException { runTestCase("test2"); }
+        @Test public void test3() throws InterruptedException { runTestCase("test3"); }
+        @Test public void test4() throws InterruptedException { runTestCase("test4"); }
+        @Test public void test5() throws InterruptedException { runTestCase("test5"); }
+        @Test public void test6() throws InterruptedException { runTestCase("test6"); }
+        @Test public void test7() throws InterruptedException { runTestCase("test7"); }
+        @Test public void test8() throws InterruptedException { runTestCase("test8"); }
+    }
+
+    // Test class whose test methods must run in order, like the generated ones
+    @FixMethodOrder(MethodSorters.NAME_ASCENDING)
+    public static class OrderedSampleTest {
+
+        private static final List<String> executed = Collections.synchronizedList(new ArrayList<>());
+
+        private void runTestCase(String testName) throws InterruptedException {
+            Thread.sleep(50);
+            executed.add(testName);
+        }
+
+        @Test public void test3() throws InterruptedException { runTestCase("test3"); }
+        @Test public void test1() throws InterruptedException { runTestCase("test1"); }
+        @Test public void test4() throws InterruptedException { runTestCase("test4"); }
+        @Test public void test2() throws InterruptedException { runTestCase("test2"); }
+    }
+}
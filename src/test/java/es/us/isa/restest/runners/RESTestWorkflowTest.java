@@ -0,0 +1,115 @@
+package es.us.isa.restest.runners;
+
+import es.us.isa.restest.configuration.pojos.TestConfigurationObject;
+import es.us.isa.restest.coverage.CoverageGatherer;
+import es.us.isa.restest.coverage.CoverageMeter;
+import es.us.isa.restest.executors.ITestExecutor;
+import es.us.isa.restest.generators.RandomTestCaseGenerator;
+import es.us.isa.restest.reporting.AllureReportManager;
+import es.us.isa.restest.reporting.StatsReportManager;
+import es.us.isa.restest.specification.OpenAPISpecification;
+import es.us.isa.restest.testcases.TestCase;
+import es.us.isa.restest.testcases.TestResult;
+import es.us.isa.restest.util.PropertyManager;
+import es.us.isa.restest.util.RESTestException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static es.us.isa.restest.configuration.TestConfigurationIO.loadConfiguration;
+import static es.us.isa.restest.util.FileManager.*;
+import static org.junit.Assert.*;
+
+public class RESTestWorkflowTest {
+
+    private static final String SPEC_PATH = "src/test/resources/features-service/swagger.yaml";
+    private static final String CONF_PATH = "src/test/resources/features-service/testConf.yaml";
+
+    @Test
+    public void pipelinedWorkflowTest() throws RESTestException {
+        OpenAPISpecification spec = new OpenAPISpecification(SPEC_PATH);
+        TestConfigurationObject conf = loadConfiguration(CONF_PATH, spec);
+        StubExecutor executor = new StubExecutor(false);
+
+        RESTestWorkflow workflow = createWorkflow("PipelinedWorkflowTest", spec, createGenerator(spec, conf), executor);
+        workflow.run();
+
+        List<String> expectedOperations = createGenerator(spec, conf).generate().stream().map(TestCase::getOperationId).collect(Collectors.toList());
+        assertEquals("Incorrect number of test cases", 18 * 3, workflow.getNumTestCases());
+        assertEquals("All the test cases should be executed, in the order of the operations", expectedOperations,
+                executor.executedTestCases.stream().map(TestCase::getOperationId).collect(Collectors.toList()));
+        assertTrue("The test cases should be executed in several batches", executor.batches > 1);
+        assertTrue("The coverage report should be generated", checkIfExists(PropertyManager.readProperty("data.coverage.dir") + "/PipelinedWorkflowTest/"
+                + PropertyManager.readProperty("data.coverage.computation.priori.file") + "_PipelinedWorkflowTest.csv"));
+    }
+
+    @Test
+    public void pipelinedWorkflowExecutorErrorTest() throws RESTestException {
+        OpenAPISpecification spec = new OpenAPISpecification(SPEC_PATH);
+        TestConfigurationObject conf = loadConfiguration(CONF_PATH, spec);
+
+        RESTestWorkflow workflow = createWorkflow("PipelinedWorkflowErrorTest", spec, createGenerator(spec, conf), new StubExecutor(true));
+        try {
+            workflow.run();
+            fail("The error of the executor should be thrown");
+        } catch (IllegalStateException e) {
+            assertEquals("The error of the executor should be thrown as is", StubExecutor.ERROR_MESSAGE, e.getMessage());
+        }
+    }
+
+    private static RandomTestCaseGenerator createGenerator(OpenAPISpecification spec, TestConfigurationObject conf) {
+        RandomTestCaseGenerator generator = new RandomTestCaseGenerator(spec, conf, 3);
+        generator.setSeed(42);
+        generator.setGenerationThreads(2);
+        return generator;
+    }
+
+    private static RESTestWorkflow createWorkflow(String name, OpenAPISpecification spec, RandomTestCaseGenerator generator, ITestExecutor executor) {
+        String testDataDir = PropertyManager.readProperty("data.tests.dir") + "/" + name;
+        String coverageDataDir = PropertyManager.readProperty("data.coverage.dir") + "/" + name;
+        deleteDir(testDataDir);
+        deleteDir(coverageDataDir);
+        createDir(testDataDir);
+        createDir(coverageDataDir);
+
+        StatsReportManager statsReportManager = new StatsReportManager(testDataDir, coverageDataDir);
+        statsReportManager.setCoverageMeter(new CoverageMeter(new CoverageGatherer(spec)));
+        AllureReportManager allureReportManager = new AllureReportManager(PropertyManager.readProperty("allure.results.dir") + "/" + name,
+                PropertyManager.readProperty("allure.report.dir") + "/" + name, new ArrayList<>());
+
+        RESTestWorkflow workflow = new RESTestWorkflow(name, "src/generation/java/workflowTest", "workflowTest", spec, CONF_PATH, generator, null, allureReportManager, statsReportManager);
+        workflow.setExecutor(executor);
+        workflow.setPipelined(true);
+        workflow.setPipelineQueueSize(2);
+        workflow.setAllureReport(false);
+        workflow.setTestId(name);
+        return workflow;
+    }
+
+    // Executor returning a passed test result for each test case, without sending any request
+    private static class StubExecutor implements ITestExecutor {
+
+        private static final String ERROR_MESSAGE = "Stub executor failure";
+
+        private final boolean fail;
+        private final List<TestCase> executedTestCases = Collections.synchronizedList(new ArrayList<>());
+        private int batches = 0;
+
+        private StubExecutor(boolean fail) {
+            this.fail = fail;
+        }
+
+        @Override
+        public Collection<TestResult> execute(Collection<TestCase> testCases) {
+            if (fail)
+                throw new IllegalStateException(ERROR_MESSAGE);
+            batches++;
+            executedTestCases.addAll(testCases);
+            return testCases.stream().map(tc -> new TestResult(tc.getId(), "200", "", "application/json", true, "")).collect(Collectors.toList());
+        }
+    }
+}
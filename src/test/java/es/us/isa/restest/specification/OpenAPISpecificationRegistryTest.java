@@ -0,0 +1,60 @@
+package es.us.isa.restest.specification;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.Assert.*;
+
+public class OpenAPISpecificationRegistryTest {
+
+	private static final String TEMP_SPEC = "src/test/resources/Petstore/swagger_registry_tmp.yaml";
+
+	@After
+	public void tearDown() {
+		new File(TEMP_SPEC).delete();
+		OpenAPISpecificationRegistry.clear();
+	}
+
+	@Test
+	public void getSpecificationTest() {
+		OpenAPISpecification spec = OpenAPISpecificationRegistry.getSpecification("src/test/resources/Petstore/swagger.yaml");
+
+		assertNotNull(spec.getSpecification());
+		assertSame("The specification should be parsed only once", spec, OpenAPISpecificationRegistry.getSpecification("src/test/resources/Petstore/swagger.yaml"));
+		assertNotSame("Different specifications should not be shared", spec, OpenAPISpecificationRegistry.getSpecification("src/test/resources/Petstore/swagger.json"));
+	}
+
+	@Test
+	public void changedSpecificationTest() throws IOException {
+		Files.copy(Paths.get("src/test/resources/Petstore/swagger.yaml"), Paths.get(TEMP_SPEC));
+		OpenAPISpecification spec = OpenAPISpecificationRegistry.getSpecification(TEMP_SPEC);
+		assertSame(spec, OpenAPISpecificationRegistry.getSpecification(TEMP_SPEC));
+
+		Files.write(Paths.get(TEMP_SPEC), Files.readAllLines(Paths.get("src/test/resources/Yelp/swagger.yaml")));
+		OpenAPISpecification changedSpec = OpenAPISpecificationRegistry.getSpecification(TEMP_SPEC);
+		assertNotSame("The specification should be parsed again when its content changes", spec, changedSpec);
+		assertTrue(changedSpec.getSpecification().getPaths().containsKey("/businesses/search"));
+	}
+
+	@Test
+	public void touchedSpecificationTest() throws IOException {
+		Files.copy(Paths.get("src/test/resources/Petstore/swagger.yaml"), Paths.get(TEMP_SPEC));
+		OpenAPISpecification spec = OpenAPISpecificationRegistry.getSpecification(TEMP_SPEC);
+
+		Files.setLastModifiedTime(Paths.get(TEMP_SPEC), FileTime.fromMillis(System.currentTimeMillis() + 60000));
+		assertSame("The specification should not be parsed again if its content did not change", spec, OpenAPISpecificationRegistry.getSpecification(TEMP_SPEC));
+	}
+
+	@Test
+	public void getValidatorTest() {
+		assertSame("The validator should be built only once",
+				OpenAPISpecificationRegistry.getValidator("src/test/resources/Petstore/swagger.yaml"),
+				OpenAPISpecificationRegistry.getValidator("src/test/resources/Petstore/swagger.yaml"));
+	}
+}
@@ -0,0 +1,80 @@
+package es.us.isa.restest.testcases.diversity;
+
+import es.us.isa.restest.testcases.TestCase;
+import io.swagger.v3.oas.models.PathItem.HttpMethod;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SimilarityIndexTest {
+
+    @Test
+    public void jaccardMinDistanceTest() {
+        checkSameDistanceAsDiversity(SimilarityMeter.METRIC.JACCARD);
+    }
+
+    @Test
+    public void jaroWinklerMinDistanceTest() {
+        checkSameDistanceAsDiversity(SimilarityMeter.METRIC.JARO_WINKLER);
+    }
+
+    @Test
+    public void levenshteinMinDistanceTest() {
+        checkSameDistanceAsDiversity(SimilarityMeter.METRIC.LEVENSHTEIN);
+    }
+
+    @Test
+    public void emptyIndexTest() {
+        SimilarityIndex index = new SimilarityIndex(SimilarityMeter.METRIC.LEVENSHTEIN);
+        assertEquals(1., index.minDistance(createTestCase("abc")), 0.);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void thresholdTest() {
+        SimilarityIndex index = new SimilarityIndex(SimilarityMeter.METRIC.LEVENSHTEIN);
+        index.add(createTestCase("trato"));
+        index.add(createTestCase("trazo"));
+        index.add(createTestCase("casa"));
+        assertEquals(3, index.size());
+
+        TestCase testCase = createTestCase("trat");
+        double minDistance = index.minDistance(testCase);
+        assertTrue("The distance should not be greater than the threshold if the actual distance is not", index.minDistance(testCase, 0.5) <= 0.5);
+        assertEquals("The actual distance should be returned if it is greater than the threshold", minDistance, index.minDistance(testCase, minDistance / 2), 0.);
+    }
+
+    // The index should return exactly the same distances as Diversity.evaluate
+    private void checkSameDistanceAsDiversity(SimilarityMeter.METRIC metric) {
+        Random random = new Random(42);
+        Diversity diversity = new Diversity(metric, true);
+        SimilarityIndex index = new SimilarityIndex(metric);
+        List<TestCase> testCases = new ArrayList<>();
+
+        for (int i = 0; i < 300; i++) {
+            TestCase testCase = createTestCase(randomString(random));
+            assertEquals(diversity.evaluate(testCases, testCase), index.minDistance(testCase), 0.);
+            testCases.add(testCase);
+            index.add(testCase);
+        }
+    }
+
+    private static TestCase createTestCase(String queryParameterValue) {
+        TestCase testCase = new TestCase("id", false, "getPet", "/pet", HttpMethod.GET);
+        testCase.addQueryParameter("q", queryParameterValue);
+        return testCase;
+    }
+
+    private static String randomString(Random random) {
+        StringBuilder string = new StringBuilder();
+        int length = random.nextInt(30);
+        for (int i = 0; i < length; i++)
+            string.append((char) ('a' + random.nextInt(random.nextBoolean() ? 26 : 4)));
+        return string.toString();
+    }
+}
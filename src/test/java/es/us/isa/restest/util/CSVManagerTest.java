@@ -5,6 +5,8 @@ import org.junit.Test;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static es.us.isa.restest.util.CSVManager.*;
 import static es.us.isa.restest.util.FileManager.*;
@@ -42,6 +44,20 @@ public class CSVManagerTest {
         assertEquals("The third value of the second row should be 'value6", "value6", csv.get(1).get(2));
     }
 
+    @Test
+    public void testStreamCSV() {
+        String path = "src/test/resources/csvData/csvManagerReadSample.csv";
+        try (Stream<List<String>> rows = streamCSV(path, true)) {
+            assertEquals("The rows should be the same as those read at once", readCSV(path), rows.collect(Collectors.toList()));
+        }
+        try (Stream<List<String>> rows = streamCSV(path, false)) {
+            assertEquals("The third value of the first row should be 'value3", "value3", rows.findFirst().get().get(2));
+        }
+        try (Stream<List<String>> rows = streamCSV("src/test/resources/csvData/notExisting.csv", true)) {
+            assertEquals("The stream of a non-existing file should be empty", 0, rows.count());
+        }
+    }
+
     @Test
     public void testAddRowToCSV() {
         testCreateCSV();
@@ -0,0 +1,70 @@
+package es.us.isa.restest.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static es.us.isa.restest.util.CSVManager.*;
+import static es.us.isa.restest.util.FileManager.*;
+import static org.junit.Assert.*;
+
+public class CSVSinkTest {
+
+    private static final String DIR_PATH = "src/test/resources/csvData/";
+
+    @Test
+    public void singleSinkPerFileTest() {
+        assertSame("There should be a single sink per file", CSVSink.getInstance(DIR_PATH + "csvSinkSample.csv"),
+                CSVSink.getInstance(DIR_PATH + "../csvData/./csvSinkSample.csv"));
+    }
+
+    @Test
+    public void flushAndCloseTest() {
+        String path = DIR_PATH + "csvSinkFlushSample.csv";
+        createDir(DIR_PATH);
+        createCSVwithHeader(path, "field1,field2");
+        writeCSVRow(path, "value1,value2");
+
+        assertEquals("Reading the file should flush the pending rows", 2, readCSV(path).size());
+
+        CSVSink.close(path);
+        writeCSVRow(path, "value3,value4");
+        CSVSink.closeAll(DIR_PATH);
+
+        List<List<String>> rows = readCSV(path);
+        assertEquals("The file should be reopened in append mode after closing it", 3, rows.size());
+        assertEquals("value3", rows.get(2).get(0));
+
+        createCSVwithHeader(path, "field1,field2");
+        assertEquals("Creating the CSV again should discard the previous rows", 1, readCSV(path).size());
+    }
+
+    @Test
+    public void concurrentWritesTest() throws InterruptedException {
+        String path = DIR_PATH + "csvSinkConcurrentSample.csv";
+        createDir(DIR_PATH);
+        deleteFile(path);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            int thread = i;
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < 250; j++)
+                    writeCSVRows(path, Arrays.asList(thread + "," + j + ",a", thread + "," + j + ",b"));
+            }));
+        }
+        for (Thread t : threads)
+            t.start();
+        for (Thread t : threads)
+            t.join();
+
+        List<List<String>> rows = readCSV(path);
+        assertEquals("Some rows were lost", 2000, rows.size());
+        for (int i = 0; i < rows.size(); i += 2) {
+            assertEquals("Batched rows should not be interleaved", rows.get(i).subList(0, 2), rows.get(i+1).subList(0, 2));
+            assertEquals("a", rows.get(i).get(2));
+        }
+    }
+}
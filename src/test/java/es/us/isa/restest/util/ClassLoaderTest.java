@@ -0,0 +1,58 @@
+package es.us.isa.restest.util;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.*;
+
+public class ClassLoaderTest {
+
+    @Test
+    public void loadClassFromSourceTest() throws Exception {
+        String source = "package restest.inmemory;\n\n"
+                + "public class InMemoryTest implements java.util.concurrent.Callable<String> {\n"
+                + "\tpublic String call() { return new Nested().value(); }\n"
+                + "\tprivate static class Nested { String value() { return \"compiled\"; } }\n"
+                + "}\n";
+
+        Class<?> loadedClass = ClassLoader.loadClassFromSource("restest.inmemory.InMemoryTest", source);
+
+        assertNotNull("The class should be compiled and loaded", loadedClass);
+        assertEquals("restest.inmemory.InMemoryTest", loadedClass.getName());
+        assertEquals("Nested classes should be loaded from memory too", "compiled", ((Callable<?>) loadedClass.getDeclaredConstructor().newInstance()).call());
+
+        Class<?> reloadedClass = ClassLoader.loadClassFromSource("restest.inmemory.InMemoryTest", source.replace("\"compiled\"", "\"recompiled\""));
+        assertNotSame("Each compilation should load a new class", loadedClass, reloadedClass);
+        assertEquals("recompiled", ((Callable<?>) reloadedClass.getDeclaredConstructor().newInstance()).call());
+    }
+
+    @Test
+    public void loadClassesFromSourcesTest() throws Exception {
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (int i = 0; i < 4; i++)
+            sources.put("restest.inmemory.ParallelTest" + i, "package restest.inmemory;\n\n"
+                    + "public class ParallelTest" + i + " implements java.util.concurrent.Callable<Integer> {\n"
+                    + "\tpublic Integer call() { return " + i + "; }\n"
+                    + "}\n");
+
+        // The compilation pool and its file managers are reused by consecutive calls
+        for (int iteration = 0; iteration < 2; iteration++) {
+            List<Class<?>> loadedClasses = ClassLoader.loadClassesFromSources(sources);
+
+            assertNotNull("The classes should be compiled and loaded", loadedClasses);
+            assertEquals("Incorrect number of classes", 4, loadedClasses.size());
+            for (int i = 0; i < 4; i++)
+                assertEquals("The classes should be returned in the same order as the sources", i, ((Callable<?>) loadedClasses.get(i).getDeclaredConstructor().newInstance()).call());
+        }
+    }
+
+    @Test
+    public void compilationErrorTest() {
+        assertNull("Classes with compilation errors should not be loaded",
+                ClassLoader.loadClassFromSource("restest.inmemory.WrongTest", "package restest.inmemory;\n\npublic class WrongTest { int x = \"a\"; }\n"));
+    }
+}
@@ -4,6 +4,7 @@ import es.us.isa.restest.specification.OpenAPISpecification;
 import org.junit.Test;
 
 import static es.us.isa.restest.util.OASAPIValidator.getValidator;
+import static org.junit.Assert.assertSame;
 
 public class OASAPIValidatorTest {
 
@@ -13,4 +14,11 @@ public class OASAPIValidatorTest {
 
         System.out.println("As long as this is printed, this test cases passes (no exceptions thrown).");
     }
+
+    @Test
+    public void sharedValidatorTest() {
+        String specPath = "src/test/resources/Petstore/swagger.yaml";
+        assertSame("The validator of a specification should be built only once",
+                getValidator(new OpenAPISpecification(specPath)), getValidator(new OpenAPISpecification(specPath)));
+    }
 }
@@ -0,0 +1,95 @@
+package es.us.isa.restest.util;
+
+import es.us.isa.restest.specification.OpenAPISpecification;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static es.us.isa.restest.util.SchemaManager.generateFullyResolvedSchema;
+import static es.us.isa.restest.util.SchemaManager.getFullyResolvedSchema;
+import static org.junit.Assert.*;
+
+public class SchemaManagerTest {
+
+    @Test
+    public void fullyResolvedSchemaIsSharedTest() {
+        OpenAPISpecification spec = new OpenAPISpecification("src/test/resources/specifications/petstore.yaml");
+        Schema schema = spec.getSpecification().getPaths().get("/pet").getPost().getRequestBody().getContent().get("application/json").getSchema();
+
+        Schema resolvedSchema = getFullyResolvedSchema(schema, spec.getSpecification());
+
+        assertNull("The schema should be resolved", resolvedSchema.get$ref());
+        assertNull("The properties should be resolved", ((Schema) resolvedSchema.getProperties().get("category")).get$ref());
+        assertSame("The resolved schema should be cached", resolvedSchema, getFullyResolvedSchema(schema, spec.getSpecification()));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void fullyResolvedSchemaCannotBeModifiedTest() {
+        OpenAPISpecification spec = new OpenAPISpecification("src/test/resources/specifications/petstore.yaml");
+        Schema schema = spec.getSpecification().getPaths().get("/pet").getPost().getRequestBody().getContent().get("application/json").getSchema();
+
+        getFullyResolvedSchema(schema, spec.getSpecification()).getProperties().remove("name");
+    }
+
+    @Test
+    public void generatedFullyResolvedSchemaIsACopyTest() {
+        OpenAPISpecification spec = new OpenAPISpecification("src/test/resources/specifications/petstore.yaml");
+        Schema schema = spec.getSpecification().getPaths().get("/pet").getPost().getRequestBody().getContent().get("application/json").getSchema();
+
+        Schema resolvedSchema = getFullyResolvedSchema(schema, spec.getSpecification());
+        Schema copy = generateFullyResolvedSchema(schema, spec.getSpecification());
+        copy.getProperties().remove("name");
+        ((Schema) copy.getProperties().get("category")).getProperties().remove("id");
+        copy.getRequired().clear();
+
+        assertNotSame("The schema should be copied", resolvedSchema, copy);
+        assertTrue("The shared schema should not be modified", resolvedSchema.getProperties().containsKey("name"));
+        assertTrue("The shared schema should not be modified", ((Schema) resolvedSchema.getProperties().get("category")).getProperties().containsKey("id"));
+        assertFalse("The shared schema should not be modified", resolvedSchema.getRequired().isEmpty());
+    }
+
+    @Test
+    public void cycleReferencesTest() throws Exception {
+        OpenAPI spec = createCyclicSpec();
+        Schema schema = new Schema().$ref("#/components/schemas/A");
+
+        // Schemas are resolved concurrently, since the references in the path are tracked per resolution
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Schema<?>>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++)
+            futures.add(executor.submit(() -> generateFullyResolvedSchema(schema, spec)));
+        executor.shutdown();
+
+        for (Future<Schema<?>> future: futures) {
+            Schema<?> resolvedSchema = future.get();
+            Schema<?> b = resolvedSchema.getProperties().get("b");
+            Schema<?> a = b.getProperties().get("a");
+            assertEquals("The schema should be resolved", "string", resolvedSchema.getProperties().get("name").getType());
+            assertEquals("The schema should be resolved", "string", b.getProperties().get("name").getType());
+            assertEquals("The cycle reference should be an empty object", "object", a.getType());
+            assertTrue("The cycle reference should be an empty object", a.getProperties().isEmpty());
+        }
+
+        assertEquals("The components should not be modified", "#/components/schemas/A", ((Schema) spec.getComponents().getSchemas().get("B").getProperties().get("a")).get$ref());
+        assertEquals("The components should not be modified", "#/components/schemas/B", ((Schema) spec.getComponents().getSchemas().get("A").getProperties().get("b")).get$ref());
+    }
+
+    private OpenAPI createCyclicSpec() {
+        Schema a = new ObjectSchema()
+                .addProperties("name", new StringSchema())
+                .addProperties("b", new Schema().$ref("#/components/schemas/B"));
+        Schema b = new ObjectSchema()
+                .addProperties("name", new StringSchema())
+                .addProperties("a", new Schema().$ref("#/components/schemas/A"));
+        return new OpenAPI().components(new Components().addSchemas("A", a).addSchemas("B", b));
+    }
+}
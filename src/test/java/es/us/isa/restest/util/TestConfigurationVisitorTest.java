@@ -2,12 +2,15 @@ package es.us.isa.restest.util;
 
 import es.us.isa.restest.configuration.TestConfigurationIO;
 import es.us.isa.restest.configuration.TestConfigurationVisitor;
+import es.us.isa.restest.configuration.pojos.Operation;
 import es.us.isa.restest.configuration.pojos.TestConfigurationObject;
+import es.us.isa.restest.specification.OpenAPIParameter;
 import es.us.isa.restest.specification.OpenAPISpecification;
 import org.junit.Test;
 
-import static org.junit.Assert.assertFalse;
-import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
 
 public class TestConfigurationVisitorTest {
 
@@ -66,4 +69,52 @@ public class TestConfigurationVisitorTest {
         assertFalse(TestConfigurationVisitor.hasStatefulGenerators(testConf.getTestConfiguration().getOperations().get(2)));
         assertFalse(TestConfigurationVisitor.hasStatefulGenerators(testConf.getTestConfiguration().getOperations().get(3)));
     }
+
+    @Test
+    public void testOperationLookups() {
+        OpenAPISpecification spec = new OpenAPISpecification("src/test/resources/Comments/swagger.yaml");
+        TestConfigurationObject testConf = TestConfigurationIO.loadConfiguration("src/test/resources/Comments/testConf.yaml", spec);
+
+        Operation getComments = TestConfigurationVisitor.getOperation(testConf, "/comments", "GET");
+        assertEquals("getComments", getComments.getOperationId());
+        assertSame(getComments, TestConfigurationVisitor.getTestOperation(testConf, "GETCOMMENTS"));
+        assertEquals("putComment", TestConfigurationVisitor.getOperation(testConf, "/comments", "put").getOperationId());
+        assertNull(TestConfigurationVisitor.getOperation(testConf, "/comments", "patch"));
+        assertNull(TestConfigurationVisitor.getTestOperation(testConf, "unknownOperation"));
+        assertEquals(3, TestConfigurationVisitor.getOperationsOfTestPath(testConf, "/comments").size());
+        assertEquals("getComment", TestConfigurationVisitor.getOperationsOfTestPath(testConf, "/comments/{id}").get(0).getOperationId());
+
+        assertEquals("limit", TestConfigurationVisitor.getTestParameter(testConf, "getComments", "LIMIT").getName());
+        assertSame(TestConfigurationVisitor.getTestParameter(testConf, "getComments", "limit"), TestConfigurationVisitor.searchTestParameter("limit", getComments));
+        assertNull(TestConfigurationVisitor.searchTestParameter("unknownParameter", getComments));
+
+        OpenAPIParameter type = TestConfigurationVisitor.findParameterFeatures(getComments, "type", "query");
+        assertEquals("string", type.getType());
+        assertTrue(type.getEnumValues().contains("Review"));
+        assertSame("The features should be computed once", type, TestConfigurationVisitor.findParameterFeatures(getComments, "type", "query"));
+        assertEquals("integer", TestConfigurationVisitor.findParameterFeatures(getComments, "limit", "query").getType());
+    }
+
+    @Test
+    public void testOperationLookupsAfterModification() {
+        OpenAPISpecification spec = new OpenAPISpecification("src/test/resources/Comments/swagger.yaml");
+        TestConfigurationObject testConf = TestConfigurationIO.loadConfiguration("src/test/resources/Comments/testConf.yaml", spec);
+        Operation getComments = TestConfigurationVisitor.getOperation(testConf, "/comments", "get");
+        assertNotNull(TestConfigurationVisitor.searchTestParameter("limit", getComments));
+
+        getComments.setTestParameters(new ArrayList<>());
+        testConf.getTestConfiguration().setOperations(new ArrayList<>(testConf.getTestConfiguration().getOperations().subList(1, 2)));
+
+        assertNull("The index should be updated", TestConfigurationVisitor.searchTestParameter("limit", getComments));
+        assertNull("The index should be updated", TestConfigurationVisitor.getTestOperation(testConf, "getComments"));
+        assertEquals(1, TestConfigurationVisitor.getOperationsOfTestPath(testConf, "/comments").size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOperationOfUnknownPath() {
+        OpenAPISpecification spec = new OpenAPISpecification("src/test/resources/Comments/swagger.yaml");
+        TestConfigurationObject testConf = TestConfigurationIO.loadConfiguration("src/test/resources/Comments/testConf.yaml", spec);
+
+        TestConfigurationVisitor.getOperation(testConf, "/unknown", "get");
+    }
 }
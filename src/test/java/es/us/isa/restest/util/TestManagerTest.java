@@ -5,6 +5,8 @@ import es.us.isa.restest.testcases.TestResult;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static es.us.isa.restest.util.TestManager.*;
 import static org.junit.Assert.assertEquals;
@@ -80,4 +82,30 @@ public class TestManagerTest {
         }
         assertEquals("The ID of the first TR does not match", "GETversionlocationsformatTest_1ies6plrqnv50", testResults.get(testResults.size()-1).getId());
     }
+
+    @Test
+    public void testGetRangeTestResults3() {
+        String path = "src/test/resources/csvData/testResultsManagerSample.csv";
+        List<TestResult> testResults = getTestResults(path, 14, 100);
+        assertEquals("Only the TRs until the end of the file should be returned", 2, testResults.size());
+        assertEquals("The ID of the last TR does not match", getLastTestResult(path).getId(), testResults.get(1).getId());
+        assertEquals("No TRs should be returned if the range is empty", 0, getTestResults(path, 5, 5).size());
+    }
+
+    @Test
+    public void testStreamTestCasesAndResults() {
+        String testCasesPath = "src/test/resources/csvData/testCasesManagerSample.csv";
+        String testResultsPath = "src/test/resources/csvData/testResultsManagerSample.csv";
+
+        try (Stream<TestCase> testCases = streamTestCases(testCasesPath)) {
+            assertEquals("The streamed TCs should be the same as those read at once",
+                    getTestCases(testCasesPath).stream().map(TestCase::getId).collect(Collectors.toList()),
+                    testCases.map(TestCase::getId).collect(Collectors.toList()));
+        }
+        try (Stream<TestResult> testResults = streamTestResults(testResultsPath)) {
+            assertEquals("The streamed TRs should be the same as those read at once",
+                    getTestResults(testResultsPath).stream().map(TestResult::getId).collect(Collectors.toList()),
+                    testResults.map(TestResult::getId).collect(Collectors.toList()));
+        }
+    }
 }
@@ -52,5 +52,22 @@ public class TimerTest {
 
     }
 
+    @Test
+    public void concurrentMeasuresTest() throws InterruptedException {
+        resetCounters();
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++)
+                    Timer.addMeasure(IDL_REASONER_SOLVING, j);
+            });
+            threads[i].start();
+        }
+        for (Thread thread: threads)
+            thread.join();
+
+        assertEquals("The IDL_REASONER_SOLVING counter should have all the measures", 4000, Timer.getCounters().get(IDL_REASONER_SOLVING.getName()).size());
+    }
+
 
 }
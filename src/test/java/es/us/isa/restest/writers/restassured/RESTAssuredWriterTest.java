@@ -1,16 +1,22 @@
 package es.us.isa.restest.writers.restassured;
 
+import java.io.File;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Test;
 
 import es.us.isa.restest.specification.OpenAPISpecification;
 import es.us.isa.restest.testcases.TestCase;
+import es.us.isa.restest.util.ClassLoader;
 import io.swagger.v3.oas.models.PathItem.HttpMethod;
 
 import static es.us.isa.restest.util.FileManager.readFile;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 public class RESTAssuredWriterTest {
@@ -82,4 +88,45 @@ public class RESTAssuredWriterTest {
 		);
 	}
 
+	@Test
+	public void splitTestClassTest() {
+		String OAISpecPath = "src/test/resources/specifications/petstore.json";
+		String testConf = "src/test/resources/Petstore/fullConf.yaml";
+		String targetDir = "src/generation/java/restassured";
+
+		// Create test cases
+		List<TestCase> testCases = new ArrayList<TestCase>();
+		for (int i = 1; i <= 5; i++) {
+			TestCase tc = new TestCase("findPetsByStatusId" + i, false, "findPetsByStatus","/pet/findByStatus" ,HttpMethod.GET);
+			tc.addQueryParameter("status", "pending");
+			testCases.add(tc);
+		}
+
+		// Write test cases, at most 2 per class
+		RESTAssuredWriter writer = new RESTAssuredWriter(OAISpecPath, testConf, targetDir, "PetstoreSplit", "restassured", "http://petstore.swagger.io", false);
+		writer.setMaxTestsPerClass(2);
+		writer.write(testCases);
+
+		assertEquals("The test cases should be split into 3 classes", 3, writer.getTestClassSources().size());
+		String suite = readFile(targetDir + "/PetstoreSplit.java");
+		for (int part = 1; part <= 3; part++) {
+			assertTrue("The part " + part + " should be written", new File(targetDir + "/PetstoreSplitPart" + part + ".java").exists());
+			assertTrue("The suite should run the part " + part, suite.contains("PetstoreSplitPart" + part + ".class"));
+		}
+		assertEquals("The last part should contain the remaining test case", 1,
+				writer.getTestClassSources().get("PetstoreSplitPart3").split("@Test").length - 1);
+
+		// Each part should compile on its own
+		Map<String, String> sources = new LinkedHashMap<>();
+		writer.getTestClassSources().forEach((className, source) -> sources.put("restassured." + className, source));
+		List<Class<?>> testClasses = ClassLoader.loadClassesFromSources(sources);
+		assertNotNull("The parts should compile", testClasses);
+		assertEquals(3, testClasses.size());
+
+		// Writing fewer test cases should remove the previous parts
+		writer.write(testCases.subList(0, 2));
+		assertEquals(1, writer.getTestClassSources().size());
+		assertFalse("The previous parts should be removed", new File(targetDir + "/PetstoreSplitPart1.java").exists());
+	}
+
 }